@@ -33,6 +33,9 @@ import dev.utils.common.FileUtils;
  *     开启 Thread 执行, 非主线程, 否则无响应并无效
  *     <p></p>
  *     导出 ANR 日志如果无 ROOT 权限可通过 adb bugreport 导出压缩包 ( 文件存储在 adb 文件目录下 )
+ *     <p></p>
+ *     全部命令通过 {@link ShellUtils} 执行, 批量调用前可设置 {@link ShellUtils#setSessionPool}
+ *     复用常驻 Shell 会话, 避免每条命令创建新进程
  * </pre>
  */
 public final class ADBUtils {
@@ -7,11 +7,18 @@ import java.util.List;
 
 import dev.utils.DevFinal;
 import dev.utils.LogPrintUtils;
+import dev.utils.app.assist.ShellSession;
+import dev.utils.app.assist.ShellSessionPool;
 import dev.utils.common.CloseUtils;
 
 /**
  * detail: Shell 命令工具类
  * @author Ttt
+ * <pre>
+ *     默认每次执行命令都创建新的 sh / su 进程
+ *     设置 {@link #setSessionPool(ShellSessionPool)} 后复用常驻 Shell 会话执行
+ *     批量执行命令 ( 如 ADBUtils 遍历应用 ) 可避免重复创建进程、重复 su 授权
+ * </pre>
  */
 public final class ShellUtils {
 
@@ -24,6 +31,30 @@ public final class ShellUtils {
     // 操作成功状态码
     private static final int SUCCESS = 0;
 
+    // 常驻 Shell 会话池
+    private static volatile ShellSessionPool sSessionPool;
+
+    /**
+     * 获取常驻 Shell 会话池
+     * @return {@link ShellSessionPool}
+     */
+    public static ShellSessionPool getSessionPool() {
+        return sSessionPool;
+    }
+
+    /**
+     * 设置常驻 Shell 会话池
+     * <pre>
+     *     设置后全部 execCmd 使用会话池执行, 传入 null 则恢复每次创建新进程
+     *     未指定超时时间的 execCmd 使用 {@link ShellSessionPool#getExecTimeout()} 超时
+     *     替换或移除的会话池需自行调用 {@link ShellSessionPool#shutdown()}
+     * </pre>
+     * @param pool {@link ShellSessionPool}
+     */
+    public static void setSessionPool(final ShellSessionPool pool) {
+        sSessionPool = pool;
+    }
+
     /**
      * 执行 shell 命令
      * @param command 待执行命令
@@ -109,6 +140,11 @@ public final class ShellUtils {
         if (commands == null || commands.length == 0) {
             return new CommandResult(result, null, null);
         }
+        ShellSessionPool pool = sSessionPool;
+        if (pool != null) {
+            // 使用有限的默认超时, 超时的会话由会话池关闭不再复用
+            return pool.execCmd(commands, isRoot, isNeedResultMsg, pool.getExecTimeout(), null);
+        }
         Process          process    = null;
         DataOutputStream dos        = null;
         String           successMsg = null;
@@ -116,6 +152,16 @@ public final class ShellUtils {
         try {
             process = Runtime.getRuntime().exec(isRoot ? "su" : "sh");
             dos     = new DataOutputStream(process.getOutputStream());
+            // stderr 独立线程读取, 避免先读完 stdout 时 stderr 缓冲区写满导致进程阻塞
+            final InputStreamReader errorReader = new InputStreamReader(
+                    process.getErrorStream(), DevFinal.ENCODE.UTF_8
+            );
+            final String[]          errorHolder = new String[1];
+            final Thread            errorTask   = new Thread(
+                    () -> errorHolder[0] = consumeInputStream(errorReader), TAG
+            );
+            errorTask.setDaemon(true);
+            errorTask.start();
             // 循环写入待执行命令
             for (String command : commands) {
                 if (command == null) continue;
@@ -125,16 +171,16 @@ public final class ShellUtils {
             }
             dos.writeBytes("exit" + DevFinal.SYMBOL.NEW_LINE);
             dos.flush();
-            // 为了避免 Process.waitFor() 导致主线程堵塞问题, 最好读取信息
-            if (isNeedResultMsg) { // 如果程序不断在向输出流和错误流写数据, 而 JVM 不读取的话, 当缓冲区满之后将无法继续写入数据, 最终造成阻塞在 waitFor() 这里
-                // 读取成功数据
-                successMsg = consumeInputStream(
-                        new InputStreamReader(process.getInputStream(), DevFinal.ENCODE.UTF_8)
-                );
-                // 读取异常数据
-                errorMsg = consumeInputStream(
-                        new InputStreamReader(process.getErrorStream(), DevFinal.ENCODE.UTF_8)
-                );
+            // 关闭 stdin, 命令未闭合 ( 如引号、heredoc ) 时 Shell 读取到 EOF 结束, 不会一直等待输入
+            dos.close();
+            // 不管是否需要结果消息都读取 stdout, 避免缓冲区写满后阻塞在 waitFor()
+            String success = consumeInputStream(
+                    new InputStreamReader(process.getInputStream(), DevFinal.ENCODE.UTF_8)
+            );
+            errorTask.join();
+            if (isNeedResultMsg) {
+                successMsg = success;
+                errorMsg   = errorHolder[0];
             }
             // 执行结果状态码
             result = process.waitFor();
@@ -150,6 +196,47 @@ public final class ShellUtils {
         return new CommandResult(result, successMsg, errorMsg);
     }
 
+    /**
+     * 执行 shell 命令 ( 逐行回调输出 )
+     * <pre>
+     *     未设置会话池时创建临时 {@link ShellSession} 执行后关闭
+     *     超时后结束对应 Shell 进程并返回已读取的输出, 状态码为 -1
+     * </pre>
+     * @param commands        多条待执行命令
+     * @param isRoot          是否以 root 权限执行
+     * @param isNeedResultMsg 是否需要结果消息 (error、success message)
+     * @param timeoutMillis   超时时间 ( 毫秒 ), 小于等于 0 则不超时
+     * @param callback        输出行回调
+     * @return {@link CommandResult}
+     */
+    public static CommandResult execCmd(
+            final String[] commands,
+            final boolean isRoot,
+            final boolean isNeedResultMsg,
+            final long timeoutMillis,
+            final ShellSession.LineCallback callback
+    ) {
+        if (commands == null || commands.length == 0) {
+            return new CommandResult(-1, null, null);
+        }
+        ShellSessionPool pool = sSessionPool;
+        if (pool != null) {
+            return pool.execCmd(commands, isRoot, isNeedResultMsg, timeoutMillis, callback);
+        }
+        ShellSession session = null;
+        try {
+            session = new ShellSession(isRoot);
+            return session.execCmd(commands, isNeedResultMsg, timeoutMillis, callback);
+        } catch (Exception e) {
+            LogPrintUtils.eTag(TAG, e, "execCmd");
+        } finally {
+            if (session != null) {
+                session.close();
+            }
+        }
+        return new CommandResult(-1, null, null);
+    }
+
     /**
      * 消费 InputStream 并且返回字符串
      * @param reader {@link InputStreamReader}
@@ -0,0 +1,443 @@
+package dev.utils.app.assist;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import dev.utils.DevFinal;
+import dev.utils.LogPrintUtils;
+import dev.utils.app.ShellUtils;
+import dev.utils.common.CloseUtils;
+
+/**
+ * detail: 常驻 Shell 会话
+ * @author Ttt
+ * <pre>
+ *     一个会话对应一个常驻 sh / su 进程, 多次执行命令无需重复创建进程 ( su 无需重复授权 )
+ *     每次执行的命令在子 Shell ( ... ) 中运行, cd、export、exit 等不会影响后续命令
+ *     命令以单引号字符串传给 eval, 未闭合的引号、heredoc、行尾 \ 只会导致该命令语法错误, 不会吞掉结束标记
+ *     命令执行后输出唯一结束标记 ( 含退出码 ) 用于区分每条命令的输出
+ *     stdout、stderr 分别由独立线程持续读取, 不会因缓冲区写满导致阻塞
+ *     <p></p>
+ *     同一会话同时只执行一条命令, 超时或进程退出后会话不可再用 {@link #isAlive()}
+ *     多会话复用可使用 {@link ShellSessionPool}
+ * </pre>
+ */
+public final class ShellSession
+        implements Closeable {
+
+    // 日志 TAG
+    private static final String TAG = ShellSession.class.getSimpleName();
+
+    // 结束标记前缀
+    private static final String        MARKER_PREFIX = "__DEV_SHELL_";
+    // 会话 id 生成
+    private static final AtomicInteger SESSION_ID    = new AtomicInteger();
+
+    // 是否以 root 权限执行
+    private final    boolean mRoot;
+    // 会话 id
+    private final    int     mId;
+    // Shell 进程
+    private final    Process mProcess;
+    // 命令写入
+    private final    Writer  mWriter;
+    // 会话结束标记
+    private final    String  mMarker;
+    // 命令执行锁
+    private final    Object  mExecLock = new Object();
+    // 当前命令锁
+    private final    Object  mLock     = new Object();
+    // 当前执行的命令
+    private          Command mCurrent;
+    // 命令序号
+    private          long    mSequence;
+    // 是否可用
+    private volatile boolean mAlive    = true;
+    // 最后使用时间
+    private volatile long    mLastUsedTime;
+
+    /**
+     * detail: 输出行回调
+     * @author Ttt
+     * <pre>
+     *     在读取线程中回调, 不可执行耗时操作
+     *     stdout、stderr 分别在各自线程回调, 两者之间不保证顺序
+     * </pre>
+     */
+    public interface LineCallback {
+
+        /**
+         * 读取到一行输出
+         * @param line    行内容
+         * @param isError 是否 stderr 输出
+         */
+        void onLine(
+                String line,
+                boolean isError
+        );
+    }
+
+    /**
+     * 构造函数
+     * @param isRoot 是否以 root 权限执行
+     * @throws Exception 创建进程失败时抛出异常
+     */
+    public ShellSession(final boolean isRoot)
+            throws Exception {
+        this.mRoot         = isRoot;
+        this.mId           = SESSION_ID.incrementAndGet();
+        this.mMarker       = MARKER_PREFIX + mId + "_" + Long.toHexString(System.nanoTime()) + "_";
+        this.mProcess      = Runtime.getRuntime().exec(isRoot ? "su" : "sh");
+        this.mWriter       = new BufferedWriter(
+                new OutputStreamWriter(mProcess.getOutputStream(), DevFinal.ENCODE.UTF_8)
+        );
+        this.mLastUsedTime = System.currentTimeMillis();
+        startReader(mProcess.getInputStream(), false);
+        startReader(mProcess.getErrorStream(), true);
+    }
+
+    // =
+
+    /**
+     * 是否以 root 权限执行
+     * @return {@code true} yes, {@code false} no
+     */
+    public boolean isRoot() {
+        return mRoot;
+    }
+
+    /**
+     * 会话是否可用
+     * @return {@code true} yes, {@code false} no
+     */
+    public boolean isAlive() {
+        return mAlive;
+    }
+
+    /**
+     * 获取最后使用时间
+     * @return 最后使用时间
+     */
+    public long getLastUsedTime() {
+        return mLastUsedTime;
+    }
+
+    /**
+     * 执行 shell 命令
+     * @param command 待执行命令
+     * @return {@link ShellUtils.CommandResult}
+     */
+    public ShellUtils.CommandResult execCmd(final String command) {
+        return execCmd(new String[]{command}, true, 0L, null);
+    }
+
+    /**
+     * 执行 shell 命令
+     * @param commands        多条待执行命令
+     * @param isNeedResultMsg 是否需要结果消息 (error、success message)
+     * @param timeoutMillis   超时时间 ( 毫秒 ), 小于等于 0 则不超时
+     * @param callback        输出行回调
+     * @return {@link ShellUtils.CommandResult}
+     */
+    public ShellUtils.CommandResult execCmd(
+            final String[] commands,
+            final boolean isNeedResultMsg,
+            final long timeoutMillis,
+            final LineCallback callback
+    ) {
+        if (commands == null || commands.length == 0) {
+            return new ShellUtils.CommandResult(-1, null, null);
+        }
+        synchronized (mExecLock) {
+            if (!mAlive) {
+                return new ShellUtils.CommandResult(-1, null, null);
+            }
+            Command command = new Command(
+                    mMarker + (++mSequence) + "__", isNeedResultMsg, callback
+            );
+            synchronized (mLock) {
+                mCurrent = command;
+            }
+            if (!mAlive) {
+                // 设置当前命令前进程已退出, 读取线程不会再分发结束标记
+                command.finish(false);
+                command.finish(true);
+            }
+            try {
+                mWriter.write(frame(commands, command.marker));
+                mWriter.flush();
+                boolean finished;
+                if (timeoutMillis > 0L) {
+                    finished = command.latch.await(timeoutMillis, TimeUnit.MILLISECONDS);
+                } else {
+                    command.latch.await();
+                    finished = true;
+                }
+                if (!finished) {
+                    // 命令未结束, 后续输出无法与下一条命令区分, 直接结束会话
+                    LogPrintUtils.dTag(TAG, "execCmd timeout %d ms", timeoutMillis);
+                    close();
+                } else if (!command.exited) {
+                    // 进程已退出 ( 如 su 未授权 ), 使用进程退出码
+                    command.result = exitValue();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+            } catch (Exception e) {
+                LogPrintUtils.eTag(TAG, e, "execCmd");
+                close();
+            } finally {
+                synchronized (mLock) {
+                    mCurrent = null;
+                }
+                mLastUsedTime = System.currentTimeMillis();
+            }
+            return command.toResult();
+        }
+    }
+
+    /**
+     * 关闭会话并销毁进程
+     */
+    @Override
+    public void close() {
+        mAlive = false;
+        CloseUtils.closeIOQuietly(mWriter);
+        mProcess.destroy();
+    }
+
+    // ===========
+    // = 内部处理 =
+    // ===========
+
+    /**
+     * detail: 执行中的命令
+     * @author Ttt
+     */
+    private static final class Command {
+
+        // 结束标记
+        final String         marker;
+        // 是否需要结果消息
+        final boolean        needMsg;
+        // 输出行回调
+        final LineCallback   callback;
+        // stdout、stderr 结束
+        final CountDownLatch latch = new CountDownLatch(2);
+        // 成功信息
+        final StringBuilder  success;
+        // 错误信息
+        final StringBuilder  error;
+        // stdout 是否已结束
+        boolean              successDone;
+        // stderr 是否已结束
+        boolean              errorDone;
+        // stdout 行数
+        int                  successLines;
+        // stderr 行数
+        int                  errorLines;
+        // 是否读取到退出码
+        volatile boolean     exited;
+        // 执行结果状态码
+        volatile int         result = -1;
+
+        Command(
+                final String marker,
+                final boolean needMsg,
+                final LineCallback callback
+        ) {
+            this.marker   = marker;
+            this.needMsg  = needMsg;
+            this.callback = callback;
+            this.success  = needMsg ? new StringBuilder() : null;
+            this.error    = needMsg ? new StringBuilder() : null;
+        }
+
+        /**
+         * 追加一行输出
+         * @param line    行内容
+         * @param isError 是否 stderr 输出
+         */
+        void append(
+                final String line,
+                final boolean isError
+        ) {
+            if (needMsg) {
+                synchronized (this) {
+                    if (isError) {
+                        if (errorLines++ > 0) error.append(DevFinal.SYMBOL.NEW_LINE);
+                        error.append(line);
+                    } else {
+                        if (successLines++ > 0) success.append(DevFinal.SYMBOL.NEW_LINE);
+                        success.append(line);
+                    }
+                }
+            }
+            if (callback != null) {
+                try {
+                    callback.onLine(line, isError);
+                } catch (Exception e) {
+                    LogPrintUtils.eTag(TAG, e, "onLine");
+                }
+            }
+        }
+
+        /**
+         * 标记输出流结束 ( 每个流只生效一次 )
+         * @param isError 是否 stderr
+         */
+        void finish(final boolean isError) {
+            synchronized (this) {
+                if (isError) {
+                    if (errorDone) return;
+                    errorDone = true;
+                } else {
+                    if (successDone) return;
+                    successDone = true;
+                }
+            }
+            latch.countDown();
+        }
+
+        /**
+         * 转换为命令执行结果
+         * @return {@link ShellUtils.CommandResult}
+         */
+        ShellUtils.CommandResult toResult() {
+            synchronized (this) {
+                return new ShellUtils.CommandResult(
+                        result,
+                        needMsg ? success.toString() : null,
+                        needMsg ? error.toString() : null
+                );
+            }
+        }
+    }
+
+    /**
+     * 拼接待写入的命令
+     * <pre>
+     *     ( eval 'command...' ) &lt;/dev/null
+     *     printf '%s %d\n' marker "$?"
+     *     printf '%s\n' marker &gt;&amp;2
+     *     <p></p>
+     *     命令中的 ' 转义为 '\'' , 外层始终是完整的单引号字符串
+     * </pre>
+     * @param commands 多条待执行命令
+     * @param marker   结束标记
+     * @return 待写入内容
+     */
+    private static String frame(
+            final String[] commands,
+            final String marker
+    ) {
+        StringBuilder builder = new StringBuilder("( eval '");
+        for (String command : commands) {
+            if (command == null) continue;
+            builder.append(command.replace("'", "'\\''")).append('\n');
+        }
+        return builder.append("' ) </dev/null\n")
+                .append("printf '%s %d\\n' ").append(marker).append(" \"$?\"\n")
+                .append("printf '%s\\n' ").append(marker).append(" >&2\n")
+                .toString();
+    }
+
+    /**
+     * 启动输出流读取线程
+     * @param stream  输出流
+     * @param isError 是否 stderr
+     */
+    private void startReader(
+            final InputStream stream,
+            final boolean isError
+    ) {
+        Thread thread = new Thread(
+                () -> read(stream, isError),
+                TAG + "-" + mId + (isError ? "-err" : "-out")
+        );
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * 持续读取输出流并分发到当前命令
+     * @param stream  输出流
+     * @param isError 是否 stderr
+     */
+    private void read(
+            final InputStream stream,
+            final boolean isError
+    ) {
+        BufferedReader br = null;
+        try {
+            br = new BufferedReader(new InputStreamReader(stream, DevFinal.ENCODE.UTF_8));
+            String line;
+            while ((line = br.readLine()) != null) {
+                Command command;
+                synchronized (mLock) {
+                    command = mCurrent;
+                }
+                // 无执行中的命令 ( 如 su 授权提示 ) 直接忽略
+                if (command == null) continue;
+                int index = line.indexOf(command.marker);
+                if (index < 0) {
+                    command.append(line, isError);
+                    continue;
+                }
+                // 命令输出末尾无换行时结束标记会拼接在最后一行
+                if (index > 0) {
+                    command.append(line.substring(0, index), isError);
+                }
+                if (!isError) {
+                    try {
+                        command.result = Integer.parseInt(
+                                line.substring(index + command.marker.length()).trim()
+                        );
+                        command.exited = true;
+                    } catch (Exception ignored) {
+                    }
+                }
+                command.finish(isError);
+            }
+        } catch (Exception e) {
+            if (mAlive) LogPrintUtils.eTag(TAG, e, "read");
+        } finally {
+            CloseUtils.closeIOQuietly(br);
+            mAlive = false;
+            Command command;
+            synchronized (mLock) {
+                command = mCurrent;
+            }
+            if (command != null) command.finish(isError);
+        }
+    }
+
+    /**
+     * 获取进程退出码
+     * @return 进程退出码, 未退出返回 -1
+     */
+    private int exitValue() {
+        try {
+            // 输出流已结束, 进程退出前短暂等待
+            for (int i = 0; i < 50; i++) {
+                try {
+                    return mProcess.exitValue();
+                } catch (IllegalThreadStateException ignored) {
+                    Thread.sleep(10L);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return -1;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,264 @@
+package dev.utils.app.assist;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import dev.utils.LogPrintUtils;
+import dev.utils.app.ShellUtils;
+
+/**
+ * detail: 常驻 Shell 会话池
+ * @author Ttt
+ * <pre>
+ *     按 sh / su 分别缓存空闲 {@link ShellSession}, 执行命令时复用, 避免每条命令创建新进程
+ *     可通过 {@link ShellUtils#setSessionPool(ShellSessionPool)} 设置后
+ *     ShellUtils、ADBUtils 等全部命令自动使用会话池执行
+ *     <p></p>
+ *     超过最大空闲数量的会话执行完成后直接关闭, 空闲超过存活时间的会话在获取时关闭
+ *     未指定超时时间的调用使用默认执行超时, 超时的会话直接关闭不再复用
+ * </pre>
+ */
+public final class ShellSessionPool {
+
+    // 日志 TAG
+    private static final String TAG = ShellSessionPool.class.getSimpleName();
+
+    // 默认每种类型最大空闲会话数量
+    public static final int  DEFAULT_MAX_IDLE     = 2;
+    // 默认空闲会话存活时间 ( 毫秒 )
+    public static final long DEFAULT_KEEP_ALIVE   = 60000L;
+    // 默认执行超时时间 ( 毫秒 )
+    public static final long DEFAULT_EXEC_TIMEOUT = 60000L;
+
+    // 每种类型最大空闲会话数量
+    private final int                      mMaxIdle;
+    // 空闲会话存活时间 ( 毫秒 )
+    private final long                     mKeepAliveMillis;
+    // 默认执行超时时间 ( 毫秒 )
+    private final long                     mExecTimeoutMillis;
+    // sh 空闲会话
+    private final ArrayDeque<ShellSession> mShIdle = new ArrayDeque<>();
+    // su 空闲会话
+    private final ArrayDeque<ShellSession> mSuIdle = new ArrayDeque<>();
+    // 是否已关闭
+    private       boolean                  mShutdown;
+
+    /**
+     * 构造函数
+     */
+    public ShellSessionPool() {
+        this(DEFAULT_MAX_IDLE, DEFAULT_KEEP_ALIVE);
+    }
+
+    /**
+     * 构造函数
+     * @param maxIdle         每种类型最大空闲会话数量
+     * @param keepAliveMillis 空闲会话存活时间 ( 毫秒 ), 小于等于 0 则不过期
+     */
+    public ShellSessionPool(
+            final int maxIdle,
+            final long keepAliveMillis
+    ) {
+        this(maxIdle, keepAliveMillis, DEFAULT_EXEC_TIMEOUT);
+    }
+
+    /**
+     * 构造函数
+     * @param maxIdle           每种类型最大空闲会话数量
+     * @param keepAliveMillis   空闲会话存活时间 ( 毫秒 ), 小于等于 0 则不过期
+     * @param execTimeoutMillis 默认执行超时时间 ( 毫秒 ), 小于等于 0 则使用 {@link #DEFAULT_EXEC_TIMEOUT}
+     */
+    public ShellSessionPool(
+            final int maxIdle,
+            final long keepAliveMillis,
+            final long execTimeoutMillis
+    ) {
+        this.mMaxIdle           = Math.max(maxIdle, 0);
+        this.mKeepAliveMillis   = keepAliveMillis;
+        this.mExecTimeoutMillis = execTimeoutMillis > 0L ? execTimeoutMillis : DEFAULT_EXEC_TIMEOUT;
+    }
+
+    // =
+
+    /**
+     * 获取默认执行超时时间
+     * @return 默认执行超时时间 ( 毫秒 )
+     */
+    public long getExecTimeout() {
+        return mExecTimeoutMillis;
+    }
+
+    /**
+     * 执行 shell 命令 ( 使用默认执行超时时间 )
+     * @param command 待执行命令
+     * @param isRoot  是否以 root 权限执行
+     * @return {@link ShellUtils.CommandResult}
+     */
+    public ShellUtils.CommandResult execCmd(
+            final String command,
+            final boolean isRoot
+    ) {
+        return execCmd(new String[]{command}, isRoot, true, mExecTimeoutMillis, null);
+    }
+
+    /**
+     * 执行 shell 命令
+     * @param commands        多条待执行命令
+     * @param isRoot          是否以 root 权限执行
+     * @param isNeedResultMsg 是否需要结果消息 (error、success message)
+     * @param timeoutMillis   超时时间 ( 毫秒 ), 小于等于 0 则不超时
+     * @param callback        输出行回调
+     * @return {@link ShellUtils.CommandResult}
+     */
+    public ShellUtils.CommandResult execCmd(
+            final String[] commands,
+            final boolean isRoot,
+            final boolean isNeedResultMsg,
+            final long timeoutMillis,
+            final ShellSession.LineCallback callback
+    ) {
+        if (commands == null || commands.length == 0) {
+            return new ShellUtils.CommandResult(-1, null, null);
+        }
+        ShellSession session = acquire(isRoot);
+        if (session == null) {
+            return new ShellUtils.CommandResult(-1, null, null);
+        }
+        try {
+            return session.execCmd(commands, isNeedResultMsg, timeoutMillis, callback);
+        } finally {
+            release(session);
+        }
+    }
+
+    /**
+     * 获取空闲会话数量
+     * @param isRoot 是否 root 会话
+     * @return 空闲会话数量
+     */
+    public synchronized int getIdleCount(final boolean isRoot) {
+        return idle(isRoot).size();
+    }
+
+    /**
+     * 关闭空闲超过存活时间的会话
+     * @return 关闭数量
+     */
+    public int evictIdle() {
+        List<ShellSession> evicts = new ArrayList<>();
+        synchronized (this) {
+            collectExpired(mShIdle, evicts);
+            collectExpired(mSuIdle, evicts);
+        }
+        for (ShellSession session : evicts) {
+            session.close();
+        }
+        return evicts.size();
+    }
+
+    /**
+     * 关闭会话池及全部空闲会话
+     * <pre>
+     *     执行中的会话在执行完成后关闭
+     * </pre>
+     */
+    public void shutdown() {
+        List<ShellSession> sessions;
+        synchronized (this) {
+            mShutdown = true;
+            sessions  = new ArrayList<>(mShIdle);
+            sessions.addAll(mSuIdle);
+            mShIdle.clear();
+            mSuIdle.clear();
+        }
+        for (ShellSession session : sessions) {
+            session.close();
+        }
+    }
+
+    // ===========
+    // = 内部处理 =
+    // ===========
+
+    /**
+     * 获取空闲会话队列
+     * @param isRoot 是否 root 会话
+     * @return 空闲会话队列
+     */
+    private ArrayDeque<ShellSession> idle(final boolean isRoot) {
+        return isRoot ? mSuIdle : mShIdle;
+    }
+
+    /**
+     * 获取会话 ( 优先复用最近使用的空闲会话 )
+     * @param isRoot 是否以 root 权限执行
+     * @return {@link ShellSession}
+     */
+    private ShellSession acquire(final boolean isRoot) {
+        List<ShellSession> evicts  = new ArrayList<>();
+        ShellSession       session = null;
+        synchronized (this) {
+            if (mShutdown) return null;
+            collectExpired(idle(isRoot), evicts);
+            ArrayDeque<ShellSession> deque = idle(isRoot);
+            while (session == null && !deque.isEmpty()) {
+                ShellSession last = deque.pollLast();
+                if (last.isAlive()) {
+                    session = last;
+                } else {
+                    evicts.add(last);
+                }
+            }
+        }
+        for (ShellSession evict : evicts) {
+            evict.close();
+        }
+        if (session != null) return session;
+        try {
+            return new ShellSession(isRoot);
+        } catch (Exception e) {
+            LogPrintUtils.eTag(TAG, e, "acquire");
+        }
+        return null;
+    }
+
+    /**
+     * 归还会话
+     * @param session {@link ShellSession}
+     */
+    private void release(final ShellSession session) {
+        if (session.isAlive()) {
+            synchronized (this) {
+                ArrayDeque<ShellSession> deque = idle(session.isRoot());
+                if (!mShutdown && deque.size() < mMaxIdle) {
+                    deque.offerLast(session);
+                    return;
+                }
+            }
+        }
+        session.close();
+    }
+
+    /**
+     * 移除空闲超过存活时间或不可用的会话
+     * @param deque  空闲会话队列
+     * @param evicts 待关闭会话
+     */
+    private void collectExpired(
+            final ArrayDeque<ShellSession> deque,
+            final List<ShellSession> evicts
+    ) {
+        long                   now      = System.currentTimeMillis();
+        Iterator<ShellSession> iterator = deque.iterator();
+        while (iterator.hasNext()) {
+            ShellSession session = iterator.next();
+            if (!session.isAlive() || (mKeepAliveMillis > 0L
+                    && now - session.getLastUsedTime() > mKeepAliveMillis)) {
+                iterator.remove();
+                evicts.add(session);
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -29,12 +29,14 @@ public final class DevCache {
      * 获取 DevCache
      * @param cachePath 缓存文件夹路径
      * @param cipher    通用加解密中间层
+     * @param journal   是否使用日志存储
      */
     private DevCache(
             final String cachePath,
-            final Cipher cipher
+            final Cipher cipher,
+            final boolean journal
     ) {
-        mManager = new DevCacheManager(cachePath, cipher);
+        mManager = new DevCacheManager(cachePath, cipher, journal);
     }
 
     // 数据类型
@@ -60,11 +62,11 @@ public final class DevCache {
      * 获取 DevCache
      * @return {@link DevCache}
      */
-    public static DevCache newCache() {
+    public static synchronized DevCache newCache() {
         DevCache cache = DevCacheManager.sInstanceMaps.get("");
         if (cache == null) {
             String cachePath = PathUtils.getAppExternal().getAppCachePath(DEFAULT_NAME);
-            cache = new DevCache(cachePath, null);
+            cache = new DevCache(cachePath, null, false);
             DevCacheManager.sInstanceMaps.put("", cache);
             DevCacheManager.sInstanceMaps.put(cachePath, cache);
         }
@@ -86,7 +88,7 @@ public final class DevCache {
      * @param cipher    通用加解密中间层
      * @return {@link DevCache}
      */
-    public static DevCache newCache(
+    public static synchronized DevCache newCache(
             final String cachePath,
             final Cipher cipher
     ) {
@@ -95,7 +97,40 @@ public final class DevCache {
         }
         DevCache cache = DevCacheManager.sInstanceMaps.get(cachePath);
         if (cache == null) {
-            cache = new DevCache(cachePath, cipher);
+            cache = new DevCache(cachePath, cipher, false);
+            DevCacheManager.sInstanceMaps.put(cachePath, cache);
+        }
+        return cache;
+    }
+
+    /**
+     * 获取日志存储 DevCache
+     * @param cachePath 缓存文件夹路径
+     * @return {@link DevCache}
+     */
+    public static DevCache newJournalCache(final String cachePath) {
+        return newJournalCache(cachePath, null);
+    }
+
+    /**
+     * 获取日志存储 DevCache
+     * <pre>
+     *     全部 key 追加写入少量分段文件, 不再每个 key 创建 .data、.config 两个文件
+     *     适用于大量小数据缓存, 减少文件创建、删除及目录遍历开销
+     *     同一缓存文件夹只能使用一种存储方式, 已存在则返回已创建的 DevCache
+     * </pre>
+     * @param cachePath 缓存文件夹路径
+     * @param cipher    通用加解密中间层
+     * @return {@link DevCache}
+     */
+    public static synchronized DevCache newJournalCache(
+            final String cachePath,
+            final Cipher cipher
+    ) {
+        if (TextUtils.isEmpty(cachePath)) return null;
+        DevCache cache = DevCacheManager.sInstanceMaps.get(cachePath);
+        if (cache == null) {
+            cache = new DevCache(cachePath, cipher, true);
             DevCacheManager.sInstanceMaps.put(cachePath, cache);
         }
         return cache;
@@ -211,6 +246,150 @@ public final class DevCache {
         return mManager.getSize();
     }
 
+    // ==========
+    // = 容量限制 =
+    // ==========
+
+    /**
+     * 设置最大缓存大小
+     * <pre>
+     *     超出时按最近最少使用顺序淘汰, 小于等于 0 不限制
+     * </pre>
+     * @param maxSize 最大缓存大小
+     * @return {@link DevCache}
+     */
+    public DevCache setMaxSize(long maxSize) {
+        mManager.setMaxSize(maxSize);
+        return this;
+    }
+
+    /**
+     * 获取最大缓存大小
+     * @return 最大缓存大小
+     */
+    public long getMaxSize() {
+        return mManager.getMaxSize();
+    }
+
+    /**
+     * 设置最大缓存数量
+     * <pre>
+     *     超出时按最近最少使用顺序淘汰, 小于等于 0 不限制
+     * </pre>
+     * @param maxCount 最大缓存数量
+     * @return {@link DevCache}
+     */
+    public DevCache setMaxCount(int maxCount) {
+        mManager.setMaxCount(maxCount);
+        return this;
+    }
+
+    /**
+     * 获取最大缓存数量
+     * @return 最大缓存数量
+     */
+    public int getMaxCount() {
+        return mManager.getMaxCount();
+    }
+
+    /**
+     * 开启定时清除过期数据
+     * @param interval 清除间隔 ( 毫秒 )
+     * @return {@link DevCache}
+     */
+    public DevCache startAutoClearDue(long interval) {
+        mManager.startAutoClearDue(interval);
+        return this;
+    }
+
+    /**
+     * 关闭定时清除过期数据
+     * @return {@link DevCache}
+     */
+    public DevCache stopAutoClearDue() {
+        mManager.stopAutoClearDue();
+        return this;
+    }
+
+    // ==========
+    // = 内存缓存 =
+    // ==========
+
+    /**
+     * 设置内存缓存容量
+     * <pre>
+     *     在磁盘缓存前存储解码后的数据, 热点 key 无需重复读文件、解密、反序列化
+     *     maxSize 为原始数据 byte 长度总和, maxCount、maxSize 都小于等于 0 则关闭内存缓存
+     * </pre>
+     * @param maxCount 最大数量
+     * @param maxSize  最大大小
+     * @return {@link DevCache}
+     */
+    public DevCache setMemoryCache(
+            int maxCount,
+            long maxSize
+    ) {
+        mManager.setMemoryCache(maxCount, maxSize);
+        return this;
+    }
+
+    /**
+     * 获取内存缓存最大数量
+     * @return 内存缓存最大数量
+     */
+    public int getMemoryMaxCount() {
+        return mManager.getMemoryMaxCount();
+    }
+
+    /**
+     * 获取内存缓存最大大小
+     * @return 内存缓存最大大小
+     */
+    public long getMemoryMaxSize() {
+        return mManager.getMemoryMaxSize();
+    }
+
+    /**
+     * 获取缓存统计信息
+     * @return {@link Stats}
+     */
+    public Stats getStats() {
+        return mManager.getStats();
+    }
+
+    /**
+     * 重置缓存统计信息
+     * @return {@link DevCache}
+     */
+    public DevCache resetStats() {
+        mManager.resetStats();
+        return this;
+    }
+
+    // ==========
+    // = 日志存储 =
+    // ==========
+
+    /**
+     * 是否使用日志存储
+     * @return {@code true} yes, {@code false} no
+     */
+    public boolean isJournal() {
+        return mManager.isJournal();
+    }
+
+    /**
+     * 后台合并日志存储 ( 回收覆盖、删除产生的垃圾数据 )
+     * <pre>
+     *     垃圾数据超出阈值时会自动合并, 无需主动调用
+     * </pre>
+     * @return {@link DevCache}
+     */
+    public DevCache compact() {
+        mManager.compact();
+        return this;
+    }
+
     // =======
     // = 存储 =
     // =======
@@ -728,6 +907,8 @@ public final class DevCache {
         private       long   mSaveTime;
         // 有效期 ( 毫秒 )
         private       long   mValidTime;
+        // 数据大小 ( 日志存储记录, 小于 0 则读取数据文件大小 )
+        private       long   mSize = -1L;
 
         protected Data(
                 String path,
@@ -774,6 +955,7 @@ public final class DevCache {
          * @return 文件大小
          */
         public long getSize() {
+            if (mSize >= 0L) return mSize;
             return DevCacheManager.getDataFileSize(mPath, mKey);
         }
 
@@ -820,6 +1002,11 @@ public final class DevCache {
             return this;
         }
 
+        Data setSize(long size) {
+            this.mSize = size;
+            return this;
+        }
+
         // ==========
         // = 判断方法 =
         // ==========
@@ -876,4 +1063,130 @@ public final class DevCache {
             return mType == JSON_ARRAY;
         }
     }
-}
\ No newline at end of file
+
+    // =
+
+    /**
+     * detail: 缓存统计信息
+     * @author Ttt
+     */
+    public static final class Stats {
+
+        // 内存命中次数
+        private final long mHitCount;
+        // 内存未命中次数
+        private final long mMissCount;
+        // 磁盘加载次数
+        private final long mLoadCount;
+        // 磁盘加载总耗时 ( 纳秒 )
+        private final long mTotalLoadTime;
+        // 内存淘汰次数
+        private final long mEvictionCount;
+        // 内存数据数量
+        private final int  mMemoryCount;
+        // 内存数据大小
+        private final long mMemorySize;
+
+        Stats(
+                long hitCount,
+                long missCount,
+                long loadCount,
+                long totalLoadTime,
+                long evictionCount,
+                int memoryCount,
+                long memorySize
+        ) {
+            this.mHitCount      = hitCount;
+            this.mMissCount     = missCount;
+            this.mLoadCount     = loadCount;
+            this.mTotalLoadTime = totalLoadTime;
+            this.mEvictionCount = evictionCount;
+            this.mMemoryCount   = memoryCount;
+            this.mMemorySize    = memorySize;
+        }
+
+        /**
+         * 获取内存命中次数
+         * @return 内存命中次数
+         */
+        public long getHitCount() {
+            return mHitCount;
+        }
+
+        /**
+         * 获取内存未命中次数
+         * @return 内存未命中次数
+         */
+        public long getMissCount() {
+            return mMissCount;
+        }
+
+        /**
+         * 获取内存命中率
+         * @return 内存命中率 ( 0 - 1 )
+         */
+        public double getHitRate() {
+            long requestCount = mHitCount + mMissCount;
+            return requestCount == 0L ? 1.0D : (double) mHitCount / requestCount;
+        }
+
+        /**
+         * 获取磁盘加载次数
+         * @return 磁盘加载次数
+         */
+        public long getLoadCount() {
+            return mLoadCount;
+        }
+
+        /**
+         * 获取磁盘加载总耗时 ( 纳秒 )
+         * @return 磁盘加载总耗时
+         */
+        public long getTotalLoadTime() {
+            return mTotalLoadTime;
+        }
+
+        /**
+         * 获取磁盘平均加载耗时 ( 纳秒 )
+         * @return 磁盘平均加载耗时
+         */
+        public double getAverageLoadPenalty() {
+            return mLoadCount == 0L ? 0.0D : (double) mTotalLoadTime / mLoadCount;
+        }
+
+        /**
+         * 获取内存淘汰次数
+         * @return 内存淘汰次数
+         */
+        public long getEvictionCount() {
+            return mEvictionCount;
+        }
+
+        /**
+         * 获取内存数据数量
+         * @return 内存数据数量
+         */
+        public int getMemoryCount() {
+            return mMemoryCount;
+        }
+
+        /**
+         * 获取内存数据大小
+         * @return 内存数据大小
+         */
+        public long getMemorySize() {
+            return mMemorySize;
+        }
+
+        @Override
+        public String toString() {
+            return "Stats{hitCount=" + mHitCount
+                    + ", missCount=" + mMissCount
+                    + ", loadCount=" + mLoadCount
+                    + ", totalLoadTime=" + mTotalLoadTime
+                    + ", evictionCount=" + mEvictionCount
+                    + ", memoryCount=" + mMemoryCount
+                    + ", memorySize=" + mMemorySize + "}";
+        }
+    }
+}
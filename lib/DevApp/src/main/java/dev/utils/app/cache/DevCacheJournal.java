@@ -0,0 +1,832 @@
+package dev.utils.app.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+import dev.utils.common.CloseUtils;
+
+/**
+ * detail: 缓存追加写日志存储
+ * @author Ttt
+ * <pre>
+ *     所有 key 数据追加写入分段文件 ( id.seg ), 内存中维护 key 到分段位置的索引
+ *     删除写入墓碑记录, 覆盖写入新记录, 旧记录成为垃圾数据, 由后台合并 ( compact ) 回收
+ *     <p></p>
+ *     记录格式 [ CRC32 4 | 操作 1 | key 长度 2 | 类型 4 | 保存时间 8 | 有效期 8 | 数据长度 4 | key | 数据 ]
+ *     合并后的分段附带索引文件 ( id.hint ), 启动时直接读取索引文件, 其余分段顺序扫描一次重建索引
+ *     活动分段末尾不完整的记录 ( 写入中断 ) 在启动时截断
+ *     <p></p>
+ *     合并提交顺序: 新分段写入 id.seg.compact 并落盘 &gt; 删除 id.seg ( 提交点 ) &gt; 删除旧分段 &gt; 重命名
+ *     启动时根据 id.seg 是否存在判断合并是否已提交, 继续完成或丢弃
+ * </pre>
+ */
+final class DevCacheJournal
+        implements Closeable {
+
+    // 默认分段大小
+    static final         long    DEFAULT_SEGMENT_SIZE = 16L * 1024 * 1024;
+    // 分段文件后缀
+    private static final String  SEGMENT_SUFFIX       = ".seg";
+    // 索引文件后缀
+    private static final String  HINT_SUFFIX          = ".hint";
+    // 合并中文件后缀
+    private static final String  COMPACT_SUFFIX       = ".compact";
+    // 写入操作
+    private static final byte    OP_PUT               = 1;
+    // 删除操作
+    private static final byte    OP_DELETE            = 2;
+    // 记录头长度
+    private static final int     RECORD_HEADER        = 31;
+    // 索引文件魔数
+    private static final int     HINT_MAGIC           = 0x44434854;
+    // 触发合并的最小垃圾数据大小
+    private static final long    COMPACT_MIN_GARBAGE  = 1024L * 1024;
+    // 触发合并的垃圾数据占比
+    private static final float   COMPACT_RATIO        = 0.5F;
+    // key 编码
+    private static final Charset UTF_8                = Charset.forName("UTF-8");
+
+    // 存储目录
+    private final File                        mDirectory;
+    // 分段大小
+    private final long                        mSegmentSize;
+    // 读写锁 ( 索引、分段文件 )
+    private final ReentrantReadWriteLock      mLock        = new ReentrantReadWriteLock();
+    // 合并锁
+    private final Object                      mCompactLock = new Object();
+    // key 索引
+    private final Map<String, Entry>          mIndex       = new HashMap<>();
+    // 分段读取 FileChannel
+    private final TreeMap<Long, FileChannel>  mReaders     = new TreeMap<>();
+    // 活动分段 id
+    private       long                        mActiveId;
+    // 活动分段写入 FileChannel
+    private       FileChannel                 mWriter;
+    // 活动分段大小
+    private       long                        mActiveSize;
+    // 活动分段垃圾数据大小
+    private       long                        mActiveGarbage;
+    // 已封存分段总大小
+    private       long                        mSealedSize;
+    // 已封存分段垃圾数据大小
+    private       long                        mSealedGarbage;
+
+    /**
+     * 构造函数 ( 恢复中断的合并并重建索引 )
+     * @param directory   存储目录
+     * @param segmentSize 分段大小
+     * @throws IOException 读写失败时抛出异常
+     */
+    DevCacheJournal(
+            final File directory,
+            final long segmentSize
+    ) throws IOException {
+        this.mDirectory   = directory;
+        this.mSegmentSize = segmentSize > 0L ? segmentSize : DEFAULT_SEGMENT_SIZE;
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("create directory failed " + directory);
+        }
+        recoverCompact();
+        load();
+    }
+
+    /**
+     * detail: 索引记录
+     * @author Ttt
+     */
+    static final class Entry {
+
+        // key
+        final String key;
+        // 所在分段 id
+        final long   segmentId;
+        // 记录在分段中的位置
+        final long   offset;
+        // 记录长度
+        final int    recordLength;
+        // 数据长度
+        final int    valueLength;
+        // 存储类型
+        final int    type;
+        // 保存时间
+        final long   saveTime;
+        // 有效期
+        final long   validTime;
+
+        Entry(
+                final String key,
+                final long segmentId,
+                final long offset,
+                final int recordLength,
+                final int valueLength,
+                final int type,
+                final long saveTime,
+                final long validTime
+        ) {
+            this.key          = key;
+            this.segmentId    = segmentId;
+            this.offset       = offset;
+            this.recordLength = recordLength;
+            this.valueLength  = valueLength;
+            this.type         = type;
+            this.saveTime     = saveTime;
+            this.validTime    = validTime;
+        }
+
+        /**
+         * 获取数据在分段中的位置
+         * @return 数据在分段中的位置
+         */
+        long valueOffset() {
+            return offset + recordLength - valueLength;
+        }
+
+        /**
+         * 复制到新分段位置
+         * @param newSegmentId 新分段 id
+         * @param newOffset    新位置
+         * @return {@link Entry}
+         */
+        Entry moveTo(
+                final long newSegmentId,
+                final long newOffset
+        ) {
+            return new Entry(
+                    key, newSegmentId, newOffset, recordLength,
+                    valueLength, type, saveTime, validTime
+            );
+        }
+    }
+
+    // =============
+    // = 对外公开方法 =
+    // =============
+
+    /**
+     * 获取全部索引记录
+     * @return 索引记录集合
+     */
+    List<Entry> entries() {
+        mLock.readLock().lock();
+        try {
+            return new ArrayList<>(mIndex.values());
+        } finally {
+            mLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 获取索引记录
+     * @param key 存储 key
+     * @return {@link Entry}
+     */
+    Entry get(final String key) {
+        mLock.readLock().lock();
+        try {
+            return mIndex.get(key);
+        } finally {
+            mLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 读取数据
+     * @param key 存储 key
+     * @return 数据, 不存在返回 null
+     * @throws IOException 读取失败时抛出异常
+     */
+    byte[] read(final String key)
+            throws IOException {
+        mLock.readLock().lock();
+        try {
+            Entry entry = mIndex.get(key);
+            if (entry == null) return null;
+            ByteBuffer buffer = ByteBuffer.allocate(entry.valueLength);
+            readFully(mReaders.get(entry.segmentId), buffer, entry.valueOffset());
+            return buffer.array();
+        } finally {
+            mLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 写入数据
+     * @param key       存储 key
+     * @param type      存储类型
+     * @param saveTime  保存时间
+     * @param validTime 有效期
+     * @param value     数据
+     * @return {@link Entry}
+     * @throws IOException 写入失败时抛出异常
+     */
+    Entry put(
+            final String key,
+            final int type,
+            final long saveTime,
+            final long validTime,
+            final byte[] value
+    ) throws IOException {
+        byte[]     keyBytes = key.getBytes(UTF_8);
+        ByteBuffer record   = encode(OP_PUT, keyBytes, type, saveTime, validTime, value);
+        mLock.writeLock().lock();
+        try {
+            long  offset = append(record);
+            Entry entry  = new Entry(
+                    key, mActiveId, offset, record.capacity(),
+                    value.length, type, saveTime, validTime
+            );
+            markGarbage(mIndex.put(key, entry));
+            return entry;
+        } finally {
+            mLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 删除数据 ( 写入墓碑记录 )
+     * @param key 存储 key
+     * @return {@code true} 存在并删除, {@code false} 不存在
+     * @throws IOException 写入失败时抛出异常
+     */
+    boolean remove(final String key)
+            throws IOException {
+        mLock.writeLock().lock();
+        try {
+            if (!mIndex.containsKey(key)) return false;
+            ByteBuffer record = encode(OP_DELETE, key.getBytes(UTF_8), 0, 0L, 0L, new byte[0]);
+            append(record);
+            // 墓碑记录本身为垃圾数据
+            mActiveGarbage += record.capacity();
+            markGarbage(mIndex.remove(key));
+            return true;
+        } finally {
+            mLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 是否需要合并
+     * @return {@code true} yes, {@code false} no
+     */
+    boolean needCompact() {
+        mLock.readLock().lock();
+        try {
+            return mSealedGarbage >= COMPACT_MIN_GARBAGE
+                    && mSealedGarbage >= mSealedSize * COMPACT_RATIO;
+        } finally {
+            mLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 合并已封存分段 ( 只保留有效记录 )
+     * <pre>
+     *     复制有效记录期间不阻塞读写, 只在替换分段文件与索引时短暂持有写锁
+     * </pre>
+     * @throws IOException 合并失败时抛出异常
+     */
+    void compact()
+            throws IOException {
+        synchronized (mCompactLock) {
+            List<Long>             sealedIds = new ArrayList<>();
+            List<Entry>            lives     = new ArrayList<>();
+            Map<Long, FileChannel> readers   = new HashMap<>();
+            mLock.readLock().lock();
+            try {
+                // mReaders 在写锁内变更 ( roll、openActive ), 读锁内获取已封存分段快照
+                for (Map.Entry<Long, FileChannel> reader : mReaders.entrySet()) {
+                    long id = reader.getKey();
+                    if (id != mActiveId) {
+                        sealedIds.add(id);
+                        readers.put(id, reader.getValue());
+                    }
+                }
+                for (Entry entry : mIndex.values()) {
+                    if (entry.segmentId != mActiveId) lives.add(entry);
+                }
+            } finally {
+                mLock.readLock().unlock();
+            }
+            if (sealedIds.isEmpty()) return;
+            // 参与合并的分段总大小 ( 已封存分段不会再写入 )
+            long inputSize = 0L;
+            for (Long id : sealedIds) {
+                inputSize += segmentFile(id).length();
+            }
+            long targetId    = sealedIds.get(sealedIds.size() - 1);
+            File compactFile = compactFile(segmentFile(targetId));
+            File compactHint = compactFile(hintFile(targetId));
+            // 复制有效记录 ( 已封存分段不会再写入, 且替换前不会关闭 )
+            List<Entry>      moved = new ArrayList<>(lives.size());
+            RandomAccessFile raf   = new RandomAccessFile(compactFile, "rw");
+            try {
+                FileChannel channel  = raf.getChannel();
+                long        position = 0L;
+                for (Entry entry : lives) {
+                    ByteBuffer buffer = ByteBuffer.allocate(entry.recordLength);
+                    readFully(readers.get(entry.segmentId), buffer, entry.offset);
+                    buffer.flip();
+                    writeFully(channel, buffer, position);
+                    moved.add(entry.moveTo(targetId, position));
+                    position += entry.recordLength;
+                }
+                channel.force(true);
+            } finally {
+                CloseUtils.closeIOQuietly(raf);
+            }
+            long outputSize = compactFile.length();
+            writeHint(compactHint, moved, outputSize);
+
+            mLock.writeLock().lock();
+            try {
+                // 关闭旧分段, 删除 targetId.seg 为提交点
+                for (Long id : sealedIds) {
+                    CloseUtils.closeIOQuietly(mReaders.remove(id));
+                }
+                deleteSegment(targetId);
+                for (Long id : sealedIds) {
+                    deleteSegment(id);
+                }
+                finishCompact(targetId);
+                mReaders.put(targetId, openReader(targetId));
+                // 替换未被覆盖、删除的索引
+                for (int i = 0, len = moved.size(); i < len; i++) {
+                    Entry entry = moved.get(i);
+                    if (mIndex.get(entry.key) == lives.get(i)) {
+                        mIndex.put(entry.key, entry);
+                    }
+                }
+                // 按增量调整, 保留合并期间 roll 封存的分段统计
+                // 合并只移除垃圾数据, 合并期间被覆盖、删除的记录已由 markGarbage 计入
+                mSealedSize += outputSize - inputSize;
+                mSealedGarbage += outputSize - inputSize;
+            } finally {
+                mLock.writeLock().unlock();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        mLock.writeLock().lock();
+        try {
+            if (mWriter != null) {
+                try {
+                    mWriter.force(false);
+                } catch (IOException ignore) {
+                }
+                CloseUtils.closeIOQuietly(mWriter);
+                mWriter = null;
+            }
+            for (FileChannel channel : mReaders.values()) {
+                CloseUtils.closeIOQuietly(channel);
+            }
+            mReaders.clear();
+        } finally {
+            mLock.writeLock().unlock();
+        }
+    }
+
+    // ===========
+    // = 写入处理 =
+    // ===========
+
+    /**
+     * 编码记录
+     * @param op        操作
+     * @param keyBytes  key
+     * @param type      存储类型
+     * @param saveTime  保存时间
+     * @param validTime 有效期
+     * @param value     数据
+     * @return 记录数据 ( 读模式 )
+     */
+    private static ByteBuffer encode(
+            final byte op,
+            final byte[] keyBytes,
+            final int type,
+            final long saveTime,
+            final long validTime,
+            final byte[] value
+    ) {
+        if (keyBytes.length > 0xFFFF) throw new IllegalArgumentException("key too long");
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_HEADER + keyBytes.length + value.length);
+        buffer.putInt(0).put(op).putShort((short) keyBytes.length)
+                .putInt(type).putLong(saveTime).putLong(validTime).putInt(value.length)
+                .put(keyBytes).put(value);
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 4, buffer.capacity() - 4);
+        buffer.putInt(0, (int) crc.getValue());
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * 追加记录到活动分段 ( 超出分段大小时封存并创建新分段 )
+     * @param record 记录数据
+     * @return 记录在活动分段中的位置
+     * @throws IOException 写入失败时抛出异常
+     */
+    private long append(final ByteBuffer record)
+            throws IOException {
+        if (mActiveSize >= mSegmentSize) roll();
+        long offset = mActiveSize;
+        writeFully(mWriter, record, offset);
+        mActiveSize += record.capacity();
+        return offset;
+    }
+
+    /**
+     * 封存活动分段并创建新分段
+     * @throws IOException 创建失败时抛出异常
+     */
+    private void roll()
+            throws IOException {
+        mWriter.force(false);
+        CloseUtils.closeIOQuietly(mWriter);
+        mSealedSize += mActiveSize;
+        mSealedGarbage += mActiveGarbage;
+        openActive(mActiveId + 1);
+    }
+
+    /**
+     * 打开活动分段
+     * @param id 分段 id
+     * @throws IOException 打开失败时抛出异常
+     */
+    private void openActive(final long id)
+            throws IOException {
+        mActiveId      = id;
+        mWriter        = new RandomAccessFile(segmentFile(id), "rw").getChannel();
+        mActiveSize    = mWriter.size();
+        mActiveGarbage = 0L;
+        if (!mReaders.containsKey(id)) {
+            mReaders.put(id, openReader(id));
+        }
+    }
+
+    /**
+     * 标记旧记录为垃圾数据
+     * @param old 被覆盖、删除的索引记录
+     */
+    private void markGarbage(final Entry old) {
+        if (old == null) return;
+        if (old.segmentId == mActiveId) {
+            mActiveGarbage += old.recordLength;
+        } else {
+            mSealedGarbage += old.recordLength;
+        }
+    }
+
+    /**
+     * 写入合并分段索引文件
+     * @param file        索引文件
+     * @param entries     索引记录
+     * @param segmentSize 分段文件大小
+     * @throws IOException 写入失败时抛出异常
+     */
+    private static void writeHint(
+            final File file,
+            final List<Entry> entries,
+            final long segmentSize
+    ) throws IOException {
+        FileOutputStream     fos = new FileOutputStream(file);
+        CheckedOutputStream  cos = new CheckedOutputStream(fos, new CRC32());
+        DataOutputStream     dos = new DataOutputStream(new BufferedOutputStream(cos));
+        try {
+            dos.writeInt(HINT_MAGIC);
+            dos.writeLong(segmentSize);
+            dos.writeInt(entries.size());
+            for (Entry entry : entries) {
+                byte[] keyBytes = entry.key.getBytes(UTF_8);
+                dos.writeShort(keyBytes.length);
+                dos.write(keyBytes);
+                dos.writeLong(entry.offset);
+                dos.writeInt(entry.recordLength);
+                dos.writeInt(entry.valueLength);
+                dos.writeInt(entry.type);
+                dos.writeLong(entry.saveTime);
+                dos.writeLong(entry.validTime);
+            }
+            dos.flush();
+            long crc = cos.getChecksum().getValue();
+            dos.writeLong(crc);
+            dos.flush();
+            fos.getFD().sync();
+        } finally {
+            CloseUtils.closeIOQuietly(dos);
+        }
+    }
+
+    // ===========
+    // = 启动加载 =
+    // ===========
+
+    /**
+     * 恢复中断的合并
+     * @throws IOException 读写失败时抛出异常
+     */
+    private void recoverCompact()
+            throws IOException {
+        File[] files = mDirectory.listFiles();
+        if (files == null) return;
+        for (File file : files) {
+            String name = file.getName();
+            if (!name.endsWith(SEGMENT_SUFFIX + COMPACT_SUFFIX)) continue;
+            long id = parseId(name);
+            if (id < 0L) continue;
+            if (segmentFile(id).exists()) {
+                // 未提交, 丢弃合并结果
+                deleteFile(file);
+                deleteFile(compactFile(hintFile(id)));
+            } else {
+                // 已提交, 继续删除旧分段并重命名
+                for (long oldId : listSegmentIds()) {
+                    if (oldId < id) deleteSegment(oldId);
+                }
+                finishCompact(id);
+            }
+        }
+        // 没有对应合并分段的索引文件无法确认有效性, 直接删除
+        files = mDirectory.listFiles();
+        if (files == null) return;
+        for (File file : files) {
+            if (file.getName().endsWith(HINT_SUFFIX + COMPACT_SUFFIX)) deleteFile(file);
+        }
+    }
+
+    /**
+     * 加载全部分段并重建索引
+     * @throws IOException 读取失败时抛出异常
+     */
+    private void load()
+            throws IOException {
+        List<Long> ids = listSegmentIds();
+        for (int i = 0, len = ids.size(); i < len; i++) {
+            long    id     = ids.get(i);
+            boolean isLast = i == len - 1;
+            if (isLast || !loadHint(id)) {
+                long validLength = scanSegment(id);
+                if (isLast && validLength < segmentFile(id).length()) {
+                    // 截断写入中断的不完整记录
+                    RandomAccessFile raf = new RandomAccessFile(segmentFile(id), "rw");
+                    try {
+                        raf.setLength(validLength);
+                    } finally {
+                        CloseUtils.closeIOQuietly(raf);
+                    }
+                }
+            }
+            mReaders.put(id, openReader(id));
+        }
+        openActive(ids.isEmpty() ? 1L : ids.get(ids.size() - 1));
+        // 统计垃圾数据
+        long sealedLive = 0L, activeLive = 0L;
+        for (Entry entry : mIndex.values()) {
+            if (entry.segmentId == mActiveId) {
+                activeLive += entry.recordLength;
+            } else {
+                sealedLive += entry.recordLength;
+            }
+        }
+        mSealedSize = 0L;
+        for (Map.Entry<Long, FileChannel> entry : mReaders.entrySet()) {
+            if (entry.getKey() != mActiveId) mSealedSize += entry.getValue().size();
+        }
+        mSealedGarbage = mSealedSize - sealedLive;
+        mActiveGarbage = mActiveSize - activeLive;
+    }
+
+    /**
+     * 读取合并分段索引文件
+     * @param id 分段 id
+     * @return {@code true} 读取成功, {@code false} 不存在或无效
+     */
+    private boolean loadHint(final long id) {
+        File file = hintFile(id);
+        if (!file.isFile()) return false;
+        CheckedInputStream cis = null;
+        try {
+            cis = new CheckedInputStream(new FileInputStream(file), new CRC32());
+            DataInputStream dis = new DataInputStream(new BufferedInputStream(cis));
+            if (dis.readInt() != HINT_MAGIC) return false;
+            if (dis.readLong() != segmentFile(id).length()) return false;
+            int         count   = dis.readInt();
+            List<Entry> entries = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                byte[] keyBytes = new byte[dis.readUnsignedShort()];
+                dis.readFully(keyBytes);
+                long offset       = dis.readLong();
+                int  recordLength = dis.readInt();
+                int  valueLength  = dis.readInt();
+                int  type         = dis.readInt();
+                long saveTime     = dis.readLong();
+                long validTime    = dis.readLong();
+                entries.add(new Entry(
+                        new String(keyBytes, UTF_8), id, offset, recordLength,
+                        valueLength, type, saveTime, validTime
+                ));
+            }
+            long expected = cis.getChecksum().getValue();
+            if (dis.readLong() != expected) return false;
+            for (Entry entry : entries) {
+                mIndex.put(entry.key, entry);
+            }
+            return true;
+        } catch (Exception e) {
+            return false;
+        } finally {
+            CloseUtils.closeIOQuietly(cis);
+        }
+    }
+
+    /**
+     * 顺序扫描分段重建索引
+     * @param id 分段 id
+     * @return 有效数据长度 ( 遇到不完整或校验失败的记录时停止 )
+     * @throws IOException 读取失败时抛出异常
+     */
+    private long scanSegment(final long id)
+            throws IOException {
+        File            file     = segmentFile(id);
+        long            fileSize = file.length();
+        long            position = 0L;
+        DataInputStream dis      = new DataInputStream(new BufferedInputStream(
+                new FileInputStream(file), 64 * 1024
+        ));
+        try {
+            byte[] header = new byte[RECORD_HEADER];
+            while (position + RECORD_HEADER <= fileSize) {
+                dis.readFully(header);
+                ByteBuffer buffer      = ByteBuffer.wrap(header);
+                int        crcValue    = buffer.getInt();
+                byte       op          = buffer.get();
+                int        keyLength   = buffer.getShort() & 0xFFFF;
+                int        type        = buffer.getInt();
+                long       saveTime    = buffer.getLong();
+                long       validTime   = buffer.getLong();
+                int        valueLength = buffer.getInt();
+                if ((op != OP_PUT && op != OP_DELETE) || valueLength < 0) break;
+                long recordLength = (long) RECORD_HEADER + keyLength + valueLength;
+                if (position + recordLength > fileSize) break;
+                byte[] body = new byte[keyLength + valueLength];
+                dis.readFully(body);
+                CRC32 crc = new CRC32();
+                crc.update(header, 4, RECORD_HEADER - 4);
+                crc.update(body);
+                if ((int) crc.getValue() != crcValue) break;
+
+                String key = new String(body, 0, keyLength, UTF_8);
+                if (op == OP_PUT) {
+                    mIndex.put(key, new Entry(
+                            key, id, position, (int) recordLength,
+                            valueLength, type, saveTime, validTime
+                    ));
+                } else {
+                    mIndex.remove(key);
+                }
+                position += recordLength;
+            }
+        } catch (EOFException ignore) {
+        } finally {
+            CloseUtils.closeIOQuietly(dis);
+        }
+        return position;
+    }
+
+    // ===========
+    // = 文件处理 =
+    // ===========
+
+    private File segmentFile(final long id) {
+        return new File(mDirectory, id + SEGMENT_SUFFIX);
+    }
+
+    private File hintFile(final long id) {
+        return new File(mDirectory, id + HINT_SUFFIX);
+    }
+
+    private static File compactFile(final File file) {
+        return new File(file.getPath() + COMPACT_SUFFIX);
+    }
+
+    private FileChannel openReader(final long id)
+            throws IOException {
+        return new RandomAccessFile(segmentFile(id), "r").getChannel();
+    }
+
+    /**
+     * 获取全部分段 id ( 升序 )
+     * @return 分段 id 集合
+     */
+    private List<Long> listSegmentIds() {
+        List<Long> ids   = new ArrayList<>();
+        File[]     files = mDirectory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                String name = file.getName();
+                if (name.endsWith(SEGMENT_SUFFIX)) {
+                    long id = parseId(name);
+                    if (id >= 0L) ids.add(id);
+                }
+            }
+        }
+        Collections.sort(ids);
+        return ids;
+    }
+
+    /**
+     * 解析文件名中的分段 id
+     * @param name 文件名
+     * @return 分段 id, 无效返回 -1
+     */
+    private static long parseId(final String name) {
+        int index = name.indexOf('.');
+        if (index <= 0) return -1L;
+        try {
+            return Long.parseLong(name.substring(0, index));
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+
+    /**
+     * 删除分段及其索引文件
+     * @param id 分段 id
+     * @throws IOException 删除失败时抛出异常
+     */
+    private void deleteSegment(final long id)
+            throws IOException {
+        deleteFile(segmentFile(id));
+        deleteFile(hintFile(id));
+    }
+
+    /**
+     * 重命名合并文件为正式分段、索引文件
+     * @param id 分段 id
+     * @throws IOException 重命名失败时抛出异常
+     */
+    private void finishCompact(final long id)
+            throws IOException {
+        File compactSegment = compactFile(segmentFile(id));
+        if (!compactSegment.renameTo(segmentFile(id))) {
+            throw new IOException("rename failed " + compactSegment);
+        }
+        File compactHint = compactFile(hintFile(id));
+        if (compactHint.exists() && !compactHint.renameTo(hintFile(id))) {
+            deleteFile(compactHint);
+        }
+    }
+
+    private static void deleteFile(final File file)
+            throws IOException {
+        if (file.exists() && !file.delete()) {
+            throw new IOException("delete failed " + file);
+        }
+    }
+
+    private static void readFully(
+            final FileChannel channel,
+            final ByteBuffer buffer,
+            final long position
+    ) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException();
+            }
+        }
+    }
+
+    private static void writeFully(
+            final FileChannel channel,
+            final ByteBuffer buffer,
+            final long position
+    ) throws IOException {
+        long offset = position;
+        while (buffer.hasRemaining()) {
+            offset += channel.write(buffer, offset);
+        }
+    }
+}
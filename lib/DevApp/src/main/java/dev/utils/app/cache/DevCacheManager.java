@@ -12,16 +12,20 @@ import org.json.JSONObject;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import dev.utils.DevFinal;
 import dev.utils.LogPrintUtils;
@@ -29,10 +33,22 @@ import dev.utils.app.image.ImageUtils;
 import dev.utils.common.CloseUtils;
 import dev.utils.common.FileUtils;
 import dev.utils.common.cipher.Cipher;
+import dev.utils.common.thread.DevThreadPool;
 
 /**
  * detail: 缓存管理类
  * @author Ttt
+ * <pre>
+ *     缓存 Data 使用访问顺序 LinkedHashMap 记录 ( LRU ), 与缓存大小、数量统计在同一把锁内更新
+ *     同一 key 的读写、删除文件操作使用分段锁, 不同 key 之间可并发
+ *     设置最大缓存大小、数量后, 超出时按最近最少使用顺序淘汰
+ *     清除、统计、定时清除过期数据等后台任务统一在单线程池中执行
+ *     <p></p>
+ *     默认每个 key 存储 .data、.config 两个文件, 使用日志存储时全部 key 追加写入少量分段文件
+ *     详见 {@link DevCacheJournal}
+ *     <p></p>
+ *     可选内存层 {@link DevCacheMemory} 存储解码后的数据, 写入、删除时失效
+ * </pre>
  */
 final class DevCacheManager {
 
@@ -43,52 +59,111 @@ final class DevCacheManager {
     // 文件后缀
     private static final   String                DATA_EXTENSION   = ".data";
     private static final   String                CONFIG_EXTENSION = ".config";
+    // key 分段锁数量
+    private static final   int                   KEY_LOCK_COUNT   = 32;
+    // 后台任务线程池 ( 所有缓存共用 )
+    private static final   DevThreadPool         sThreadPool      = new DevThreadPool(
+            DevThreadPool.DevThreadPoolType.SINGLE
+    );
     // 缓存地址
     private final          String                mCachePath;
     // 通用加解密中间层
     private final          Cipher                mCipher;
     // 总缓存大小
-    private final          AtomicLong            mCacheSize       = new AtomicLong();
+    private                long                  mCacheSize;
     // 总缓存的文件总数
-    private final          AtomicInteger         mCacheCount      = new AtomicInteger();
+    private                int                   mCacheCount;
+    // 最大缓存大小 ( 小于等于 0 不限制 )
+    private volatile       long                  mMaxSize;
+    // 最大缓存数量 ( 小于等于 0 不限制 )
+    private volatile       int                   mMaxCount;
+    // 定时清除过期数据任务
+    private                ScheduledFuture<?>    mSweepFuture;
+    // key 分段锁
+    private final          Object[]              mKeyLocks        = new Object[KEY_LOCK_COUNT];
+    // 日志存储 ( 为 null 则使用 .data、.config 文件存储 )
+    private final          DevCacheJournal       mJournal;
+    // 是否合并中
+    private final          AtomicBoolean         mCompacting      = new AtomicBoolean();
+    // 内存层
+    private final          DevCacheMemory        mMemory          = new DevCacheMemory();
 
     public DevCacheManager(
             String cachePath,
             Cipher cipher
+    ) {
+        this(cachePath, cipher, false);
+    }
+
+    public DevCacheManager(
+            String cachePath,
+            Cipher cipher,
+            boolean journal
     ) {
         this.mCachePath = cachePath;
         this.mCipher    = cipher;
+        this.mJournal   = journal ? _openJournal(cachePath) : null;
+        for (int i = 0; i < KEY_LOCK_COUNT; i++) {
+            mKeyLocks[i] = new Object();
+        }
         // 计算文件信息
         calculateCacheSizeAndCacheCount();
     }
 
+    /**
+     * 打开日志存储 ( 同步加载索引 )
+     * @param cachePath 缓存地址
+     * @return {@link DevCacheJournal}
+     */
+    private DevCacheJournal _openJournal(final String cachePath) {
+        if (cachePath == null) return null;
+        try {
+            return new DevCacheJournal(
+                    new File(cachePath), DevCacheJournal.DEFAULT_SEGMENT_SIZE
+            );
+        } catch (Exception e) {
+            // 降级为单 key 双文件存储
+            LogPrintUtils.eTag(TAG, e, "_openJournal %s failed, fallback to file storage", cachePath);
+            return null;
+        }
+    }
+
     /**
      * 计算 cacheSize 和 cacheCount
+     * <pre>
+     *     按保存时间从旧到新加入 LRU 记录, 已被读写加载的 key 不重复统计
+     * </pre>
      */
     private void calculateCacheSizeAndCacheCount() {
-        new Thread(() -> {
-            long size = 0, count = 0;
-            if (mCachePath != null) {
-                File[] cachedFiles = new File(mCachePath).listFiles();
-                if (cachedFiles != null) {
-                    for (File file : cachedFiles) {
-                        if (file != null && file.isFile()) {
-                            String fileName = file.getName();
-                            if (fileName.endsWith(CONFIG_EXTENSION)) {
-                                String        key  = FileUtils.getFileNotSuffix(fileName);
-                                DevCache.Data data = _mapGetData(key);
-                                if (data != null) {
-                                    size += data.getSize();
-                                    count += 1;
-                                }
-                            }
-                        }
+        sThreadPool.execute(() -> {
+            if (mJournal != null) {
+                List<DevCacheJournal.Entry> entries = mJournal.entries();
+                Collections.sort(entries, (o1, o2) -> Long.compare(o1.saveTime, o2.saveTime));
+                for (DevCacheJournal.Entry entry : entries) {
+                    _trackScanned(entry.key, _toData(entry), entry.valueLength);
+                }
+                _trimToSize();
+                return;
+            }
+            if (mCachePath == null) return;
+            File[] cachedFiles = new File(mCachePath).listFiles();
+            if (cachedFiles == null) return;
+            List<DevCache.Data> lists = new ArrayList<>();
+            for (File file : cachedFiles) {
+                if (file != null && file.isFile()) {
+                    String fileName = file.getName();
+                    if (fileName.endsWith(CONFIG_EXTENSION)) {
+                        DevCache.Data data = _getData(FileUtils.getFileNotSuffix(fileName));
+                        if (data != null) lists.add(data);
                     }
-                    mCacheSize.set(size);
-                    mCacheCount.set((int) count);
                 }
             }
-        }).start();
+            Collections.sort(lists, (o1, o2) -> Long.compare(o1.getSaveTime(), o2.getSaveTime()));
+            for (DevCache.Data data : lists) {
+                _trackScanned(data.getKey(), data, data.getSize());
+            }
+            _trimToSize();
+        });
     }
 
     // =============
@@ -103,15 +178,21 @@ final class DevCacheManager {
 
     public void remove(String key) {
         if (TextUtils.isEmpty(key)) return;
-        File dataFile   = _getKeyDataFile(key);
-        File configFile = _getKeyConfigFile(key);
-        long size       = getDataFileSize(mCachePath, key);
-        if (FileUtils.deleteFile(dataFile)
-                && FileUtils.deleteFile(configFile)) {
-            mCacheSize.addAndGet(-size);
-            mCacheCount.addAndGet(-1);
-            mDataMaps.remove(key); // 移除缓存
+        synchronized (_getKeyLock(key)) {
+            if (mJournal != null) {
+                try {
+                    mJournal.remove(key);
+                } catch (IOException e) {
+                    LogPrintUtils.eTag(TAG, e, "remove");
+                }
+            } else {
+                FileUtils.deleteFile(_getKeyDataFile(key));
+                FileUtils.deleteFile(_getKeyConfigFile(key));
+            }
+            _untrack(key); // 移除缓存
+            mMemory.remove(key);
         }
+        _compactIfNeeded();
     }
 
     public void removeForKeys(String[] keys) {
@@ -132,33 +213,25 @@ final class DevCacheManager {
     }
 
     public void clear() {
-        new Thread(() -> {
-            HashSet<String> keys = new HashSet<>(mDataMaps.keySet());
-            for (String key : keys) {
-                remove(key);
+        sThreadPool.execute(() -> {
+            for (DevCache.Data data : getKeys()) {
+                remove(data.getKey());
             }
-        }).start();
+        });
     }
 
     public void clearDue() {
-        new Thread(() -> {
-            HashSet<String> keys = new HashSet<>(mDataMaps.keySet());
-            for (String key : keys) {
-                if (isDue(key)) remove(key);
-            }
-        }).start();
+        sThreadPool.execute(this::_clearDue);
     }
 
     public void clearType(int type) {
-        new Thread(() -> {
-            HashSet<String> keys = new HashSet<>(mDataMaps.keySet());
-            for (String key : keys) {
-                DevCache.Data data = _mapGetData(key);
-                if (data != null && data.getType() == type) {
-                    remove(key);
+        sThreadPool.execute(() -> {
+            for (DevCache.Data data : getKeys()) {
+                if (data.getType() == type) {
+                    remove(data.getKey());
                 }
             }
-        }).start();
+        });
     }
 
     public DevCache.Data getItemByKey(String key) {
@@ -166,15 +239,15 @@ final class DevCacheManager {
     }
 
     public List<DevCache.Data> getKeys() {
-        return new ArrayList<>(mDataMaps.values());
+        synchronized (mDataMaps) {
+            return new ArrayList<>(mDataMaps.values());
+        }
     }
 
     public List<DevCache.Data> getPermanentKeys() {
         List<DevCache.Data> lists = new ArrayList<>();
-        HashSet<String>     keys  = new HashSet<>(mDataMaps.keySet());
-        for (String key : keys) {
-            DevCache.Data data = _mapGetData(key);
-            if (data != null && data.isPermanent()) {
+        for (DevCache.Data data : getKeys()) {
+            if (data.isPermanent()) {
                 lists.add(data);
             }
         }
@@ -182,11 +255,94 @@ final class DevCacheManager {
     }
 
     public int getCount() {
-        return mCacheCount.get();
+        synchronized (mDataMaps) {
+            return mCacheCount;
+        }
     }
 
     public long getSize() {
-        return mCacheSize.get();
+        synchronized (mDataMaps) {
+            return mCacheSize;
+        }
+    }
+
+    // ==========
+    // = 容量限制 =
+    // ==========
+
+    public void setMaxSize(long maxSize) {
+        this.mMaxSize = maxSize;
+        sThreadPool.execute(this::_trimToSize);
+    }
+
+    public long getMaxSize() {
+        return mMaxSize;
+    }
+
+    public void setMaxCount(int maxCount) {
+        this.mMaxCount = maxCount;
+        sThreadPool.execute(this::_trimToSize);
+    }
+
+    public int getMaxCount() {
+        return mMaxCount;
+    }
+
+    public synchronized void startAutoClearDue(long interval) {
+        stopAutoClearDue();
+        if (interval <= 0L) return;
+        mSweepFuture = sThreadPool.scheduleWithFixedDelay(
+                this::_clearDue, interval, interval, TimeUnit.MILLISECONDS
+        );
+    }
+
+    public synchronized void stopAutoClearDue() {
+        if (mSweepFuture != null) {
+            mSweepFuture.cancel(false);
+            mSweepFuture = null;
+        }
+    }
+
+    // ==========
+    // = 内存缓存 =
+    // ==========
+
+    public void setMemoryCache(
+            int maxCount,
+            long maxSize
+    ) {
+        mMemory.setCapacity(maxCount, maxSize);
+    }
+
+    public int getMemoryMaxCount() {
+        return mMemory.getMaxCount();
+    }
+
+    public long getMemoryMaxSize() {
+        return mMemory.getMaxSize();
+    }
+
+    public DevCache.Stats getStats() {
+        return mMemory.getStats();
+    }
+
+    public void resetStats() {
+        mMemory.resetStats();
+    }
+
+    // ==========
+    // = 日志存储 =
+    // ==========
+
+    public boolean isJournal() {
+        return mJournal != null;
+    }
+
+    public void compact() {
+        if (mJournal == null) return;
+        if (mCompacting.compareAndSet(false, true)) {
+            sThreadPool.execute(this::_compact);
+        }
     }
 
     // =======
@@ -394,8 +550,7 @@ final class DevCacheManager {
                 remove(key);
             } else {
                 try {
-                    byte[] bytes = _get(key);
-                    return Integer.parseInt(new String(bytes));
+                    return _load(key, Integer.class, bytes -> Integer.parseInt(new String(bytes)));
                 } catch (Exception e) {
                     LogPrintUtils.eTag(TAG, "getInt");
                 }
@@ -414,8 +569,7 @@ final class DevCacheManager {
                 remove(key);
             } else {
                 try {
-                    byte[] bytes = _get(key);
-                    return Long.parseLong(new String(bytes));
+                    return _load(key, Long.class, bytes -> Long.parseLong(new String(bytes)));
                 } catch (Exception e) {
                     LogPrintUtils.eTag(TAG, "getLong");
                 }
@@ -434,8 +588,7 @@ final class DevCacheManager {
                 remove(key);
             } else {
                 try {
-                    byte[] bytes = _get(key);
-                    return Float.parseFloat(new String(bytes));
+                    return _load(key, Float.class, bytes -> Float.parseFloat(new String(bytes)));
                 } catch (Exception e) {
                     LogPrintUtils.eTag(TAG, "getFloat");
                 }
@@ -454,8 +607,7 @@ final class DevCacheManager {
                 remove(key);
             } else {
                 try {
-                    byte[] bytes = _get(key);
-                    return Double.parseDouble(new String(bytes));
+                    return _load(key, Double.class, bytes -> Double.parseDouble(new String(bytes)));
                 } catch (Exception e) {
                     LogPrintUtils.eTag(TAG, "getDouble");
                 }
@@ -474,8 +626,7 @@ final class DevCacheManager {
                 remove(key);
             } else {
                 try {
-                    byte[] bytes = _get(key);
-                    return Boolean.parseBoolean(new String(bytes));
+                    return _load(key, Boolean.class, bytes -> Boolean.parseBoolean(new String(bytes)));
                 } catch (Exception e) {
                     LogPrintUtils.eTag(TAG, "getBoolean");
                 }
@@ -494,8 +645,7 @@ final class DevCacheManager {
                 remove(key);
             } else {
                 try {
-                    byte[] bytes = _get(key);
-                    return new String(bytes);
+                    return _load(key, String.class, String::new);
                 } catch (Exception e) {
                     LogPrintUtils.eTag(TAG, "getString");
                 }
@@ -514,7 +664,9 @@ final class DevCacheManager {
                 remove(key);
             } else {
                 try {
-                    return _get(key);
+                    byte[] bytes = _loadBytes(key);
+                    // 内存层数据不可被外部修改
+                    return mMemory.isEnabled() ? bytes.clone() : bytes;
                 } catch (Exception e) {
                     LogPrintUtils.eTag(TAG, "getBytes");
                 }
@@ -533,7 +685,7 @@ final class DevCacheManager {
                 remove(key);
             } else {
                 try {
-                    byte[] bytes = _get(key);
+                    byte[] bytes = _loadBytes(key);
                     return ImageUtils.decodeByteArray(bytes);
                 } catch (Exception e) {
                     LogPrintUtils.eTag(TAG, "getBitmap");
@@ -553,7 +705,7 @@ final class DevCacheManager {
                 remove(key);
             } else {
                 try {
-                    byte[] bytes  = _get(key);
+                    byte[] bytes  = _loadBytes(key);
                     Bitmap bitmap = ImageUtils.decodeByteArray(bytes);
                     return ImageUtils.bitmapToDrawable(bitmap);
                 } catch (Exception e) {
@@ -575,7 +727,7 @@ final class DevCacheManager {
             } else {
                 ObjectInputStream ois = null;
                 try {
-                    byte[] bytes = _get(key);
+                    byte[] bytes = _loadBytes(key);
                     ois = new ObjectInputStream(new ByteArrayInputStream(bytes));
                     return ois.readObject();
                 } catch (Exception e) {
@@ -599,7 +751,7 @@ final class DevCacheManager {
                 remove(key);
             } else {
                 try {
-                    byte[] bytes  = _get(key);
+                    byte[] bytes  = _loadBytes(key);
                     Parcel parcel = Parcel.obtain();
                     parcel.unmarshall(bytes, 0, bytes.length);
                     parcel.setDataPosition(0);
@@ -622,7 +774,7 @@ final class DevCacheManager {
                 remove(key);
             } else {
                 try {
-                    byte[] bytes = _get(key);
+                    byte[] bytes = _loadBytes(key);
                     return new JSONObject(new String(bytes));
                 } catch (Exception e) {
                     LogPrintUtils.eTag(TAG, "getJSONObject");
@@ -642,7 +794,7 @@ final class DevCacheManager {
                 remove(key);
             } else {
                 try {
-                    byte[] bytes = _get(key);
+                    byte[] bytes = _loadBytes(key);
                     return new JSONArray(new String(bytes));
                 } catch (Exception e) {
                     LogPrintUtils.eTag(TAG, "getJSONArray");
@@ -699,6 +851,7 @@ final class DevCacheManager {
      */
     private boolean _isExistKeyFile(final String key) {
         if (TextUtils.isEmpty(key)) return false;
+        if (mJournal != null) return mJournal.get(key) != null;
         return FileUtils.isFileExists(_getKeyDataFile(key))
                 && FileUtils.isFileExists(_getKeyConfigFile(key));
     }
@@ -707,21 +860,142 @@ final class DevCacheManager {
     // = Data =
     // ========
 
-    // 缓存 Data
-    private final HashMap<String, DevCache.Data> mDataMaps = new HashMap<>();
+    // 缓存 Data ( 访问顺序, 最近最少使用的在前 )
+    private final LinkedHashMap<String, DevCache.Data> mDataMaps = new LinkedHashMap<>(
+            16, 0.75F, true
+    );
+    // 缓存 Data 数据文件大小
+    private final HashMap<String, Long>                mSizeMaps = new HashMap<>();
 
     private DevCache.Data _mapGetData(final String key) {
         if (TextUtils.isEmpty(key)) return null;
-        DevCache.Data data = mDataMaps.get(key);
+        DevCache.Data data;
+        synchronized (mDataMaps) {
+            data = mDataMaps.get(key);
+        }
         if (data == null) {
             data = _getData(key);
             if (data != null) {
-                mDataMaps.put(key, data);
+                data = _trackIfAbsent(key, data, data.getSize());
             }
         }
         return data;
     }
 
+    /**
+     * 获取 key 分段锁
+     * @param key 存储 key
+     * @return key 分段锁
+     */
+    private Object _getKeyLock(final String key) {
+        return mKeyLocks[(key.hashCode() & 0x7FFFFFFF) % KEY_LOCK_COUNT];
+    }
+
+    /**
+     * 记录 Data 并更新缓存大小、数量
+     * @param key  存储 key
+     * @param data {@link DevCache.Data}
+     * @param size 数据文件大小
+     */
+    private void _track(
+            final String key,
+            final DevCache.Data data,
+            final long size
+    ) {
+        synchronized (mDataMaps) {
+            Long oldSize = mSizeMaps.put(key, size);
+            if (mDataMaps.put(key, data) == null) {
+                mCacheCount++;
+            }
+            mCacheSize += size - (oldSize != null ? oldSize : 0L);
+        }
+    }
+
+    /**
+     * 未记录时记录 Data 并更新缓存大小、数量
+     * @param key  存储 key
+     * @param data {@link DevCache.Data}
+     * @param size 数据文件大小
+     * @return 已记录的 {@link DevCache.Data}
+     */
+    private DevCache.Data _trackIfAbsent(
+            final String key,
+            final DevCache.Data data,
+            final long size
+    ) {
+        synchronized (mDataMaps) {
+            DevCache.Data exist = mDataMaps.get(key);
+            if (exist != null) return exist;
+            _track(key, data, size);
+            return data;
+        }
+    }
+
+    /**
+     * 记录启动扫描到的 Data
+     * <pre>
+     *     扫描期间 key 可能已被移除, 在 key 锁内确认仍存在后再记录, 避免记录已删除的 key
+     * </pre>
+     * @param key  存储 key
+     * @param data {@link DevCache.Data}
+     * @param size 数据文件大小
+     */
+    private void _trackScanned(
+            final String key,
+            final DevCache.Data data,
+            final long size
+    ) {
+        synchronized (_getKeyLock(key)) {
+            if (_isExistKeyFile(key)) {
+                _trackIfAbsent(key, data, size);
+            }
+        }
+    }
+
+    /**
+     * 移除 Data 记录并更新缓存大小、数量
+     * @param key 存储 key
+     */
+    private void _untrack(final String key) {
+        synchronized (mDataMaps) {
+            Long size = mSizeMaps.remove(key);
+            if (mDataMaps.remove(key) != null) {
+                mCacheCount--;
+            }
+            if (size != null) mCacheSize -= size;
+        }
+    }
+
+    /**
+     * 超出最大缓存大小、数量时按最近最少使用顺序淘汰
+     */
+    private void _trimToSize() {
+        while (true) {
+            String eldestKey;
+            synchronized (mDataMaps) {
+                long maxSize  = mMaxSize;
+                int  maxCount = mMaxCount;
+                if (!((maxSize > 0L && mCacheSize > maxSize)
+                        || (maxCount > 0 && mCacheCount > maxCount))) {
+                    return;
+                }
+                Iterator<String> iterator = mDataMaps.keySet().iterator();
+                if (!iterator.hasNext()) return;
+                eldestKey = iterator.next();
+            }
+            remove(eldestKey);
+        }
+    }
+
+    /**
+     * 清除过期数据
+     */
+    private void _clearDue() {
+        for (DevCache.Data data : getKeys()) {
+            if (data.isDue()) remove(data.getKey());
+        }
+    }
+
     // =
 
     /**
@@ -744,6 +1018,10 @@ final class DevCacheManager {
      * @return {@link DevCache.Data}
      */
     private DevCache.Data _getData(final String key) {
+        if (mJournal != null) {
+            DevCacheJournal.Entry entry = mJournal.get(key);
+            return entry != null ? _toData(entry) : null;
+        }
         if (!_isExistKeyFile(key)) return null;
         try {
             File       configFile = _getKeyConfigFile(key);
@@ -768,6 +1046,37 @@ final class DevCacheManager {
         return null;
     }
 
+    /**
+     * 日志索引记录转 Data
+     * @param entry {@link DevCacheJournal.Entry}
+     * @return {@link DevCache.Data}
+     */
+    private DevCache.Data _toData(final DevCacheJournal.Entry entry) {
+        return new DevCache.Data(mCachePath, entry.key,
+                entry.type, entry.saveTime, entry.validTime
+        ).setSize(entry.valueLength);
+    }
+
+    /**
+     * 垃圾数据超出阈值时后台合并日志
+     */
+    private void _compactIfNeeded() {
+        if (mJournal != null && mJournal.needCompact()) compact();
+    }
+
+    /**
+     * 合并日志 ( 最终调用 )
+     */
+    private void _compact() {
+        try {
+            mJournal.compact();
+        } catch (Exception e) {
+            LogPrintUtils.eTag(TAG, e, "_compact");
+        } finally {
+            mCompacting.set(false);
+        }
+    }
+
     // =
 
     /**
@@ -794,26 +1103,69 @@ final class DevCacheManager {
             }
         }
         if (bytes == null) return false;
-        DevCache.Data data   = _mapGetData(key);
-        long          size   = getDataFileSize(mCachePath, key);
-        boolean       result = FileUtils.saveFile(_getKeyDataFile(key), bytes);
-        if (result) {
+        if (mJournal != null) return _putJournal(key, type, bytes, validTime);
+        boolean result;
+        synchronized (_getKeyLock(key)) {
+            DevCache.Data data = _mapGetData(key);
+            result = FileUtils.saveFile(_getKeyDataFile(key), bytes);
+            if (result) {
+                if (data != null) {
+                    data.setSaveTime(System.currentTimeMillis())
+                            .setType(type).setValidTime(validTime);
+                } else {
+                    data = new DevCache.Data(mCachePath, key, type,
+                            System.currentTimeMillis(), validTime
+                    );
+                }
+                _track(key, data, getDataFileSize(mCachePath, key));
+                FileUtils.saveFile(_getKeyConfigFile(key), _toDataString(data).getBytes());
+            }
+            mMemory.remove(key);
+        }
+        if (result) _trimToSize();
+        return result;
+    }
+
+    /**
+     * 保存到日志存储
+     * @param key       保存的 key
+     * @param type      保存类型
+     * @param bytes     保存数据 ( 已加密 )
+     * @param validTime 有效时间 ( 毫秒 ) 小于等于 0 为永久有效
+     * @return {@code true} success, {@code false} fail
+     */
+    private boolean _putJournal(
+            String key,
+            int type,
+            byte[] bytes,
+            long validTime
+    ) {
+        synchronized (_getKeyLock(key)) {
+            long saveTime = System.currentTimeMillis();
+            try {
+                mJournal.put(key, type, saveTime, validTime, bytes);
+            } catch (Exception e) {
+                LogPrintUtils.eTag(TAG, e, "_putJournal");
+                return false;
+            }
+            DevCache.Data data;
+            synchronized (mDataMaps) {
+                data = mDataMaps.get(key);
+            }
             if (data != null) {
-                data.setSaveTime(System.currentTimeMillis())
-                        .setType(type).setValidTime(validTime);
-                mCacheSize.addAndGet(-size);
-                mCacheSize.addAndGet(getDataFileSize(mCachePath, key));
+                data.setSaveTime(saveTime).setType(type)
+                        .setValidTime(validTime).setSize(bytes.length);
             } else {
                 data = new DevCache.Data(mCachePath, key, type,
-                        System.currentTimeMillis(), validTime
-                );
-                mCacheSize.addAndGet(getDataFileSize(mCachePath, key));
-                mCacheCount.incrementAndGet();
-                mDataMaps.put(key, data);
+                        saveTime, validTime
+                ).setSize(bytes.length);
             }
-            FileUtils.saveFile(_getKeyConfigFile(key), _toDataString(data).getBytes());
+            _track(key, data, bytes.length);
+            mMemory.remove(key);
         }
-        return result;
+        _trimToSize();
+        _compactIfNeeded();
+        return true;
     }
 
     /**
@@ -822,7 +1174,19 @@ final class DevCacheManager {
      * @return 保存的数据
      */
     private byte[] _get(String key) {
-        byte[] bytes = FileUtils.readFileBytes(_getKeyDataFile(key));
+        byte[] bytes;
+        synchronized (_getKeyLock(key)) {
+            if (mJournal != null) {
+                try {
+                    bytes = mJournal.read(key);
+                } catch (IOException e) {
+                    LogPrintUtils.eTag(TAG, e, "_get");
+                    bytes = null;
+                }
+            } else {
+                bytes = FileUtils.readFileBytes(_getKeyDataFile(key));
+            }
+        }
         if (bytes != null && mCipher != null) {
             try {
                 bytes = mCipher.decrypt(bytes);
@@ -833,4 +1197,65 @@ final class DevCacheManager {
         }
         return bytes;
     }
-}
\ No newline at end of file
+
+    // =
+
+    /**
+     * detail: 数据解码
+     * @author Ttt
+     */
+    private interface Decoder<T> {
+
+        /**
+         * 解码数据
+         * @param bytes 解密后的数据
+         * @return 解码后的数据
+         * @throws Exception 解码失败时抛出异常
+         */
+        T decode(byte[] bytes)
+                throws Exception;
+    }
+
+    /**
+     * 获取解码后的数据 ( 优先读取内存层 )
+     * <pre>
+     *     在 key 分段锁内加载并写入内存层, 避免与写入、删除交错时缓存旧数据
+     * </pre>
+     * @param key     保存的 key
+     * @param clazz   数据类型
+     * @param decoder 数据解码
+     * @param <T>     泛型
+     * @return 解码后的数据
+     * @throws Exception 读取、解码失败时抛出异常
+     */
+    private <T> T _load(
+            final String key,
+            final Class<T> clazz,
+            final Decoder<T> decoder
+    ) throws Exception {
+        synchronized (_getKeyLock(key)) {
+            Object value = mMemory.get(key, clazz);
+            if (value != null) return clazz.cast(value);
+            long   start = System.nanoTime();
+            byte[] bytes = _get(key);
+            if (bytes == null) throw new IOException("read failed " + key);
+            T result = decoder.decode(bytes);
+            mMemory.put(key, result, bytes.length, System.nanoTime() - start);
+            return result;
+        }
+    }
+
+    /**
+     * 获取解密后的数据 ( 优先读取内存层 )
+     * <pre>
+     *     可变类型 ( Serializable、Bitmap、JSONObject 等 ) 只缓存解密后的数据, 每次重新解码
+     * </pre>
+     * @param key 保存的 key
+     * @return 解密后的数据
+     * @throws Exception 读取失败时抛出异常
+     */
+    private byte[] _loadBytes(final String key)
+            throws Exception {
+        return _load(key, byte[].class, bytes -> bytes);
+    }
+}
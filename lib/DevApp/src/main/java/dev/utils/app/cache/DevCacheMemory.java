@@ -0,0 +1,195 @@
+package dev.utils.app.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * detail: 缓存内存层
+ * @author Ttt
+ * <pre>
+ *     位于磁盘缓存之前, 存储解密、解码后的数据, 热点 key 读取无需再读文件、解密、反序列化
+ *     按最大数量、最大大小 ( 原始数据 byte 长度 ) 限制, 超出时按最近最少使用顺序淘汰
+ *     同时统计命中、未命中、加载耗时、淘汰次数 ( 未开启内存层时也统计加载 )
+ * </pre>
+ */
+final class DevCacheMemory {
+
+    // 内存数据 ( 访问顺序, 最近最少使用的在前 )
+    private final LinkedHashMap<String, Node> mNodeMaps = new LinkedHashMap<>(
+            16, 0.75F, true
+    );
+    // 最大数量 ( 小于等于 0 不限制 )
+    private       int                         mMaxCount;
+    // 最大大小 ( 小于等于 0 不限制 )
+    private       long                        mMaxSize;
+    // 是否开启
+    private       boolean                     mEnabled;
+    // 当前大小
+    private       long                        mSize;
+    // 命中次数
+    private       long                        mHitCount;
+    // 未命中次数
+    private       long                        mMissCount;
+    // 加载次数
+    private       long                        mLoadCount;
+    // 加载总耗时 ( 纳秒 )
+    private       long                        mLoadTime;
+    // 淘汰次数
+    private       long                        mEvictionCount;
+
+    /**
+     * detail: 内存数据
+     * @author Ttt
+     */
+    private static final class Node {
+
+        // 解码后的数据
+        final Object value;
+        // 原始数据大小
+        final long   size;
+
+        Node(
+                final Object value,
+                final long size
+        ) {
+            this.value = value;
+            this.size  = size;
+        }
+    }
+
+    // =============
+    // = 对外公开方法 =
+    // =============
+
+    /**
+     * 设置内存层容量
+     * <pre>
+     *     maxCount、maxSize 都小于等于 0 则关闭内存层并清空
+     * </pre>
+     * @param maxCount 最大数量
+     * @param maxSize  最大大小
+     */
+    synchronized void setCapacity(
+            final int maxCount,
+            final long maxSize
+    ) {
+        this.mMaxCount = maxCount;
+        this.mMaxSize  = maxSize;
+        this.mEnabled  = maxCount > 0 || maxSize > 0L;
+        if (mEnabled) {
+            trimToSize();
+        } else {
+            mNodeMaps.clear();
+            mSize = 0L;
+        }
+    }
+
+    synchronized boolean isEnabled() {
+        return mEnabled;
+    }
+
+    synchronized int getMaxCount() {
+        return mMaxCount;
+    }
+
+    synchronized long getMaxSize() {
+        return mMaxSize;
+    }
+
+    /**
+     * 获取内存数据
+     * @param key   存储 key
+     * @param clazz 数据类型
+     * @return 内存数据, 不存在或类型不一致返回 null
+     */
+    synchronized Object get(
+            final String key,
+            final Class<?> clazz
+    ) {
+        Node node = mNodeMaps.get(key);
+        if (node != null && clazz.isInstance(node.value)) {
+            mHitCount++;
+            return node.value;
+        }
+        mMissCount++;
+        return null;
+    }
+
+    /**
+     * 记录磁盘加载结果
+     * @param key      存储 key
+     * @param value    解码后的数据
+     * @param size     原始数据大小
+     * @param loadTime 加载耗时 ( 纳秒 )
+     */
+    synchronized void put(
+            final String key,
+            final Object value,
+            final long size,
+            final long loadTime
+    ) {
+        mLoadCount++;
+        mLoadTime += loadTime;
+        if (!mEnabled || value == null) return;
+        Node old;
+        if (mMaxSize > 0L && size > mMaxSize) {
+            // 单条超出最大大小不存储
+            old = mNodeMaps.remove(key);
+        } else {
+            old = mNodeMaps.put(key, new Node(value, size));
+            mSize += size;
+        }
+        if (old != null) mSize -= old.size;
+        trimToSize();
+    }
+
+    /**
+     * 移除内存数据
+     * @param key 存储 key
+     */
+    synchronized void remove(final String key) {
+        Node old = mNodeMaps.remove(key);
+        if (old != null) mSize -= old.size;
+    }
+
+    /**
+     * 获取统计信息快照
+     * @return {@link DevCache.Stats}
+     */
+    synchronized DevCache.Stats getStats() {
+        return new DevCache.Stats(
+                mHitCount, mMissCount, mLoadCount, mLoadTime,
+                mEvictionCount, mNodeMaps.size(), mSize
+        );
+    }
+
+    /**
+     * 重置统计信息
+     */
+    synchronized void resetStats() {
+        mHitCount      = 0L;
+        mMissCount     = 0L;
+        mLoadCount     = 0L;
+        mLoadTime      = 0L;
+        mEvictionCount = 0L;
+    }
+
+    // ===========
+    // = 内部处理 =
+    // ===========
+
+    /**
+     * 超出最大数量、大小时按最近最少使用顺序淘汰
+     */
+    private void trimToSize() {
+        Iterator<Map.Entry<String, Node>> iterator = mNodeMaps.entrySet().iterator();
+        while (iterator.hasNext()
+                && ((mMaxCount > 0 && mNodeMaps.size() > mMaxCount)
+                || (mMaxSize > 0L && mSize > mMaxSize))) {
+            mSize -= iterator.next().getValue().size;
+            iterator.remove();
+            mEvictionCount++;
+        }
+    }
+}
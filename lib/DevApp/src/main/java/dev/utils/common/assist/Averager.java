@@ -1,23 +1,31 @@
 package dev.utils.common.assist;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * detail: 均值计算 ( 用以统计平均数 ) 辅助类
  * @author Ttt
+ * <pre>
+ *     内部使用 {@link StatsAccumulator} 流式统计, 不保存样本, 内存占用固定
+ * </pre>
  */
 public class Averager {
 
-    private final List<Number> mNumLists = new ArrayList<>();
+    // 流式统计
+    private final StatsAccumulator mStats = new StatsAccumulator();
 
     /**
      * 添加一个数字
      * @param number Number
      * @return {@link Averager}
      */
-    public synchronized Averager add(final Number number) {
-        mNumLists.add(number);
+    public Averager add(final Number number) {
+        if (number != null) {
+            if (number instanceof Long || number instanceof Integer
+                    || number instanceof Short || number instanceof Byte) {
+                mStats.record(number.longValue());
+            } else {
+                mStats.record(number.doubleValue());
+            }
+        }
         return this;
     }
 
@@ -26,7 +34,7 @@ public class Averager {
      * @return {@link Averager}
      */
     public Averager clear() {
-        mNumLists.clear();
+        mStats.reset();
         return this;
     }
 
@@ -35,7 +43,7 @@ public class Averager {
      * @return 参与均值计算的数字个数
      */
     public Number size() {
-        return mNumLists.size();
+        return mStats.getCount();
     }
 
     /**
@@ -43,22 +51,43 @@ public class Averager {
      * @return 全部数字平均数
      */
     public Number getAverage() {
-        if (mNumLists.size() == 0) {
+        StatsAccumulator.Snapshot snapshot = mStats.snapshot();
+        if (snapshot.getCount() == 0L) {
             return 0;
-        } else {
-            float sum = 0F;
-            for (int i = 0, len = mNumLists.size(); i < len; i++) {
-                sum = sum + mNumLists.get(i).floatValue();
-            }
-            return sum / mNumLists.size();
         }
+        return (float) snapshot.getMean();
+    }
+
+    /**
+     * 获取分位值
+     * @param percentile 分位 ( 0.0 - 1.0 ), 如 0.99
+     * @return 分位值
+     */
+    public long getPercentile(final double percentile) {
+        return mStats.getPercentile(percentile);
+    }
+
+    /**
+     * 获取统计快照
+     * @return {@link StatsAccumulator.Snapshot}
+     */
+    public StatsAccumulator.Snapshot snapshot() {
+        return mStats.snapshot();
+    }
+
+    /**
+     * 获取流式统计
+     * @return {@link StatsAccumulator}
+     */
+    public StatsAccumulator getStats() {
+        return mStats;
     }
 
     /**
-     * 输出参与均值计算的数字
-     * @return 参与均值计算的数字
+     * 输出统计信息
+     * @return 统计信息
      */
     public String print() {
-        return "printList(" + size() + "): " + mNumLists;
+        return "printList(" + size() + "): " + mStats;
     }
 }
\ No newline at end of file
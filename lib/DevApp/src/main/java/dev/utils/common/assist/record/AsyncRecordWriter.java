@@ -0,0 +1,780 @@
+package dev.utils.common.assist.record;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+import dev.utils.JCLogUtils;
+import dev.utils.common.CloseUtils;
+import dev.utils.common.FileUtils;
+import dev.utils.common.StringUtils;
+
+/**
+ * detail: 文件记录异步批量写入
+ * @author Ttt
+ * <pre>
+ *     同步记录时每条日志都需打开、追加、关闭文件, 大量错误日志会阻塞调用线程
+ *     设置 {@link FileRecordUtils#setAsyncWriter} 后, 调用线程只拼接日志内容并写入无锁环形队列 ( 多生产者单消费者 )
+ *     由单个写入线程批量写入保持打开的 FileChannel
+ *     <p></p>
+ *     写入缓冲区满、距上次写入超过间隔时间、调用 {@link #flush} 时写入文件
+ *     {@link RecordConfig.TIME} 对应的文件夹变化时切换文件, 超出文件最大大小时重命名为 name_n.txt 并新建文件
+ *     队列满时根据 {@link OverflowPolicy} 处理
+ *     <p></p>
+ *     默认注册 JVM 关闭钩子写入剩余日志, 应用崩溃前 ( UncaughtExceptionHandler ) 可主动调用 {@link #flush}
+ * </pre>
+ */
+public final class AsyncRecordWriter {
+
+    // 日志 TAG
+    private static final String TAG = AsyncRecordWriter.class.getSimpleName();
+
+    // 默认队列容量
+    public static final int  DEFAULT_CAPACITY       = 8192;
+    // 默认写入缓冲区大小
+    public static final int  DEFAULT_BUFFER_SIZE    = 64 * 1024;
+    // 默认写入间隔时间 ( 毫秒 )
+    public static final long DEFAULT_FLUSH_INTERVAL = 1000L;
+    // 单次最多取出记录数
+    private static final int DRAIN_BATCH            = 1024;
+
+    // 记录队列
+    private final    RingBuffer                        mRing;
+    // 队列满处理策略
+    private final    OverflowPolicy                    mPolicy;
+    // 写入线程
+    private final    Thread                            mThread;
+    // 写入缓冲区大小
+    private final    int                               mBufferSize;
+    // 写入间隔时间 ( 毫秒 )
+    private volatile long                              mFlushInterval  = DEFAULT_FLUSH_INTERVAL;
+    // 单个文件最大大小 ( 小于等于 0 不限制 )
+    private volatile long                              mMaxFileSize;
+    // 是否运行中
+    private volatile boolean                           mRunning        = true;
+    // 写入线程是否等待中
+    private volatile boolean                           mWaiting;
+    // 加入队列中的调用数 ( 写入线程退出前等待归零 )
+    private final    AtomicInteger                     mOffering       = new AtomicInteger();
+    // 是否请求写入
+    private volatile boolean                           mFlushRequest;
+    // 已写入文件的记录序号
+    private volatile long                              mFlushedSequence;
+    // 写入成功记录数
+    private final    AtomicLong                        mWrittenCount   = new AtomicLong();
+    // 丢弃记录数
+    private final    AtomicLong                        mDroppedCount   = new AtomicLong();
+    // 写入失败记录数
+    private final    AtomicLong                        mFailedCount    = new AtomicLong();
+    // JVM 关闭钩子
+    private final    Thread                            mShutdownHook;
+    // 打开中的文件 ( 仅写入线程访问 )
+    private final    Map<String, Target>               mTargets        = new HashMap<>();
+    // 配置文件夹缓存 ( 仅写入线程访问 )
+    private final    Map<RecordConfig, FolderCache>    mFolderCaches   = new IdentityHashMap<>();
+
+    /**
+     * detail: 队列满处理策略
+     * @author Ttt
+     */
+    public enum OverflowPolicy {
+
+        // 丢弃新记录
+        DISCARD,
+
+        // 阻塞调用线程直到有空位
+        BLOCK,
+
+        // 调用线程同步写入 ( 不保证与队列中的记录顺序一致 )
+        CALLER_RUNS
+    }
+
+    // ==========
+    // = 构造函数 =
+    // ==========
+
+    public AsyncRecordWriter() {
+        this(DEFAULT_CAPACITY, OverflowPolicy.DISCARD);
+    }
+
+    /**
+     * 构造函数
+     * @param capacity 队列容量 ( 向上取 2 的幂 )
+     * @param policy   队列满处理策略
+     */
+    public AsyncRecordWriter(
+            final int capacity,
+            final OverflowPolicy policy
+    ) {
+        this(capacity, policy, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * 构造函数
+     * @param capacity   队列容量 ( 向上取 2 的幂 )
+     * @param policy     队列满处理策略
+     * @param bufferSize 写入缓冲区大小
+     */
+    public AsyncRecordWriter(
+            final int capacity,
+            final OverflowPolicy policy,
+            final int bufferSize
+    ) {
+        this.mRing       = new RingBuffer(Math.max(2, capacity));
+        this.mPolicy     = (policy != null) ? policy : OverflowPolicy.DISCARD;
+        this.mBufferSize = Math.max(4096, bufferSize);
+        this.mThread     = new Thread(this::loop, TAG);
+        this.mThread.setDaemon(true);
+        this.mThread.start();
+        this.mShutdownHook = new Thread(() -> shutdown(mFlushInterval * 2));
+        try {
+            Runtime.getRuntime().addShutdownHook(mShutdownHook);
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "addShutdownHook");
+        }
+    }
+
+    // ===========
+    // = get/set =
+    // ===========
+
+    /**
+     * 获取队列满处理策略
+     * @return {@link OverflowPolicy}
+     */
+    public OverflowPolicy getOverflowPolicy() {
+        return mPolicy;
+    }
+
+    /**
+     * 获取写入间隔时间 ( 毫秒 )
+     * @return 写入间隔时间
+     */
+    public long getFlushInterval() {
+        return mFlushInterval;
+    }
+
+    /**
+     * 设置写入间隔时间 ( 毫秒 )
+     * <pre>
+     *     缓冲区未满时最多间隔多久写入文件, 进程被强制结束时最多丢失该时间段内的日志
+     * </pre>
+     * @param flushInterval 写入间隔时间
+     * @return {@link AsyncRecordWriter}
+     */
+    public AsyncRecordWriter setFlushInterval(final long flushInterval) {
+        this.mFlushInterval = Math.max(10L, flushInterval);
+        return this;
+    }
+
+    /**
+     * 获取单个文件最大大小
+     * @return 单个文件最大大小
+     */
+    public long getMaxFileSize() {
+        return mMaxFileSize;
+    }
+
+    /**
+     * 设置单个文件最大大小
+     * <pre>
+     *     超出时将当前文件重命名为 name_n.txt 并新建文件, 小于等于 0 不限制
+     * </pre>
+     * @param maxFileSize 单个文件最大大小
+     * @return {@link AsyncRecordWriter}
+     */
+    public AsyncRecordWriter setMaxFileSize(final long maxFileSize) {
+        this.mMaxFileSize = maxFileSize;
+        return this;
+    }
+
+    /**
+     * 是否运行中
+     * @return {@code true} yes, {@code false} no
+     */
+    public boolean isRunning() {
+        return mRunning;
+    }
+
+    /**
+     * 获取写入成功记录数
+     * @return 写入成功记录数
+     */
+    public long getWrittenCount() {
+        return mWrittenCount.get();
+    }
+
+    /**
+     * 获取丢弃记录数 ( 队列满、已关闭, CALLER_RUNS 由调用方写入不计入 )
+     * @return 丢弃记录数
+     */
+    public long getDroppedCount() {
+        return mDroppedCount.get();
+    }
+
+    /**
+     * 获取写入失败记录数
+     * @return 写入失败记录数
+     */
+    public long getFailedCount() {
+        return mFailedCount.get();
+    }
+
+    /**
+     * 获取队列中等待写入的记录数
+     * @return 等待写入的记录数
+     */
+    public int getPendingCount() {
+        return mRing.size();
+    }
+
+    // =============
+    // = 对外公开方法 =
+    // =============
+
+    /**
+     * 加入记录队列
+     * @param config       日志记录配置信息
+     * @param recordInsert 日志记录插入信息
+     * @param logContent   最终日志内容
+     * @param callback     文件记录回调 ( 写入线程回调 )
+     * @param logs         原始日志内容数组
+     * @return {@code true} 已加入队列, {@code false} 队列满或已关闭
+     */
+    public boolean offer(
+            final RecordConfig config,
+            final RecordInsert recordInsert,
+            final String logContent,
+            final FileRecordUtils.Callback callback,
+            final Object... logs
+    ) {
+        if (config == null || logContent == null) return false;
+        Record  record = new Record(config, recordInsert, logContent, callback, logs);
+        boolean result = false;
+        // 先登记再检查运行状态, 写入线程确认无登记调用后才退出, 避免记录滞留队列
+        mOffering.incrementAndGet();
+        try {
+            if (mRunning) {
+                result = mRing.offer(record);
+                if (!result && mPolicy == OverflowPolicy.BLOCK) {
+                    while (!result && mRunning) {
+                        LockSupport.unpark(mThread);
+                        LockSupport.parkNanos(this, 100_000L);
+                        result = mRing.offer(record);
+                    }
+                }
+            }
+        } finally {
+            mOffering.decrementAndGet();
+        }
+        if (result) {
+            if (mWaiting) LockSupport.unpark(mThread);
+        } else if (mPolicy != OverflowPolicy.CALLER_RUNS) {
+            // CALLER_RUNS 由调用方同步写入 ( 包括已关闭 ), 不计入丢弃
+            mDroppedCount.incrementAndGet();
+        }
+        return result;
+    }
+
+    /**
+     * 写入队列中的全部记录到文件
+     * @param timeout 最大等待时间 ( 毫秒 )
+     * @return {@code true} 已写入, {@code false} 超时或已关闭
+     */
+    public boolean flush(final long timeout) {
+        if (!mRunning || Thread.currentThread() == mThread) return false;
+        long target   = mRing.tail();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+        while (mFlushedSequence < target) {
+            if (!mThread.isAlive() || System.nanoTime() - deadline >= 0L) return false;
+            mFlushRequest = true;
+            LockSupport.unpark(mThread);
+            LockSupport.parkNanos(this, 1_000_000L);
+        }
+        return true;
+    }
+
+    /**
+     * 关闭写入 ( 写入队列中的剩余记录并关闭文件 )
+     * @param timeout 最大等待时间 ( 毫秒 )
+     * @return {@code true} 已全部写入并关闭, {@code false} 超时
+     */
+    public boolean shutdown(final long timeout) {
+        mRunning = false;
+        LockSupport.unpark(mThread);
+        if (Thread.currentThread() != mShutdownHook) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(mShutdownHook);
+            } catch (Exception ignore) {
+                // JVM 关闭中
+            }
+        }
+        if (Thread.currentThread() == mThread) return false;
+        try {
+            mThread.join(Math.max(1L, timeout));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return !mThread.isAlive();
+    }
+
+    // ===========
+    // = 写入线程 =
+    // ===========
+
+    /**
+     * 写入线程循环
+     */
+    private void loop() {
+        long lastFlush = System.nanoTime();
+        while (true) {
+            boolean running = mRunning;
+            int     drained = drain();
+            long    now     = System.nanoTime();
+            long    elapsed = now - lastFlush;
+            long    period  = TimeUnit.MILLISECONDS.toNanos(mFlushInterval);
+            if (!running || mFlushRequest || elapsed >= period) {
+                // 已取出的记录全部写入文件后才更新写入序号
+                long consumed = mRing.head();
+                mFlushRequest = false;
+                flushTargets(now, period);
+                mFlushedSequence = consumed;
+                lastFlush        = now;
+                elapsed          = 0L;
+            }
+            if (!running && mOffering.get() == 0 && mRing.size() == 0) {
+                closeTargets();
+                return;
+            }
+            if (drained == 0) {
+                mWaiting = true;
+                if (mRing.size() == 0 && mRunning && !mFlushRequest) {
+                    LockSupport.parkNanos(this, Math.max(1L, period - elapsed));
+                } else if (!mRunning) {
+                    // 等待加入队列中的调用结束
+                    Thread.yield();
+                }
+                mWaiting = false;
+            }
+        }
+    }
+
+    /**
+     * 取出队列中的记录写入缓冲区
+     * @return 取出记录数
+     */
+    private int drain() {
+        int count = 0;
+        for (; count < DRAIN_BATCH; count++) {
+            Record record = mRing.poll();
+            if (record == null) break;
+            append(record);
+        }
+        return count;
+    }
+
+    /**
+     * 记录写入对应文件缓冲区
+     * @param record 记录
+     */
+    private void append(final Record record) {
+        String filePath = resolveFolder(record.config);
+        String fileName = record.config.getFileName();
+        if (StringUtils.isEmpty(filePath, fileName)) {
+            mFailedCount.incrementAndGet();
+            record.dispatch(false, filePath, fileName);
+            return;
+        }
+        byte[] bytes = StringUtils.getBytes(record.logContent);
+        File   file  = FileUtils.getFile(filePath, fileName);
+        String key   = file.getAbsolutePath();
+        Target target = mTargets.get(key);
+        try {
+            if (target == null) {
+                target = new Target(file, filePath, mBufferSize);
+                target.open(record.recordInsert);
+                mTargets.put(key, target);
+            }
+            long maxFileSize = mMaxFileSize;
+            if (maxFileSize > 0L && target.size > 0L
+                    && target.size + bytes.length > maxFileSize) {
+                target.flush(this);
+                target.roll(record.recordInsert);
+            }
+            target.append(this, record, bytes);
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "append");
+            if (target != null) {
+                target.fail(this);
+                mTargets.remove(key);
+            }
+            mFailedCount.incrementAndGet();
+            record.dispatch(false, filePath, fileName);
+        }
+    }
+
+    /**
+     * 写入全部文件缓冲区, 关闭长时间未写入的文件
+     * @param now    当前时间 ( 纳秒 )
+     * @param period 写入间隔时间 ( 纳秒 )
+     */
+    private void flushTargets(
+            final long now,
+            final long period
+    ) {
+        Iterator<Target> iterator = mTargets.values().iterator();
+        while (iterator.hasNext()) {
+            Target target = iterator.next();
+            try {
+                target.flush(this);
+                if (now - target.lastWrite >= period * 2) {
+                    target.close();
+                    iterator.remove();
+                }
+            } catch (Exception e) {
+                JCLogUtils.eTag(TAG, e, "flushTargets");
+                target.fail(this);
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * 写入并关闭全部文件
+     */
+    private void closeTargets() {
+        for (Target target : mTargets.values()) {
+            try {
+                target.flush(this);
+                target.close();
+            } catch (Exception e) {
+                JCLogUtils.eTag(TAG, e, "closeTargets");
+                target.fail(this);
+            }
+        }
+        mTargets.clear();
+        mFolderCaches.clear();
+    }
+
+    /**
+     * 获取配置当前所属文件夹 ( 同一秒内复用, 避免每条记录格式化时间并创建文件夹 )
+     * @param config 日志记录配置信息
+     * @return 文件夹地址
+     */
+    private String resolveFolder(final RecordConfig config) {
+        long        now   = System.currentTimeMillis();
+        FolderCache cache = mFolderCaches.get(config);
+        if (cache == null || now >= cache.expireTime) {
+            cache = new FolderCache(config.getFinalPath(), (now / 1000L + 1L) * 1000L);
+            mFolderCaches.put(config, cache);
+        }
+        return cache.path;
+    }
+
+    // ===========
+    // = 内部处理 =
+    // ===========
+
+    /**
+     * detail: 记录
+     * @author Ttt
+     */
+    private static final class Record {
+
+        final RecordConfig             config;
+        final RecordInsert             recordInsert;
+        final String                   logContent;
+        final FileRecordUtils.Callback callback;
+        final Object[]                 logs;
+
+        Record(
+                final RecordConfig config,
+                final RecordInsert recordInsert,
+                final String logContent,
+                final FileRecordUtils.Callback callback,
+                final Object[] logs
+        ) {
+            this.config       = config;
+            this.recordInsert = recordInsert;
+            this.logContent   = logContent;
+            this.callback     = callback;
+            this.logs         = logs;
+        }
+
+        /**
+         * 触发记录结果回调
+         * @param result   保存结果
+         * @param filePath 存储路径
+         * @param fileName 文件名
+         */
+        void dispatch(
+                final boolean result,
+                final String filePath,
+                final String fileName
+        ) {
+            if (callback == null) return;
+            try {
+                callback.callback(result, config, filePath, fileName, logContent, logs);
+            } catch (Exception e) {
+                JCLogUtils.eTag(TAG, e, "dispatch");
+            }
+        }
+    }
+
+    /**
+     * detail: 配置文件夹缓存
+     * @author Ttt
+     */
+    private static final class FolderCache {
+
+        final String path;
+        final long   expireTime;
+
+        FolderCache(
+                final String path,
+                final long expireTime
+        ) {
+            this.path       = path;
+            this.expireTime = expireTime;
+        }
+    }
+
+    /**
+     * detail: 打开中的记录文件
+     * @author Ttt
+     */
+    private static final class Target {
+
+        // 记录文件
+        final File           file;
+        // 存储路径
+        final String         filePath;
+        // 写入缓冲区
+        final ByteBuffer     buffer;
+        // 缓冲区内等待回调的记录
+        final List<Record>   pending = new ArrayList<>();
+        // 缓冲区内记录数
+        int                  count;
+        // 文件大小 ( 含缓冲区 )
+        long                 size;
+        // 最后写入时间 ( 纳秒 )
+        long                 lastWrite;
+        // 文件输出流
+        FileOutputStream     stream;
+        // 文件 FileChannel
+        FileChannel          channel;
+
+        Target(
+                final File file,
+                final String filePath,
+                final int bufferSize
+        ) {
+            this.file     = file;
+            this.filePath = filePath;
+            this.buffer   = ByteBuffer.allocateDirect(bufferSize);
+        }
+
+        /**
+         * 打开文件 ( 新文件写入文件信息 )
+         * @param recordInsert 日志记录插入信息
+         * @throws Exception 打开失败时抛出异常
+         */
+        void open(final RecordInsert recordInsert)
+                throws Exception {
+            boolean isNew = !file.exists() || file.length() == 0L;
+            stream    = new FileOutputStream(file, true);
+            channel   = stream.getChannel();
+            size      = channel.size();
+            lastWrite = System.nanoTime();
+            if (isNew && recordInsert != null) {
+                byte[] fileInfo = StringUtils.getBytes(recordInsert.getFileInfo());
+                if (fileInfo != null) {
+                    writeFully(ByteBuffer.wrap(fileInfo));
+                    size += fileInfo.length;
+                }
+            }
+        }
+
+        /**
+         * 重命名当前文件为 name_n 并打开新文件
+         * @param recordInsert 日志记录插入信息
+         * @throws Exception 重命名失败时抛出异常
+         */
+        void roll(final RecordInsert recordInsert)
+                throws Exception {
+            close();
+            String name   = file.getName();
+            int    index  = name.lastIndexOf('.');
+            String prefix = (index > 0) ? name.substring(0, index) : name;
+            String suffix = (index > 0) ? name.substring(index) : "";
+            File   dest;
+            int    number = 1;
+            do {
+                dest = new File(filePath, prefix + "_" + number++ + suffix);
+            } while (dest.exists());
+            if (!file.renameTo(dest)) {
+                throw new IllegalStateException("rename failed " + dest);
+            }
+            open(recordInsert);
+        }
+
+        /**
+         * 追加记录到缓冲区 ( 缓冲区不足时先写入文件 )
+         * @param writer {@link AsyncRecordWriter}
+         * @param record 记录
+         * @param bytes  记录内容
+         * @throws Exception 写入失败时抛出异常
+         */
+        void append(
+                final AsyncRecordWriter writer,
+                final Record record,
+                final byte[] bytes
+        ) throws Exception {
+            if (bytes.length > buffer.remaining()) flush(writer);
+            if (bytes.length > buffer.capacity()) {
+                writeFully(ByteBuffer.wrap(bytes));
+                writer.mWrittenCount.incrementAndGet();
+                record.dispatch(true, filePath, file.getName());
+            } else {
+                buffer.put(bytes);
+                count++;
+                if (record.callback != null) pending.add(record);
+            }
+            size += bytes.length;
+            lastWrite = System.nanoTime();
+        }
+
+        /**
+         * 缓冲区写入文件
+         * @param writer {@link AsyncRecordWriter}
+         * @throws Exception 写入失败时抛出异常
+         */
+        void flush(final AsyncRecordWriter writer)
+                throws Exception {
+            if (count == 0) return;
+            buffer.flip();
+            writeFully(buffer);
+            buffer.clear();
+            writer.mWrittenCount.addAndGet(count);
+            count = 0;
+            dispatchPending(true);
+        }
+
+        /**
+         * 写入失败, 丢弃缓冲区并关闭文件
+         * @param writer {@link AsyncRecordWriter}
+         */
+        void fail(final AsyncRecordWriter writer) {
+            writer.mFailedCount.addAndGet(count);
+            count = 0;
+            buffer.clear();
+            dispatchPending(false);
+            close();
+        }
+
+        void close() {
+            CloseUtils.closeIOQuietly(channel, stream);
+            channel = null;
+            stream  = null;
+        }
+
+        private void dispatchPending(final boolean result) {
+            if (pending.isEmpty()) return;
+            for (Record record : pending) {
+                record.dispatch(result, filePath, file.getName());
+            }
+            pending.clear();
+        }
+
+        private void writeFully(final ByteBuffer source)
+                throws Exception {
+            while (source.hasRemaining()) {
+                channel.write(source);
+            }
+        }
+    }
+
+    /**
+     * detail: 无锁有界环形队列 ( 多生产者单消费者 )
+     * @author Ttt
+     * <pre>
+     *     每个槽位记录序号, 生产者 CAS 占用尾部序号后写入数据再发布序号
+     *     消费者只读取已发布的槽位, 无需加锁
+     * </pre>
+     */
+    private static final class RingBuffer {
+
+        // 容量 - 1
+        private final    int             mMask;
+        // 槽位数据
+        private final    Object[]        mBuffer;
+        // 槽位序号
+        private final    AtomicLongArray mSequences;
+        // 生产者序号
+        private final    AtomicLong      mTail = new AtomicLong();
+        // 消费者序号 ( 仅写入线程修改 )
+        private volatile long            mHead;
+
+        RingBuffer(final int capacity) {
+            int size = Integer.highestOneBit(capacity - 1) << 1;
+            this.mMask      = size - 1;
+            this.mBuffer    = new Object[size];
+            this.mSequences = new AtomicLongArray(size);
+            for (int i = 0; i < size; i++) {
+                mSequences.set(i, i);
+            }
+        }
+
+        boolean offer(final Record record) {
+            while (true) {
+                long tail  = mTail.get();
+                int  index = (int) (tail & mMask);
+                long diff  = mSequences.get(index) - tail;
+                if (diff == 0L) {
+                    if (mTail.compareAndSet(tail, tail + 1L)) {
+                        mBuffer[index] = record;
+                        mSequences.lazySet(index, tail + 1L);
+                        return true;
+                    }
+                } else if (diff < 0L) {
+                    return false; // 已满
+                }
+            }
+        }
+
+        Record poll() {
+            long head  = mHead;
+            int  index = (int) (head & mMask);
+            if (mSequences.get(index) != head + 1L) return null;
+            Record record = (Record) mBuffer[index];
+            mBuffer[index] = null;
+            mSequences.lazySet(index, head + mMask + 1L);
+            mHead = head + 1L;
+            return record;
+        }
+
+        long head() {
+            return mHead;
+        }
+
+        long tail() {
+            return mTail.get();
+        }
+
+        int size() {
+            return (int) Math.max(0L, mTail.get() - mHead);
+        }
+    }
+}
@@ -12,6 +12,10 @@ import dev.utils.common.ThrowableUtils;
 /**
  * detail: 文件记录分析工具类
  * @author Ttt
+ * <pre>
+ *     默认在调用线程同步追加写入文件
+ *     设置 {@link AsyncRecordWriter} 后调用线程只拼接日志内容, 由写入线程批量写入
+ * </pre>
  */
 public final class FileRecordUtils {
 
@@ -27,6 +31,9 @@ public final class FileRecordUtils {
     // 文件记录回调
     private static       Callback     sCallback      = null;
 
+    // 异步批量写入
+    private static volatile AsyncRecordWriter sAsyncWriter = null;
+
     // ==========
     // = 接口回调 =
     // ==========
@@ -147,6 +154,19 @@ public final class FileRecordUtils {
         // 判断是否存在日志内容
         if (logs == null || logs.length == 0) return "no data record";
 
+        // 异步批量写入
+        AsyncRecordWriter asyncWriter = sAsyncWriter;
+        if (asyncWriter != null) {
+            RecordInsert recordInsert = config.getRecordInsert(sRecordInsert);
+            String finalLogContent = concatInsertLog(recordInsert, concatLog(config, logs));
+            if (asyncWriter.offer(config, recordInsert, finalLogContent, sCallback, logs)) {
+                return RECORD_SUCCESS;
+            }
+            if (asyncWriter.getOverflowPolicy() != AsyncRecordWriter.OverflowPolicy.CALLER_RUNS) {
+                return "record dropped";
+            }
+        }
+
         // 文件路径
         String filePath = config.getFinalPath();
         // 文件名
@@ -233,12 +253,34 @@ public final class FileRecordUtils {
 
     /**
      * 设置文件记录回调
+     * <pre>
+     *     异步批量写入时在写入线程回调
+     * </pre>
      * @param callback 文件记录回调
      */
     public static void setCallback(final Callback callback) {
         FileRecordUtils.sCallback = callback;
     }
 
+    /**
+     * 获取异步批量写入
+     * @return {@link AsyncRecordWriter}
+     */
+    public static AsyncRecordWriter getAsyncWriter() {
+        return sAsyncWriter;
+    }
+
+    /**
+     * 设置异步批量写入
+     * <pre>
+     *     传入 null 则恢复同步写入, 替换时不会关闭旧的 {@link AsyncRecordWriter}
+     * </pre>
+     * @param asyncWriter 异步批量写入
+     */
+    public static void setAsyncWriter(final AsyncRecordWriter asyncWriter) {
+        FileRecordUtils.sAsyncWriter = asyncWriter;
+    }
+
     // ==========
     // = 快捷方法 =
     // ==========
@@ -0,0 +1,401 @@
+package dev.utils.common.assist.search;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+import dev.utils.JCLogUtils;
+import dev.utils.common.assist.search.FileBreadthFirstSearchUtils.FileItem;
+import dev.utils.common.assist.search.FileBreadthFirstSearchUtils.SearchHandler;
+
+/**
+ * detail: 文件并行搜索算法 ( ForkJoin 工作窃取, 搜索某个目录下的全部文件 )
+ * @author Ttt
+ * <pre>
+ *     每个文件夹为一个 {@link RecursiveAction}, 子文件夹拆分为子任务, 空闲线程自动窃取其他线程的任务
+ *     无需轮询队列、延迟校验, 全部子任务完成即搜索结束, {@link SearchHandler#onEndListener} 只触发一次
+ *     <p></p>
+ *     与 {@link FileBreadthFirstSearchUtils} 使用相同的 {@link SearchHandler}、{@link FileItem}
+ *     SearchHandler 会在多个线程中并发调用, 需线程安全
+ *     设置 {@link OnFileListener} 可在搜索过程中实时获取文件, 无需等待搜索结束
+ * </pre>
+ */
+public final class FileParallelSearchUtils {
+
+    // 日志 TAG
+    private static final String TAG = FileParallelSearchUtils.class.getSimpleName();
+
+    /**
+     * 构造函数
+     */
+    public FileParallelSearchUtils() {
+    }
+
+    /**
+     * 构造函数
+     * @param searchHandler 搜索处理接口
+     */
+    public FileParallelSearchUtils(final SearchHandler searchHandler) {
+        this.mSearchHandler = searchHandler;
+    }
+
+    /**
+     * detail: 文件实时回调
+     * @author Ttt
+     */
+    public interface OnFileListener {
+
+        /**
+         * 添加文件回调 ( 搜索线程中回调 )
+         * @param file 文件
+         */
+        void onFile(File file);
+    }
+
+    // 搜索处理接口
+    private          SearchHandler  mSearchHandler;
+    // 文件实时回调
+    private          OnFileListener mFileListener;
+    // 并行数量
+    private          int            mParallelism = Runtime.getRuntime().availableProcessors();
+    // 判断是否运行中
+    private volatile boolean        mRunning     = false;
+    // 是否停止搜索
+    private volatile boolean        mStop        = false;
+    // 开始搜索时间
+    private volatile long           mStartTime   = 0L;
+    // 结束搜索时间
+    private volatile long           mEndTime     = 0L;
+    // 已添加文件数量
+    private final    AtomicLong     mFileCount   = new AtomicLong();
+    // 已搜索文件夹数量
+    private final    AtomicLong     mDirCount    = new AtomicLong();
+
+    /**
+     * 设置搜索处理接口
+     * @param searchHandler 搜索处理接口
+     * @return {@link FileParallelSearchUtils}
+     */
+    public FileParallelSearchUtils setSearchHandler(final SearchHandler searchHandler) {
+        this.mSearchHandler = searchHandler;
+        return this;
+    }
+
+    /**
+     * 设置文件实时回调
+     * @param fileListener 文件实时回调
+     * @return {@link FileParallelSearchUtils}
+     */
+    public FileParallelSearchUtils setOnFileListener(final OnFileListener fileListener) {
+        this.mFileListener = fileListener;
+        return this;
+    }
+
+    /**
+     * 获取并行数量
+     * @return 并行数量
+     */
+    public int getParallelism() {
+        return mParallelism;
+    }
+
+    /**
+     * 设置并行数量 ( 搜索中设置无效 )
+     * @param parallelism 并行数量
+     * @return {@link FileParallelSearchUtils}
+     */
+    public synchronized FileParallelSearchUtils setParallelism(final int parallelism) {
+        if (mRunning || parallelism <= 0) {
+            return this;
+        }
+        this.mParallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * 是否搜索中
+     * @return {@code true} 搜索 / 运行中, {@code false} 非搜索 / 运行中
+     */
+    public boolean isRunning() {
+        return mRunning;
+    }
+
+    /**
+     * 停止搜索
+     * <pre>
+     *     未开始的文件夹任务直接结束, 停止后仍会触发结束回调
+     * </pre>
+     */
+    public void stop() {
+        mStop = true;
+    }
+
+    /**
+     * 是否停止搜索
+     * @return {@code true} 已停止搜索, {@code false} 搜索中
+     */
+    public boolean isStop() {
+        return mStop;
+    }
+
+    /**
+     * 获取开始搜索时间 ( 毫秒 )
+     * @return 开始搜索时间 ( 毫秒 )
+     */
+    public long getStartTime() {
+        return mStartTime;
+    }
+
+    /**
+     * 获取结束搜索时间 ( 毫秒 )
+     * @return 结束搜索时间 ( 毫秒 )
+     */
+    public long getEndTime() {
+        return mEndTime;
+    }
+
+    /**
+     * 获取已添加文件数量
+     * @return 已添加文件数量
+     */
+    public long getFileCount() {
+        return mFileCount.get();
+    }
+
+    /**
+     * 获取已搜索文件夹数量
+     * @return 已搜索文件夹数量
+     */
+    public long getDirCount() {
+        return mDirCount.get();
+    }
+
+    // =
+
+    /**
+     * 搜索目录 ( 异步, 结束后触发 {@link SearchHandler#onEndListener} )
+     * @param path 根目录路径
+     */
+    public synchronized void query(final String path) {
+        if (mRunning) {
+            return;
+        } else if (path == null || path.trim().length() == 0) {
+            // 触发结束回调
+            onEnd(null, -1, -1);
+            return;
+        }
+        final FileItem rootFileItem = start(path);
+        final File     file         = rootFileItem.file;
+        if (!file.isDirectory()) {
+            addRootFile(rootFileItem);
+            // 触发结束回调
+            mEndTime = System.currentTimeMillis();
+            onEnd(rootFileItem, mStartTime, mEndTime);
+            return;
+        }
+        final ForkJoinPool pool = new ForkJoinPool(mParallelism);
+        try {
+            pool.execute(new RootTask(pool, rootFileItem));
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "query");
+            pool.shutdown();
+            mEndTime = System.currentTimeMillis();
+            onEnd(rootFileItem, mStartTime, mEndTime);
+        }
+    }
+
+    /**
+     * 搜索目录 ( 同步, 在调用线程等待搜索结束 )
+     * @param path 根目录路径
+     * @return 根文件信息 {@link FileItem}, 搜索中返回 null
+     */
+    public FileItem querySync(final String path) {
+        final FileItem rootFileItem;
+        synchronized (this) {
+            if (mRunning || path == null || path.trim().length() == 0) return null;
+            rootFileItem = start(path);
+        }
+        File         file = rootFileItem.file;
+        ForkJoinPool pool = null;
+        try {
+            if (file.isDirectory()) {
+                pool = new ForkJoinPool(mParallelism);
+                pool.invoke(new DirTask(file, rootFileItem));
+            } else {
+                addRootFile(rootFileItem);
+            }
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "querySync");
+        } finally {
+            if (pool != null) pool.shutdown();
+            mEndTime = System.currentTimeMillis();
+            onEnd(rootFileItem, mStartTime, mEndTime);
+        }
+        return rootFileItem;
+    }
+
+    // ===========
+    // = 内部处理 =
+    // ===========
+
+    /**
+     * 初始化搜索状态
+     * @param path 根目录路径
+     * @return 根文件信息 {@link FileItem}
+     */
+    private FileItem start(final String path) {
+        // 表示运行中
+        mRunning = true;
+        mStop    = false;
+        mFileCount.set(0L);
+        mDirCount.set(0L);
+        // 设置开始搜索时间
+        mStartTime = System.currentTimeMillis();
+        return new FileItem(new File(path));
+    }
+
+    /**
+     * 触发结束回调
+     * @param rootFileItem 根文件信息
+     * @param startTime    开始扫描时间
+     * @param endTime      扫描结束时间
+     */
+    private void onEnd(
+            final FileItem rootFileItem,
+            final long startTime,
+            final long endTime
+    ) {
+        // 表示非搜索中
+        mRunning = false;
+        if (mSearchHandler != null) {
+            try {
+                mSearchHandler.onEndListener(rootFileItem, startTime, endTime);
+            } catch (Exception e) {
+                JCLogUtils.eTag(TAG, e, "onEndListener");
+            }
+        }
+    }
+
+    /**
+     * 根目录为文件时作为搜索结果 ( 与 {@link FileBreadthFirstSearchUtils} 一致返回该文件 )
+     * @param rootFileItem 根文件信息
+     */
+    private void addRootFile(final FileItem rootFileItem) {
+        File file = rootFileItem.file;
+        if (!file.exists()) return;
+        try {
+            if (!isHandlerFile(file) || !isAddToList(file)) return;
+            rootFileItem.put(file);
+            mFileCount.incrementAndGet();
+            OnFileListener listener = mFileListener;
+            if (listener != null) listener.onFile(file);
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "addRootFile");
+        }
+    }
+
+    private boolean isHandlerFile(final File file) {
+        return mSearchHandler == null || mSearchHandler.isHandlerFile(file);
+    }
+
+    private boolean isAddToList(final File file) {
+        return mSearchHandler == null || mSearchHandler.isAddToList(file);
+    }
+
+    /**
+     * detail: 异步搜索根任务
+     * @author Ttt
+     * <pre>
+     *     在线程池内执行根文件夹任务 ( 非阻塞等待 ), 全部子任务结束后关闭线程池并触发结束回调
+     * </pre>
+     */
+    private final class RootTask
+            extends RecursiveAction {
+
+        private static final long serialVersionUID = -4205926218416287815L;
+
+        // 搜索线程池
+        private final ForkJoinPool mPool;
+        // 根文件信息
+        private final FileItem     mRootFileItem;
+
+        RootTask(
+                final ForkJoinPool pool,
+                final FileItem rootFileItem
+        ) {
+            this.mPool         = pool;
+            this.mRootFileItem = rootFileItem;
+        }
+
+        @Override
+        protected void compute() {
+            try {
+                new DirTask(mRootFileItem.file, mRootFileItem).invoke();
+            } catch (Exception e) {
+                JCLogUtils.eTag(TAG, e, "query");
+            } finally {
+                mPool.shutdown();
+                // 全部任务结束后触发结束回调
+                mEndTime = System.currentTimeMillis();
+                onEnd(mRootFileItem, mStartTime, mEndTime);
+            }
+        }
+    }
+
+    /**
+     * detail: 文件夹搜索任务
+     * @author Ttt
+     */
+    private final class DirTask
+            extends RecursiveAction {
+
+        private static final long serialVersionUID = 6894917368231490471L;
+
+        // 当前文件夹
+        private final File     mDir;
+        // 当前文件夹信息
+        private final FileItem mFileItem;
+
+        DirTask(
+                final File dir,
+                final FileItem fileItem
+        ) {
+            this.mDir      = dir;
+            this.mFileItem = fileItem;
+        }
+
+        @Override
+        protected void compute() {
+            if (mStop) return;
+            List<DirTask> tasks = null;
+            try {
+                if (!isHandlerFile(mDir)) return;
+                // 获取文件夹全部子文件
+                File[] files = mDir.listFiles();
+                if (files == null) return;
+                mDirCount.incrementAndGet();
+                OnFileListener listener = mFileListener;
+                for (File file : files) {
+                    if (mStop) break;
+                    if (file.isDirectory()) {
+                        if (tasks == null) tasks = new ArrayList<>();
+                        tasks.add(new DirTask(file, mFileItem.put(file)));
+                    } else if (isAddToList(file)) {
+                        mFileItem.put(file);
+                        mFileCount.incrementAndGet();
+                        if (listener != null) listener.onFile(file);
+                    }
+                }
+            } catch (Exception e) {
+                JCLogUtils.eTag(TAG, e, "compute");
+            }
+            // 子文件夹拆分为子任务, 当前线程执行其中之一, 其余可被窃取
+            if (tasks != null && !mStop) {
+                invokeAll(tasks);
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package dev.utils.common.collection;
+
+/**
+ * detail: 开放寻址哈希计算
+ * @author Ttt
+ */
+final class CollectionHash {
+
+    private CollectionHash() {
+    }
+
+    // 最大容量
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    /**
+     * 计算 int 哈希值 ( 打散连续数据 )
+     * @param value 数据
+     * @return 哈希值
+     */
+    static int hash(final int value) {
+        int hash = value * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * 计算 long 哈希值 ( 打散连续数据 )
+     * @param value 数据
+     * @return 哈希值
+     */
+    static int hash(final long value) {
+        long hash = value * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    /**
+     * 计算存储容量
+     * @param expectedSize 预计数据数量
+     * @param loadFactor   负载因子
+     * @return 存储容量 ( 2 的幂 )
+     */
+    static int tableSize(
+            final int expectedSize,
+            final float loadFactor
+    ) {
+        long required = (long) Math.ceil(Math.max(expectedSize, 2) / loadFactor) + 1;
+        int  capacity = 4;
+        while (capacity < required && capacity < MAX_CAPACITY) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
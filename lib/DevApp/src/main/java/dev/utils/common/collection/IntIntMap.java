@@ -0,0 +1,364 @@
+package dev.utils.common.collection;
+
+import java.util.Arrays;
+
+/**
+ * detail: int - int 哈希映射 ( 开放寻址 )
+ * @author Ttt
+ * <pre>
+ *     线性探测存储在 int[] 中, 读写、累加都不会装箱为 {@link Integer}
+ *     适用于计数、按 key 累加统计等场景 {@link #addTo(int, int)}
+ *     0 作为空位标记, key 为 0 的数据单独记录
+ *     非线程安全
+ * </pre>
+ */
+public final class IntIntMap {
+
+    // 默认容量
+    private static final int   DEFAULT_CAPACITY = 16;
+    // 负载因子
+    private static final float LOAD_FACTOR      = 0.75F;
+
+    // key ( 0 表示空位 )
+    private int[]   mKeys;
+    // value
+    private int[]   mValues;
+    // 是否包含 key 0
+    private boolean mHasZero;
+    // key 0 对应的 value
+    private int     mZeroValue;
+    // 数据数量
+    private int     mSize;
+    // 扩容阈值
+    private int     mThreshold;
+
+    /**
+     * detail: 遍历回调
+     * @author Ttt
+     */
+    public interface Visitor {
+
+        /**
+         * 遍历回调
+         * @param key   key
+         * @param value value
+         */
+        void onEntry(
+                int key,
+                int value
+        );
+    }
+
+    /**
+     * 构造函数
+     */
+    public IntIntMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * 构造函数
+     * @param expectedSize 预计数据数量
+     */
+    public IntIntMap(final int expectedSize) {
+        allocate(CollectionHash.tableSize(expectedSize, LOAD_FACTOR));
+    }
+
+    // =
+
+    /**
+     * 获取数据数量
+     * @return 数据数量
+     */
+    public int size() {
+        return mSize;
+    }
+
+    /**
+     * 是否为空
+     * @return {@code true} yes, {@code false} no
+     */
+    public boolean isEmpty() {
+        return mSize == 0;
+    }
+
+    /**
+     * 是否包含 key
+     * @param key key
+     * @return {@code true} yes, {@code false} no
+     */
+    public boolean containsKey(final int key) {
+        if (key == 0) return mHasZero;
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * 获取 value
+     * @param key          key
+     * @param defaultValue 不存在时返回的默认值
+     * @return value
+     */
+    public int get(
+            final int key,
+            final int defaultValue
+    ) {
+        if (key == 0) return mHasZero ? mZeroValue : defaultValue;
+        int index = indexOf(key);
+        return (index >= 0) ? mValues[index] : defaultValue;
+    }
+
+    /**
+     * 保存数据
+     * @param key   key
+     * @param value value
+     * @return 原 value, 不存在返回 0
+     */
+    public int put(
+            final int key,
+            final int value
+    ) {
+        if (key == 0) {
+            int old = mZeroValue;
+            if (!mHasZero) {
+                mHasZero = true;
+                mSize++;
+                old = 0;
+            }
+            mZeroValue = value;
+            return old;
+        }
+        int slot = slotOf(key);
+        if (mKeys[slot] == key) {
+            int old = mValues[slot];
+            mValues[slot] = value;
+            return old;
+        }
+        insert(slot, key, value);
+        return 0;
+    }
+
+    /**
+     * 累加 value ( 不存在则以 0 为初始值 )
+     * @param key   key
+     * @param delta 累加值
+     * @return 累加后的 value
+     */
+    public int addTo(
+            final int key,
+            final int delta
+    ) {
+        if (key == 0) {
+            if (!mHasZero) {
+                mHasZero   = true;
+                mZeroValue = 0;
+                mSize++;
+            }
+            return mZeroValue += delta;
+        }
+        int slot = slotOf(key);
+        if (mKeys[slot] == key) {
+            return mValues[slot] += delta;
+        }
+        insert(slot, key, delta);
+        return delta;
+    }
+
+    /**
+     * 移除数据
+     * @param key key
+     * @return {@code true} 移除成功, {@code false} 不存在
+     */
+    public boolean remove(final int key) {
+        if (key == 0) {
+            if (!mHasZero) return false;
+            mHasZero   = false;
+            mZeroValue = 0;
+            mSize--;
+            return true;
+        }
+        int index = indexOf(key);
+        if (index < 0) return false;
+        shiftKeys(index);
+        mSize--;
+        return true;
+    }
+
+    /**
+     * 清空数据 ( 保留容量 )
+     */
+    public void clear() {
+        Arrays.fill(mKeys, 0);
+        mHasZero   = false;
+        mZeroValue = 0;
+        mSize      = 0;
+    }
+
+    /**
+     * 遍历数据 ( 无序, 遍历中不可修改 )
+     * @param visitor 遍历回调
+     */
+    public void forEach(final Visitor visitor) {
+        if (visitor == null) return;
+        if (mHasZero) visitor.onEntry(0, mZeroValue);
+        final int[] keys = mKeys;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) visitor.onEntry(keys[i], mValues[i]);
+        }
+    }
+
+    /**
+     * 获取全部 key ( 与 {@link #values()} 顺序一致 )
+     * @return int[]
+     */
+    public int[] keys() {
+        int[] array = new int[mSize];
+        int   index = 0;
+        if (mHasZero) array[index++] = 0;
+        for (int key : mKeys) {
+            if (key != 0) array[index++] = key;
+        }
+        return array;
+    }
+
+    /**
+     * 获取全部 value ( 与 {@link #keys()} 顺序一致 )
+     * @return int[]
+     */
+    public int[] values() {
+        int[] array = new int[mSize];
+        int   index = 0;
+        if (mHasZero) array[index++] = mZeroValue;
+        final int[] keys = mKeys;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) array[index++] = mValues[i];
+        }
+        return array;
+    }
+
+    /**
+     * 计算全部 value 总和
+     * @return 总和
+     */
+    public long sumValues() {
+        long        total = mHasZero ? mZeroValue : 0L;
+        final int[] keys  = mKeys;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) total += mValues[i];
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder("{");
+        forEach((key, value) -> {
+            if (builder.length() > 1) builder.append(", ");
+            builder.append(key).append('=').append(value);
+        });
+        return builder.append('}').toString();
+    }
+
+    // ===========
+    // = 内部处理 =
+    // ===========
+
+    /**
+     * 分配存储空间
+     * @param capacity 容量 ( 2 的幂 )
+     */
+    private void allocate(final int capacity) {
+        mKeys      = new int[capacity];
+        mValues    = new int[capacity];
+        mThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    /**
+     * 获取 key 所在位置
+     * @param key key ( 非 0 )
+     * @return 所在位置, 不存在返回 -1
+     */
+    private int indexOf(final int key) {
+        int slot = slotOf(key);
+        return (mKeys[slot] == key) ? slot : -1;
+    }
+
+    /**
+     * 获取 key 所在位置或可插入的空位
+     * @param key key ( 非 0 )
+     * @return 位置
+     */
+    private int slotOf(final int key) {
+        final int[] keys = mKeys;
+        final int   mask = keys.length - 1;
+        int         slot = CollectionHash.hash(key) & mask;
+        int         current;
+        while ((current = keys[slot]) != 0 && current != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * 插入数据到空位
+     * @param slot  空位
+     * @param key   key
+     * @param value value
+     */
+    private void insert(
+            final int slot,
+            final int key,
+            final int value
+    ) {
+        mKeys[slot]   = key;
+        mValues[slot] = value;
+        if (++mSize > mThreshold) rehash(mKeys.length << 1);
+    }
+
+    /**
+     * 扩容并重新计算位置
+     * @param capacity 新容量 ( 2 的幂 )
+     */
+    private void rehash(final int capacity) {
+        final int[] oldKeys   = mKeys;
+        final int[] oldValues = mValues;
+        allocate(capacity);
+        final int[] keys   = mKeys;
+        final int[] values = mValues;
+        final int   mask   = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            int key = oldKeys[i];
+            if (key == 0) continue;
+            int slot = CollectionHash.hash(key) & mask;
+            while (keys[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot]   = key;
+            values[slot] = oldValues[i];
+        }
+    }
+
+    /**
+     * 删除后向前移动后续数据, 保证线性探测不断链
+     * @param slot 被删除的位置
+     */
+    private void shiftKeys(final int slot) {
+        final int[] keys    = mKeys;
+        final int[] values  = mValues;
+        final int   mask    = keys.length - 1;
+        int         last    = slot;
+        int         current = (last + 1) & mask;
+        int         key;
+        while ((key = keys[current]) != 0) {
+            int ideal = CollectionHash.hash(key) & mask;
+            // 理想位置不在 ( last, current ] 区间内则可前移
+            if (last <= current ? (ideal <= last || ideal > current) : (ideal <= last && ideal > current)) {
+                keys[last]   = key;
+                values[last] = values[current];
+                last         = current;
+            }
+            current = (current + 1) & mask;
+        }
+        keys[last]   = 0;
+        values[last] = 0;
+    }
+}
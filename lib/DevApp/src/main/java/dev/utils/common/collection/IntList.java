@@ -0,0 +1,389 @@
+package dev.utils.common.collection;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * detail: int 可变长度集合
+ * @author Ttt
+ * <pre>
+ *     直接存储 int[], 添加、读取、求和、最值都不会装箱为 {@link Integer}
+ *     非线程安全
+ * </pre>
+ */
+public final class IntList {
+
+    // 默认容量
+    private static final int   DEFAULT_CAPACITY = 10;
+    // 空数组
+    private static final int[] EMPTY            = new int[0];
+
+    // 数据
+    private int[] mData;
+    // 数据数量
+    private int   mSize;
+
+    /**
+     * 构造函数
+     */
+    public IntList() {
+        this.mData = EMPTY;
+    }
+
+    /**
+     * 构造函数
+     * @param capacity 初始容量
+     */
+    public IntList(final int capacity) {
+        this.mData = (capacity > 0) ? new int[capacity] : EMPTY;
+    }
+
+    /**
+     * 构造函数
+     * @param values 初始数据
+     */
+    public IntList(final int[] values) {
+        this.mData = (values != null) ? values.clone() : EMPTY;
+        this.mSize = mData.length;
+    }
+
+    /**
+     * 通过装箱集合创建 ( null 数据忽略 )
+     * @param list 集合
+     * @return {@link IntList}
+     */
+    public static IntList of(final List<Integer> list) {
+        IntList intList = new IntList((list != null) ? list.size() : 0);
+        if (list != null) {
+            for (Integer value : list) {
+                if (value != null) intList.add(value);
+            }
+        }
+        return intList;
+    }
+
+    // =
+
+    /**
+     * 获取数据数量
+     * @return 数据数量
+     */
+    public int size() {
+        return mSize;
+    }
+
+    /**
+     * 是否为空
+     * @return {@code true} yes, {@code false} no
+     */
+    public boolean isEmpty() {
+        return mSize == 0;
+    }
+
+    /**
+     * 获取数据
+     * @param index 索引
+     * @return 数据
+     */
+    public int get(final int index) {
+        checkIndex(index);
+        return mData[index];
+    }
+
+    /**
+     * 设置数据
+     * @param index 索引
+     * @param value 数据
+     * @return 原数据
+     */
+    public int set(
+            final int index,
+            final int value
+    ) {
+        checkIndex(index);
+        int old = mData[index];
+        mData[index] = value;
+        return old;
+    }
+
+    /**
+     * 添加数据
+     * @param value 数据
+     * @return {@link IntList}
+     */
+    public IntList add(final int value) {
+        if (mSize == mData.length) grow(mSize + 1);
+        mData[mSize++] = value;
+        return this;
+    }
+
+    /**
+     * 插入数据
+     * @param index 索引
+     * @param value 数据
+     * @return {@link IntList}
+     */
+    public IntList add(
+            final int index,
+            final int value
+    ) {
+        if (index < 0 || index > mSize) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + mSize);
+        }
+        if (mSize == mData.length) grow(mSize + 1);
+        System.arraycopy(mData, index, mData, index + 1, mSize - index);
+        mData[index] = value;
+        mSize++;
+        return this;
+    }
+
+    /**
+     * 添加全部数据
+     * @param values 数据
+     * @return {@link IntList}
+     */
+    public IntList addAll(final int[] values) {
+        if (values != null && values.length != 0) {
+            ensureCapacity(mSize + values.length);
+            System.arraycopy(values, 0, mData, mSize, values.length);
+            mSize += values.length;
+        }
+        return this;
+    }
+
+    /**
+     * 添加全部数据
+     * @param list 集合
+     * @return {@link IntList}
+     */
+    public IntList addAll(final IntList list) {
+        if (list != null && list.mSize != 0) {
+            ensureCapacity(mSize + list.mSize);
+            System.arraycopy(list.mData, 0, mData, mSize, list.mSize);
+            mSize += list.mSize;
+        }
+        return this;
+    }
+
+    /**
+     * 移除指定索引数据
+     * @param index 索引
+     * @return 被移除的数据
+     */
+    public int removeAt(final int index) {
+        checkIndex(index);
+        int old = mData[index];
+        System.arraycopy(mData, index + 1, mData, index, mSize - index - 1);
+        mSize--;
+        return old;
+    }
+
+    /**
+     * 移除第一个等于指定值的数据
+     * @param value 数据
+     * @return {@code true} success, {@code false} fail
+     */
+    public boolean removeValue(final int value) {
+        int index = indexOf(value);
+        if (index < 0) return false;
+        removeAt(index);
+        return true;
+    }
+
+    /**
+     * 清空数据 ( 保留容量 )
+     */
+    public void clear() {
+        mSize = 0;
+    }
+
+    /**
+     * 获取数据索引
+     * @param value 数据
+     * @return 数据索引, 不存在返回 -1
+     */
+    public int indexOf(final int value) {
+        for (int i = 0; i < mSize; i++) {
+            if (mData[i] == value) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * 获取最后一个等于指定值的数据索引
+     * @param value 数据
+     * @return 数据索引, 不存在返回 -1
+     */
+    public int lastIndexOf(final int value) {
+        for (int i = mSize - 1; i >= 0; i--) {
+            if (mData[i] == value) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * 是否包含指定值
+     * @param value 数据
+     * @return {@code true} yes, {@code false} no
+     */
+    public boolean contains(final int value) {
+        return indexOf(value) >= 0;
+    }
+
+    /**
+     * 升序排序
+     * @return {@link IntList}
+     */
+    public IntList sort() {
+        Arrays.sort(mData, 0, mSize);
+        return this;
+    }
+
+    /**
+     * 确保容量
+     * @param capacity 最小容量
+     */
+    public void ensureCapacity(final int capacity) {
+        if (capacity > mData.length) grow(capacity);
+    }
+
+    /**
+     * 容量缩减为数据数量
+     */
+    public void trimToSize() {
+        if (mData.length != mSize) {
+            mData = (mSize == 0) ? EMPTY : Arrays.copyOf(mData, mSize);
+        }
+    }
+
+    /**
+     * 获取数据数组 ( 复制 )
+     * @return int[]
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(mData, mSize);
+    }
+
+    // ==========
+    // = 统计计算 =
+    // ==========
+
+    /**
+     * 计算总和 ( long 累加不会溢出 int )
+     * @return 总和
+     */
+    public long sum() {
+        long total = 0L;
+        for (int i = 0; i < mSize; i++) {
+            total += mData[i];
+        }
+        return total;
+    }
+
+    /**
+     * 计算平均值
+     * @return 平均值, 为空返回 0
+     */
+    public double average() {
+        return (mSize == 0) ? 0D : (double) sum() / mSize;
+    }
+
+    /**
+     * 获取最小值索引
+     * @return 最小值索引, 为空返回 -1
+     */
+    public int minIndex() {
+        if (mSize == 0) return -1;
+        int index = 0;
+        for (int i = 1; i < mSize; i++) {
+            if (mData[i] < mData[index]) index = i;
+        }
+        return index;
+    }
+
+    /**
+     * 获取最大值索引
+     * @return 最大值索引, 为空返回 -1
+     */
+    public int maxIndex() {
+        if (mSize == 0) return -1;
+        int index = 0;
+        for (int i = 1; i < mSize; i++) {
+            if (mData[i] > mData[index]) index = i;
+        }
+        return index;
+    }
+
+    /**
+     * 获取最小值
+     * @return 最小值, 为空返回 0
+     */
+    public int min() {
+        return (mSize == 0) ? 0 : mData[minIndex()];
+    }
+
+    /**
+     * 获取最大值
+     * @return 最大值, 为空返回 0
+     */
+    public int max() {
+        return (mSize == 0) ? 0 : mData[maxIndex()];
+    }
+
+    // =
+
+    @Override
+    public boolean equals(final Object object) {
+        if (this == object) return true;
+        if (!(object instanceof IntList)) return false;
+        IntList other = (IntList) object;
+        if (mSize != other.mSize) return false;
+        for (int i = 0; i < mSize; i++) {
+            if (mData[i] != other.mData[i]) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 1;
+        for (int i = 0; i < mSize; i++) {
+            result = 31 * result + mData[i];
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < mSize; i++) {
+            if (i != 0) builder.append(", ");
+            builder.append(mData[i]);
+        }
+        return builder.append(']').toString();
+    }
+
+    // ===========
+    // = 内部处理 =
+    // ===========
+
+    /**
+     * 校验索引
+     * @param index 索引
+     */
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= mSize) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + mSize);
+        }
+    }
+
+    /**
+     * 扩容 ( 1.5 倍 )
+     * @param capacity 最小容量
+     */
+    private void grow(final int capacity) {
+        int newCapacity = mData.length + (mData.length >> 1);
+        if (newCapacity < capacity) newCapacity = Math.max(capacity, DEFAULT_CAPACITY);
+        mData = Arrays.copyOf(mData, newCapacity);
+    }
+}
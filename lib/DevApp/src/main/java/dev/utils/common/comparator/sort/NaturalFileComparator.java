@@ -0,0 +1,26 @@
+package dev.utils.common.comparator.sort;
+
+import java.io.File;
+import java.util.Comparator;
+
+/**
+ * detail: 文件名自然顺序排序比较器
+ * @author Ttt
+ * <pre>
+ *     排序规则与 {@link WindowsExplorerFileSimpleComparator2} 一致
+ * </pre>
+ */
+public class NaturalFileComparator
+        implements Comparator<File> {
+
+    @Override
+    public int compare(
+            File f,
+            File f1
+    ) {
+        if (f == null || f1 == null) {
+            return -1;
+        }
+        return NaturalStringComparator.compareNatural(f.getName(), f1.getName());
+    }
+}
@@ -0,0 +1,230 @@
+package dev.utils.common.comparator.sort;
+
+import java.util.Comparator;
+
+/**
+ * detail: 自然顺序排序比较器 ( 单次遍历、无对象分配 )
+ * @author Ttt
+ * <pre>
+ *     排序规则与 {@link WindowsExplorerStringSimpleComparator2} 一致
+ *     按数字串、'.'、空白字符拆分为多段后逐段对比
+ *     两段都为数字串时按数值对比 ( 支持任意长度 ), 数值相等则长度长的 ( 前导 0 多 ) 在前
+ *     否则忽略大小写对比, 段数少的在前
+ *     <p></p>
+ *     直接在原字符串上按下标遍历, 不使用正则、不拆分集合、不依赖 {@link NumberFormatException} 判断
+ *     大量数据排序可使用 {@link NaturalCollationKey} 预先计算排序 key
+ * </pre>
+ */
+public class NaturalStringComparator
+        implements Comparator<String> {
+
+    // 全局实例
+    public static final NaturalStringComparator INSTANCE = new NaturalStringComparator();
+
+    @Override
+    public int compare(
+            String o1,
+            String o2
+    ) {
+        if (o1 == null || o2 == null) {
+            return -1;
+        }
+        return compareNatural(o1, o2);
+    }
+
+    /**
+     * 自然顺序对比
+     * @param str1 待对比字符串
+     * @param str2 待对比字符串
+     * @return 对比结果
+     */
+    public static int compareNatural(
+            final String str1,
+            final String str2
+    ) {
+        final int length1 = str1.length();
+        final int length2 = str2.length();
+        // 当前段起始下标
+        int     start1 = 0;
+        int     start2 = 0;
+        // 当前是否为文本段 ( 文本段、分隔段交替出现, 以文本段开始、结束 )
+        boolean text   = true;
+        while (true) {
+            if (start1 > length1) {
+                return (start2 > length2) ? 0 : -1;
+            } else if (start2 > length2) {
+                return 1;
+            }
+            int end1 = text ? textEnd(str1, start1, length1) : delimiterEnd(str1, start1, length1);
+            int end2 = text ? textEnd(str2, start2, length2) : delimiterEnd(str2, start2, length2);
+
+            int result;
+            if (!text && isDigit(str1.charAt(start1)) && isDigit(str2.charAt(start2))) {
+                result = compareNumber(str1, start1, end1, str2, start2, end2);
+            } else {
+                result = compareIgnoreCase(str1, start1, end1, str2, start2, end2);
+            }
+            if (result != 0) {
+                return result;
+            }
+            // 文本段之后无分隔段则结束 ( 下标越界表示无更多段 )
+            if (text) {
+                start1 = (end1 == length1) ? length1 + 1 : end1;
+                start2 = (end2 == length2) ? length2 + 1 : end2;
+            } else {
+                start1 = end1;
+                start2 = end2;
+            }
+            text = !text;
+        }
+    }
+
+    // ==========
+    // = 内部处理 =
+    // ==========
+
+    /**
+     * 是否数字字符
+     * @param ch 字符
+     * @return {@code true} yes, {@code false} no
+     */
+    static boolean isDigit(final char ch) {
+        return ch >= '0' && ch <= '9';
+    }
+
+    /**
+     * 是否分隔字符 ( 数字、'.'、空白字符 )
+     * @param ch 字符
+     * @return {@code true} yes, {@code false} no
+     */
+    static boolean isDelimiter(final char ch) {
+        return isDigit(ch) || ch == '.' || ch == ' '
+                || (ch >= '\t' && ch <= '\r');
+    }
+
+    /**
+     * 获取文本段结束下标
+     * @param str    字符串
+     * @param start  起始下标
+     * @param length 字符串长度
+     * @return 文本段结束下标 ( 不包含 )
+     */
+    static int textEnd(
+            final String str,
+            final int start,
+            final int length
+    ) {
+        int index = start;
+        while (index < length && !isDelimiter(str.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * 获取分隔段结束下标 ( 数字串整段, 其他分隔字符单个字符 )
+     * @param str    字符串
+     * @param start  起始下标
+     * @param length 字符串长度
+     * @return 分隔段结束下标 ( 不包含 )
+     */
+    static int delimiterEnd(
+            final String str,
+            final int start,
+            final int length
+    ) {
+        if (!isDigit(str.charAt(start))) {
+            return start + 1;
+        }
+        int index = start + 1;
+        while (index < length && isDigit(str.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * 数字串按数值对比
+     * <pre>
+     *     跳过前导 0 后先对比有效位数, 再逐位对比, 数值相等则长度长的在前
+     * </pre>
+     * @param str1   待对比字符串
+     * @param start1 起始下标
+     * @param end1   结束下标
+     * @param str2   待对比字符串
+     * @param start2 起始下标
+     * @param end2   结束下标
+     * @return 对比结果
+     */
+    static int compareNumber(
+            final String str1,
+            final int start1,
+            final int end1,
+            final String str2,
+            final int start2,
+            final int end2
+    ) {
+        int index1 = start1;
+        int index2 = start2;
+        while (index1 < end1 - 1 && str1.charAt(index1) == '0') {
+            index1++;
+        }
+        while (index2 < end2 - 1 && str2.charAt(index2) == '0') {
+            index2++;
+        }
+        int result = Integer.compare(end1 - index1, end2 - index2);
+        while (result == 0 && index1 < end1) {
+            result = Character.compare(str1.charAt(index1++), str2.charAt(index2++));
+        }
+        if (result == 0) {
+            result = -Integer.compare(end1 - start1, end2 - start2);
+        }
+        return result;
+    }
+
+    /**
+     * 忽略大小写对比 ( 与 {@link String#compareToIgnoreCase} 规则一致 )
+     * @param str1   待对比字符串
+     * @param start1 起始下标
+     * @param end1   结束下标
+     * @param str2   待对比字符串
+     * @param start2 起始下标
+     * @param end2   结束下标
+     * @return 对比结果
+     */
+    static int compareIgnoreCase(
+            final String str1,
+            final int start1,
+            final int end1,
+            final String str2,
+            final int start2,
+            final int end2
+    ) {
+        int index1 = start1;
+        int index2 = start2;
+        while (index1 < end1 && index2 < end2) {
+            char ch1 = str1.charAt(index1++);
+            char ch2 = str2.charAt(index2++);
+            if (ch1 != ch2) {
+                ch1 = foldCase(ch1);
+                ch2 = foldCase(ch2);
+                if (ch1 != ch2) {
+                    return ch1 - ch2;
+                }
+            }
+        }
+        return (end1 - start1) - (end2 - start2);
+    }
+
+    /**
+     * 字符大小写折叠
+     * @param ch 字符
+     * @return 折叠后的字符
+     */
+    static char foldCase(final char ch) {
+        if (ch < 128) {
+            return (ch >= 'A' && ch <= 'Z') ? (char) (ch + 32) : ch;
+        }
+        return Character.toLowerCase(Character.toUpperCase(ch));
+    }
+}
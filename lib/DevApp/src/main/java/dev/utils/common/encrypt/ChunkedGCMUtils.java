@@ -0,0 +1,622 @@
+package dev.utils.common.encrypt;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.security.SecureRandom;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import dev.utils.JCLogUtils;
+import dev.utils.common.CloseUtils;
+import dev.utils.common.FileUtils;
+
+/**
+ * detail: AES-GCM 分块认证加解密工具类
+ * @author Ttt
+ * <pre>
+ *     明文按固定大小分块, 每块独立使用 AES-GCM 加密并附带 16 字节认证标签
+ *     加解密内存占用只与分块大小有关, 且可根据块索引直接解密任意块 ( 随机访问 )
+ *     <p></p>
+ *     密文格式:
+ *     文件头 [ 魔数 4 字节 | 版本 1 字节 | 分块大小 4 字节 | 随机 nonce 前缀 8 字节 ]
+ *     分块 [ 密文 ( 最后一块可小于分块大小 ) | 认证标签 16 字节 ] * N
+ *     <p></p>
+ *     每块 nonce = nonce 前缀 + 块索引, 附加认证数据 = 文件头 + 块索引 + 是否最后一块
+ *     块被篡改、调换顺序、截断或追加均会导致认证失败
+ *     每次加密随机生成 nonce 前缀, 同一密钥加密不同文件不会重复 nonce
+ * </pre>
+ */
+public final class ChunkedGCMUtils {
+
+    private ChunkedGCMUtils() {
+    }
+
+    // 日志 TAG
+    private static final String       TAG                = ChunkedGCMUtils.class.getSimpleName();
+    // 默认分块大小
+    public static final  int          DEFAULT_CHUNK_SIZE = 64 * 1024;
+    // 最大分块大小 ( 解密时按文件头分配缓冲区, 需限制防止伪造文件头导致内存溢出 )
+    public static final  int          MAX_CHUNK_SIZE     = 16 * 1024 * 1024;
+    // 文件头魔数
+    private static final byte[]       MAGIC              = {'D', 'G', 'C', 'M'};
+    // 格式版本
+    private static final byte         VERSION            = 1;
+    // 文件头长度
+    private static final int          HEADER_LENGTH      = 17;
+    // nonce 前缀长度
+    private static final int          PREFIX_LENGTH      = 8;
+    // 认证标签长度
+    private static final int          TAG_LENGTH         = 16;
+    // transformation
+    private static final String       TRANSFORMATION     = "AES/GCM/NoPadding";
+    // nonce 前缀随机数生成
+    private static final SecureRandom RANDOM             = new SecureRandom();
+
+    // ===========
+    // = 文件处理 =
+    // ===========
+
+    /**
+     * 加密文件
+     * @param srcFile  源文件
+     * @param destFile 加密后的文件
+     * @param key      AES 密钥 ( 16、24、32 字节 )
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean encryptFile(
+            final File srcFile,
+            final File destFile,
+            final byte[] key
+    ) {
+        return encryptFile(srcFile, destFile, key, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * 加密文件
+     * @param srcFile   源文件
+     * @param destFile  加密后的文件
+     * @param key       AES 密钥 ( 16、24、32 字节 )
+     * @param chunkSize 分块大小 ( 不超过 {@link #MAX_CHUNK_SIZE} )
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean encryptFile(
+            final File srcFile,
+            final File destFile,
+            final byte[] key,
+            final int chunkSize
+    ) {
+        return cipherFile(srcFile, destFile, key, chunkSize, true);
+    }
+
+    /**
+     * 解密文件
+     * @param srcFile  加密文件
+     * @param destFile 解密后的文件
+     * @param key      AES 密钥
+     * @return {@code true} success, {@code false} fail ( 认证失败时删除不完整的解密文件 )
+     */
+    public static boolean decryptFile(
+            final File srcFile,
+            final File destFile,
+            final byte[] key
+    ) {
+        return cipherFile(srcFile, destFile, key, 0, false);
+    }
+
+    // ===========
+    // = 流式处理 =
+    // ===========
+
+    /**
+     * 加密流 ( 不关闭传入的流 )
+     * @param inputStream  明文输入流
+     * @param outputStream 密文输出流
+     * @param key          AES 密钥 ( 16、24、32 字节 )
+     * @param chunkSize    分块大小 ( 不超过 {@link #MAX_CHUNK_SIZE} )
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean encrypt(
+            final InputStream inputStream,
+            final OutputStream outputStream,
+            final byte[] key,
+            final int chunkSize
+    ) {
+        if (inputStream == null || outputStream == null) return false;
+        try {
+            encrypt(Channels.newChannel(inputStream), Channels.newChannel(outputStream), key, chunkSize);
+            outputStream.flush();
+            return true;
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "encrypt");
+            return false;
+        }
+    }
+
+    /**
+     * 解密流 ( 不关闭传入的流 )
+     * <pre>
+     *     每块认证通过后才会写入输出流, 认证失败时已写入的内容为之前通过认证的块
+     * </pre>
+     * @param inputStream  密文输入流
+     * @param outputStream 明文输出流
+     * @param key          AES 密钥
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean decrypt(
+            final InputStream inputStream,
+            final OutputStream outputStream,
+            final byte[] key
+    ) {
+        if (inputStream == null || outputStream == null) return false;
+        try {
+            decrypt(Channels.newChannel(inputStream), Channels.newChannel(outputStream), key);
+            outputStream.flush();
+            return true;
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "decrypt");
+            return false;
+        }
+    }
+
+    // ===========
+    // = 随机访问 =
+    // ===========
+
+    /**
+     * 获取加密文件分块数量
+     * @param file 加密文件
+     * @return 分块数量, 失败返回 -1
+     */
+    public static long getChunkCount(final File file) {
+        if (!FileUtils.isFile(file)) return -1L;
+        RandomAccessFile raf = null;
+        try {
+            raf = new RandomAccessFile(file, "r");
+            FileChannel channel = raf.getChannel();
+            return chunkCount(channel.size(), readHeader(channel).chunkSize);
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "getChunkCount");
+            return -1L;
+        } finally {
+            CloseUtils.closeIOQuietly(raf);
+        }
+    }
+
+    /**
+     * 获取加密文件明文长度
+     * @param file 加密文件
+     * @return 明文长度, 失败返回 -1
+     */
+    public static long getPlainLength(final File file) {
+        if (!FileUtils.isFile(file)) return -1L;
+        RandomAccessFile raf = null;
+        try {
+            raf = new RandomAccessFile(file, "r");
+            FileChannel channel = raf.getChannel();
+            return plainLength(channel.size(), readHeader(channel).chunkSize);
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "getPlainLength");
+            return -1L;
+        } finally {
+            CloseUtils.closeIOQuietly(raf);
+        }
+    }
+
+    /**
+     * 解密指定分块
+     * @param file       加密文件
+     * @param key        AES 密钥
+     * @param chunkIndex 分块索引
+     * @return 分块明文, 失败返回 null
+     */
+    public static byte[] decryptChunk(
+            final File file,
+            final byte[] key,
+            final long chunkIndex
+    ) {
+        if (!FileUtils.isFile(file)) return null;
+        RandomAccessFile raf = null;
+        try {
+            raf = new RandomAccessFile(file, "r");
+            FileChannel channel = raf.getChannel();
+            Header      header  = readHeader(channel);
+            Cipher      cipher  = Cipher.getInstance(TRANSFORMATION);
+            ByteBuffer  output  = ByteBuffer.allocate(header.chunkSize);
+            readChunk(channel, header, cipher, createKey(key), chunkIndex, output);
+            output.flip();
+            byte[] data = new byte[output.remaining()];
+            output.get(data);
+            return data;
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "decryptChunk");
+            return null;
+        } finally {
+            CloseUtils.closeIOQuietly(raf);
+        }
+    }
+
+    /**
+     * 读取指定区间明文 ( 只解密区间覆盖的分块 )
+     * @param file     加密文件
+     * @param key      AES 密钥
+     * @param position 明文开始位置
+     * @param length   读取长度
+     * @return 区间明文 ( 超出明文长度时截断 ), 失败返回 null
+     */
+    public static byte[] readRange(
+            final File file,
+            final byte[] key,
+            final long position,
+            final int length
+    ) {
+        if (!FileUtils.isFile(file) || position < 0L || length < 0) return null;
+        RandomAccessFile raf = null;
+        try {
+            raf = new RandomAccessFile(file, "r");
+            FileChannel channel   = raf.getChannel();
+            Header      header    = readHeader(channel);
+            long        plainSize = plainLength(channel.size(), header.chunkSize);
+            int         size      = (int) Math.max(0L, Math.min(length, plainSize - position));
+            byte[]      data      = new byte[size];
+            Cipher      cipher    = Cipher.getInstance(TRANSFORMATION);
+            SecretKey   secretKey = createKey(key);
+            ByteBuffer  output    = ByteBuffer.allocate(header.chunkSize);
+            int         copied    = 0;
+            while (copied < size) {
+                long current    = position + copied;
+                long chunkIndex = current / header.chunkSize;
+                int  offset     = (int) (current % header.chunkSize);
+                output.clear();
+                readChunk(channel, header, cipher, secretKey, chunkIndex, output);
+                int count = Math.min(output.position() - offset, size - copied);
+                System.arraycopy(output.array(), offset, data, copied, count);
+                copied += count;
+            }
+            return data;
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "readRange");
+            return null;
+        } finally {
+            CloseUtils.closeIOQuietly(raf);
+        }
+    }
+
+    // ===========
+    // = 内部处理 =
+    // ===========
+
+    /**
+     * detail: 文件头信息
+     * @author Ttt
+     */
+    private static final class Header {
+
+        // 文件头数据 ( 附加认证数据 )
+        final byte[] bytes;
+        // 分块大小
+        final int    chunkSize;
+        // nonce 前缀
+        final byte[] prefix;
+
+        Header(final byte[] bytes) {
+            this.bytes     = bytes;
+            this.chunkSize = ByteBuffer.wrap(bytes, MAGIC.length + 1, 4).getInt();
+            this.prefix    = new byte[PREFIX_LENGTH];
+            System.arraycopy(bytes, HEADER_LENGTH - PREFIX_LENGTH, prefix, 0, PREFIX_LENGTH);
+        }
+    }
+
+    /**
+     * 加解密文件
+     * @param srcFile   源文件
+     * @param destFile  目标文件
+     * @param key       AES 密钥
+     * @param chunkSize 分块大小 ( 仅加密使用 )
+     * @param isEncrypt 是否加密处理
+     * @return {@code true} success, {@code false} fail
+     */
+    private static boolean cipherFile(
+            final File srcFile,
+            final File destFile,
+            final byte[] key,
+            final int chunkSize,
+            final boolean isEncrypt
+    ) {
+        if (!FileUtils.isFile(srcFile) || destFile == null) return false;
+        if (!FileUtils.createOrExistsDir(destFile.getParentFile())) return false;
+        FileInputStream  fis     = null;
+        FileOutputStream fos     = null;
+        boolean          success = false;
+        try {
+            fis = new FileInputStream(srcFile);
+            fos = new FileOutputStream(destFile);
+            if (isEncrypt) {
+                encrypt(fis.getChannel(), fos.getChannel(), key, chunkSize);
+            } else {
+                decrypt(fis.getChannel(), fos.getChannel(), key);
+            }
+            success = true;
+            return true;
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "cipherFile");
+            return false;
+        } finally {
+            CloseUtils.closeIOQuietly(fis, fos);
+            // 失败时删除不完整或未通过认证的目标文件
+            if (!success) FileUtils.deleteFile(destFile);
+        }
+    }
+
+    /**
+     * 分块加密
+     * <pre>
+     *     预读下一块以判断当前块是否为最后一块
+     * </pre>
+     * @param in        明文输入
+     * @param out       密文输出
+     * @param key       AES 密钥
+     * @param chunkSize 分块大小
+     * @throws Exception 加密失败时抛出异常
+     */
+    private static void encrypt(
+            final ReadableByteChannel in,
+            final WritableByteChannel out,
+            final byte[] key,
+            final int chunkSize
+    ) throws Exception {
+        if (chunkSize <= 0 || chunkSize > MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("invalid chunkSize " + chunkSize);
+        }
+        SecretKey secretKey = createKey(key);
+        Cipher    cipher    = Cipher.getInstance(TRANSFORMATION);
+        // 文件头
+        byte[] prefix = new byte[PREFIX_LENGTH];
+        RANDOM.nextBytes(prefix);
+        ByteBuffer headerBuffer = ByteBuffer.allocate(HEADER_LENGTH);
+        headerBuffer.put(MAGIC).put(VERSION).putInt(chunkSize).put(prefix);
+        Header header = new Header(headerBuffer.array());
+        headerBuffer.flip();
+        writeFully(out, headerBuffer);
+
+        ByteBuffer current = ByteBuffer.allocate(chunkSize);
+        ByteBuffer next    = ByteBuffer.allocate(chunkSize);
+        ByteBuffer output  = ByteBuffer.allocate(chunkSize + TAG_LENGTH);
+        readFully(in, current);
+        for (long index = 0L; ; index++) {
+            next.clear();
+            readFully(in, next);
+            boolean last = next.position() == 0;
+            current.flip();
+            output.clear();
+            init(cipher, Cipher.ENCRYPT_MODE, secretKey, header, index, last);
+            cipher.doFinal(current, output);
+            output.flip();
+            writeFully(out, output);
+            if (last) break;
+            // 交换缓冲区
+            ByteBuffer temp = current;
+            current = next;
+            next    = temp;
+        }
+    }
+
+    /**
+     * 分块解密
+     * @param in  密文输入
+     * @param out 明文输出
+     * @param key AES 密钥
+     * @throws Exception 解密或认证失败时抛出异常
+     */
+    private static void decrypt(
+            final ReadableByteChannel in,
+            final WritableByteChannel out,
+            final byte[] key
+    ) throws Exception {
+        SecretKey  secretKey    = createKey(key);
+        Cipher     cipher       = Cipher.getInstance(TRANSFORMATION);
+        ByteBuffer headerBuffer = ByteBuffer.allocate(HEADER_LENGTH);
+        readFully(in, headerBuffer);
+        Header header = parseHeader(headerBuffer);
+
+        int        encryptSize = header.chunkSize + TAG_LENGTH;
+        ByteBuffer current     = ByteBuffer.allocate(encryptSize);
+        ByteBuffer next        = ByteBuffer.allocate(encryptSize);
+        ByteBuffer output      = ByteBuffer.allocate(encryptSize);
+        readFully(in, current);
+        for (long index = 0L; ; index++) {
+            next.clear();
+            readFully(in, next);
+            boolean last = next.position() == 0;
+            if (current.position() < TAG_LENGTH) throw new IOException("truncated chunk " + index);
+            current.flip();
+            output.clear();
+            init(cipher, Cipher.DECRYPT_MODE, secretKey, header, index, last);
+            cipher.doFinal(current, output);
+            output.flip();
+            writeFully(out, output);
+            if (last) break;
+            ByteBuffer temp = current;
+            current = next;
+            next    = temp;
+        }
+    }
+
+    /**
+     * 读取并解密指定分块
+     * @param channel    加密文件 FileChannel
+     * @param header     文件头信息
+     * @param cipher     {@link Cipher}
+     * @param secretKey  密钥
+     * @param chunkIndex 分块索引
+     * @param output     明文输出
+     * @throws Exception 解密或认证失败时抛出异常
+     */
+    private static void readChunk(
+            final FileChannel channel,
+            final Header header,
+            final Cipher cipher,
+            final SecretKey secretKey,
+            final long chunkIndex,
+            final ByteBuffer output
+    ) throws Exception {
+        long fileSize    = channel.size();
+        long encryptSize = header.chunkSize + TAG_LENGTH;
+        long offset      = HEADER_LENGTH + chunkIndex * encryptSize;
+        if (chunkIndex < 0L || offset >= fileSize) {
+            throw new IndexOutOfBoundsException("chunkIndex " + chunkIndex);
+        }
+        int        length = (int) Math.min(encryptSize, fileSize - offset);
+        ByteBuffer input  = ByteBuffer.allocate(length);
+        while (input.hasRemaining()) {
+            if (channel.read(input, offset + input.position()) < 0) {
+                throw new IOException("unexpected end of file");
+            }
+        }
+        input.flip();
+        init(cipher, Cipher.DECRYPT_MODE, secretKey, header, chunkIndex, offset + length == fileSize);
+        cipher.doFinal(input, output);
+    }
+
+    /**
+     * 初始化分块 Cipher
+     * @param cipher    {@link Cipher}
+     * @param mode      加解密模式
+     * @param secretKey 密钥
+     * @param header    文件头信息
+     * @param index     分块索引
+     * @param last      是否最后一块
+     * @throws Exception 初始化失败时抛出异常
+     */
+    private static void init(
+            final Cipher cipher,
+            final int mode,
+            final SecretKey secretKey,
+            final Header header,
+            final long index,
+            final boolean last
+    ) throws Exception {
+        if (index > 0xFFFFFFFFL) throw new IOException("too many chunks");
+        byte[] nonce = ByteBuffer.allocate(PREFIX_LENGTH + 4)
+                .put(header.prefix).putInt((int) index).array();
+        cipher.init(mode, secretKey, new GCMParameterSpec(TAG_LENGTH * 8, nonce));
+        cipher.updateAAD(header.bytes);
+        cipher.updateAAD(ByteBuffer.allocate(9).putLong(index).put((byte) (last ? 1 : 0)).array());
+    }
+
+    /**
+     * 读取文件头信息
+     * @param channel 加密文件 FileChannel
+     * @return 文件头信息
+     * @throws Exception 文件头无效时抛出异常
+     */
+    private static Header readHeader(final FileChannel channel)
+            throws Exception {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_LENGTH);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, buffer.position()) < 0) break;
+        }
+        return parseHeader(buffer);
+    }
+
+    /**
+     * 解析文件头信息
+     * @param buffer 文件头数据 ( 写模式 )
+     * @return 文件头信息
+     * @throws Exception 文件头无效时抛出异常
+     */
+    private static Header parseHeader(final ByteBuffer buffer)
+            throws Exception {
+        if (buffer.position() != HEADER_LENGTH) throw new IOException("invalid header");
+        byte[] bytes = buffer.array();
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (bytes[i] != MAGIC[i]) throw new IOException("invalid magic");
+        }
+        if (bytes[MAGIC.length] != VERSION) throw new IOException("unsupported version " + bytes[MAGIC.length]);
+        Header header = new Header(bytes);
+        // 文件头未经认证, 分配缓冲区前校验
+        if (header.chunkSize <= 0 || header.chunkSize > MAX_CHUNK_SIZE) {
+            throw new IOException("invalid chunk size " + header.chunkSize);
+        }
+        return header;
+    }
+
+    /**
+     * 创建 AES 密钥
+     * @param key AES 密钥
+     * @return {@link SecretKey}
+     */
+    private static SecretKey createKey(final byte[] key) {
+        if (key == null || key.length == 0) throw new IllegalArgumentException("key is empty");
+        return new SecretKeySpec(key, "AES");
+    }
+
+    /**
+     * 计算分块数量
+     * @param fileSize  加密文件大小
+     * @param chunkSize 分块大小
+     * @return 分块数量
+     */
+    private static long chunkCount(
+            final long fileSize,
+            final int chunkSize
+    ) {
+        long encryptSize = chunkSize + TAG_LENGTH;
+        return (fileSize - HEADER_LENGTH + encryptSize - 1) / encryptSize;
+    }
+
+    /**
+     * 计算明文长度
+     * @param fileSize  加密文件大小
+     * @param chunkSize 分块大小
+     * @return 明文长度
+     */
+    private static long plainLength(
+            final long fileSize,
+            final int chunkSize
+    ) {
+        return fileSize - HEADER_LENGTH - chunkCount(fileSize, chunkSize) * TAG_LENGTH;
+    }
+
+    /**
+     * 读取数据直到缓冲区写满或读取结束
+     * @param channel 输入
+     * @param buffer  缓冲区 ( 写模式 )
+     * @throws Exception 读取失败时抛出异常
+     */
+    private static void readFully(
+            final ReadableByteChannel channel,
+            final ByteBuffer buffer
+    ) throws Exception {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) break;
+        }
+    }
+
+    /**
+     * 写入缓冲区全部数据
+     * @param channel 输出
+     * @param buffer  待写入数据 ( 读模式 )
+     * @throws Exception 写入失败时抛出异常
+     */
+    private static void writeFully(
+            final WritableByteChannel channel,
+            final ByteBuffer buffer
+    ) throws Exception {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package dev.utils.common.encrypt;
+
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.DESKeySpec;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * detail: 加解密实例线程缓存
+ * @author Ttt
+ * <pre>
+ *     {@link MessageDigest}、{@link Mac}、{@link Cipher}、{@link SecretKeyFactory} 均非线程安全
+ *     且 getInstance 需遍历 Provider 查找实现, 因此按线程、按算法缓存实例复用
+ *     获取到的实例只允许在当前线程内同步使用, 不可跨线程传递
+ * </pre>
+ */
+final class CryptoCache {
+
+    private CryptoCache() {
+    }
+
+    // MessageDigest 缓存
+    private static final ThreadLocal<Map<String, MessageDigest>>    DIGEST_CACHE      = newCache();
+    // Mac 缓存
+    private static final ThreadLocal<Map<String, Mac>>              MAC_CACHE         = newCache();
+    // Cipher 缓存
+    private static final ThreadLocal<Map<String, Cipher>>           CIPHER_CACHE      = newCache();
+    // SecretKeyFactory 缓存
+    private static final ThreadLocal<Map<String, SecretKeyFactory>> KEY_FACTORY_CACHE = newCache();
+
+    /**
+     * 创建线程缓存
+     * <pre>
+     *     ThreadLocal.withInitial 为 API 26, 使用 initialValue 兼容低版本
+     * </pre>
+     * @param <T> 泛型
+     * @return 线程缓存
+     */
+    private static <T> ThreadLocal<Map<String, T>> newCache() {
+        return new ThreadLocal<Map<String, T>>() {
+            @Override
+            protected Map<String, T> initialValue() {
+                return new HashMap<>();
+            }
+        };
+    }
+
+    /**
+     * 获取当前线程 MessageDigest ( 已重置 )
+     * @param algorithm 算法
+     * @return {@link MessageDigest}
+     * @throws Exception 不支持的算法抛出异常
+     */
+    static MessageDigest obtainDigest(final String algorithm)
+            throws Exception {
+        Map<String, MessageDigest> cache  = DIGEST_CACHE.get();
+        MessageDigest              digest = cache.get(algorithm);
+        if (digest == null) {
+            digest = MessageDigest.getInstance(algorithm);
+            cache.put(algorithm, digest);
+        } else {
+            // 上次使用可能异常中断, 残留未计算数据
+            digest.reset();
+        }
+        return digest;
+    }
+
+    /**
+     * 获取当前线程 Mac ( 需调用方 init )
+     * @param algorithm 算法
+     * @return {@link Mac}
+     * @throws Exception 不支持的算法抛出异常
+     */
+    static Mac obtainMac(final String algorithm)
+            throws Exception {
+        Map<String, Mac> cache = MAC_CACHE.get();
+        Mac              mac   = cache.get(algorithm);
+        if (mac == null) {
+            mac = Mac.getInstance(algorithm);
+            cache.put(algorithm, mac);
+        }
+        return mac;
+    }
+
+    /**
+     * 获取当前线程 Cipher ( 需调用方 init )
+     * @param transformation {@link Cipher#getInstance} transformation
+     * @return {@link Cipher}
+     * @throws Exception 不支持的算法抛出异常
+     */
+    static Cipher obtainCipher(final String transformation)
+            throws Exception {
+        Map<String, Cipher> cache  = CIPHER_CACHE.get();
+        Cipher              cipher = cache.get(transformation);
+        if (cipher == null) {
+            cipher = Cipher.getInstance(transformation);
+            cache.put(transformation, cipher);
+        }
+        return cipher;
+    }
+
+    /**
+     * 生成对称加密密钥
+     * @param key       密钥
+     * @param algorithm 算法
+     * @return {@link SecretKey}
+     * @throws Exception 密钥无效时抛出异常
+     */
+    static SecretKey generateSecretKey(
+            final byte[] key,
+            final String algorithm
+    ) throws Exception {
+        if ("DES".equals(algorithm)) {
+            Map<String, SecretKeyFactory> cache   = KEY_FACTORY_CACHE.get();
+            SecretKeyFactory              factory = cache.get(algorithm);
+            if (factory == null) {
+                factory = SecretKeyFactory.getInstance(algorithm);
+                cache.put(algorithm, factory);
+            }
+            return factory.generateSecret(new DESKeySpec(key));
+        }
+        return new SecretKeySpec(key, algorithm);
+    }
+}
@@ -1,5 +1,6 @@
 package dev.utils.common.encrypt;
 
+import java.io.File;
 import java.security.Key;
 
 import javax.crypto.Cipher;
@@ -85,4 +86,36 @@ public final class DESUtils {
         }
         return null;
     }
-}
\ No newline at end of file
+
+    // =
+
+    /**
+     * DES 加密文件 ( 分段处理, 内存占用与文件大小无关 )
+     * @param srcFile  源文件
+     * @param destFile 加密后的文件
+     * @param key      密钥
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean encryptFile(
+            final File srcFile,
+            final File destFile,
+            final byte[] key
+    ) {
+        return CipherStreamUtils.encryptFile(srcFile, destFile, "DES", "DES/ECB/PKCS5Padding", key, null);
+    }
+
+    /**
+     * DES 解密文件 ( 分段处理, 内存占用与文件大小无关 )
+     * @param srcFile  加密文件
+     * @param destFile 解密后的文件
+     * @param key      密钥
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean decryptFile(
+            final File srcFile,
+            final File destFile,
+            final byte[] key
+    ) {
+        return CipherStreamUtils.decryptFile(srcFile, destFile, "DES", "DES/ECB/PKCS5Padding", key, null);
+    }
+}
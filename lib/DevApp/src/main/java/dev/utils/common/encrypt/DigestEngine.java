@@ -0,0 +1,135 @@
+package dev.utils.common.encrypt;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.util.concurrent.ConcurrentHashMap;
+
+import dev.utils.JCLogUtils;
+import dev.utils.common.ConvertUtils;
+
+/**
+ * detail: 可复用摘要引擎
+ * @author Ttt
+ * <pre>
+ *     按线程缓存 {@link MessageDigest} 实例, 避免每次调用 getInstance 查找 Provider
+ *     引擎实例线程安全, 可作为静态常量长期持有
+ *     <p></p>
+ *     DigestEngine.get("SHA-256").digest(data)
+ *     DigestEngine.get("MD5").digest(inputBuffer, outputBuffer)
+ * </pre>
+ */
+public final class DigestEngine {
+
+    // 日志 TAG
+    private static final String                                  TAG     = DigestEngine.class.getSimpleName();
+    // 引擎缓存
+    private static final ConcurrentHashMap<String, DigestEngine> ENGINES = new ConcurrentHashMap<>();
+
+    // 算法
+    private final String mAlgorithm;
+    // 摘要长度
+    private final int    mDigestLength;
+
+    private DigestEngine(final String algorithm)
+            throws Exception {
+        this.mAlgorithm    = algorithm;
+        this.mDigestLength = CryptoCache.obtainDigest(algorithm).getDigestLength();
+    }
+
+    /**
+     * 获取摘要引擎
+     * @param algorithm 算法 ( 如 MD5、SHA-1、SHA-256 )
+     * @return {@link DigestEngine}, 不支持的算法返回 null
+     */
+    public static DigestEngine get(final String algorithm) {
+        if (algorithm == null) return null;
+        DigestEngine engine = ENGINES.get(algorithm);
+        if (engine != null) return engine;
+        try {
+            engine = new DigestEngine(algorithm);
+            DigestEngine previous = ENGINES.putIfAbsent(algorithm, engine);
+            return (previous != null) ? previous : engine;
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "get");
+            return null;
+        }
+    }
+
+    // =
+
+    /**
+     * 获取算法
+     * @return 算法
+     */
+    public String getAlgorithm() {
+        return mAlgorithm;
+    }
+
+    /**
+     * 获取摘要长度
+     * @return 摘要长度
+     */
+    public int getDigestLength() {
+        return mDigestLength;
+    }
+
+    /**
+     * 计算摘要
+     * @param data 待计算数据
+     * @return 摘要 byte[]
+     */
+    public byte[] digest(final byte[] data) {
+        if (data == null) return null;
+        try {
+            return CryptoCache.obtainDigest(mAlgorithm).digest(data);
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "digest");
+            return null;
+        }
+    }
+
+    /**
+     * 计算摘要
+     * @param data 待计算数据
+     * @return 摘要十六进制字符串
+     */
+    public String digestToHexString(final byte[] data) {
+        return ConvertUtils.toHexString(digest(data));
+    }
+
+    /**
+     * 计算摘要 ( 不产生中间数组 )
+     * <pre>
+     *     input 从 position 读取到 limit, output 从 position 写入摘要
+     * </pre>
+     * @param input  待计算数据
+     * @param output 摘要输出
+     * @return 写入字节数, 失败返回 -1
+     */
+    public int digest(
+            final ByteBuffer input,
+            final ByteBuffer output
+    ) {
+        if (input == null || output == null) return -1;
+        if (output.remaining() < mDigestLength) return -1;
+        try {
+            MessageDigest digest = CryptoCache.obtainDigest(mAlgorithm);
+            digest.update(input);
+            int length;
+            if (output.hasArray()) {
+                length = digest.digest(
+                        output.array(), output.arrayOffset() + output.position(), mDigestLength
+                );
+                output.position(output.position() + length);
+            } else {
+                byte[] result = digest.digest();
+                output.put(result);
+                length = result.length;
+            }
+            return length;
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "digest");
+            return -1;
+        }
+    }
+}
@@ -13,8 +13,6 @@ import java.security.spec.X509EncodedKeySpec;
 import javax.crypto.Cipher;
 import javax.crypto.Mac;
 import javax.crypto.SecretKey;
-import javax.crypto.SecretKeyFactory;
-import javax.crypto.spec.DESKeySpec;
 import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 
@@ -351,9 +349,7 @@ public final class EncryptUtils {
     ) {
         if (data == null || data.length == 0) return null;
         try {
-            MessageDigest digest = MessageDigest.getInstance(algorithm);
-            digest.update(data);
-            return digest.digest();
+            return CryptoCache.obtainDigest(algorithm).digest(data);
         } catch (Exception e) {
             JCLogUtils.eTag(TAG, e, "hashTemplate");
             return null;
@@ -627,7 +623,7 @@ public final class EncryptUtils {
         if (data == null || data.length == 0 || key == null || key.length == 0) return null;
         try {
             SecretKeySpec secretKey = new SecretKeySpec(key, algorithm);
-            Mac           mac       = Mac.getInstance(algorithm);
+            Mac           mac       = CryptoCache.obtainMac(algorithm);
             mac.init(secretKey);
             return mac.doFinal(data);
         } catch (Exception e) {
@@ -974,15 +970,8 @@ public final class EncryptUtils {
     ) {
         if (data == null || data.length == 0 || key == null || key.length == 0) return null;
         try {
-            SecretKey secretKey;
-            if ("DES".equals(algorithm)) {
-                DESKeySpec       desKey     = new DESKeySpec(key);
-                SecretKeyFactory keyFactory = SecretKeyFactory.getInstance(algorithm);
-                secretKey = keyFactory.generateSecret(desKey);
-            } else {
-                secretKey = new SecretKeySpec(key, algorithm);
-            }
-            Cipher cipher = Cipher.getInstance(transformation);
+            SecretKey secretKey = CryptoCache.generateSecretKey(key, algorithm);
+            Cipher    cipher    = CryptoCache.obtainCipher(transformation);
             if (iv == null || iv.length == 0) {
                 cipher.init(isEncrypt ? Cipher.ENCRYPT_MODE : Cipher.DECRYPT_MODE, secretKey);
             } else {
@@ -0,0 +1,884 @@
+package dev.utils.common.file;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileFilter;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import dev.utils.JCLogUtils;
+import dev.utils.common.CloseUtils;
+import dev.utils.common.encrypt.FileDigestUtils;
+
+/**
+ * detail: 增量目录索引
+ * @author Ttt
+ * <pre>
+ *     记录目录下全部文件路径、大小、修改时间 ( 可选校验值 ), 并缓存每个文件夹的总大小
+ *     重复查询大小、过滤文件列表、变更记录时直接读取索引, 无需每次遍历文件系统
+ *     <p></p>
+ *     {@link #refresh()} 增量刷新: 只重新列出修改时间变化的文件夹 ( 新增、删除、重命名 )
+ *     未变化的文件夹只检查修改时间, 不读取其中文件信息
+ *     文件内容原地修改不会改变所在文件夹修改时间, 需要 {@link #refresh(boolean)} 传入 true 检查全部文件
+ *     或调用 {@link #startWatch()} 使用 WatchService 监听变化实时更新
+ *     <p></p>
+ *     设置索引文件后可 {@link #save()} 持久化, 重新创建时读取索引文件并增量刷新
+ * </pre>
+ */
+public final class DirectoryIndex {
+
+    // 日志 TAG
+    private static final String TAG             = DirectoryIndex.class.getSimpleName();
+    // 索引文件魔数
+    private static final int    INDEX_MAGIC     = 0x44494458;
+    // 索引文件版本
+    private static final int    INDEX_VERSION   = 1;
+    // 默认最大变更记录数
+    public static final  int    DEFAULT_CHANGES = 65536;
+    // 文件夹修改时间精度 ( 毫秒 ), 上次刷新前该时间内修改的文件夹仍需重新列出
+    private static final long   MODIFIED_WINDOW = 2000L;
+
+    // 根目录
+    private final    File                   mRoot;
+    // 索引文件 ( 为 null 不持久化 )
+    private final    File                   mIndexFile;
+    // 读写锁
+    private final    ReentrantReadWriteLock mLock       = new ReentrantReadWriteLock();
+    // 变更记录
+    private final    List<Change>           mChanges    = new ArrayList<>();
+    // 根目录索引
+    private          Entry                  mRootEntry;
+    // 文件数量
+    private          long                   mFileCount;
+    // 校验算法 ( 为 null 不计算 )
+    private volatile String                 mHashAlgorithm;
+    // 最大变更记录数
+    private volatile int                    mMaxChanges = DEFAULT_CHANGES;
+    // 最后刷新时间
+    private volatile long                   mRefreshTime;
+    // 文件变化监听
+    private          DirectoryWatcher       mWatcher;
+
+    /**
+     * 构造函数
+     * @param root 根目录
+     */
+    public DirectoryIndex(final File root) {
+        this(root, null);
+    }
+
+    /**
+     * 构造函数 ( 存在索引文件则读取 )
+     * @param root      根目录
+     * @param indexFile 索引文件
+     */
+    public DirectoryIndex(
+            final File root,
+            final File indexFile
+    ) {
+        this.mRoot      = root.getAbsoluteFile();
+        this.mIndexFile = indexFile;
+        this.mRootEntry = new Entry(null, mRoot.getPath(), mRoot.getPath(), true);
+        load();
+    }
+
+    // ==========
+    // = 索引信息 =
+    // ==========
+
+    /**
+     * detail: 文件索引信息
+     * @author Ttt
+     */
+    public static final class Entry {
+
+        // 上级文件夹
+        private final Entry              mParent;
+        // 文件名
+        private final String             mName;
+        // 文件路径
+        private final String             mPath;
+        // 是否文件夹
+        private final boolean            mDirectory;
+        // 文件大小 ( 文件夹为全部文件总大小 )
+        private       long               mLength;
+        // 修改时间
+        private       long               mLastModified = -1L;
+        // 校验值
+        private       String             mHash;
+        // 新增、修改时的刷新时间
+        private       long               mChangeTime;
+        // 子文件 ( 文件夹未列出前为 null )
+        private       Map<String, Entry> mChilds;
+
+        Entry(
+                final Entry parent,
+                final String name,
+                final String path,
+                final boolean directory
+        ) {
+            this.mParent    = parent;
+            this.mName      = name;
+            this.mPath      = path;
+            this.mDirectory = directory;
+        }
+
+        public File getFile() {
+            return new File(mPath);
+        }
+
+        public String getName() {
+            return mName;
+        }
+
+        public String getPath() {
+            return mPath;
+        }
+
+        public boolean isDirectory() {
+            return mDirectory;
+        }
+
+        public long getLength() {
+            return mLength;
+        }
+
+        public long getLastModified() {
+            return mLastModified;
+        }
+
+        public String getHash() {
+            return mHash;
+        }
+
+        public long getChangeTime() {
+            return mChangeTime;
+        }
+    }
+
+    /**
+     * detail: 变更记录
+     * @author Ttt
+     */
+    public static final class Change {
+
+        /**
+         * detail: 变更类型
+         * @author Ttt
+         */
+        public enum Type {
+
+            // 新增
+            ADDED,
+
+            // 修改
+            MODIFIED,
+
+            // 删除
+            REMOVED
+        }
+
+        // 文件路径
+        private final String  mPath;
+        // 是否文件夹
+        private final boolean mDirectory;
+        // 变更类型
+        private final Type    mType;
+        // 变更时间 ( 刷新时间 )
+        private final long    mTime;
+
+        Change(
+                final String path,
+                final boolean directory,
+                final Type type,
+                final long time
+        ) {
+            this.mPath      = path;
+            this.mDirectory = directory;
+            this.mType      = type;
+            this.mTime      = time;
+        }
+
+        public String getPath() {
+            return mPath;
+        }
+
+        public boolean isDirectory() {
+            return mDirectory;
+        }
+
+        public Type getType() {
+            return mType;
+        }
+
+        public long getTime() {
+            return mTime;
+        }
+    }
+
+    // ===========
+    // = get/set =
+    // ===========
+
+    /**
+     * 获取根目录
+     * @return 根目录
+     */
+    public File getRoot() {
+        return mRoot;
+    }
+
+    /**
+     * 获取校验算法
+     * @return 校验算法
+     */
+    public String getHashAlgorithm() {
+        return mHashAlgorithm;
+    }
+
+    /**
+     * 设置校验算法 ( 新增、修改的文件计算校验值 )
+     * @param hashAlgorithm {@link FileDigestUtils} 支持的算法, 为 null 不计算
+     * @return {@link DirectoryIndex}
+     */
+    public DirectoryIndex setHashAlgorithm(final String hashAlgorithm) {
+        this.mHashAlgorithm = hashAlgorithm;
+        return this;
+    }
+
+    /**
+     * 设置最大变更记录数 ( 超出时移除最早的记录 )
+     * @param maxChanges 最大变更记录数
+     * @return {@link DirectoryIndex}
+     */
+    public DirectoryIndex setMaxChanges(final int maxChanges) {
+        this.mMaxChanges = Math.max(0, maxChanges);
+        return this;
+    }
+
+    /**
+     * 获取最后刷新时间
+     * @return 最后刷新时间
+     */
+    public long getRefreshTime() {
+        return mRefreshTime;
+    }
+
+    // ==========
+    // = 刷新索引 =
+    // ==========
+
+    /**
+     * 增量刷新 ( 只重新列出修改时间变化的文件夹 )
+     * @return {@code true} success, {@code false} fail
+     */
+    public boolean refresh() {
+        return refresh(false);
+    }
+
+    /**
+     * 刷新索引
+     * @param checkFiles 是否检查未变化文件夹内的文件大小、修改时间
+     * @return {@code true} success, {@code false} fail
+     */
+    public boolean refresh(final boolean checkFiles) {
+        mLock.writeLock().lock();
+        try {
+            long now = System.currentTimeMillis();
+            if (!mRoot.isDirectory()) {
+                if (mRootEntry.mChilds != null) {
+                    for (Entry child : mRootEntry.mChilds.values()) {
+                        removeEntry(child, now);
+                    }
+                    mRootEntry.mChilds.clear();
+                }
+                mRootEntry.mLength = 0L;
+                mRefreshTime = now;
+                return false;
+            }
+            refreshDir(mRootEntry, checkFiles, now, new HashSet<String>());
+            mRefreshTime = now;
+            return true;
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "refresh");
+            return false;
+        } finally {
+            mLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 重新列出指定文件夹并更新上级文件夹总大小 ( 文件变化监听使用 )
+     * @param dir 文件夹
+     */
+    void refreshDir(final File dir) {
+        mLock.writeLock().lock();
+        try {
+            Entry entry = findEntry(dir.getAbsolutePath());
+            if (entry == null || !entry.mDirectory) {
+                File parent = dir.getParentFile();
+                if (parent == null || dir.getAbsoluteFile().equals(mRoot)) return;
+                entry = findEntry(parent.getAbsolutePath());
+                if (entry == null || !entry.mDirectory) return;
+            }
+            // 上级文件夹真实路径, 用于检测符号链接循环
+            Set<String> ancestors = new HashSet<>();
+            for (Entry parent = entry.mParent; parent != null; parent = parent.mParent) {
+                ancestors.add(canonicalPath(new File(parent.mPath)));
+            }
+            // 强制重新列出
+            entry.mLastModified = -1L;
+            refreshDir(entry, false, System.currentTimeMillis(), ancestors);
+            for (Entry parent = entry.mParent; parent != null; parent = parent.mParent) {
+                long length = 0L;
+                for (Entry child : parent.mChilds.values()) {
+                    length += child.mLength;
+                }
+                parent.mLength = length;
+            }
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "refreshDir");
+        } finally {
+            mLock.writeLock().unlock();
+        }
+    }
+
+    // ==========
+    // = 查询索引 =
+    // ==========
+
+    /**
+     * 获取根目录全部文件总大小
+     * @return 全部文件总大小
+     */
+    public long getLength() {
+        mLock.readLock().lock();
+        try {
+            return mRootEntry.mLength;
+        } finally {
+            mLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 获取文件、文件夹大小 ( 文件夹为全部文件总大小 )
+     * @param file 文件、文件夹
+     * @return 大小, 不在索引中返回 0
+     */
+    public long getLength(final File file) {
+        Entry entry = getEntry(file);
+        return (entry != null) ? entry.mLength : 0L;
+    }
+
+    /**
+     * 获取文件数量
+     * @return 文件数量
+     */
+    public long getFileCount() {
+        mLock.readLock().lock();
+        try {
+            return mFileCount;
+        } finally {
+            mLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 获取文件索引信息
+     * @param file 文件、文件夹
+     * @return {@link Entry}
+     */
+    public Entry getEntry(final File file) {
+        if (file == null) return null;
+        mLock.readLock().lock();
+        try {
+            return findEntry(file.getAbsolutePath());
+        } finally {
+            mLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 获取根目录下过滤的文件
+     * @param filter      过滤器
+     * @param isRecursive 是否递归进子目录
+     * @return 文件链表
+     */
+    public List<File> listFiles(
+            final FileFilter filter,
+            final boolean isRecursive
+    ) {
+        return listFiles(mRoot, filter, isRecursive);
+    }
+
+    /**
+     * 获取目录下过滤的文件 ( 与 FileUtils.listFilesInDirWithFilter 结果一致 )
+     * @param dir         目录
+     * @param filter      过滤器
+     * @param isRecursive 是否递归进子目录
+     * @return 文件链表
+     */
+    public List<File> listFiles(
+            final File dir,
+            final FileFilter filter,
+            final boolean isRecursive
+    ) {
+        if (dir == null || filter == null) return null;
+        mLock.readLock().lock();
+        try {
+            Entry entry = findEntry(dir.getAbsolutePath());
+            if (entry == null || !entry.mDirectory) return null;
+            List<File> lists = new ArrayList<>();
+            collectFiles(entry, filter, isRecursive, lists);
+            return lists;
+        } finally {
+            mLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 获取指定时间之后的变更记录
+     * <pre>
+     *     时间为刷新时间, 只包含创建索引 ( 读取索引文件 ) 之后的变更
+     * </pre>
+     * @param since 时间 ( 毫秒 )
+     * @return 变更记录
+     */
+    public List<Change> getChanges(final long since) {
+        mLock.readLock().lock();
+        try {
+            List<Change> lists = new ArrayList<>();
+            for (int i = mChanges.size() - 1; i >= 0; i--) {
+                Change change = mChanges.get(i);
+                if (change.mTime <= since) break;
+                lists.add(change);
+            }
+            Collections.reverse(lists);
+            return lists;
+        } finally {
+            mLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 清空变更记录
+     */
+    public void clearChanges() {
+        mLock.writeLock().lock();
+        try {
+            mChanges.clear();
+        } finally {
+            mLock.writeLock().unlock();
+        }
+    }
+
+    // ==========
+    // = 文件监听 =
+    // ==========
+
+    /**
+     * 开始监听文件变化 ( WatchService, 每个文件夹注册一次 )
+     * <pre>
+     *     需先 {@link #refresh()}, 监听线程收到变化后重新列出对应文件夹
+     *     Linux inotify 监听数量有限, 超大目录建议定时 {@link #refresh()}
+     * </pre>
+     * @return {@code true} success, {@code false} fail
+     */
+    public synchronized boolean startWatch() {
+        if (mWatcher != null) return true;
+        try {
+            mWatcher = new DirectoryWatcher(this, getDirs());
+            return true;
+        } catch (Throwable e) {
+            // 低版本 Android 不支持 java.nio.file
+            JCLogUtils.eTag(TAG, e, "startWatch");
+            return false;
+        }
+    }
+
+    /**
+     * 停止监听文件变化
+     */
+    public synchronized void stopWatch() {
+        if (mWatcher != null) {
+            mWatcher.close();
+            mWatcher = null;
+        }
+    }
+
+    // ==========
+    // = 持久化 =
+    // ==========
+
+    /**
+     * 保存索引文件 ( 先写入临时文件再重命名覆盖, 保存失败不影响原索引文件 )
+     * @return {@code true} success, {@code false} fail
+     */
+    public boolean save() {
+        if (mIndexFile == null) return false;
+        File             tempFile = new File(mIndexFile.getPath() + ".tmp");
+        DataOutputStream dos      = null;
+        mLock.readLock().lock();
+        try {
+            File parent = mIndexFile.getAbsoluteFile().getParentFile();
+            if (parent != null && !parent.isDirectory() && !parent.mkdirs()) return false;
+            dos = new DataOutputStream(new BufferedOutputStream(
+                    new FileOutputStream(tempFile), 64 * 1024
+            ));
+            dos.writeInt(INDEX_MAGIC);
+            dos.writeInt(INDEX_VERSION);
+            dos.writeUTF(mRoot.getPath());
+            dos.writeLong(mRefreshTime);
+            writeEntry(dos, mRootEntry);
+            dos.close();
+            dos = null;
+            if (tempFile.renameTo(mIndexFile)) return true;
+            // 不支持重命名覆盖已存在文件 ( 如 Windows ) 时先删除
+            return mIndexFile.delete() && tempFile.renameTo(mIndexFile);
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "save");
+            return false;
+        } finally {
+            mLock.readLock().unlock();
+            CloseUtils.closeIOQuietly(dos);
+            if (tempFile.exists()) tempFile.delete();
+        }
+    }
+
+    // ===========
+    // = 内部处理 =
+    // ===========
+
+    /**
+     * 获取全部文件夹 ( 文件变化监听注册使用 )
+     * @return 文件夹链表
+     */
+    List<File> getDirs() {
+        List<File> dirs = new ArrayList<>();
+        mLock.readLock().lock();
+        try {
+            collectDirs(mRootEntry, dirs);
+        } finally {
+            mLock.readLock().unlock();
+        }
+        return dirs;
+    }
+
+    /**
+     * 刷新文件夹 ( 修改时间变化时重新列出 )
+     * <pre>
+     *     修改时间精度有限, 上次刷新时同一时间段内列出后再修改的文件夹修改时间可能不变
+     *     因此修改时间在上次刷新时间前 {@link #MODIFIED_WINDOW} 之后的文件夹也重新列出
+     * </pre>
+     * @param dir        文件夹索引
+     * @param checkFiles 是否检查未变化文件夹内的文件
+     * @param now        刷新时间
+     * @param ancestors  上级文件夹真实路径 ( 检测符号链接循环 )
+     * @return 文件夹总大小
+     */
+    private long refreshDir(
+            final Entry dir,
+            final boolean checkFiles,
+            final long now,
+            final Set<String> ancestors
+    ) {
+        File   file          = new File(dir.mPath);
+        String canonicalPath = canonicalPath(file);
+        if (!ancestors.add(canonicalPath)) {
+            // 符号链接指向上级文件夹, 不再递归
+            if (dir.mChilds != null) {
+                for (Entry child : dir.mChilds.values()) {
+                    removeEntry(child, now);
+                }
+                dir.mChilds.clear();
+            } else {
+                dir.mChilds = new HashMap<>();
+            }
+            dir.mLength = 0L;
+            return 0L;
+        }
+        long    lastModified = file.lastModified();
+        boolean relist       = dir.mChilds == null || lastModified != dir.mLastModified
+                || lastModified >= mRefreshTime - MODIFIED_WINDOW;
+        if (relist) {
+            String[]    names = file.list();
+            Set<String> seen  = new HashSet<>();
+            if (dir.mChilds == null) dir.mChilds = new HashMap<>();
+            if (names != null) {
+                for (String name : names) {
+                    seen.add(name);
+                    File    childFile = new File(file, name);
+                    boolean directory = childFile.isDirectory();
+                    Entry   child     = dir.mChilds.get(name);
+                    if (child != null && child.mDirectory != directory) {
+                        removeEntry(child, now);
+                        child = null;
+                    }
+                    if (child == null) {
+                        child = new Entry(dir, name, childFile.getPath(), directory);
+                        child.mChangeTime = now;
+                        dir.mChilds.put(name, child);
+                        addChange(child, Change.Type.ADDED, now);
+                        if (!directory) {
+                            mFileCount++;
+                            updateFile(child, childFile);
+                        }
+                    } else if (!directory) {
+                        checkFile(child, childFile, now);
+                    }
+                }
+            }
+            Iterator<Entry> iterator = dir.mChilds.values().iterator();
+            while (iterator.hasNext()) {
+                Entry child = iterator.next();
+                if (!seen.contains(child.mName)) {
+                    iterator.remove();
+                    removeEntry(child, now);
+                }
+            }
+            dir.mLastModified = lastModified;
+        } else if (checkFiles) {
+            for (Entry child : dir.mChilds.values()) {
+                if (!child.mDirectory) checkFile(child, new File(child.mPath), now);
+            }
+        }
+        long length = 0L;
+        for (Entry child : dir.mChilds.values()) {
+            length += child.mDirectory ? refreshDir(child, checkFiles, now, ancestors) : child.mLength;
+        }
+        ancestors.remove(canonicalPath);
+        dir.mLength = length;
+        return length;
+    }
+
+    /**
+     * 获取真实路径 ( 解析符号链接 )
+     * @param file 文件
+     * @return 真实路径, 获取失败返回绝对路径
+     */
+    private static String canonicalPath(final File file) {
+        try {
+            return file.getCanonicalPath();
+        } catch (Exception e) {
+            return file.getAbsolutePath();
+        }
+    }
+
+    /**
+     * 检查文件大小、修改时间是否变化
+     * @param entry 文件索引
+     * @param file  文件
+     * @param now   刷新时间
+     */
+    private void checkFile(
+            final Entry entry,
+            final File file,
+            final long now
+    ) {
+        if (file.length() != entry.mLength || file.lastModified() != entry.mLastModified) {
+            updateFile(entry, file);
+            entry.mChangeTime = now;
+            addChange(entry, Change.Type.MODIFIED, now);
+        }
+    }
+
+    /**
+     * 更新文件大小、修改时间、校验值
+     * @param entry 文件索引
+     * @param file  文件
+     */
+    private void updateFile(
+            final Entry entry,
+            final File file
+    ) {
+        entry.mLength       = file.length();
+        entry.mLastModified = file.lastModified();
+        String algorithm = mHashAlgorithm;
+        if (algorithm != null) {
+            Map<String, String> digests = FileDigestUtils.getFileDigests(file, algorithm);
+            entry.mHash = (digests != null) ? digests.get(algorithm) : null;
+        } else {
+            entry.mHash = null;
+        }
+    }
+
+    /**
+     * 移除文件、文件夹索引 ( 记录删除变更 )
+     * @param entry 文件索引
+     * @param now   刷新时间
+     */
+    private void removeEntry(
+            final Entry entry,
+            final long now
+    ) {
+        if (entry.mDirectory) {
+            if (entry.mChilds != null) {
+                for (Entry child : entry.mChilds.values()) {
+                    removeEntry(child, now);
+                }
+            }
+        } else {
+            mFileCount--;
+        }
+        addChange(entry, Change.Type.REMOVED, now);
+    }
+
+    /**
+     * 添加变更记录
+     * @param entry 文件索引
+     * @param type  变更类型
+     * @param now   刷新时间
+     */
+    private void addChange(
+            final Entry entry,
+            final Change.Type type,
+            final long now
+    ) {
+        int maxChanges = mMaxChanges;
+        if (maxChanges <= 0) return;
+        mChanges.add(new Change(entry.mPath, entry.mDirectory, type, now));
+        int overflow = mChanges.size() - maxChanges;
+        if (overflow > maxChanges / 4) {
+            // 批量移除, 避免每次移除都移动数组
+            mChanges.subList(0, overflow).clear();
+        }
+    }
+
+    /**
+     * 通过路径查找索引
+     * @param path 绝对路径
+     * @return {@link Entry}
+     */
+    private Entry findEntry(final String path) {
+        String rootPath = mRootEntry.mPath;
+        if (path.equals(rootPath)) return mRootEntry;
+        if (!path.startsWith(rootPath)) return null;
+        if (!rootPath.endsWith(File.separator)
+                && path.charAt(rootPath.length()) != File.separatorChar) return null;
+        String relative = path.substring(rootPath.length());
+        Entry  entry    = mRootEntry;
+        for (String name : relative.split(File.separatorChar == '\\' ? "\\\\" : File.separator)) {
+            if (name.length() == 0) continue;
+            if (entry.mChilds == null) return null;
+            entry = entry.mChilds.get(name);
+            if (entry == null) return null;
+        }
+        return entry;
+    }
+
+    private static void collectFiles(
+            final Entry dir,
+            final FileFilter filter,
+            final boolean isRecursive,
+            final List<File> lists
+    ) {
+        if (dir.mChilds == null) return;
+        for (Entry child : dir.mChilds.values()) {
+            File file = new File(child.mPath);
+            if (filter.accept(file)) {
+                lists.add(file);
+            }
+            if (isRecursive && child.mDirectory) {
+                collectFiles(child, filter, true, lists);
+            }
+        }
+    }
+
+    private static void collectDirs(
+            final Entry dir,
+            final List<File> lists
+    ) {
+        lists.add(new File(dir.mPath));
+        if (dir.mChilds == null) return;
+        for (Entry child : dir.mChilds.values()) {
+            if (child.mDirectory) collectDirs(child, lists);
+        }
+    }
+
+    /**
+     * 读取索引文件
+     */
+    private void load() {
+        if (mIndexFile == null || !mIndexFile.isFile()) return;
+        DataInputStream dis = null;
+        try {
+            dis = new DataInputStream(new BufferedInputStream(
+                    new FileInputStream(mIndexFile), 64 * 1024
+            ));
+            if (dis.readInt() != INDEX_MAGIC || dis.readInt() != INDEX_VERSION) return;
+            if (!mRoot.getPath().equals(dis.readUTF())) return;
+            long  refreshTime = dis.readLong();
+            Entry root        = new Entry(null, mRoot.getPath(), mRoot.getPath(), true);
+            mFileCount = 0L;
+            readEntry(dis, root);
+            mRootEntry   = root;
+            mRefreshTime = refreshTime;
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "load");
+            mRootEntry = new Entry(null, mRoot.getPath(), mRoot.getPath(), true);
+            mFileCount = 0L;
+        } finally {
+            CloseUtils.closeIOQuietly(dis);
+        }
+    }
+
+    private static void writeEntry(
+            final DataOutputStream dos,
+            final Entry entry
+    ) throws Exception {
+        dos.writeLong(entry.mLength);
+        dos.writeLong(entry.mLastModified);
+        dos.writeLong(entry.mChangeTime);
+        dos.writeBoolean(entry.mHash != null);
+        if (entry.mHash != null) dos.writeUTF(entry.mHash);
+        if (!entry.mDirectory) return;
+        if (entry.mChilds == null) {
+            dos.writeInt(-1);
+            return;
+        }
+        dos.writeInt(entry.mChilds.size());
+        for (Entry child : entry.mChilds.values()) {
+            dos.writeUTF(child.mName);
+            dos.writeBoolean(child.mDirectory);
+            writeEntry(dos, child);
+        }
+    }
+
+    private void readEntry(
+            final DataInputStream dis,
+            final Entry entry
+    ) throws Exception {
+        entry.mLength       = dis.readLong();
+        entry.mLastModified = dis.readLong();
+        entry.mChangeTime   = dis.readLong();
+        if (dis.readBoolean()) entry.mHash = dis.readUTF();
+        if (!entry.mDirectory) {
+            mFileCount++;
+            return;
+        }
+        int count = dis.readInt();
+        if (count < 0) return;
+        entry.mChilds = new HashMap<>(Math.max(16, count * 4 / 3 + 1));
+        for (int i = 0; i < count; i++) {
+            String  name      = dis.readUTF();
+            boolean directory = dis.readBoolean();
+            Entry   child     = new Entry(
+                    entry, name, new File(entry.mPath, name).getPath(), directory
+            );
+            readEntry(dis, child);
+            entry.mChilds.put(name, child);
+        }
+    }
+}
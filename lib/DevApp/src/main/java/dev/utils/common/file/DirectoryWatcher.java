@@ -0,0 +1,168 @@
+package dev.utils.common.file;
+
+import java.io.File;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import dev.utils.JCLogUtils;
+
+/**
+ * detail: 目录索引文件变化监听
+ * @author Ttt
+ * <pre>
+ *     独立为单独的类, {@link DirectoryIndex} 不使用监听时无需加载 java.nio.file
+ *     收到变化后合并同一批事件涉及的文件夹, 逐个重新列出并注册新增的文件夹
+ *     事件溢出 ( OVERFLOW ) 时整体增量刷新, 并注册索引中新增的文件夹
+ * </pre>
+ */
+final class DirectoryWatcher
+        implements Runnable {
+
+    // 日志 TAG
+    private static final String TAG = DirectoryWatcher.class.getSimpleName();
+
+    // 目录索引
+    private final    DirectoryIndex      mIndex;
+    // 监听服务
+    private final    WatchService        mWatchService;
+    // 已注册的文件夹
+    private final    Map<WatchKey, Path> mKeys = new ConcurrentHashMap<>();
+    // 监听线程
+    private final    Thread              mThread;
+    // 是否关闭
+    private volatile boolean             mClosed;
+
+    DirectoryWatcher(
+            final DirectoryIndex index,
+            final List<File> dirs
+    ) throws Exception {
+        this.mIndex        = index;
+        this.mWatchService = FileSystems.getDefault().newWatchService();
+        for (File dir : dirs) {
+            register(dir);
+        }
+        this.mThread = new Thread(this, TAG);
+        this.mThread.setDaemon(true);
+        this.mThread.start();
+    }
+
+    @Override
+    public void run() {
+        while (!mClosed) {
+            try {
+                WatchKey key = mWatchService.take();
+                // 合并同一批事件
+                Set<File> dirs     = new HashSet<>();
+                boolean   overflow = false;
+                do {
+                    Path dir = mKeys.get(key);
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                            overflow = true;
+                        } else if (dir != null) {
+                            File file = dir.resolve((Path) event.context()).toFile();
+                            // 文件修改重新列出所在文件夹, 新增文件夹需注册
+                            dirs.add(dir.toFile());
+                            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE
+                                    && file.isDirectory()) {
+                                registerTree(file);
+                                dirs.add(file);
+                            }
+                        }
+                    }
+                    if (!key.reset()) mKeys.remove(key);
+                    key = mWatchService.poll();
+                } while (key != null);
+                if (overflow) {
+                    mIndex.refresh(true);
+                    // 溢出期间新增的文件夹未注册, 已注册的文件夹重复注册返回同一 WatchKey
+                    for (File dir : mIndex.getDirs()) {
+                        register(dir);
+                    }
+                } else {
+                    for (File dir : dirs) {
+                        mIndex.refreshDir(dir);
+                    }
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (Exception e) {
+                if (mClosed) return;
+                JCLogUtils.eTag(TAG, e, "run");
+            }
+        }
+    }
+
+    /**
+     * 关闭监听
+     */
+    void close() {
+        mClosed = true;
+        try {
+            mWatchService.close();
+        } catch (Exception ignore) {
+        }
+        mThread.interrupt();
+    }
+
+    /**
+     * 注册文件夹
+     * <pre>
+     *     符号链接与真实文件夹为同一 WatchKey, 保留最先注册的路径 ( 已不存在时替换, 如重命名 )
+     * </pre>
+     * @param dir 文件夹
+     * @throws Exception 注册失败时抛出异常
+     */
+    private void register(final File dir)
+            throws Exception {
+        Path     path = dir.toPath();
+        WatchKey key  = path.register(
+                mWatchService,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_DELETE,
+                StandardWatchEventKinds.ENTRY_MODIFY
+        );
+        Path old = mKeys.putIfAbsent(key, path);
+        if (old != null && !old.equals(path) && !old.toFile().exists()) {
+            mKeys.put(key, path);
+        }
+    }
+
+    /**
+     * 注册新增文件夹及全部子文件夹
+     * @param dir 文件夹
+     * @throws Exception 注册失败时抛出异常
+     */
+    private void registerTree(final File dir)
+            throws Exception {
+        registerTree(dir, new HashSet<String>());
+    }
+
+    /**
+     * 注册文件夹及全部子文件夹 ( 跳过已访问的真实路径, 避免符号链接循环 )
+     * @param dir     文件夹
+     * @param visited 已访问的真实路径
+     * @throws Exception 注册失败时抛出异常
+     */
+    private void registerTree(
+            final File dir,
+            final Set<String> visited
+    ) throws Exception {
+        if (!visited.add(dir.getCanonicalPath())) return;
+        register(dir);
+        File[] files = dir.listFiles();
+        if (files == null) return;
+        for (File file : files) {
+            if (file.isDirectory()) registerTree(file, visited);
+        }
+    }
+}
@@ -0,0 +1,541 @@
+package dev.utils.common.file;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.Checksum;
+
+import dev.utils.JCLogUtils;
+import dev.utils.common.CloseUtils;
+import dev.utils.common.ConvertUtils;
+import dev.utils.common.FileUtils;
+import dev.utils.common.thread.DevThreadManager;
+import dev.utils.common.thread.DevThreadPool;
+
+/**
+ * detail: 文件分片并行拆分、合并引擎
+ * @author Ttt
+ * <pre>
+ *     各分片并行处理, 拆分时计算分片校验值并生成清单 {@link FilePartManifest}
+ *     合并时预先设置目标文件大小, 各分片通过 FileChannel 定位写入
+ *     合并状态实时写入清单, 中断后再次合并只处理缺失或损坏的分片
+ *     <p></p>
+ *     FilePartEngine engine = new FilePartEngine();
+ *     FilePartManifest manifest = engine.split(file, FilePartUtils.getFilePartAssist(file), partFolder);
+ *     // 上传 / 下载 分片 ...
+ *     boolean result = engine.merge(targetFile, partFolder, fileName);
+ * </pre>
+ */
+public final class FilePartEngine {
+
+    // 日志 TAG
+    private static final String TAG              = FilePartEngine.class.getSimpleName();
+    // CRC32C 校验 ( JDK 9+, 不支持时使用 CRC32 )
+    public static final  String ALGORITHM_CRC32C = "CRC32C";
+    // CRC32 校验
+    public static final  String ALGORITHM_CRC32  = "CRC32";
+    // SHA-256 校验
+    public static final  String ALGORITHM_SHA256 = "SHA-256";
+    // 读写缓冲大小
+    private static final int    BUFFER_SIZE      = 256 * 1024;
+
+    // 任务执行线程池
+    private final DevThreadPool mThreadPool;
+    // 校验算法
+    private final String        mAlgorithm;
+
+    /**
+     * 构造函数 ( 默认 CRC32C 校验 )
+     */
+    public FilePartEngine() {
+        this(DevThreadManager.getInstance(DevThreadPool.getThreads()), ALGORITHM_CRC32C);
+    }
+
+    /**
+     * 构造函数
+     * @param threadPool 任务执行线程池
+     * @param algorithm  校验算法 {@link #ALGORITHM_CRC32C}、{@link #ALGORITHM_CRC32}、{@link #ALGORITHM_SHA256}
+     */
+    public FilePartEngine(
+            final DevThreadPool threadPool,
+            final String algorithm
+    ) {
+        if (threadPool == null) throw new NullPointerException("threadPool is null");
+        this.mThreadPool = threadPool;
+        this.mAlgorithm  = resolveAlgorithm(algorithm);
+    }
+
+    /**
+     * 获取校验算法 ( CRC32C 不支持时为 CRC32 )
+     * @return 校验算法
+     */
+    public String getAlgorithm() {
+        return mAlgorithm;
+    }
+
+    // ==========
+    // = 文件拆分 =
+    // ==========
+
+    /**
+     * 并行拆分文件并生成清单
+     * @param file           文件
+     * @param assist         {@link FilePartAssist}
+     * @param destFolderPath 存储目标文件夹地址
+     * @return {@link FilePartManifest}, 失败返回 null
+     */
+    public FilePartManifest split(
+            final File file,
+            final FilePartAssist assist,
+            final String destFolderPath
+    ) {
+        if (!FileUtils.isFile(file) || assist == null || destFolderPath == null) return null;
+        if (!assist.existsPart()) return null;
+        if (!FileUtils.createFolder(destFolderPath)) return null;
+        final String fileName = FileUtils.getFileName(file);
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+        for (final FilePartItem item : assist.getFilePartItems()) {
+            tasks.add(() -> {
+                File partFile = new File(destFolderPath, item.getPartName(fileName));
+                item.setChecksum(splitPart(file, item, partFile));
+                return true;
+            });
+        }
+        if (!invokeAll(tasks, "split")) return null;
+        FilePartManifest manifest = new FilePartManifest(
+                fileName, file.length(), mAlgorithm, assist.getFilePartItems()
+        );
+        File manifestFile = new File(destFolderPath, FilePartManifest.getManifestName(fileName));
+        return manifest.save(manifestFile) ? manifest : null;
+    }
+
+    // ==========
+    // = 分片校验 =
+    // ==========
+
+    /**
+     * 校验分片文件
+     * @param destFolderPath 分片所在文件夹地址
+     * @param fileName       原文件名
+     * @return 缺失或损坏的分片索引 ( 清单不存在返回 null )
+     */
+    public List<Integer> verifyParts(
+            final String destFolderPath,
+            final String fileName
+    ) {
+        if (destFolderPath == null || fileName == null) return null;
+        final FilePartManifest manifest = FilePartManifest.load(
+                new File(destFolderPath, FilePartManifest.getManifestName(fileName))
+        );
+        if (manifest == null) return null;
+        if (!mAlgorithm.equals(manifest.getAlgorithm())) {
+            FilePartEngine engine = forAlgorithm(manifest.getAlgorithm());
+            return engine != null ? engine.verifyParts(destFolderPath, fileName) : null;
+        }
+        final List<Integer>     badParts = Collections.synchronizedList(new ArrayList<>());
+        List<Callable<Boolean>> tasks    = new ArrayList<>();
+        for (final FilePartItem item : manifest.getFilePartItems()) {
+            tasks.add(() -> {
+                File partFile = new File(destFolderPath, item.getPartName(fileName));
+                if (!isPartValid(manifest, item, partFile)) {
+                    badParts.add(item.partIndex);
+                }
+                return true;
+            });
+        }
+        if (!invokeAll(tasks, "verifyParts")) return null;
+        Collections.sort(badParts);
+        return badParts;
+    }
+
+    // ==========
+    // = 分片合并 =
+    // ==========
+
+    /**
+     * 并行合并分片 ( 支持中断续传 )
+     * @param file           合并目标文件
+     * @param destFolderPath 分片所在文件夹地址
+     * @param fileName       原文件名
+     * @return {@code true} success, {@code false} fail
+     */
+    public boolean merge(
+            final File file,
+            final String destFolderPath,
+            final String fileName
+    ) {
+        if (file == null || destFolderPath == null || fileName == null) return false;
+        final File manifestFile = new File(destFolderPath, FilePartManifest.getManifestName(fileName));
+        final FilePartManifest manifest = FilePartManifest.load(manifestFile);
+        if (manifest == null) return false;
+        if (!mAlgorithm.equals(manifest.getAlgorithm())) {
+            FilePartEngine engine = forAlgorithm(manifest.getAlgorithm());
+            return engine != null && engine.merge(file, destFolderPath, fileName);
+        }
+        if (!createParentFolder(file)) return false;
+        RandomAccessFile raf = null;
+        try {
+            raf = new RandomAccessFile(file, "rw");
+            // 目标文件大小不一致, 则全部分片重新合并
+            if (raf.length() != manifest.getFileLength()) {
+                for (int i = 0, len = manifest.getPartCount(); i < len; i++) {
+                    manifest.setMerged(i, false);
+                }
+                raf.setLength(manifest.getFileLength());
+            }
+            final FileChannel       channel = raf.getChannel();
+            List<Callable<Boolean>> tasks   = new ArrayList<>();
+            for (final FilePartItem item : manifest.getFilePartItems()) {
+                tasks.add(() -> {
+                    File partFile = new File(destFolderPath, item.getPartName(fileName));
+                    return mergePart(manifest, manifestFile, item, partFile, channel);
+                });
+            }
+            boolean result = invokeAll(tasks, "merge");
+            manifest.save(manifestFile);
+            return result && manifest.isAllMerged();
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "merge");
+            return false;
+        } finally {
+            CloseUtils.closeIOQuietly(raf);
+        }
+    }
+
+    // ===========
+    // = 内部处理 =
+    // ===========
+
+    /**
+     * 获取清单校验算法对应的引擎
+     * @param algorithm 清单校验算法
+     * @return {@link FilePartEngine}, 运行环境不支持该算法返回 null
+     */
+    private FilePartEngine forAlgorithm(final String algorithm) {
+        try {
+            FilePartEngine engine = new FilePartEngine(mThreadPool, algorithm);
+            if (engine.mAlgorithm.equals(algorithm)) return engine;
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "forAlgorithm");
+        }
+        return null;
+    }
+
+    /**
+     * 拆分单个分片 ( 读取同时计算校验值 )
+     * @param file     文件
+     * @param item     {@link FilePartItem}
+     * @param partFile 分片文件
+     * @return 分片校验值
+     * @throws IOException 读写异常
+     */
+    private String splitPart(
+            final File file,
+            final FilePartItem item,
+            final File partFile
+    )
+            throws IOException {
+        FileInputStream  fis = null;
+        FileOutputStream fos = null;
+        try {
+            fis = new FileInputStream(file);
+            fos = new FileOutputStream(partFile);
+            FileChannel inChannel  = fis.getChannel();
+            FileChannel outChannel = fos.getChannel();
+            Hasher      hasher     = newHasher();
+            ByteBuffer  buffer     = ByteBuffer.allocate(BUFFER_SIZE);
+            long        position   = item.start;
+            while (position < item.end) {
+                buffer.clear();
+                buffer.limit((int) Math.min(BUFFER_SIZE, item.end - position));
+                int read = inChannel.read(buffer, position);
+                if (read < 0) throw new IOException("unexpected end of file " + file);
+                hasher.update(buffer.array(), 0, read);
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    outChannel.write(buffer);
+                }
+                position += read;
+            }
+            return hasher.hex();
+        } finally {
+            CloseUtils.closeIOQuietly(fos, fis);
+        }
+    }
+
+    /**
+     * 合并单个分片
+     * @param manifest     分片清单
+     * @param manifestFile 清单文件
+     * @param item         {@link FilePartItem}
+     * @param partFile     分片文件
+     * @param channel      目标文件 FileChannel
+     * @return {@code true} success, {@code false} fail
+     * @throws IOException 读写异常
+     */
+    private boolean mergePart(
+            final FilePartManifest manifest,
+            final File manifestFile,
+            final FilePartItem item,
+            final File partFile,
+            final FileChannel channel
+    )
+            throws IOException {
+        int index = item.partIndex;
+        // 已合并则校验目标文件对应区间, 一致则跳过
+        if (manifest.isMerged(index)) {
+            if (matchChecksum(item, checksum(channel, item.start, item.getLength()))) {
+                return true;
+            }
+            manifest.setMerged(index, false);
+        }
+        if (!partFile.isFile() || partFile.length() != item.getLength()) {
+            JCLogUtils.dTag(TAG, "part %s missing or incomplete", index);
+            return false;
+        }
+        FileInputStream fis = null;
+        try {
+            fis = new FileInputStream(partFile);
+            FileChannel inChannel = fis.getChannel();
+            Hasher      hasher    = newHasher();
+            ByteBuffer  buffer    = ByteBuffer.allocate(BUFFER_SIZE);
+            long        position  = item.start;
+            int         read;
+            while ((read = inChannel.read(buffer)) > 0) {
+                hasher.update(buffer.array(), 0, read);
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    position += channel.write(buffer, position);
+                }
+                buffer.clear();
+            }
+            if (!matchChecksum(item, hasher.hex())) {
+                JCLogUtils.dTag(TAG, "part %s checksum mismatch", index);
+                return false;
+            }
+        } finally {
+            CloseUtils.closeIOQuietly(fis);
+        }
+        manifest.setMerged(index, true);
+        manifest.save(manifestFile);
+        return true;
+    }
+
+    /**
+     * 判断分片文件是否完整
+     * @param manifest 分片清单
+     * @param item     {@link FilePartItem}
+     * @param partFile 分片文件
+     * @return {@code true} yes, {@code false} no
+     * @throws IOException 读取异常
+     */
+    private boolean isPartValid(
+            final FilePartManifest manifest,
+            final FilePartItem item,
+            final File partFile
+    )
+            throws IOException {
+        if (!partFile.isFile() || partFile.length() != item.getLength()) return false;
+        FileInputStream fis = null;
+        try {
+            fis = new FileInputStream(partFile);
+            return matchChecksum(item, checksum(fis.getChannel(), 0L, item.getLength()));
+        } finally {
+            CloseUtils.closeIOQuietly(fis);
+        }
+    }
+
+    /**
+     * 计算指定区间校验值
+     * @param channel  FileChannel
+     * @param start    开始位置
+     * @param length   字节长度
+     * @return 校验值 ( 十六进制 )
+     * @throws IOException 读取异常
+     */
+    private String checksum(
+            final FileChannel channel,
+            final long start,
+            final long length
+    )
+            throws IOException {
+        Hasher     hasher   = newHasher();
+        ByteBuffer buffer   = ByteBuffer.allocate(BUFFER_SIZE);
+        long       position = start;
+        long       end      = start + length;
+        while (position < end) {
+            buffer.clear();
+            buffer.limit((int) Math.min(BUFFER_SIZE, end - position));
+            int read = channel.read(buffer, position);
+            if (read < 0) break;
+            hasher.update(buffer.array(), 0, read);
+            position += read;
+        }
+        return hasher.hex();
+    }
+
+    /**
+     * 校验值是否一致 ( 无校验值视为不一致 )
+     * @param item     {@link FilePartItem}
+     * @param checksum 校验值
+     * @return {@code true} yes, {@code false} no
+     */
+    private static boolean matchChecksum(
+            final FilePartItem item,
+            final String checksum
+    ) {
+        return item.getChecksum() != null && item.getChecksum().equalsIgnoreCase(checksum);
+    }
+
+    /**
+     * 创建上级文件夹
+     * @param file 文件
+     * @return {@code true} success, {@code false} fail
+     */
+    private static boolean createParentFolder(final File file) {
+        File parent = file.getAbsoluteFile().getParentFile();
+        return parent == null || FileUtils.createFolder(parent);
+    }
+
+    /**
+     * 执行全部任务并等待完成
+     * @param tasks  任务集合
+     * @param method 调用方法名 ( 用于日志 )
+     * @return {@code true} 全部成功, {@code false} 存在失败
+     */
+    private boolean invokeAll(
+            final List<Callable<Boolean>> tasks,
+            final String method
+    ) {
+        try {
+            List<Future<Boolean>> futures = mThreadPool.invokeAll(tasks);
+            if (futures == null) return false;
+            boolean result = true;
+            for (Future<Boolean> future : futures) {
+                if (!Boolean.TRUE.equals(future.get())) result = false;
+            }
+            return result;
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, method);
+            return false;
+        }
+    }
+
+    // ==========
+    // = 校验计算 =
+    // ==========
+
+    /**
+     * detail: 校验值计算
+     * @author Ttt
+     */
+    private interface Hasher {
+
+        /**
+         * 更新数据
+         * @param data   数据
+         * @param offset 开始位置
+         * @param length 长度
+         */
+        void update(
+                byte[] data,
+                int offset,
+                int length
+        );
+
+        /**
+         * 获取校验值
+         * @return 校验值 ( 十六进制 )
+         */
+        String hex();
+    }
+
+    /**
+     * 确认校验算法 ( CRC32C 不支持时使用 CRC32 )
+     * @param algorithm 校验算法
+     * @return 可用的校验算法
+     */
+    private static String resolveAlgorithm(final String algorithm) {
+        if (algorithm == null || ALGORITHM_CRC32C.equalsIgnoreCase(algorithm)) {
+            return newCRC32C() != null ? ALGORITHM_CRC32C : ALGORITHM_CRC32;
+        }
+        if (ALGORITHM_CRC32.equalsIgnoreCase(algorithm)) return ALGORITHM_CRC32;
+        try {
+            MessageDigest.getInstance(algorithm);
+            return algorithm;
+        } catch (Exception e) {
+            throw new IllegalArgumentException("unsupported algorithm " + algorithm, e);
+        }
+    }
+
+    /**
+     * 创建 CRC32C 校验 ( 通过反射兼容 JDK 8 )
+     * @return {@link Checksum}
+     */
+    private static Checksum newCRC32C() {
+        try {
+            return (Checksum) Class.forName("java.util.zip.CRC32C").newInstance();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * 创建校验值计算
+     * @return {@link Hasher}
+     * @throws IOException 算法不支持
+     */
+    private Hasher newHasher()
+            throws IOException {
+        if (ALGORITHM_CRC32C.equals(mAlgorithm) || ALGORITHM_CRC32.equals(mAlgorithm)) {
+            Checksum crc      = ALGORITHM_CRC32C.equals(mAlgorithm) ? newCRC32C() : new CRC32();
+            Checksum checksum = (crc != null) ? crc : new CRC32();
+            return new Hasher() {
+                @Override
+                public void update(
+                        final byte[] data,
+                        final int offset,
+                        final int length
+                ) {
+                    checksum.update(data, offset, length);
+                }
+
+                @Override
+                public String hex() {
+                    return String.format("%08x", checksum.getValue());
+                }
+            };
+        }
+        try {
+            final MessageDigest digest = MessageDigest.getInstance(mAlgorithm);
+            return new Hasher() {
+                @Override
+                public void update(
+                        final byte[] data,
+                        final int offset,
+                        final int length
+                ) {
+                    digest.update(data, offset, length);
+                }
+
+                @Override
+                public String hex() {
+                    return ConvertUtils.toHexString(digest.digest());
+                }
+            };
+        } catch (Exception e) {
+            throw new IOException(e);
+        }
+    }
+}
@@ -7,17 +7,19 @@ package dev.utils.common.file;
 public class FilePartItem {
 
     // 分片索引
-    public final int  partIndex;
+    public final int    partIndex;
     // 分片总数
-    public final int  partCount;
+    public final int    partCount;
     // 分片总字节
-    public final long partByteLength;
+    public final long   partByteLength;
     // 原始文件总字节
-    public final long fileByteLength;
+    public final long   fileByteLength;
     // 分片字节开始索引
-    public final long start;
+    public final long   start;
     // 分片字节结束索引
-    public final long end;
+    public final long   end;
+    // 分片校验值 ( 十六进制, 由 FilePartEngine 计算 )
+    private      String checksum;
 
     public FilePartItem(
             int partIndex,
@@ -79,4 +81,30 @@ public class FilePartItem {
     public String getPartName(final String fileName) {
         return FilePartUtils.getPartName(fileName, partIndex);
     }
-}
\ No newline at end of file
+
+    /**
+     * 获取分片字节长度
+     * @return 分片字节长度
+     */
+    public long getLength() {
+        return end - start;
+    }
+
+    /**
+     * 获取分片校验值
+     * @return 分片校验值 ( 十六进制 )
+     */
+    public String getChecksum() {
+        return checksum;
+    }
+
+    /**
+     * 设置分片校验值
+     * @param checksum 分片校验值 ( 十六进制 )
+     * @return {@link FilePartItem}
+     */
+    public FilePartItem setChecksum(final String checksum) {
+        this.checksum = checksum;
+        return this;
+    }
+}
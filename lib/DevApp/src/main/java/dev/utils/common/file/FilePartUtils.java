@@ -3,6 +3,7 @@ package dev.utils.common.file;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.channels.FileChannel;
 import java.util.ArrayList;
@@ -10,6 +11,7 @@ import java.util.List;
 
 import dev.utils.JCLogUtils;
 import dev.utils.common.CloseUtils;
+import dev.utils.common.FileIOUtils;
 import dev.utils.common.FileUtils;
 
 /**
@@ -347,8 +349,9 @@ public final class FilePartUtils {
                 inputChannel  = fis.getChannel();
                 fos           = new FileOutputStream(new File(destFolderPath, partName));
                 outputChannel = fos.getChannel();
-                inputChannel.transferTo(start, (int) (end - start), outputChannel);
-                return true;
+                // transferTo 零拷贝, 单次调用可能只传输部分数据
+                long count = end - start;
+                return FileIOUtils.transferTo(inputChannel, start, count, outputChannel) == count;
             } catch (Exception e) {
                 JCLogUtils.eTag(TAG, e, "fileSplitSave");
             } finally {
@@ -691,16 +694,18 @@ public final class FilePartUtils {
         if (file == null || files == null) return false;
         if (files.isEmpty()) return false;
         FileUtils.deleteFile(file);
-        RandomAccessFile raf    = null;
-        RandomAccessFile reader = null;
+        FileOutputStream fos    = null;
+        FileInputStream  reader = null;
         try {
-            raf = new RandomAccessFile(file, "rw");
+            fos = new FileOutputStream(file);
+            FileChannel outputChannel = fos.getChannel();
             for (int i = 0, len = files.size(); i < len; i++) {
-                reader = new RandomAccessFile(files.get(i), "r");
-                byte[] buffer = new byte[1024];
-                int    readLen; // 读取的字节数
-                while ((readLen = reader.read(buffer)) != -1) {
-                    raf.write(buffer, 0, readLen);
+                reader = new FileInputStream(files.get(i));
+                // transferTo 零拷贝追加分片数据
+                FileChannel inputChannel = reader.getChannel();
+                long        size         = inputChannel.size();
+                if (FileIOUtils.transferTo(inputChannel, 0L, size, outputChannel) != size) {
+                    throw new IOException("merge part incomplete: " + files.get(i));
                 }
                 CloseUtils.closeIOQuietly(reader);
             }
@@ -709,7 +714,7 @@ public final class FilePartUtils {
             JCLogUtils.eTag(TAG, e, "fileSplitMergeFiles");
             FileUtils.deleteFile(file);
         } finally {
-            CloseUtils.closeIOQuietly(reader, raf);
+            CloseUtils.closeIOQuietly(reader, fos);
         }
         return false;
     }
@@ -40,7 +40,7 @@ public final class DevThreadManager {
 
     /**
      * 获取 DevThreadManager 实例
-     * @param key 线程配置 key {@link DevThreadPool.DevThreadPoolType} or int-Integer
+     * @param key 线程配置 key {@link DevThreadPool.DevThreadPoolType} ( 或其名称 )、{@link DevThreadPool.BoundedConfig} or int-Integer
      * @return {@link DevThreadPool}
      */
     public static synchronized DevThreadPool getInstance(final String key) {
@@ -55,10 +55,21 @@ public final class DevThreadManager {
                 // 判断是否属于线程池类型
                 if (object instanceof DevThreadPool.DevThreadPoolType) {
                     devThreadPool = new DevThreadPool((DevThreadPool.DevThreadPoolType) object);
+                } else if (object instanceof DevThreadPool.BoundedConfig) {
+                    DevThreadPool.BoundedConfig config = (DevThreadPool.BoundedConfig) object;
+                    devThreadPool = new DevThreadPool(
+                            config.threadNumber, config.queueCapacity,
+                            config.policy, config.blockTimeout
+                    );
                 } else if (object instanceof Integer) {
                     devThreadPool = new DevThreadPool((Integer) object);
-                } else { // 其他类型, 统一转换 Integer
-                    devThreadPool = new DevThreadPool(Integer.parseInt((String) object));
+                } else { // 其他类型, 支持线程池类型名称 ( 如 AUTO_CPU、VIRTUAL ), 否则统一转换 Integer
+                    DevThreadPool.DevThreadPoolType type = convertType(String.valueOf(object));
+                    if (type != null) {
+                        devThreadPool = new DevThreadPool(type);
+                    } else {
+                        devThreadPool = new DevThreadPool(Integer.parseInt(String.valueOf(object)));
+                    }
                 }
                 sThreadMaps.put(key, devThreadPool);
                 return devThreadPool;
@@ -71,6 +82,42 @@ public final class DevThreadManager {
 
     // =
 
+    /**
+     * 获取全部线程池统计信息
+     * @return 线程池配置 key, 统计信息 ( 不包含默认通用线程池 )
+     */
+    public static synchronized Map<String, DevThreadPoolMetrics> getMetricsMaps() {
+        Map<String, DevThreadPoolMetrics> maps = new LinkedHashMap<>();
+        for (Map.Entry<String, DevThreadPool> entry : sThreadMaps.entrySet()) {
+            maps.put(entry.getKey(), entry.getValue().getMetrics());
+        }
+        return maps;
+    }
+
+    /**
+     * 获取默认通用线程池统计信息
+     * @return {@link DevThreadPoolMetrics}
+     */
+    public static DevThreadPoolMetrics getDefaultMetrics() {
+        return sDevThreadPool.getMetrics();
+    }
+
+    /**
+     * 线程池类型名称转换
+     * @param name 线程池类型名称
+     * @return {@link DevThreadPool.DevThreadPoolType}
+     */
+    private static DevThreadPool.DevThreadPoolType convertType(final String name) {
+        for (DevThreadPool.DevThreadPoolType type : DevThreadPool.DevThreadPoolType.values()) {
+            if (type.name().equalsIgnoreCase(name)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    // =
+
     /**
      * 初始化配置信息
      * @param mapConfigs 线程配置信息 Map
@@ -1,15 +1,21 @@
 package dev.utils.common.thread;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableFuture;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
@@ -37,10 +43,17 @@ import java.util.concurrent.TimeoutException;
  */
 public final class DevThreadPool {
 
+    // 有界线程池默认队列容量
+    public static final int  DEFAULT_QUEUE_CAPACITY = 1024;
+    // 有界线程池默认阻塞等待超时时间 ( 毫秒 )
+    public static final long DEFAULT_BLOCK_TIMEOUT  = 3000L;
+
     // 线程池对象
     private final ExecutorService          mThreadPool;
-    // 定时任务线程池
-    private       ScheduledExecutorService mScheduleExec;
+    // 定时任务到期投递 ( 共享时间轮到期后投递到当前线程池执行 )
+    private final Executor                 mScheduleDispatcher = this::dispatchSchedule;
+    // 线程池统计信息
+    private final DevThreadPoolMetrics     mMetrics = new DevThreadPoolMetrics();
 
     /**
      * 构造函数
@@ -52,8 +65,33 @@ public final class DevThreadPool {
             threadNumber = 1;
         }
         this.mThreadPool = Executors.newFixedThreadPool(threadNumber);
-        // 初始化定时器任务
-        this.mScheduleExec = Executors.newScheduledThreadPool(threadNumber);
+    }
+
+    /**
+     * 构造函数 ( 有界队列线程池 )
+     * @param threadNumber  线程数量
+     * @param queueCapacity 队列容量
+     * @param policy        饱和策略 {@link SaturationPolicy}
+     * @param blockTimeout  {@link SaturationPolicy#BLOCK} 阻塞等待超时时间 ( 毫秒 )
+     */
+    public DevThreadPool(
+            int threadNumber,
+            int queueCapacity,
+            final SaturationPolicy policy,
+            final long blockTimeout
+    ) {
+        // 如果小于等于 0, 则默认使用 1
+        if (threadNumber <= 0) {
+            threadNumber = 1;
+        }
+        if (queueCapacity <= 0) {
+            queueCapacity = DEFAULT_QUEUE_CAPACITY;
+        }
+        this.mThreadPool = new ThreadPoolExecutor(
+                threadNumber, threadNumber, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new DevRejectedHandler(policy, blockTimeout, mMetrics)
+        );
     }
 
     /**
@@ -62,8 +100,6 @@ public final class DevThreadPool {
      */
     public DevThreadPool(final ExecutorService threadPool) {
         this.mThreadPool = threadPool;
-        // 初始化定时器任务
-        this.mScheduleExec = Executors.newScheduledThreadPool(getThreads());
     }
 
     /**
@@ -71,25 +107,34 @@ public final class DevThreadPool {
      * @param devThreadPoolType 线程初始化类型 {@link DevThreadPoolType}
      */
     public DevThreadPool(final DevThreadPoolType devThreadPoolType) {
-        // 初始化定时器任务
-        this.mScheduleExec = Executors.newScheduledThreadPool(getThreads());
-        // =
         if (devThreadPoolType != null) {
             switch (devThreadPoolType) {
                 case SINGLE:
                     mThreadPool = Executors.newSingleThreadExecutor();
-                    // 初始化定时器任务
-                    this.mScheduleExec = Executors.newScheduledThreadPool(1);
                     break;
-//                case AUTO_CPU:
-//                    mThreadPool = Executors.newWorkStealingPool();
-//                    break;
+                case AUTO_CPU:
+                    // 等同 Executors.newWorkStealingPool() ( API 24 ), FIFO 异步模式
+                    mThreadPool = new ForkJoinPool(
+                            Runtime.getRuntime().availableProcessors(),
+                            ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true
+                    );
+                    break;
+                case VIRTUAL:
+                    mThreadPool = newVirtualThreadPerTaskExecutor();
+                    break;
                 case CALC_CPU:
                     mThreadPool = Executors.newFixedThreadPool(getThreads());
                     break;
                 case CACHE:
                     mThreadPool = Executors.newCachedThreadPool();
                     break;
+                case BOUNDED:
+                    mThreadPool = new ThreadPoolExecutor(
+                            getThreads(), getThreads(), 0L, TimeUnit.MILLISECONDS,
+                            new ArrayBlockingQueue<>(DEFAULT_QUEUE_CAPACITY),
+                            new DevRejectedHandler(SaturationPolicy.CALLER_RUNS, DEFAULT_BLOCK_TIMEOUT, mMetrics)
+                    );
+                    break;
                 default:
                     mThreadPool = Executors.newFixedThreadPool(getThreads());
                     break;
@@ -112,12 +157,16 @@ public final class DevThreadPool {
         // 如果当前线程意外终止, 会创建一个新线程继续执行任务, 这和我们直接创建线程不同, 也和 newFixedThreadPool(1) 不同
         SINGLE, // newSingleThreadExecutor 获取的是一个单个的线程, 这个线程会保证你的任务执行完成
 
-        AUTO_CPU, // 根据 CPU 来创建 ( 自定义创建 )
+        AUTO_CPU, // 根据 CPU 来创建 ( newWorkStealingPool 工作窃取线程池 )
 
         CALC_CPU, // 手动计算 CPU 来创建
 
         CACHE, // 可缓存线程池
 
+        BOUNDED, // 有界队列线程池 ( 队列满时由提交线程执行 )
+
+        VIRTUAL, // 每个任务一个虚拟线程 ( 适用于大量短时阻塞 I/O 任务, 运行环境不支持时使用可缓存线程池 )
+
 //        1 newCachedThreadPool: 创建一个可缓存线程池, 如果线程池长度超过处理需要, 可灵活回收空闲线程, 若无可回收, 则新建线程
 //        2 newFixedThreadPool: 创建一个固定数目的、可重用的线程池
 //        3 newScheduledThreadPool: 创建一个定长线程池, 支持定时及周期性任务执行
@@ -128,6 +177,76 @@ public final class DevThreadPool {
 //        7 ForkJoinPool: 支持大任务分解成小任务的线程池, 这是 Java8 新增线程池, 通常配合 ForkJoinTask 接口的子类 RecursiveAction 或 RecursiveTask 使用
     }
 
+    /**
+     * detail: 有界线程池饱和策略
+     * @author Ttt
+     * <pre>
+     *     队列已满时新提交任务的处理方式, 触发次数及拒绝数记录在 {@link DevThreadPoolMetrics}
+     * </pre>
+     */
+    public enum SaturationPolicy {
+
+        CALLER_RUNS, // 由提交任务的线程直接执行
+
+        BLOCK, // 阻塞等待队列空位, 超时则拒绝
+
+        DISCARD_OLDEST, // 丢弃队列中最早的任务, 再次提交
+
+        REJECT, // 直接拒绝 ( 抛出 RejectedExecutionException )
+    }
+
+    /**
+     * detail: 有界线程池配置
+     * @author Ttt
+     * <pre>
+     *     可作为 {@link DevThreadManager#putConfig(String, Object)} value 使用
+     * </pre>
+     */
+    public static final class BoundedConfig {
+
+        // 线程数量
+        public final int              threadNumber;
+        // 队列容量
+        public final int              queueCapacity;
+        // 饱和策略
+        public final SaturationPolicy policy;
+        // 阻塞等待超时时间 ( 毫秒 )
+        public final long             blockTimeout;
+
+        /**
+         * 构造函数
+         * @param threadNumber  线程数量
+         * @param queueCapacity 队列容量
+         * @param policy        饱和策略
+         */
+        public BoundedConfig(
+                final int threadNumber,
+                final int queueCapacity,
+                final SaturationPolicy policy
+        ) {
+            this(threadNumber, queueCapacity, policy, DEFAULT_BLOCK_TIMEOUT);
+        }
+
+        /**
+         * 构造函数
+         * @param threadNumber  线程数量
+         * @param queueCapacity 队列容量
+         * @param policy        饱和策略
+         * @param blockTimeout  阻塞等待超时时间 ( 毫秒 )
+         */
+        public BoundedConfig(
+                final int threadNumber,
+                final int queueCapacity,
+                final SaturationPolicy policy,
+                final long blockTimeout
+        ) {
+            this.threadNumber  = threadNumber;
+            this.queueCapacity = queueCapacity;
+            this.policy        = policy;
+            this.blockTimeout  = blockTimeout;
+        }
+    }
+
     // =
 
     /**
@@ -155,6 +274,172 @@ public final class DevThreadPool {
         }
     }
 
+    /**
+     * 创建虚拟线程线程池 ( 每个任务一个虚拟线程 )
+     * <pre>
+     *     虚拟线程需 JDK 21+, 通过反射调用 Executors.newVirtualThreadPerTaskExecutor()
+     *     运行环境不支持时使用 {@link Executors#newCachedThreadPool()}
+     * </pre>
+     * @return {@link ExecutorService}
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        } catch (Exception ignore) {
+        }
+        return Executors.newCachedThreadPool();
+    }
+
+    // =
+
+    /**
+     * 获取线程池统计信息
+     * @return {@link DevThreadPoolMetrics}
+     */
+    public DevThreadPoolMetrics getMetrics() {
+        return mMetrics;
+    }
+
+    /**
+     * 获取队列等待任务数 ( 已提交但未开始执行 )
+     * @return 队列等待任务数
+     */
+    public long getQueueSize() {
+        if (mThreadPool != null && mThreadPool.isTerminated()) return 0L;
+        return mMetrics.getQueueSize();
+    }
+
+    /**
+     * 获取正在执行的任务数
+     * @return 正在执行的任务数
+     */
+    public long getActiveCount() {
+        return mMetrics.getActiveCount();
+    }
+
+    /**
+     * 创建基于当前线程池执行的任务依赖图
+     * @return {@link DevTaskGraph}
+     */
+    public DevTaskGraph newTaskGraph() {
+        return new DevTaskGraph(this);
+    }
+
+    /**
+     * 包装任务集合 ( 用于统计 )
+     * @param tasks 任务集合
+     * @param <T>   泛型
+     * @return 包装后的任务集合
+     */
+    private <T> List<Callable<T>> wrapTasks(final Collection<? extends Callable<T>> tasks) {
+        List<Callable<T>> lists = new ArrayList<>(tasks.size());
+        for (Callable<T> task : tasks) {
+            lists.add(mMetrics.wrap(task));
+        }
+        return lists;
+    }
+
+    /**
+     * 包装任务并加入到线程池任务队列
+     * @param runnable 线程
+     */
+    private void executeWrap(final Runnable runnable) {
+        Runnable task = mMetrics.wrap(runnable);
+        try {
+            mThreadPool.execute(task);
+        } catch (RejectedExecutionException e) {
+            // 任务被拒绝, 回滚统计
+            mMetrics.onDiscard(task);
+            throw e;
+        }
+    }
+
+    /**
+     * 投递到期的定时任务
+     * <pre>
+     *     在全部线程池共享的时间轮线程中调用, 不能阻塞也不能在该线程执行任务
+     * </pre>
+     * @param runnable 任务
+     */
+    private void dispatchSchedule(final Runnable runnable) {
+        executeNonBlocking(runnable, false);
+    }
+
+    /**
+     * 不阻塞投递任务
+     * <pre>
+     *     有界线程池不走 CALLER_RUNS、BLOCK 饱和策略, 直接尝试入队
+     *     队列已满时 callerRuns 为 true 则在当前线程执行, 否则视为拒绝
+     *     用于时间轮线程、线程池工作线程中投递任务, 防止阻塞或工作线程互相等待
+     * </pre>
+     * @param runnable   任务
+     * @param callerRuns 队列已满时是否在当前线程执行
+     */
+    void executeNonBlocking(
+            final Runnable runnable,
+            final boolean callerRuns
+    ) {
+        if (mThreadPool instanceof ThreadPoolExecutor) {
+            ThreadPoolExecutor executor = (ThreadPoolExecutor) mThreadPool;
+            if (executor.getRejectedExecutionHandler() instanceof DevRejectedHandler) {
+                if (executor.isShutdown()) {
+                    throw new RejectedExecutionException("executor has been shutdown");
+                }
+                // 有界线程池核心线程数等于最大线程数, 预启动核心线程后入队等同于 execute
+                executor.prestartAllCoreThreads();
+                Runnable task = mMetrics.wrap(runnable);
+                if (!executor.getQueue().offer(task)) {
+                    mMetrics.onOverflow();
+                    if (callerRuns) {
+                        task.run();
+                        return;
+                    }
+                    mMetrics.onReject();
+                    mMetrics.onDiscard(task);
+                    throw new RejectedExecutionException("queue full");
+                }
+                // 入队期间线程池被关闭, 移除任务防止永不执行
+                if (executor.isShutdown() && executor.remove(task)) {
+                    mMetrics.onReject();
+                    mMetrics.onDiscard(task);
+                    throw new RejectedExecutionException("executor has been shutdown");
+                }
+                return;
+            }
+        }
+        executeWrap(runnable);
+    }
+
+    /**
+     * 包装任务并提交到线程池
+     * @param callable 任务
+     * @param <T>      泛型
+     * @return 表示任务等待完成的 Future
+     */
+    private <T> Future<T> submitWrap(final Callable<T> callable) {
+        // 使用统计 Future, 执行前取消时更新队列等待数
+        RunnableFuture<T> future = mMetrics.newFuture(callable);
+        try {
+            mThreadPool.execute(future);
+            return future;
+        } catch (RejectedExecutionException e) {
+            // 任务被拒绝, 回滚统计
+            mMetrics.onDiscard(future);
+            throw e;
+        }
+    }
+
+    /**
+     * 批量执行结束后, 未开始执行的任务已被取消, 更新队列等待数
+     * @param tasks 包装后的任务集合
+     */
+    private void abandonTasks(final List<? extends Callable<?>> tasks) {
+        for (Callable<?> task : tasks) {
+            mMetrics.onAbandon(task);
+        }
+    }
+
     // =
 
     /**
@@ -163,7 +448,7 @@ public final class DevThreadPool {
      */
     public void execute(final Runnable runnable) {
         if (mThreadPool != null && runnable != null) {
-            mThreadPool.execute(runnable);
+            executeWrap(runnable);
         }
     }
 
@@ -175,7 +460,7 @@ public final class DevThreadPool {
         if (mThreadPool != null && runnables != null) {
             for (Runnable command : runnables) {
                 if (command != null) {
-                    mThreadPool.execute(command);
+                    executeWrap(command);
                 }
             }
         }
@@ -191,7 +476,7 @@ public final class DevThreadPool {
             final Object object
     ) {
         if (mThreadPool != null && method != null && object != null) {
-            mThreadPool.execute(() -> {
+            executeWrap(() -> {
                 try {
                     method.invoke(object);
                 } catch (Exception ignore) {
@@ -222,7 +507,14 @@ public final class DevThreadPool {
      */
     public List<Runnable> shutdownNow() {
         if (mThreadPool != null) {
-            return mThreadPool.shutdownNow();
+            List<Runnable> lists = mThreadPool.shutdownNow();
+            if (lists != null) {
+                // 返回的任务不会再执行
+                for (Runnable runnable : lists) {
+                    mMetrics.onAbandon(runnable);
+                }
+            }
+            return lists;
         }
         return null;
     }
@@ -279,7 +571,7 @@ public final class DevThreadPool {
      */
     public <T> Future<T> submit(final Callable<T> task) {
         if (mThreadPool != null && task != null) {
-            return mThreadPool.submit(task);
+            return submitWrap(task);
         }
         return null;
     }
@@ -296,7 +588,7 @@ public final class DevThreadPool {
             final T result
     ) {
         if (mThreadPool != null && task != null) {
-            return mThreadPool.submit(task, result);
+            return submitWrap(Executors.callable(task, result));
         }
         return null;
     }
@@ -309,7 +601,7 @@ public final class DevThreadPool {
      */
     public Future<?> submit(final Runnable task) {
         if (mThreadPool != null && task != null) {
-            return mThreadPool.submit(task);
+            return submitWrap(Executors.callable(task));
         }
         return null;
     }
@@ -328,7 +620,12 @@ public final class DevThreadPool {
     public <T> List<Future<T>> invokeAll(final Collection<? extends Callable<T>> tasks)
             throws InterruptedException {
         if (mThreadPool != null && tasks != null) {
-            return mThreadPool.invokeAll(tasks);
+            List<Callable<T>> lists = wrapTasks(tasks);
+            try {
+                return mThreadPool.invokeAll(lists);
+            } finally {
+                abandonTasks(lists);
+            }
         }
         return null;
     }
@@ -355,7 +652,12 @@ public final class DevThreadPool {
     )
             throws InterruptedException {
         if (mThreadPool != null && tasks != null && unit != null) {
-            return mThreadPool.invokeAll(tasks, timeout, unit);
+            List<Callable<T>> lists = wrapTasks(tasks);
+            try {
+                return mThreadPool.invokeAll(lists, timeout, unit);
+            } finally {
+                abandonTasks(lists);
+            }
         }
         return null;
     }
@@ -374,7 +676,12 @@ public final class DevThreadPool {
     public <T> T invokeAny(final Collection<? extends Callable<T>> tasks)
             throws InterruptedException, ExecutionException {
         if (mThreadPool != null && tasks != null) {
-            return mThreadPool.invokeAny(tasks);
+            List<Callable<T>> lists = wrapTasks(tasks);
+            try {
+                return mThreadPool.invokeAny(lists);
+            } finally {
+                abandonTasks(lists);
+            }
         }
         return null;
     }
@@ -400,7 +707,12 @@ public final class DevThreadPool {
     )
             throws InterruptedException, ExecutionException, TimeoutException {
         if (mThreadPool != null && tasks != null && unit != null) {
-            return mThreadPool.invokeAny(tasks, timeout, unit);
+            List<Callable<T>> lists = wrapTasks(tasks);
+            try {
+                return mThreadPool.invokeAny(lists, timeout, unit);
+            } finally {
+                abandonTasks(lists);
+            }
         }
         return null;
     }
@@ -420,8 +732,8 @@ public final class DevThreadPool {
             final long delay,
             final TimeUnit unit
     ) {
-        if (mScheduleExec != null && command != null && unit != null) {
-            return mScheduleExec.schedule(command, delay, unit);
+        if (mThreadPool != null && command != null && unit != null) {
+            return DevTimerWheel.getInstance().schedule(mScheduleDispatcher, command, delay, unit);
         }
         return null;
     }
@@ -439,8 +751,8 @@ public final class DevThreadPool {
             final long delay,
             final TimeUnit unit
     ) {
-        if (mScheduleExec != null && callable != null && unit != null) {
-            return mScheduleExec.schedule(callable, delay, unit);
+        if (mThreadPool != null && callable != null && unit != null) {
+            return DevTimerWheel.getInstance().schedule(mScheduleDispatcher, callable, delay, unit);
         }
         return null;
     }
@@ -460,8 +772,10 @@ public final class DevThreadPool {
             final long period,
             final TimeUnit unit
     ) {
-        if (mScheduleExec != null && command != null && unit != null) {
-            return mScheduleExec.scheduleAtFixedRate(command, initialDelay, period, unit);
+        if (mThreadPool != null && command != null && unit != null) {
+            return DevTimerWheel.getInstance().scheduleAtFixedRate(
+                    mScheduleDispatcher, command, initialDelay, period, unit
+            );
         }
         return null;
     }
@@ -481,8 +795,10 @@ public final class DevThreadPool {
             final long delay,
             final TimeUnit unit
     ) {
-        if (mScheduleExec != null && command != null && unit != null) {
-            return mScheduleExec.scheduleWithFixedDelay(command, initialDelay, delay, unit);
+        if (mThreadPool != null && command != null && unit != null) {
+            return DevTimerWheel.getInstance().scheduleWithFixedDelay(
+                    mScheduleDispatcher, command, initialDelay, delay, unit
+            );
         }
         return null;
     }
@@ -0,0 +1,459 @@
+package dev.utils.common.thread;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * detail: 线程池统计信息
+ * @author Ttt
+ * <pre>
+ *     统计 队列等待数、活跃数、任务等待耗时、任务执行耗时
+ *     耗时分布以 2 的幂 ( 纳秒 ) 分桶, 用于粗略计算 p50、p90、p99 等分位值
+ *     <p></p>
+ *     提交到 {@link DevThreadPool} 的任务都会经过 wrap 包装后再执行
+ *     每个任务开始执行或未执行即被移除 ( 拒绝、取消、shutdownNow ) 时只离开队列一次, 队列等待数不会累积偏差
+ * </pre>
+ */
+public final class DevThreadPoolMetrics {
+
+    // 已提交任务数
+    private final AtomicLong mSubmittedCount = new AtomicLong();
+    // 已开始执行任务数
+    private final AtomicLong mStartedCount   = new AtomicLong();
+    // 队列等待任务数
+    private final AtomicLong mQueuedCount    = new AtomicLong();
+    // 已执行完成任务数
+    private final AtomicLong mCompletedCount = new AtomicLong();
+    // 执行失败 ( 抛出异常 ) 任务数
+    private final AtomicLong mFailedCount    = new AtomicLong();
+    // 拒绝 ( 未执行 ) 任务数
+    private final AtomicLong mRejectedCount  = new AtomicLong();
+    // 溢出 ( 触发饱和策略 ) 任务数
+    private final AtomicLong mOverflowCount  = new AtomicLong();
+    // 任务等待耗时分布
+    private final Histogram  mWaitHistogram  = new Histogram();
+    // 任务执行耗时分布
+    private final Histogram  mRunHistogram   = new Histogram();
+
+    // =
+
+    /**
+     * 包装 Runnable 任务
+     * @param runnable {@link Runnable}
+     * @return 统计包装后的 {@link Runnable}
+     */
+    public Runnable wrap(final Runnable runnable) {
+        if (runnable == null) return null;
+        return new Task<>(runnable, null);
+    }
+
+    /**
+     * 包装 Callable 任务
+     * @param callable {@link Callable}
+     * @param <T>      泛型
+     * @return 统计包装后的 {@link Callable}
+     */
+    public <T> Callable<T> wrap(final Callable<T> callable) {
+        if (callable == null) return null;
+        return new Task<>(null, callable);
+    }
+
+    /**
+     * 包装 Callable 任务为 Future ( 执行前取消时离开队列 )
+     * @param callable {@link Callable}
+     * @param <T>      泛型
+     * @return 统计包装后的 {@link RunnableFuture}
+     */
+    <T> RunnableFuture<T> newFuture(final Callable<T> callable) {
+        return new TaskFuture<>(new Task<>(null, callable));
+    }
+
+    /**
+     * 任务被拒绝 ( 未执行 ) 时回滚提交数
+     * @param task 包装后的任务
+     */
+    void onDiscard(final Object task) {
+        mSubmittedCount.decrementAndGet();
+        onAbandon(task);
+    }
+
+    /**
+     * 任务未执行即被移除 ( 取消、shutdownNow、invokeAny 结束 ) 时离开队列
+     * <pre>
+     *     已开始执行的任务不处理, 同一任务多次调用只生效一次
+     * </pre>
+     * @param task 包装后的任务
+     */
+    void onAbandon(final Object task) {
+        if (task instanceof TaskFuture) {
+            ((TaskFuture<?>) task).mTask.dequeue();
+        } else if (task instanceof Task) {
+            ((Task<?>) task).dequeue();
+        }
+    }
+
+    /**
+     * 任务被饱和策略拒绝
+     */
+    void onReject() {
+        mRejectedCount.incrementAndGet();
+    }
+
+    /**
+     * 任务提交时队列已满 ( 触发饱和策略 )
+     */
+    void onOverflow() {
+        mOverflowCount.incrementAndGet();
+    }
+
+    /**
+     * 任务开始执行
+     * @param task 任务
+     * @return 开始执行时间 ( 纳秒 )
+     */
+    private long onStart(final Task<?> task) {
+        long startTime = System.nanoTime();
+        task.dequeue();
+        mStartedCount.incrementAndGet();
+        mWaitHistogram.record(startTime - task.mSubmitTime);
+        return startTime;
+    }
+
+    /**
+     * 任务执行结束
+     * @param startTime 开始执行时间 ( 纳秒 )
+     * @param success   是否执行成功
+     */
+    private void onFinish(
+            final long startTime,
+            final boolean success
+    ) {
+        mRunHistogram.record(System.nanoTime() - startTime);
+        mCompletedCount.incrementAndGet();
+        if (!success) {
+            mFailedCount.incrementAndGet();
+        }
+    }
+
+    // =
+
+    /**
+     * 获取已提交任务数
+     * @return 已提交任务数
+     */
+    public long getSubmittedCount() {
+        return mSubmittedCount.get();
+    }
+
+    /**
+     * 获取已执行完成任务数 ( 包含执行失败 )
+     * @return 已执行完成任务数
+     */
+    public long getCompletedCount() {
+        return mCompletedCount.get();
+    }
+
+    /**
+     * 获取执行失败任务数
+     * @return 执行失败任务数
+     */
+    public long getFailedCount() {
+        return mFailedCount.get();
+    }
+
+    /**
+     * 获取拒绝 ( 未执行 ) 任务数
+     * @return 拒绝任务数
+     */
+    public long getRejectedCount() {
+        return mRejectedCount.get();
+    }
+
+    /**
+     * 获取溢出 ( 提交时队列已满, 触发饱和策略 ) 任务数
+     * @return 溢出任务数
+     */
+    public long getOverflowCount() {
+        return mOverflowCount.get();
+    }
+
+    /**
+     * 获取队列等待数 ( 已提交但未开始执行 )
+     * @return 队列等待数
+     */
+    public long getQueueSize() {
+        return Math.max(0L, mQueuedCount.get());
+    }
+
+    /**
+     * 获取活跃数 ( 正在执行的任务数 )
+     * @return 活跃数
+     */
+    public long getActiveCount() {
+        return Math.max(0L, mStartedCount.get() - mCompletedCount.get());
+    }
+
+    /**
+     * 获取任务等待耗时分布
+     * @return 任务等待耗时分布
+     */
+    public Histogram getWaitHistogram() {
+        return mWaitHistogram;
+    }
+
+    /**
+     * 获取任务执行耗时分布
+     * @return 任务执行耗时分布
+     */
+    public Histogram getRunHistogram() {
+        return mRunHistogram;
+    }
+
+    /**
+     * 重置耗时分布统计
+     */
+    public void resetHistogram() {
+        mWaitHistogram.reset();
+        mRunHistogram.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "DevThreadPoolMetrics{" +
+                "submitted=" + getSubmittedCount() +
+                ", completed=" + getCompletedCount() +
+                ", failed=" + getFailedCount() +
+                ", rejected=" + getRejectedCount() +
+                ", overflow=" + getOverflowCount() +
+                ", queue=" + getQueueSize() +
+                ", active=" + getActiveCount() +
+                ", wait=" + mWaitHistogram +
+                ", run=" + mRunHistogram +
+                '}';
+    }
+
+    // ===========
+    // = 内部处理 =
+    // ===========
+
+    /**
+     * detail: 统计包装任务
+     * @author Ttt
+     */
+    private final class Task<T>
+            implements Runnable, Callable<T> {
+
+        // Runnable 任务
+        private final Runnable      mRunnable;
+        // Callable 任务
+        private final Callable<T>   mCallable;
+        // 提交时间 ( 纳秒 )
+        private final long          mSubmitTime = System.nanoTime();
+        // 是否已离开队列
+        private final AtomicBoolean mDequeued   = new AtomicBoolean();
+
+        Task(
+                final Runnable runnable,
+                final Callable<T> callable
+        ) {
+            this.mRunnable = runnable;
+            this.mCallable = callable;
+            mSubmittedCount.incrementAndGet();
+            mQueuedCount.incrementAndGet();
+        }
+
+        /**
+         * 离开队列 ( 只生效一次 )
+         */
+        void dequeue() {
+            if (mDequeued.compareAndSet(false, true)) {
+                mQueuedCount.decrementAndGet();
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                call();
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        @Override
+        public T call()
+                throws Exception {
+            long    startTime = onStart(this);
+            boolean success   = false;
+            try {
+                T result = null;
+                if (mCallable != null) {
+                    result = mCallable.call();
+                } else {
+                    mRunnable.run();
+                }
+                success = true;
+                return result;
+            } finally {
+                onFinish(startTime, success);
+            }
+        }
+    }
+
+    /**
+     * detail: 统计包装 Future
+     * @author Ttt
+     */
+    private static final class TaskFuture<T>
+            extends FutureTask<T> {
+
+        // 包装任务
+        private final Task<T> mTask;
+
+        TaskFuture(final Task<T> task) {
+            super(task);
+            this.mTask = task;
+        }
+
+        @Override
+        protected void done() {
+            // 执行前取消, 任务不会再执行
+            if (isCancelled()) mTask.dequeue();
+        }
+    }
+
+    // ==========
+    // = 耗时分布 =
+    // ==========
+
+    /**
+     * detail: 耗时分布 ( 纳秒, 按 2 的幂分桶 )
+     * @author Ttt
+     * <pre>
+     *     第 i 个桶记录 [2^(i-1), 2^i) 纳秒范围内的样本, 第 0 个桶记录 0 纳秒
+     *     分位值返回所在桶的上界, 误差在 2 倍以内, 足以用于线程池容量评估
+     * </pre>
+     */
+    public static final class Histogram {
+
+        // 分桶数量
+        private static final int BUCKET_COUNT = 64;
+
+        // 分桶计数
+        private final AtomicLongArray mBuckets = new AtomicLongArray(BUCKET_COUNT);
+        // 样本数
+        private final AtomicLong      mCount   = new AtomicLong();
+        // 样本总和 ( 纳秒 )
+        private final AtomicLong      mSum     = new AtomicLong();
+        // 最大值 ( 纳秒 )
+        private final AtomicLong      mMax     = new AtomicLong();
+
+        /**
+         * 记录样本
+         * @param nanos 耗时 ( 纳秒 )
+         */
+        public void record(final long nanos) {
+            long value = Math.max(0L, nanos);
+            mBuckets.incrementAndGet(BUCKET_COUNT - Long.numberOfLeadingZeros(value));
+            mCount.incrementAndGet();
+            mSum.addAndGet(value);
+            long max;
+            while (value > (max = mMax.get())) {
+                if (mMax.compareAndSet(max, value)) break;
+            }
+        }
+
+        /**
+         * 重置统计
+         */
+        public void reset() {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                mBuckets.set(i, 0L);
+            }
+            mCount.set(0L);
+            mSum.set(0L);
+            mMax.set(0L);
+        }
+
+        /**
+         * 获取样本数
+         * @return 样本数
+         */
+        public long getCount() {
+            return mCount.get();
+        }
+
+        /**
+         * 获取平均耗时 ( 纳秒 )
+         * @return 平均耗时
+         */
+        public long getMean() {
+            long count = mCount.get();
+            return count == 0L ? 0L : mSum.get() / count;
+        }
+
+        /**
+         * 获取最大耗时 ( 纳秒 )
+         * @return 最大耗时
+         */
+        public long getMax() {
+            return mMax.get();
+        }
+
+        /**
+         * 获取分位值 ( 纳秒 )
+         * @param percentile 分位 ( 0.0 - 1.0 ), 如 0.99
+         * @return 分位值所在桶的上界
+         */
+        public long getPercentile(final double percentile) {
+            long count = 0L;
+            long[] snapshot = new long[BUCKET_COUNT];
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                snapshot[i] = mBuckets.get(i);
+                count += snapshot[i];
+            }
+            if (count == 0L) return 0L;
+            double p = Math.min(1D, Math.max(0D, percentile));
+            long rank = Math.max(1L, (long) Math.ceil(count * p));
+            long seen = 0L;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                seen += snapshot[i];
+                if (seen >= rank) {
+                    if (i == 0) return 0L;
+                    long upper = (i >= 63) ? Long.MAX_VALUE : (1L << i) - 1L;
+                    return Math.min(upper, mMax.get());
+                }
+            }
+            return mMax.get();
+        }
+
+        /**
+         * 获取各分桶计数
+         * @return 各分桶计数
+         */
+        public long[] getBuckets() {
+            long[] buckets = new long[BUCKET_COUNT];
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                buckets[i] = mBuckets.get(i);
+            }
+            return buckets;
+        }
+
+        @Override
+        public String toString() {
+            return "{count=" + getCount() +
+                    ", meanNs=" + getMean() +
+                    ", p50Ns=" + getPercentile(0.5D) +
+                    ", p90Ns=" + getPercentile(0.9D) +
+                    ", p99Ns=" + getPercentile(0.99D) +
+                    ", maxNs=" + getMax() +
+                    '}';
+        }
+    }
+}
@@ -56,7 +56,7 @@ public final class BankCheckUtils {
         try {
             if (nonCheckCodeCardId == null
                     || nonCheckCodeCardId.trim().length() == 0
-                    || !nonCheckCodeCardId.matches("\\d+")) {
+                    || !ValidatorRegistry.isDigits(nonCheckCodeCardId)) {
                 // 如果传的不是数据返回 N
                 return 'N';
             }
@@ -0,0 +1,415 @@
+package dev.utils.common.validator;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.regex.Pattern;
+
+import dev.utils.DevFinal;
+import dev.utils.JCLogUtils;
+import dev.utils.common.StringUtils;
+
+/**
+ * detail: 校验规则注册表
+ * @author Ttt
+ * <pre>
+ *     正则表达式只编译一次并缓存, {@link Pattern} 线程安全, 可多线程共享
+ *     {@link DevFinal.REGEX} 中简单字符类规则 ( 数字、字母、汉字等 ) 使用逐字符判断代替正则
+ *     也可通过 {@link #register(String, Checker)} 为自定义正则注册快速校验实现
+ *     <p></p>
+ *     批量校验 {@link #matches(Checker, List)} 按数据量拆分并行校验, 返回 {@link BitSet} ( 第 i 位表示第 i 条数据是否通过 )
+ *     与 {@link ValidatorUtils#match(String, String)} 一致, null、"" 校验不通过
+ * </pre>
+ */
+public final class ValidatorRegistry {
+
+    private ValidatorRegistry() {
+    }
+
+    // 日志 TAG
+    private static final String TAG = ValidatorRegistry.class.getSimpleName();
+
+    // 正则缓存最大数量 ( 超出后不再缓存, 防止动态正则无限增长 )
+    private static final int MAX_CACHE_SIZE = 256;
+
+    // 批量校验单个任务数据量 ( 64 的倍数, 各任务写入不同的 long 避免竞争 )
+    private static final int BATCH_BLOCK = 4096;
+
+    // 字符类型: 数字 0-9
+    private static final int DIGIT     = 1;
+    // 字符类型: 字母 a-z、A-Z
+    private static final int LETTER    = 1 << 1;
+    // 字符类型: 汉字 \u4E00-\u9FA5
+    private static final int CHINESE   = 1 << 2;
+    // 字符类型: 下划线
+    private static final int UNDERLINE = 1 << 3;
+
+    // 校验实现缓存
+    private static final ConcurrentHashMap<String, Checker> sCheckers = new ConcurrentHashMap<>();
+
+    // 批量校验线程池
+    private static volatile ForkJoinPool sPool;
+
+    /**
+     * detail: 校验实现
+     * @author Ttt
+     * <pre>
+     *     需线程安全, 传入数据不为 null、""
+     * </pre>
+     */
+    public interface Checker {
+
+        /**
+         * 校验数据
+         * @param input 待校验的字符串
+         * @return {@code true} yes, {@code false} no
+         */
+        boolean check(String input);
+    }
+
+    static {
+        register(DevFinal.REGEX.NUMBER, ValidatorRegistry::isDigits);
+        register(DevFinal.REGEX.NUMBER_OR_DECIMAL, ValidatorRegistry::isNumberDecimal);
+        register(DevFinal.REGEX.CONTAIN_NUMBER, ValidatorRegistry::isContainNumber);
+        register(DevFinal.REGEX.NUMBER_OR_LETTER, input -> isAll(input, DIGIT | LETTER));
+        register(DevFinal.REGEX.LETTER, input -> isAll(input, LETTER));
+        register(DevFinal.REGEX.SPECIAL, input -> isAll(input, DIGIT | LETTER | CHINESE));
+        register(DevFinal.REGEX.NICKNAME, input -> isAll(input, DIGIT | LETTER | CHINESE | UNDERLINE));
+        register(DevFinal.REGEX.PASSWORD, input -> {
+            int length = input.length();
+            return length >= 6 && length <= 18 && isAll(input, DIGIT | LETTER);
+        });
+        register(DevFinal.REGEX.CHINESE, input -> isAll(input, CHINESE));
+        register(DevFinal.REGEX.CHINESE_ALL, input -> {
+            // 正则按码点匹配, 代理对 ( 如 emoji ) 为一个超出范围的码点
+            for (int i = 0, len = input.length(); i < len; ) {
+                int codePoint = input.codePointAt(i);
+                if (!isChineseAll(codePoint)) return false;
+                i += Character.charCount(codePoint);
+            }
+            return true;
+        });
+        // 编译期常量会被内联, 引用时不会触发 ValiToPhoneUtils 初始化, 需在此注册
+        register(ValiToPhoneUtils.CHAIN_PHONE_SIMPLE, phone -> {
+            String number = phone.startsWith("+86") ? phone.substring(3) : phone;
+            return number.length() == 11 && number.charAt(0) == '1' && isDigits(number);
+        });
+        register(ValiToPhoneUtils.CHINA_HK_PHONE_PATTERN, phone -> {
+            if (phone.length() != 8) return false;
+            char first = phone.charAt(0);
+            return (first == '5' || first == '6' || first == '8' || first == '9') && isDigits(phone);
+        });
+    }
+
+    // =============
+    // = 对外公开方法 =
+    // =============
+
+    /**
+     * 注册校验实现
+     * <pre>
+     *     用于为正则表达式提供等价的快速校验实现, 需保证与正则校验结果一致
+     * </pre>
+     * @param regex   正则表达式
+     * @param checker 校验实现
+     */
+    public static void register(
+            final String regex,
+            final Checker checker
+    ) {
+        if (regex == null || checker == null) return;
+        sCheckers.put(regex, checker);
+    }
+
+    /**
+     * 获取校验实现
+     * @param regex 正则表达式
+     * @return 校验实现, 正则表达式错误返回 null
+     */
+    public static Checker getChecker(final String regex) {
+        if (regex == null) return null;
+        Checker checker = sCheckers.get(regex);
+        if (checker != null) return checker;
+        try {
+            final Pattern pattern = Pattern.compile(regex);
+            checker = input -> pattern.matcher(input).matches();
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "getChecker");
+            return null;
+        }
+        if (sCheckers.size() < MAX_CACHE_SIZE) {
+            Checker exist = sCheckers.putIfAbsent(regex, checker);
+            if (exist != null) return exist;
+        }
+        return checker;
+    }
+
+    /**
+     * 校验数据
+     * @param regex 正则表达式
+     * @param input 待校验的字符串
+     * @return {@code true} yes, {@code false} no
+     */
+    public static boolean matches(
+            final String regex,
+            final String input
+    ) {
+        if (StringUtils.isEmpty(input)) return false;
+        Checker checker = getChecker(regex);
+        if (checker == null) return false;
+        try {
+            return checker.check(input);
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "matches");
+        }
+        return false;
+    }
+
+    // ==========
+    // = 批量校验 =
+    // ==========
+
+    /**
+     * 批量校验数据
+     * @param regex  正则表达式
+     * @param inputs 待校验的数据
+     * @return 校验结果 ( 第 i 位表示第 i 条数据是否通过 ), 正则表达式错误返回 null
+     */
+    public static BitSet matches(
+            final String regex,
+            final List<String> inputs
+    ) {
+        return matches(getChecker(regex), inputs);
+    }
+
+    /**
+     * 批量校验数据
+     * @param checker 校验实现
+     * @param inputs  待校验的数据
+     * @return 校验结果 ( 第 i 位表示第 i 条数据是否通过 )
+     */
+    public static BitSet matches(
+            final Checker checker,
+            final List<String> inputs
+    ) {
+        if (checker == null) return null;
+        if (inputs == null) return new BitSet();
+        return matches(checker, inputs.toArray(new String[0]));
+    }
+
+    /**
+     * 批量校验数据
+     * @param checker 校验实现
+     * @param inputs  待校验的数据
+     * @return 校验结果 ( 第 i 位表示第 i 条数据是否通过 )
+     */
+    public static BitSet matches(
+            final Checker checker,
+            final String[] inputs
+    ) {
+        if (checker == null) return null;
+        if (inputs == null || inputs.length == 0) return new BitSet();
+        long[]    words = new long[(inputs.length + 63) >>> 6];
+        BatchTask task  = new BatchTask(checker, inputs, words, 0, words.length);
+        if (inputs.length < BATCH_BLOCK << 1) {
+            task.compute();
+        } else {
+            try {
+                getPool().invoke(task);
+            } catch (Exception e) {
+                JCLogUtils.eTag(TAG, e, "matches");
+                return null;
+            }
+        }
+        return BitSet.valueOf(words);
+    }
+
+    // ==========
+    // = 快速校验 =
+    // ==========
+
+    /**
+     * 创建手机号码号段校验实现
+     * <pre>
+     *     11 位数字, 前三位属于指定号段
+     * </pre>
+     * @param prefixes 号段 ( 1 开头三位数字, 空格分隔 )
+     * @return 校验实现
+     */
+    public static Checker phonePrefix(final String prefixes) {
+        final boolean[] table = new boolean[100];
+        for (String prefix : prefixes.split(" ")) {
+            if (prefix.length() == 3 && prefix.charAt(0) == '1') {
+                table[(prefix.charAt(1) - '0') * 10 + (prefix.charAt(2) - '0')] = true;
+            }
+        }
+        return input -> input.length() == 11 && input.charAt(0) == '1' && isDigits(input)
+                && table[(input.charAt(1) - '0') * 10 + (input.charAt(2) - '0')];
+    }
+
+    // ===========
+    // = 内部处理 =
+    // ===========
+
+    /**
+     * 获取批量校验线程池
+     * @return {@link ForkJoinPool}
+     */
+    private static ForkJoinPool getPool() {
+        if (sPool == null) {
+            synchronized (ValidatorRegistry.class) {
+                if (sPool == null) {
+                    sPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+                }
+            }
+        }
+        return sPool;
+    }
+
+    /**
+     * 是否全部字符都属于指定类型
+     * @param input 待校验的字符串
+     * @param types 字符类型
+     * @return {@code true} yes, {@code false} no
+     */
+    static boolean isAll(
+            final String input,
+            final int types
+    ) {
+        for (int i = 0, len = input.length(); i < len; i++) {
+            char ch = input.charAt(i);
+            if (ch >= '0' && ch <= '9') {
+                if ((types & DIGIT) != 0) continue;
+            } else if ((ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z')) {
+                if ((types & LETTER) != 0) continue;
+            } else if (ch >= '\u4E00' && ch <= '\u9FA5') {
+                if ((types & CHINESE) != 0) continue;
+            } else if (ch == '_') {
+                if ((types & UNDERLINE) != 0) continue;
+            }
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 是否全部为数字 0-9
+     * @param input 待校验的字符串
+     * @return {@code true} yes, {@code false} no
+     */
+    static boolean isDigits(final String input) {
+        return isAll(input, DIGIT);
+    }
+
+    /**
+     * 是否汉字 ( 含双角符号 )
+     * @param codePoint 码点 ( 或单个字符 )
+     * @return {@code true} yes, {@code false} no
+     */
+    static boolean isChineseAll(final int codePoint) {
+        return codePoint >= 0x0391 && codePoint <= 0xFFE5;
+    }
+
+    /**
+     * 是否数字或包含小数点 ( 最多一个小数点 )
+     * @param input 待校验的字符串
+     * @return {@code true} yes, {@code false} no
+     */
+    private static boolean isNumberDecimal(final String input) {
+        boolean point = false;
+        for (int i = 0, len = input.length(); i < len; i++) {
+            char ch = input.charAt(i);
+            if (ch == '.') {
+                if (point) return false;
+                point = true;
+            } else if (ch < '0' || ch > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 是否包含数字 ( 与 .*\d+.* 一致, 不能包含换行符 )
+     * @param input 待校验的字符串
+     * @return {@code true} yes, {@code false} no
+     */
+    private static boolean isContainNumber(final String input) {
+        boolean digit = false;
+        for (int i = 0, len = input.length(); i < len; i++) {
+            char ch = input.charAt(i);
+            if (ch >= '0' && ch <= '9') {
+                digit = true;
+            } else if (ch == '\n' || ch == '\r' || ch == '\u0085'
+                    || ch == '\u2028' || ch == '\u2029') {
+                return false;
+            }
+        }
+        return digit;
+    }
+
+    /**
+     * detail: 批量校验任务
+     * @author Ttt
+     */
+    private static final class BatchTask
+            extends RecursiveAction {
+
+        private static final long serialVersionUID = 2717350841693260587L;
+
+        // 校验实现
+        private final Checker  mChecker;
+        // 待校验的数据
+        private final String[] mInputs;
+        // 校验结果
+        private final long[]   mWords;
+        // 起始 long 下标
+        private final int      mFrom;
+        // 结束 long 下标 ( 不包含 )
+        private final int      mTo;
+
+        BatchTask(
+                final Checker checker,
+                final String[] inputs,
+                final long[] words,
+                final int from,
+                final int to
+        ) {
+            this.mChecker = checker;
+            this.mInputs  = inputs;
+            this.mWords   = words;
+            this.mFrom    = from;
+            this.mTo      = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (((mTo - mFrom) << 6) > BATCH_BLOCK) {
+                int middle = (mFrom + mTo) >>> 1;
+                invokeAll(
+                        new BatchTask(mChecker, mInputs, mWords, mFrom, middle),
+                        new BatchTask(mChecker, mInputs, mWords, middle, mTo)
+                );
+                return;
+            }
+            int length = mInputs.length;
+            for (int word = mFrom; word < mTo; word++) {
+                long bits  = 0L;
+                int  start = word << 6;
+                int  end   = Math.min(start + 64, length);
+                for (int i = start; i < end; i++) {
+                    String input = mInputs[i];
+                    if (input == null || input.length() == 0) continue;
+                    try {
+                        if (mChecker.check(input)) bits |= 1L << (i - start);
+                    } catch (Exception e) {
+                        JCLogUtils.eTag(TAG, e, "check");
+                    }
+                }
+                mWords[word] = bits;
+            }
+        }
+    }
+}
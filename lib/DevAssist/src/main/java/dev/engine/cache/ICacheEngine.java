@@ -74,6 +74,63 @@ public interface ICacheEngine<Config extends ICacheEngine.EngineConfig,
         }
     }
 
+    /**
+     * detail: Cache 统计信息
+     * @author Ttt
+     */
+    class EngineStats {
+
+        // 内存命中次数
+        public final long hitCount;
+        // 内存未命中次数
+        public final long missCount;
+        // 磁盘加载次数
+        public final long loadCount;
+        // 磁盘加载总耗时 ( 纳秒 )
+        public final long totalLoadTime;
+        // 内存淘汰次数
+        public final long evictionCount;
+        // 内存数据数量
+        public final int  memoryCount;
+        // 内存数据大小
+        public final long memorySize;
+
+        public EngineStats(
+                long hitCount,
+                long missCount,
+                long loadCount,
+                long totalLoadTime,
+                long evictionCount,
+                int memoryCount,
+                long memorySize
+        ) {
+            this.hitCount      = hitCount;
+            this.missCount     = missCount;
+            this.loadCount     = loadCount;
+            this.totalLoadTime = totalLoadTime;
+            this.evictionCount = evictionCount;
+            this.memoryCount   = memoryCount;
+            this.memorySize    = memorySize;
+        }
+
+        /**
+         * 获取内存命中率
+         * @return 内存命中率 ( 0 - 1 )
+         */
+        public double hitRate() {
+            long requestCount = hitCount + missCount;
+            return requestCount == 0L ? 1.0D : (double) hitCount / requestCount;
+        }
+
+        /**
+         * 获取磁盘平均加载耗时 ( 纳秒 )
+         * @return 磁盘平均加载耗时
+         */
+        public double averageLoadPenalty() {
+            return loadCount == 0L ? 0.0D : (double) totalLoadTime / loadCount;
+        }
+    }
+
     // =============
     // = 对外公开方法 =
     // =============
@@ -162,6 +219,35 @@ public interface ICacheEngine<Config extends ICacheEngine.EngineConfig,
      */
     long getSize();
 
+    // ==========
+    // = 内存缓存 =
+    // ==========
+
+    /**
+     * 设置内存缓存容量
+     * <pre>
+     *     在磁盘缓存前存储解码后的数据, 写入、删除时失效
+     *     maxCount、maxSize 都小于等于 0 则关闭内存缓存
+     * </pre>
+     * @param maxCount 最大数量
+     * @param maxSize  最大大小 ( 原始数据 byte 长度总和 )
+     */
+    void setMemoryCache(
+            int maxCount,
+            long maxSize
+    );
+
+    /**
+     * 获取缓存统计信息 ( 命中、未命中、加载耗时、淘汰次数 )
+     * @return {@link EngineStats}
+     */
+    EngineStats getStats();
+
+    /**
+     * 重置缓存统计信息
+     */
+    void resetStats();
+
     // =======
     // = 存储 =
     // =======
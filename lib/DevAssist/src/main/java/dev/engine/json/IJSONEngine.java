@@ -1,6 +1,10 @@
 package dev.engine.json;
 
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
 import java.lang.reflect.Type;
+import java.util.Iterator;
 
 /**
  * detail: JSON Engine 接口
@@ -13,6 +17,29 @@ public interface IJSONEngine<Config extends IJSONEngine.EngineConfig> {
      * @author Ttt
      */
     class EngineConfig {
+
+        // 校验、缩进时允许的最大嵌套深度 ( 小于等于 0 不限制 )
+        public int  maxDepth  = 0;
+        // 校验、缩进时允许的最大字符长度 ( 小于等于 0 不限制 )
+        public long maxLength = 0L;
+    }
+
+    /**
+     * detail: JSON Array 元素流式读取回调
+     * @author Ttt
+     */
+    interface ElementCallback<T> {
+
+        /**
+         * 读取到元素
+         * @param element 元素
+         * @param index   元素索引
+         * @return {@code true} 继续读取, {@code false} 停止读取
+         */
+        boolean onElement(
+                T element,
+                int index
+        );
     }
 
     // ==========
@@ -93,6 +120,150 @@ public interface IJSONEngine<Config extends IJSONEngine.EngineConfig> {
             Config config
     );
 
+    // ==========
+    // = 流式读写 =
+    // ==========
+
+    /**
+     * 流式读取 JSON Array 逐个元素回调 ( 不构建完整集合 )
+     * <pre>
+     *     不会关闭 reader
+     * </pre>
+     * @param reader   JSON Array 输入 {@link Reader}
+     * @param typeOfT  元素 {@link Type}
+     * @param callback 元素回调
+     * @param <T>      泛型
+     * @return {@code true} success, {@code false} fail
+     */
+    <T> boolean fromJsonArray(
+            Reader reader,
+            Type typeOfT,
+            ElementCallback<T> callback
+    );
+
+    /**
+     * 流式读取 JSON Array 逐个元素回调 ( 不构建完整集合 )
+     * <pre>
+     *     不会关闭 reader
+     * </pre>
+     * @param reader   JSON Array 输入 {@link Reader}
+     * @param typeOfT  元素 {@link Type}
+     * @param config   配置信息
+     * @param callback 元素回调
+     * @param <T>      泛型
+     * @return {@code true} success, {@code false} fail
+     */
+    <T> boolean fromJsonArray(
+            Reader reader,
+            Type typeOfT,
+            Config config,
+            ElementCallback<T> callback
+    );
+
+    /**
+     * 流式读取 JSON Array 逐个元素回调 ( UTF-8 )
+     * <pre>
+     *     不会关闭 inputStream
+     * </pre>
+     * @param inputStream JSON Array 输入 {@link InputStream}
+     * @param typeOfT     元素 {@link Type}
+     * @param callback    元素回调
+     * @param <T>         泛型
+     * @return {@code true} success, {@code false} fail
+     */
+    <T> boolean fromJsonArray(
+            InputStream inputStream,
+            Type typeOfT,
+            ElementCallback<T> callback
+    );
+
+    /**
+     * 流式读取 JSON Array 逐个元素回调 ( UTF-8 )
+     * <pre>
+     *     不会关闭 inputStream
+     * </pre>
+     * @param inputStream JSON Array 输入 {@link InputStream}
+     * @param typeOfT     元素 {@link Type}
+     * @param config      配置信息
+     * @param callback    元素回调
+     * @param <T>         泛型
+     * @return {@code true} success, {@code false} fail
+     */
+    <T> boolean fromJsonArray(
+            InputStream inputStream,
+            Type typeOfT,
+            Config config,
+            ElementCallback<T> callback
+    );
+
+    // =
+
+    /**
+     * 获取 JSON Array 元素迭代器 ( 迭代时逐个读取 )
+     * <pre>
+     *     读取到 Array 结束时结束迭代, 读取、解析失败抛出 {@link IllegalStateException} ( cause 为原始异常 )
+     *     迭代结束后由调用方关闭 reader
+     * </pre>
+     * @param reader  JSON Array 输入 {@link Reader}
+     * @param typeOfT 元素 {@link Type}
+     * @param <T>     泛型
+     * @return {@link Iterator}
+     */
+    <T> Iterator<T> iterateJsonArray(
+            Reader reader,
+            Type typeOfT
+    );
+
+    /**
+     * 获取 JSON Array 元素迭代器 ( 迭代时逐个读取 )
+     * <pre>
+     *     读取到 Array 结束时结束迭代, 读取、解析失败抛出 {@link IllegalStateException} ( cause 为原始异常 )
+     *     迭代结束后由调用方关闭 reader
+     * </pre>
+     * @param reader  JSON Array 输入 {@link Reader}
+     * @param typeOfT 元素 {@link Type}
+     * @param config  配置信息
+     * @param <T>     泛型
+     * @return {@link Iterator}
+     */
+    <T> Iterator<T> iterateJsonArray(
+            Reader reader,
+            Type typeOfT,
+            Config config
+    );
+
+    // =
+
+    /**
+     * 逐个元素写出 JSON Array ( 不构建完整 JSON String )
+     * <pre>
+     *     不会关闭 writer
+     * </pre>
+     * @param iterable 数据源
+     * @param writer   JSON Array 输出 {@link Writer}
+     * @return {@code true} success, {@code false} fail
+     */
+    boolean toJsonArray(
+            Iterable<?> iterable,
+            Writer writer
+    );
+
+    /**
+     * 逐个元素写出 JSON Array ( 不构建完整 JSON String )
+     * <pre>
+     *     不会关闭 writer
+     * </pre>
+     * @param iterable 数据源
+     * @param writer   JSON Array 输出 {@link Writer}
+     * @param config   配置信息
+     * @return {@code true} success, {@code false} fail
+     */
+    boolean toJsonArray(
+            Iterable<?> iterable,
+            Writer writer,
+            Config config
+    );
+
     // ==========
     // = 其他方法 =
     // ==========
@@ -118,6 +289,39 @@ public interface IJSONEngine<Config extends IJSONEngine.EngineConfig> {
      */
     boolean isJSONArray(String json);
 
+    /**
+     * 判断字符串是否 JSON 格式
+     * @param json   待校验 JSON String
+     * @param config 配置信息 ( 最大嵌套深度、最大字符长度 )
+     * @return {@code true} yes, {@code false} no
+     */
+    boolean isJSON(
+            String json,
+            Config config
+    );
+
+    /**
+     * 判断字符串是否 JSON Object 格式
+     * @param json   待校验 JSON String
+     * @param config 配置信息 ( 最大嵌套深度、最大字符长度 )
+     * @return {@code true} yes, {@code false} no
+     */
+    boolean isJSONObject(
+            String json,
+            Config config
+    );
+
+    /**
+     * 判断字符串是否 JSON Array 格式
+     * @param json   待校验 JSON String
+     * @param config 配置信息 ( 最大嵌套深度、最大字符长度 )
+     * @return {@code true} yes, {@code false} no
+     */
+    boolean isJSONArray(
+            String json,
+            Config config
+    );
+
     // =
 
     /**
@@ -155,4 +359,20 @@ public interface IJSONEngine<Config extends IJSONEngine.EngineConfig> {
             Object object,
             Config config
     );
+
+    /**
+     * JSON 缩进处理 ( 流式读取写入 )
+     * <pre>
+     *     不会关闭 reader、writer
+     * </pre>
+     * @param reader JSON 输入 {@link Reader}
+     * @param writer 缩进后 JSON 输出 {@link Writer}
+     * @param config 配置信息
+     * @return {@code true} success, {@code false} fail
+     */
+    boolean toJsonIndent(
+            Reader reader,
+            Writer writer,
+            Config config
+    );
 }
\ No newline at end of file
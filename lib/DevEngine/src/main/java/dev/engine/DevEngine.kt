@@ -47,6 +47,7 @@ import dev.engine.toast.ToasterEngineImpl
 import dev.utils.app.cache.DevCache
 import dev.utils.app.logger.LogConfig
 import dev.utils.common.cipher.Cipher
+import java.io.File
 
 /**
  * detail: DevEngine
@@ -140,6 +141,19 @@ object DevEngine {
         return MMKVConfig(cipher, mmkv)
     }
 
+    /**
+     * 创建内存映射文件 Key-Value Config
+     * @param cipher 加解密中间层
+     * @param file 存储文件
+     * @return [MappedConfig]
+     */
+    fun createMappedConfig(
+        cipher: Cipher? = null,
+        file: File
+    ): MappedConfig {
+        return MappedConfig(cipher, file)
+    }
+
     /**
      * 使用 DevEngine 库内部默认实现 MMKV 初始化
      * @param context Context?
@@ -259,6 +273,9 @@ object DevEngine {
             } else if (config is SPConfig) {
                 // 初始化 SharedPreferences Key-Value Engine 实现
                 defaultSPKeyValueEngineImpl(config)
+            } else if (config is MappedConfig) {
+                // 初始化内存映射文件 Key-Value Engine 实现
+                defaultMappedKeyValueEngineImpl(config)
             }
         }
 
@@ -411,6 +428,17 @@ object DevEngine {
         }
     }
 
+    /**
+     * 默认初始化内存映射文件 Key-Value Engine 实现
+     * @param config Mapped Config
+     * @return MappedKeyValueEngineImpl
+     */
+    fun defaultMappedKeyValueEngineImpl(config: MappedConfig): MappedKeyValueEngineImpl {
+        return newMappedKeyValueEngineImpl(config).apply {
+            DevKeyValueEngine.setEngine(this)
+        }
+    }
+
     // =====================
     // = Log Engine 日志打印 =
     // =====================
@@ -1032,6 +1060,15 @@ object DevEngine {
         return SPKeyValueEngineImpl(config)
     }
 
+    /**
+     * 创建内存映射文件 Key-Value Engine 实现
+     * @param config Mapped Config
+     * @return 内存映射文件 Key-Value Engine 实现
+     */
+    fun newMappedKeyValueEngineImpl(config: MappedConfig): MappedKeyValueEngineImpl {
+        return MappedKeyValueEngineImpl(config)
+    }
+
     // =====================
     // = Log Engine 日志打印 =
     // =====================
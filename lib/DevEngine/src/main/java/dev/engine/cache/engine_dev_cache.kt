@@ -115,6 +115,31 @@ open class DevCacheEngineImpl(
         return mConfig.mDevCache.size
     }
 
+    // ==========
+    // = 内存缓存 =
+    // ==========
+
+    override fun setMemoryCache(
+        maxCount: Int,
+        maxSize: Long
+    ) {
+        mConfig.mDevCache.setMemoryCache(maxCount, maxSize)
+    }
+
+    override fun getStats(): ICacheEngine.EngineStats {
+        val stats = mConfig.mDevCache.stats
+        return ICacheEngine.EngineStats(
+            stats.hitCount, stats.missCount,
+            stats.loadCount, stats.totalLoadTime,
+            stats.evictionCount, stats.memoryCount,
+            stats.memorySize
+        )
+    }
+
+    override fun resetStats() {
+        mConfig.mDevCache.resetStats()
+    }
+
     // =======
     // = 存储 =
     // =======
@@ -2,12 +2,18 @@ package dev.engine.json
 
 import com.alibaba.fastjson2.JSON
 import com.alibaba.fastjson2.JSONArray
+import com.alibaba.fastjson2.JSONException
 import com.alibaba.fastjson2.JSONObject
+import com.alibaba.fastjson2.JSONReader
 import com.alibaba.fastjson2.JSONWriter
 import com.alibaba.fastjson2.util.ParameterizedTypeImpl
 import dev.utils.JCLogUtils
+import java.io.InputStream
+import java.io.Reader
+import java.io.Writer
 import java.lang.reflect.GenericArrayType
 import java.lang.reflect.Type
+import java.nio.charset.StandardCharsets
 
 /**
  * detail: Fastjson 工具类
@@ -82,33 +88,130 @@ internal object FastjsonUtils {
         return null
     }
 
+    // ==========
+    // = 流式读写 =
+    // ==========
+
+    /**
+     * 流式读取 JSON Array 逐个元素回调
+     * @param reader   JSON Array 输入 [Reader]
+     * @param typeOfT  元素 [Type]
+     * @param callback 元素回调
+     * @return `true` success, `false` fail
+     */
+    fun <T> fromJsonArray(
+        reader: Reader?,
+        typeOfT: Type?,
+        callback: IJSONEngine.ElementCallback<T>?
+    ): Boolean {
+        if (reader == null) return false
+        return readArray(JSONReader.of(reader), typeOfT, callback)
+    }
+
+    /**
+     * 流式读取 JSON Array 逐个元素回调 ( UTF-8 )
+     * @param inputStream JSON Array 输入 [InputStream]
+     * @param typeOfT     元素 [Type]
+     * @param callback    元素回调
+     * @return `true` success, `false` fail
+     */
+    fun <T> fromJsonArray(
+        inputStream: InputStream?,
+        typeOfT: Type?,
+        callback: IJSONEngine.ElementCallback<T>?
+    ): Boolean {
+        if (inputStream == null) return false
+        return readArray(JSONReader.of(inputStream, StandardCharsets.UTF_8), typeOfT, callback)
+    }
+
+    /**
+     * 获取 JSON Array 元素迭代器
+     * @param reader  JSON Array 输入 [Reader]
+     * @param typeOfT 元素 [Type]
+     * @return [Iterator]
+     */
+    fun <T> iterateJsonArray(
+        reader: Reader?,
+        typeOfT: Type?
+    ): Iterator<T>? {
+        if (reader != null && typeOfT != null) {
+            try {
+                return ElementIterator(JSONReader.of(reader), typeOfT)
+            } catch (e: Exception) {
+                JCLogUtils.eTag(TAG, e, "iterateJsonArray")
+            }
+        }
+        return null
+    }
+
+    /**
+     * 逐个元素写出 JSON Array
+     * @param iterable 数据源
+     * @param writer   JSON Array 输出 [Writer]
+     * @return `true` success, `false` fail
+     */
+    fun toJsonArray(
+        iterable: Iterable<*>?,
+        writer: Writer?
+    ): Boolean {
+        if (iterable != null && writer != null) {
+            try {
+                writer.write('['.code)
+                var first = true
+                for (item in iterable) {
+                    if (!first) writer.write(','.code)
+                    first = false
+                    writer.write(JSON.toJSONString(item))
+                }
+                writer.write(']'.code)
+                writer.flush()
+                return true
+            } catch (e: Exception) {
+                JCLogUtils.eTag(TAG, e, "toJsonArray")
+            }
+        }
+        return false
+    }
+
     // ==========
     // = 其他方法 =
     // ==========
 
     /**
      * 判断字符串是否 JSON 格式
-     * @param json 待校验 JSON String
+     * @param json      待校验 JSON String
+     * @param maxDepth  最大嵌套深度 ( 小于等于 0 不限制 )
+     * @param maxLength 最大字符长度 ( 小于等于 0 不限制 )
      * @return `true` yes, `false` no
      */
-    fun isJSON(json: String?): Boolean {
+    fun isJSON(
+        json: String?,
+        maxDepth: Int = 0,
+        maxLength: Long = 0L
+    ): Boolean {
+        if (!checkLimit(json, maxDepth, maxLength)) return false
         try {
-            val obj = JSON.parse(json)
-            return obj != null
-        } catch (e: Exception) {
-            return false
+            return JSON.isValid(json)
+        } catch (_: Exception) {
         }
+        return false
     }
 
     /**
      * 判断字符串是否 JSON Object 格式
-     * @param json 待校验 JSON String
+     * @param json      待校验 JSON String
+     * @param maxDepth  最大嵌套深度 ( 小于等于 0 不限制 )
+     * @param maxLength 最大字符长度 ( 小于等于 0 不限制 )
      * @return `true` yes, `false` no
      */
-    fun isJSONObject(json: String?): Boolean {
+    fun isJSONObject(
+        json: String?,
+        maxDepth: Int = 0,
+        maxLength: Long = 0L
+    ): Boolean {
+        if (!checkLimit(json, maxDepth, maxLength)) return false
         try {
-            val obj = JSON.parse(json)
-            return obj is JSONObject
+            return JSON.isValidObject(json)
         } catch (_: Exception) {
         }
         return false
@@ -116,13 +219,19 @@ internal object FastjsonUtils {
 
     /**
      * 判断字符串是否 JSON Array 格式
-     * @param json 待校验 JSON String
+     * @param json      待校验 JSON String
+     * @param maxDepth  最大嵌套深度 ( 小于等于 0 不限制 )
+     * @param maxLength 最大字符长度 ( 小于等于 0 不限制 )
      * @return `true` yes, `false` no
      */
-    fun isJSONArray(json: String?): Boolean {
+    fun isJSONArray(
+        json: String?,
+        maxDepth: Int = 0,
+        maxLength: Long = 0L
+    ): Boolean {
+        if (!checkLimit(json, maxDepth, maxLength)) return false
         try {
-            val obj = JSON.parse(json)
-            return obj is JSONArray
+            return JSON.isValidArray(json)
         } catch (_: Exception) {
         }
         return false
@@ -132,11 +241,17 @@ internal object FastjsonUtils {
 
     /**
      * JSON String 缩进处理
-     * @param json JSON String
+     * @param json      JSON String
+     * @param maxDepth  最大嵌套深度 ( 小于等于 0 不限制 )
+     * @param maxLength 最大字符长度 ( 小于等于 0 不限制 )
      * @return JSON String
      */
-    fun toJsonIndent(json: String?): String? {
-        if (json != null) {
+    fun toJsonIndent(
+        json: String?,
+        maxDepth: Int = 0,
+        maxLength: Long = 0L
+    ): String? {
+        if (json != null && checkLimit(json, maxDepth, maxLength)) {
             try {
                 // 保持 JSON 字符串次序
                 val obj = JSON.parse(json)
@@ -150,6 +265,42 @@ internal object FastjsonUtils {
         return null
     }
 
+    /**
+     * JSON 缩进处理 ( 读取全部内容后处理 )
+     * @param reader    JSON 输入 [Reader]
+     * @param writer    缩进后 JSON 输出 [Writer]
+     * @param maxDepth  最大嵌套深度 ( 小于等于 0 不限制 )
+     * @param maxLength 最大字符长度 ( 小于等于 0 不限制 )
+     * @return `true` success, `false` fail
+     */
+    fun toJsonIndent(
+        reader: Reader?,
+        writer: Writer?,
+        maxDepth: Int = 0,
+        maxLength: Long = 0L
+    ): Boolean {
+        if (reader != null && writer != null) {
+            try {
+                val builder = StringBuilder()
+                val buffer = CharArray(8192)
+                var read = reader.read(buffer)
+                while (read != -1) {
+                    builder.append(buffer, 0, read)
+                    // 超出最大字符长度不再继续读取
+                    if (maxLength > 0L && builder.length > maxLength) return false
+                    read = reader.read(buffer)
+                }
+                val json = toJsonIndent(builder.toString(), maxDepth) ?: return false
+                writer.write(json)
+                writer.flush()
+                return true
+            } catch (e: Exception) {
+                JCLogUtils.eTag(TAG, e, "toJsonIndent")
+            }
+        }
+        return false
+    }
+
     /**
      * Object 转 JSON String 并进行缩进处理
      * @param obj [Object]
@@ -166,6 +317,129 @@ internal object FastjsonUtils {
         return null
     }
 
+    // ===========
+    // = 内部处理 =
+    // ===========
+
+    /**
+     * 校验 JSON 最大字符长度、最大嵌套深度 ( 仅扫描字符, 不解析 )
+     * @param json      待校验 JSON String
+     * @param maxDepth  最大嵌套深度 ( 小于等于 0 不限制 )
+     * @param maxLength 最大字符长度 ( 小于等于 0 不限制 )
+     * @return `true` 未超出限制, `false` 超出限制
+     */
+    private fun checkLimit(
+        json: String?,
+        maxDepth: Int,
+        maxLength: Long
+    ): Boolean {
+        if (json == null) return false
+        if (maxLength > 0L && json.length > maxLength) return false
+        if (maxDepth <= 0) return true
+        var depth = 0
+        var inString = false
+        var index = 0
+        val length = json.length
+        while (index < length) {
+            val c = json[index++]
+            if (inString) {
+                if (c == '\\') {
+                    index++
+                } else if (c == '"') {
+                    inString = false
+                }
+            } else if (c == '"') {
+                inString = true
+            } else if (c == '{' || c == '[') {
+                if (++depth > maxDepth) return false
+            } else if (c == '}' || c == ']') {
+                depth--
+            }
+        }
+        return true
+    }
+
+    /**
+     * 流式读取 JSON Array 逐个元素回调
+     * <pre>
+     *     不关闭 [JSONReader], 避免关闭调用方传入的输入流
+     * </pre>
+     * @param jsonReader [JSONReader]
+     * @param typeOfT    元素 [Type]
+     * @param callback   元素回调
+     * @return `true` success, `false` fail
+     */
+    private fun <T> readArray(
+        jsonReader: JSONReader,
+        typeOfT: Type?,
+        callback: IJSONEngine.ElementCallback<T>?
+    ): Boolean {
+        if (typeOfT != null && callback != null) {
+            try {
+                if (!jsonReader.nextIfArrayStart()) return false
+                var index = 0
+                while (!jsonReader.nextIfArrayEnd()) {
+                    if (jsonReader.isEnd) throw JSONException("unexpected end of JSON Array")
+                    if (!callback.onElement(jsonReader.read(typeOfT), index++)) {
+                        return true
+                    }
+                }
+                return true
+            } catch (e: Exception) {
+                JCLogUtils.eTag(TAG, e, "fromJsonArray")
+            }
+        }
+        return false
+    }
+
+    /**
+     * detail: JSON Array 元素迭代器
+     * @author Ttt
+     */
+    private class ElementIterator<T>(
+        private val reader: JSONReader,
+        private val typeOfT: Type
+    ) : Iterator<T> {
+
+        // 是否已读取 Array 开始
+        private var started = false
+
+        // 是否已结束 ( 读取完成或读取失败 )
+        private var finished = false
+
+        override fun hasNext(): Boolean {
+            if (finished) return false
+            try {
+                if (!started) {
+                    started = true
+                    if (!reader.nextIfArrayStart()) {
+                        throw JSONException("expected JSON Array, ${reader.info()}")
+                    }
+                }
+                // 仅读取到 Array 结束时返回 false, 解析、读取失败抛出异常
+                if (!reader.nextIfArrayEnd()) {
+                    if (reader.isEnd) throw JSONException("unexpected end of JSON Array")
+                    return true
+                }
+            } catch (e: Exception) {
+                finished = true
+                throw IllegalStateException(e)
+            }
+            finished = true
+            return false
+        }
+
+        override fun next(): T {
+            if (!hasNext()) throw NoSuchElementException()
+            try {
+                return reader.read(typeOfT)
+            } catch (e: Exception) {
+                finished = true
+                throw IllegalStateException(e)
+            }
+        }
+    }
+
     // ========
     // = Type =
     // ========
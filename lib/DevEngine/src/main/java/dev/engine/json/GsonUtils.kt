@@ -2,14 +2,26 @@ package dev.engine.json
 
 import com.google.gson.Gson
 import com.google.gson.GsonBuilder
-import com.google.gson.JsonParser
+import com.google.gson.JsonParseException
 import com.google.gson.Strictness
+import com.google.gson.TypeAdapter
 import com.google.gson.reflect.TypeToken
 import com.google.gson.stream.JsonReader
+import com.google.gson.stream.JsonToken
+import com.google.gson.stream.JsonWriter
 import dev.utils.JCLogUtils
+import java.io.EOFException
+import java.io.FilterReader
+import java.io.IOException
+import java.io.InputStream
+import java.io.InputStreamReader
+import java.io.Reader
 import java.io.StringReader
+import java.io.StringWriter
+import java.io.Writer
 import java.lang.reflect.Modifier
 import java.lang.reflect.Type
+import java.nio.charset.StandardCharsets
 
 /**
  * detail: Gson 工具类
@@ -138,50 +150,223 @@ internal object GsonUtils {
         return null
     }
 
+    // ==========
+    // = 流式读写 =
+    // ==========
+
+    /**
+     * 流式读取 JSON Array 逐个元素回调
+     * @param reader   JSON Array 输入 [Reader]
+     * @param typeOfT  元素 [Type]
+     * @param callback 元素回调
+     * @return `true` success, `false` fail
+     */
+    fun <T> fromJsonArray(
+        reader: Reader?,
+        typeOfT: Type?,
+        callback: IJSONEngine.ElementCallback<T>?
+    ): Boolean {
+        return fromJsonArray(reader, typeOfT, FROM_GSON, callback)
+    }
+
+    /**
+     * 流式读取 JSON Array 逐个元素回调
+     * @param reader   JSON Array 输入 [Reader]
+     * @param typeOfT  元素 [Type]
+     * @param gson     [Gson]
+     * @param callback 元素回调
+     * @return `true` success, `false` fail
+     */
+    fun <T> fromJsonArray(
+        reader: Reader?,
+        typeOfT: Type?,
+        gson: Gson?,
+        callback: IJSONEngine.ElementCallback<T>?
+    ): Boolean {
+        if (reader != null && typeOfT != null && gson != null && callback != null) {
+            try {
+                val jsonReader = gson.newJsonReader(reader)
+                val adapter = getAdapter<T>(gson, typeOfT)
+                jsonReader.beginArray()
+                var index = 0
+                while (jsonReader.hasNext()) {
+                    if (!callback.onElement(adapter.read(jsonReader), index++)) {
+                        return true
+                    }
+                }
+                jsonReader.endArray()
+                return true
+            } catch (e: Exception) {
+                JCLogUtils.eTag(TAG, e, "fromJsonArray")
+            }
+        }
+        return false
+    }
+
+    /**
+     * 流式读取 JSON Array 逐个元素回调 ( UTF-8 )
+     * @param inputStream JSON Array 输入 [InputStream]
+     * @param typeOfT     元素 [Type]
+     * @param callback    元素回调
+     * @return `true` success, `false` fail
+     */
+    fun <T> fromJsonArray(
+        inputStream: InputStream?,
+        typeOfT: Type?,
+        callback: IJSONEngine.ElementCallback<T>?
+    ): Boolean {
+        return fromJsonArray(inputStream, typeOfT, FROM_GSON, callback)
+    }
+
+    /**
+     * 流式读取 JSON Array 逐个元素回调 ( UTF-8 )
+     * @param inputStream JSON Array 输入 [InputStream]
+     * @param typeOfT     元素 [Type]
+     * @param gson        [Gson]
+     * @param callback    元素回调
+     * @return `true` success, `false` fail
+     */
+    fun <T> fromJsonArray(
+        inputStream: InputStream?,
+        typeOfT: Type?,
+        gson: Gson?,
+        callback: IJSONEngine.ElementCallback<T>?
+    ): Boolean {
+        if (inputStream == null) return false
+        return fromJsonArray(
+            InputStreamReader(inputStream, StandardCharsets.UTF_8),
+            typeOfT, gson, callback
+        )
+    }
+
+    /**
+     * 获取 JSON Array 元素迭代器
+     * @param reader  JSON Array 输入 [Reader]
+     * @param typeOfT 元素 [Type]
+     * @return [Iterator]
+     */
+    fun <T> iterateJsonArray(
+        reader: Reader?,
+        typeOfT: Type?
+    ): Iterator<T>? {
+        return iterateJsonArray(reader, typeOfT, FROM_GSON)
+    }
+
+    /**
+     * 获取 JSON Array 元素迭代器
+     * @param reader  JSON Array 输入 [Reader]
+     * @param typeOfT 元素 [Type]
+     * @param gson    [Gson]
+     * @return [Iterator]
+     */
+    fun <T> iterateJsonArray(
+        reader: Reader?,
+        typeOfT: Type?,
+        gson: Gson?
+    ): Iterator<T>? {
+        if (reader != null && typeOfT != null && gson != null) {
+            try {
+                return ElementIterator(gson.newJsonReader(reader), getAdapter(gson, typeOfT))
+            } catch (e: Exception) {
+                JCLogUtils.eTag(TAG, e, "iterateJsonArray")
+            }
+        }
+        return null
+    }
+
+    /**
+     * 逐个元素写出 JSON Array
+     * @param iterable 数据源
+     * @param writer   JSON Array 输出 [Writer]
+     * @return `true` success, `false` fail
+     */
+    fun toJsonArray(
+        iterable: Iterable<*>?,
+        writer: Writer?
+    ): Boolean {
+        return toJsonArray(iterable, writer, TO_GSON)
+    }
+
+    /**
+     * 逐个元素写出 JSON Array
+     * @param iterable 数据源
+     * @param writer   JSON Array 输出 [Writer]
+     * @param gson     [Gson]
+     * @return `true` success, `false` fail
+     */
+    fun toJsonArray(
+        iterable: Iterable<*>?,
+        writer: Writer?,
+        gson: Gson?
+    ): Boolean {
+        if (iterable != null && writer != null && gson != null) {
+            try {
+                val jsonWriter = gson.newJsonWriter(writer)
+                jsonWriter.beginArray()
+                for (item in iterable) {
+                    if (item == null) {
+                        jsonWriter.nullValue()
+                    } else {
+                        gson.toJson(item, item.javaClass, jsonWriter)
+                    }
+                }
+                jsonWriter.endArray()
+                jsonWriter.flush()
+                return true
+            } catch (e: Exception) {
+                JCLogUtils.eTag(TAG, e, "toJsonArray")
+            }
+        }
+        return false
+    }
+
     // ==========
     // = 其他方法 =
     // ==========
 
     /**
      * 判断字符串是否 JSON 格式
-     * @param json 待校验 JSON String
+     * @param json      待校验 JSON String
+     * @param maxDepth  最大嵌套深度 ( 小于等于 0 不限制 )
+     * @param maxLength 最大字符长度 ( 小于等于 0 不限制 )
      * @return `true` yes, `false` no
      */
-    fun isJSON(json: String?): Boolean {
-        try {
-            val jsonElement = JsonParser.parseString(json) ?: return false
-            return jsonElement.isJsonObject || jsonElement.isJsonArray
-        } catch (_: Exception) {
-        }
-        return false
+    fun isJSON(
+        json: String?,
+        maxDepth: Int = 0,
+        maxLength: Long = 0L
+    ): Boolean {
+        return validate(json, null, maxDepth, maxLength)
     }
 
     /**
      * 判断字符串是否 JSON Object 格式
-     * @param json 待校验 JSON String
+     * @param json      待校验 JSON String
+     * @param maxDepth  最大嵌套深度 ( 小于等于 0 不限制 )
+     * @param maxLength 最大字符长度 ( 小于等于 0 不限制 )
      * @return `true` yes, `false` no
      */
-    fun isJSONObject(json: String?): Boolean {
-        try {
-            val jsonElement = JsonParser.parseString(json) ?: return false
-            return jsonElement.isJsonObject
-        } catch (_: Exception) {
-        }
-        return false
+    fun isJSONObject(
+        json: String?,
+        maxDepth: Int = 0,
+        maxLength: Long = 0L
+    ): Boolean {
+        return validate(json, JsonToken.BEGIN_OBJECT, maxDepth, maxLength)
     }
 
     /**
      * 判断字符串是否 JSON Array 格式
-     * @param json 待校验 JSON String
+     * @param json      待校验 JSON String
+     * @param maxDepth  最大嵌套深度 ( 小于等于 0 不限制 )
+     * @param maxLength 最大字符长度 ( 小于等于 0 不限制 )
      * @return `true` yes, `false` no
      */
-    fun isJSONArray(json: String?): Boolean {
-        try {
-            val jsonElement = JsonParser.parseString(json) ?: return false
-            return jsonElement.isJsonArray
-        } catch (_: Exception) {
-        }
-        return false
+    fun isJSONArray(
+        json: String?,
+        maxDepth: Int = 0,
+        maxLength: Long = 0L
+    ): Boolean {
+        return validate(json, JsonToken.BEGIN_ARRAY, maxDepth, maxLength)
     }
 
     /**
@@ -195,20 +380,24 @@ internal object GsonUtils {
 
     /**
      * JSON String 缩进处理
-     * @param json JSON String
-     * @param gson [Gson]
+     * @param json      JSON String
+     * @param gson      [Gson]
+     * @param maxDepth  最大嵌套深度 ( 小于等于 0 不限制 )
+     * @param maxLength 最大字符长度 ( 小于等于 0 不限制 )
      * @return JSON String
      */
     fun toJsonIndent(
         json: String?,
-        gson: Gson?
+        gson: Gson?,
+        maxDepth: Int = 0,
+        maxLength: Long = 0L
     ): String? {
-        if (gson != null) {
+        if (gson != null && json != null) {
+            if (maxLength > 0L && json.length > maxLength) return null
             try {
-                val reader = JsonReader(StringReader(json))
-                reader.setStrictness(Strictness.LENIENT)
-                val jsonElement = JsonParser.parseReader(reader)
-                return gson.toJson(jsonElement)
+                val writer = StringWriter(json.length + (json.length shr 1))
+                transfer(StringReader(json), writer, gson, maxDepth)
+                return writer.toString()
             } catch (e: Exception) {
                 JCLogUtils.eTag(TAG, e, "toJsonIndent")
             }
@@ -216,6 +405,34 @@ internal object GsonUtils {
         return null
     }
 
+    /**
+     * JSON 缩进处理 ( 流式读取写入 )
+     * @param reader    JSON 输入 [Reader]
+     * @param writer    缩进后 JSON 输出 [Writer]
+     * @param gson      [Gson] 为 null 则使用默认缩进 Gson
+     * @param maxDepth  最大嵌套深度 ( 小于等于 0 不限制 )
+     * @param maxLength 最大字符长度 ( 小于等于 0 不限制 )
+     * @return `true` success, `false` fail
+     */
+    fun toJsonIndent(
+        reader: Reader?,
+        writer: Writer?,
+        gson: Gson?,
+        maxDepth: Int = 0,
+        maxLength: Long = 0L
+    ): Boolean {
+        if (reader != null && writer != null) {
+            try {
+                val input = if (maxLength > 0L) LimitReader(reader, maxLength) else reader
+                transfer(input, writer, gson ?: INDENT_GSON, maxDepth)
+                return true
+            } catch (e: Exception) {
+                JCLogUtils.eTag(TAG, e, "toJsonIndent")
+            }
+        }
+        return false
+    }
+
     // =
 
     /**
@@ -247,6 +464,222 @@ internal object GsonUtils {
         return null
     }
 
+    // ===========
+    // = 内部处理 =
+    // ===========
+
+    /**
+     * 流式校验 JSON 格式 ( 不构建 JsonElement, 首个 Token 不符合直接返回 )
+     * @param json      待校验 JSON String
+     * @param token     起始 Token, null 表示 Object、Array 均可
+     * @param maxDepth  最大嵌套深度 ( 小于等于 0 不限制 )
+     * @param maxLength 最大字符长度 ( 小于等于 0 不限制 )
+     * @return `true` yes, `false` no
+     */
+    private fun validate(
+        json: String?,
+        token: JsonToken?,
+        maxDepth: Int,
+        maxLength: Long
+    ): Boolean {
+        if (json == null) return false
+        if (maxLength > 0L && json.length > maxLength) return false
+        try {
+            val reader = JsonReader(StringReader(json))
+            reader.setStrictness(Strictness.LENIENT)
+            val first = reader.peek()
+            if (token != null) {
+                if (first != token) return false
+            } else if (first != JsonToken.BEGIN_OBJECT && first != JsonToken.BEGIN_ARRAY) {
+                return false
+            }
+            copyValue(reader, null, maxDepth)
+            return reader.peek() == JsonToken.END_DOCUMENT
+        } catch (_: Exception) {
+        }
+        return false
+    }
+
+    /**
+     * 读取 JSON 并逐 Token 写出 ( 格式与 [Gson.toJson] JsonElement 一致, 重复 key 原样保留 )
+     * @param input    JSON 输入 [Reader]
+     * @param output   JSON 输出 [Writer]
+     * @param gson     [Gson]
+     * @param maxDepth 最大嵌套深度 ( 小于等于 0 不限制 )
+     */
+    private fun transfer(
+        input: Reader,
+        output: Writer,
+        gson: Gson,
+        maxDepth: Int
+    ) {
+        val reader = JsonReader(input)
+        reader.setStrictness(Strictness.LENIENT)
+        val writer = gson.newJsonWriter(output)
+        val empty = try {
+            reader.peek()
+            false
+        } catch (_: EOFException) {
+            true
+        }
+        if (empty) {
+            writer.nullValue()
+        } else {
+            copyValue(reader, writer, maxDepth)
+        }
+        writer.flush()
+    }
+
+    /**
+     * 读取一个完整 JSON 值
+     * @param reader   [JsonReader]
+     * @param writer   [JsonWriter] 为 null 则仅校验
+     * @param maxDepth 最大嵌套深度 ( 小于等于 0 不限制 )
+     */
+    private fun copyValue(
+        reader: JsonReader,
+        writer: JsonWriter?,
+        maxDepth: Int
+    ) {
+        var depth = 0
+        do {
+            when (reader.peek()) {
+                JsonToken.BEGIN_ARRAY -> {
+                    if (maxDepth in 1..depth) throw JsonParseException("JSON depth exceeds $maxDepth")
+                    depth++
+                    reader.beginArray()
+                    writer?.beginArray()
+                }
+                JsonToken.END_ARRAY -> {
+                    depth--
+                    reader.endArray()
+                    writer?.endArray()
+                }
+                JsonToken.BEGIN_OBJECT -> {
+                    if (maxDepth in 1..depth) throw JsonParseException("JSON depth exceeds $maxDepth")
+                    depth++
+                    reader.beginObject()
+                    writer?.beginObject()
+                }
+                JsonToken.END_OBJECT -> {
+                    depth--
+                    reader.endObject()
+                    writer?.endObject()
+                }
+                JsonToken.NAME -> {
+                    if (writer == null) reader.skipValue() else writer.name(reader.nextName())
+                }
+                JsonToken.STRING -> {
+                    if (writer == null) reader.skipValue() else writer.value(reader.nextString())
+                }
+                JsonToken.NUMBER -> {
+                    if (writer == null) reader.skipValue() else writer.jsonValue(reader.nextString())
+                }
+                JsonToken.BOOLEAN -> {
+                    val value = reader.nextBoolean()
+                    writer?.value(value)
+                }
+                JsonToken.NULL -> {
+                    reader.nextNull()
+                    writer?.nullValue()
+                }
+                else -> throw EOFException("End of input")
+            }
+        } while (depth > 0)
+    }
+
+    /**
+     * 获取元素 [TypeAdapter]
+     * @param gson    [Gson]
+     * @param typeOfT 元素 [Type]
+     * @return [TypeAdapter]
+     */
+    @Suppress("UNCHECKED_CAST")
+    private fun <T> getAdapter(
+        gson: Gson,
+        typeOfT: Type
+    ): TypeAdapter<T> {
+        return gson.getAdapter(TypeToken.get(typeOfT)) as TypeAdapter<T>
+    }
+
+    /**
+     * detail: JSON Array 元素迭代器
+     * @author Ttt
+     */
+    private class ElementIterator<T>(
+        private val reader: JsonReader,
+        private val adapter: TypeAdapter<T>
+    ) : Iterator<T> {
+
+        // 是否已读取 Array 开始
+        private var started = false
+
+        // 是否已结束 ( 读取完成或读取失败 )
+        private var finished = false
+
+        override fun hasNext(): Boolean {
+            if (finished) return false
+            try {
+                if (!started) {
+                    started = true
+                    reader.beginArray()
+                }
+                if (reader.hasNext()) return true
+                // 仅读取到 Array 结束时返回 false, 解析、读取失败抛出异常
+                reader.endArray()
+            } catch (e: Exception) {
+                finished = true
+                throw IllegalStateException(e)
+            }
+            finished = true
+            return false
+        }
+
+        override fun next(): T {
+            if (!hasNext()) throw NoSuchElementException()
+            try {
+                return adapter.read(reader)
+            } catch (e: Exception) {
+                finished = true
+                throw IllegalStateException(e)
+            }
+        }
+    }
+
+    /**
+     * detail: 限制最大读取字符数 Reader
+     * @author Ttt
+     */
+    private class LimitReader(
+        reader: Reader,
+        private val maxLength: Long
+    ) : FilterReader(reader) {
+
+        // 已读取字符数
+        private var count = 0L
+
+        override fun read(): Int {
+            val c = super.read()
+            if (c != -1) check(1)
+            return c
+        }
+
+        override fun read(
+            cbuf: CharArray,
+            off: Int,
+            len: Int
+        ): Int {
+            val read = super.read(cbuf, off, len)
+            if (read > 0) check(read)
+            return read
+        }
+
+        private fun check(read: Int) {
+            count += read
+            if (count > maxLength) throw IOException("JSON length exceeds $maxLength")
+        }
+    }
+
     // ========
     // = Gson =
     // ========
@@ -1,5 +1,8 @@
 package dev.engine.json
 
+import java.io.InputStream
+import java.io.Reader
+import java.io.Writer
 import java.lang.reflect.Type
 
 /**
@@ -53,6 +56,74 @@ open class FastjsonEngineImpl : IJSONEngine<JSONConfig> {
         return FastjsonUtils.fromJson(json, typeOfT)
     }
 
+    // ==========
+    // = 流式读写 =
+    // ==========
+
+    override fun <T : Any> fromJsonArray(
+        reader: Reader?,
+        typeOfT: Type?,
+        callback: IJSONEngine.ElementCallback<T>?
+    ): Boolean {
+        return FastjsonUtils.fromJsonArray(reader, typeOfT, callback)
+    }
+
+    override fun <T : Any> fromJsonArray(
+        reader: Reader?,
+        typeOfT: Type?,
+        config: JSONConfig?,
+        callback: IJSONEngine.ElementCallback<T>?
+    ): Boolean {
+        return FastjsonUtils.fromJsonArray(reader, typeOfT, callback)
+    }
+
+    override fun <T : Any> fromJsonArray(
+        inputStream: InputStream?,
+        typeOfT: Type?,
+        callback: IJSONEngine.ElementCallback<T>?
+    ): Boolean {
+        return FastjsonUtils.fromJsonArray(inputStream, typeOfT, callback)
+    }
+
+    override fun <T : Any> fromJsonArray(
+        inputStream: InputStream?,
+        typeOfT: Type?,
+        config: JSONConfig?,
+        callback: IJSONEngine.ElementCallback<T>?
+    ): Boolean {
+        return FastjsonUtils.fromJsonArray(inputStream, typeOfT, callback)
+    }
+
+    override fun <T : Any> iterateJsonArray(
+        reader: Reader?,
+        typeOfT: Type?
+    ): Iterator<T>? {
+        return FastjsonUtils.iterateJsonArray(reader, typeOfT)
+    }
+
+    override fun <T : Any> iterateJsonArray(
+        reader: Reader?,
+        typeOfT: Type?,
+        config: JSONConfig?
+    ): Iterator<T>? {
+        return FastjsonUtils.iterateJsonArray(reader, typeOfT)
+    }
+
+    override fun toJsonArray(
+        iterable: Iterable<*>?,
+        writer: Writer?
+    ): Boolean {
+        return FastjsonUtils.toJsonArray(iterable, writer)
+    }
+
+    override fun toJsonArray(
+        iterable: Iterable<*>?,
+        writer: Writer?,
+        config: JSONConfig?
+    ): Boolean {
+        return FastjsonUtils.toJsonArray(iterable, writer)
+    }
+
     // ==========
     // = 其他方法 =
     // ==========
@@ -69,6 +140,27 @@ open class FastjsonEngineImpl : IJSONEngine<JSONConfig> {
         return FastjsonUtils.isJSONArray(json)
     }
 
+    override fun isJSON(
+        json: String?,
+        config: JSONConfig?
+    ): Boolean {
+        return FastjsonUtils.isJSON(json, config?.maxDepth ?: 0, config?.maxLength ?: 0L)
+    }
+
+    override fun isJSONObject(
+        json: String?,
+        config: JSONConfig?
+    ): Boolean {
+        return FastjsonUtils.isJSONObject(json, config?.maxDepth ?: 0, config?.maxLength ?: 0L)
+    }
+
+    override fun isJSONArray(
+        json: String?,
+        config: JSONConfig?
+    ): Boolean {
+        return FastjsonUtils.isJSONArray(json, config?.maxDepth ?: 0, config?.maxLength ?: 0L)
+    }
+
     override fun toJsonIndent(json: String?): String? {
         return FastjsonUtils.toJsonIndent(json)
     }
@@ -77,7 +169,7 @@ open class FastjsonEngineImpl : IJSONEngine<JSONConfig> {
         json: String?,
         config: JSONConfig?
     ): String? {
-        return FastjsonUtils.toJsonIndent(json)
+        return FastjsonUtils.toJsonIndent(json, config?.maxDepth ?: 0, config?.maxLength ?: 0L)
     }
 
     override fun toJsonIndent(obj: Any?): String? {
@@ -90,4 +182,14 @@ open class FastjsonEngineImpl : IJSONEngine<JSONConfig> {
     ): String? {
         return FastjsonUtils.toJsonIndent(obj)
     }
+
+    override fun toJsonIndent(
+        reader: Reader?,
+        writer: Writer?,
+        config: JSONConfig?
+    ): Boolean {
+        return FastjsonUtils.toJsonIndent(
+            reader, writer, config?.maxDepth ?: 0, config?.maxLength ?: 0L
+        )
+    }
 }
\ No newline at end of file
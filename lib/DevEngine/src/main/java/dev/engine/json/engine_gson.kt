@@ -1,5 +1,8 @@
 package dev.engine.json
 
+import java.io.InputStream
+import java.io.Reader
+import java.io.Writer
 import java.lang.reflect.Type
 
 /**
@@ -53,6 +56,74 @@ open class GsonEngineImpl : IJSONEngine<JSONConfig> {
         return GsonUtils.fromJson(json, typeOfT, config?.gson)
     }
 
+    // ==========
+    // = 流式读写 =
+    // ==========
+
+    override fun <T : Any> fromJsonArray(
+        reader: Reader?,
+        typeOfT: Type?,
+        callback: IJSONEngine.ElementCallback<T>?
+    ): Boolean {
+        return GsonUtils.fromJsonArray(reader, typeOfT, callback)
+    }
+
+    override fun <T : Any> fromJsonArray(
+        reader: Reader?,
+        typeOfT: Type?,
+        config: JSONConfig?,
+        callback: IJSONEngine.ElementCallback<T>?
+    ): Boolean {
+        return GsonUtils.fromJsonArray(reader, typeOfT, config?.gson, callback)
+    }
+
+    override fun <T : Any> fromJsonArray(
+        inputStream: InputStream?,
+        typeOfT: Type?,
+        callback: IJSONEngine.ElementCallback<T>?
+    ): Boolean {
+        return GsonUtils.fromJsonArray(inputStream, typeOfT, callback)
+    }
+
+    override fun <T : Any> fromJsonArray(
+        inputStream: InputStream?,
+        typeOfT: Type?,
+        config: JSONConfig?,
+        callback: IJSONEngine.ElementCallback<T>?
+    ): Boolean {
+        return GsonUtils.fromJsonArray(inputStream, typeOfT, config?.gson, callback)
+    }
+
+    override fun <T : Any> iterateJsonArray(
+        reader: Reader?,
+        typeOfT: Type?
+    ): Iterator<T>? {
+        return GsonUtils.iterateJsonArray(reader, typeOfT)
+    }
+
+    override fun <T : Any> iterateJsonArray(
+        reader: Reader?,
+        typeOfT: Type?,
+        config: JSONConfig?
+    ): Iterator<T>? {
+        return GsonUtils.iterateJsonArray(reader, typeOfT, config?.gson)
+    }
+
+    override fun toJsonArray(
+        iterable: Iterable<*>?,
+        writer: Writer?
+    ): Boolean {
+        return GsonUtils.toJsonArray(iterable, writer)
+    }
+
+    override fun toJsonArray(
+        iterable: Iterable<*>?,
+        writer: Writer?,
+        config: JSONConfig?
+    ): Boolean {
+        return GsonUtils.toJsonArray(iterable, writer, config?.gson)
+    }
+
     // ==========
     // = 其他方法 =
     // ==========
@@ -69,6 +140,27 @@ open class GsonEngineImpl : IJSONEngine<JSONConfig> {
         return GsonUtils.isJSONArray(json)
     }
 
+    override fun isJSON(
+        json: String?,
+        config: JSONConfig?
+    ): Boolean {
+        return GsonUtils.isJSON(json, config?.maxDepth ?: 0, config?.maxLength ?: 0L)
+    }
+
+    override fun isJSONObject(
+        json: String?,
+        config: JSONConfig?
+    ): Boolean {
+        return GsonUtils.isJSONObject(json, config?.maxDepth ?: 0, config?.maxLength ?: 0L)
+    }
+
+    override fun isJSONArray(
+        json: String?,
+        config: JSONConfig?
+    ): Boolean {
+        return GsonUtils.isJSONArray(json, config?.maxDepth ?: 0, config?.maxLength ?: 0L)
+    }
+
     override fun toJsonIndent(json: String?): String? {
         return GsonUtils.toJsonIndent(json)
     }
@@ -77,7 +169,9 @@ open class GsonEngineImpl : IJSONEngine<JSONConfig> {
         json: String?,
         config: JSONConfig?
     ): String? {
-        return GsonUtils.toJsonIndent(json, config?.gson)
+        return GsonUtils.toJsonIndent(
+            json, config?.gson, config?.maxDepth ?: 0, config?.maxLength ?: 0L
+        )
     }
 
     override fun toJsonIndent(obj: Any?): String? {
@@ -90,4 +184,14 @@ open class GsonEngineImpl : IJSONEngine<JSONConfig> {
     ): String? {
         return GsonUtils.toJsonIndent(obj, config?.gson)
     }
+
+    override fun toJsonIndent(
+        reader: Reader?,
+        writer: Writer?,
+        config: JSONConfig?
+    ): Boolean {
+        return GsonUtils.toJsonIndent(
+            reader, writer, config?.gson, config?.maxDepth ?: 0, config?.maxLength ?: 0L
+        )
+    }
 }
\ No newline at end of file
@@ -0,0 +1,260 @@
+package dev.engine.keyvalue
+
+import dev.engine.json.DevJSONEngine
+import dev.engine.json.IJSONEngine
+import dev.utils.common.assist.MappedKeyValueStore
+import dev.utils.common.cipher.Cipher
+import java.io.File
+import java.lang.reflect.Type
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * detail: 内存映射文件 Key-Value Config
+ * @author Ttt
+ * 纯 Java 实现, 不依赖 MMKV native 库, 可用于任意 JVM
+ */
+open class MappedConfig(
+    cipher: Cipher?,
+    // 存储文件
+    val file: File
+) : IKeyValueEngine.EngineConfig(cipher)
+
+/**
+ * detail: 内存映射文件 Key-Value Engine 实现
+ * @author Ttt
+ * <p></p>
+ * 基于 [MappedKeyValueStore] 追加写日志 + 内存索引
+ * Entity 优先使用 [registerCodec] 注册的二进制编解码, 未注册则使用 JSON
+ */
+open class MappedKeyValueEngineImpl(
+    private val mConfig: MappedConfig
+) : IKeyValueEngine<MappedConfig> {
+
+    // 内存映射存储
+    private val mStore = MappedKeyValueStore(mConfig.file, mConfig.cipher)
+
+    // Entity 二进制编解码
+    private val mCodecs = ConcurrentHashMap<Type, MappedKeyValueStore.Codec<*>>()
+
+    // JSON Engine
+    private var mJSONEngine: IJSONEngine<out IJSONEngine.EngineConfig>? = DevJSONEngine.getEngine()
+
+    fun setJSONEngine(engine: IJSONEngine<out IJSONEngine.EngineConfig>) {
+        this.mJSONEngine = engine
+    }
+
+    private fun _jsonEngine(): IJSONEngine<out IJSONEngine.EngineConfig>? {
+        if (mJSONEngine != null) return mJSONEngine
+        return DevJSONEngine.getEngine()
+    }
+
+    /**
+     * 获取内存映射存储
+     * @return [MappedKeyValueStore]
+     */
+    fun getStore(): MappedKeyValueStore {
+        return mStore
+    }
+
+    /**
+     * 注册 Entity 二进制编解码
+     * @param type Entity Type
+     * @param codec 编解码
+     * @return MappedKeyValueEngineImpl
+     */
+    fun <T : Any> registerCodec(
+        type: Type,
+        codec: MappedKeyValueStore.Codec<T>
+    ): MappedKeyValueEngineImpl {
+        mCodecs[type] = codec
+        return this
+    }
+
+    /**
+     * 移除 Entity 二进制编解码
+     * @param type Entity Type
+     * @return MappedKeyValueEngineImpl
+     */
+    fun unregisterCodec(type: Type): MappedKeyValueEngineImpl {
+        mCodecs.remove(type)
+        return this
+    }
+
+    // =============
+    // = 对外公开方法 =
+    // =============
+
+    override fun getConfig(): MappedConfig {
+        return mConfig
+    }
+
+    override fun remove(key: String?) {
+        mStore.remove(key)
+    }
+
+    override fun removeForKeys(keys: Array<String?>?) {
+        mStore.removeForKeys(keys)
+    }
+
+    override fun contains(key: String?): Boolean {
+        return mStore.contains(key)
+    }
+
+    override fun clear() {
+        mStore.clear()
+    }
+
+    // =======
+    // = 存储 =
+    // =======
+
+    override fun putInt(
+        key: String?,
+        value: Int
+    ): Boolean {
+        return mStore.putInt(key, value)
+    }
+
+    override fun putLong(
+        key: String?,
+        value: Long
+    ): Boolean {
+        return mStore.putLong(key, value)
+    }
+
+    override fun putFloat(
+        key: String?,
+        value: Float
+    ): Boolean {
+        return mStore.putFloat(key, value)
+    }
+
+    override fun putDouble(
+        key: String?,
+        value: Double
+    ): Boolean {
+        return mStore.putDouble(key, value)
+    }
+
+    override fun putBoolean(
+        key: String?,
+        value: Boolean
+    ): Boolean {
+        return mStore.putBoolean(key, value)
+    }
+
+    override fun putString(
+        key: String?,
+        value: String?
+    ): Boolean {
+        return mStore.putString(key, value)
+    }
+
+    @Suppress("UNCHECKED_CAST")
+    override fun <T : Any> putEntity(
+        key: String?,
+        value: T
+    ): Boolean {
+        val codec = mCodecs[value.javaClass] as? MappedKeyValueStore.Codec<T>
+        if (codec != null) {
+            return mStore.putEntity(key, value, codec)
+        }
+        return putString(key, _jsonEngine()?.toJson(value))
+    }
+
+    // =======
+    // = 获取 =
+    // =======
+
+    override fun getInt(key: String?): Int {
+        return getInt(key, 0)
+    }
+
+    override fun getLong(key: String?): Long {
+        return getLong(key, 0L)
+    }
+
+    override fun getFloat(key: String?): Float {
+        return getFloat(key, 0F)
+    }
+
+    override fun getDouble(key: String?): Double {
+        return getDouble(key, 0.0)
+    }
+
+    override fun getBoolean(key: String?): Boolean {
+        return getBoolean(key, false)
+    }
+
+    override fun getString(key: String?): String? {
+        return getString(key, null)
+    }
+
+    override fun <T : Any> getEntity(
+        key: String?,
+        typeOfT: Type?
+    ): T? {
+        return getEntity(key, typeOfT, null)
+    }
+
+    // =
+
+    override fun getInt(
+        key: String?,
+        defaultValue: Int
+    ): Int {
+        return mStore.getInt(key, defaultValue)
+    }
+
+    override fun getLong(
+        key: String?,
+        defaultValue: Long
+    ): Long {
+        return mStore.getLong(key, defaultValue)
+    }
+
+    override fun getFloat(
+        key: String?,
+        defaultValue: Float
+    ): Float {
+        return mStore.getFloat(key, defaultValue)
+    }
+
+    override fun getDouble(
+        key: String?,
+        defaultValue: Double
+    ): Double {
+        return mStore.getDouble(key, defaultValue)
+    }
+
+    override fun getBoolean(
+        key: String?,
+        defaultValue: Boolean
+    ): Boolean {
+        return mStore.getBoolean(key, defaultValue)
+    }
+
+    override fun getString(
+        key: String?,
+        defaultValue: String?
+    ): String? {
+        return mStore.getString(key, defaultValue)
+    }
+
+    @Suppress("UNCHECKED_CAST")
+    override fun <T : Any> getEntity(
+        key: String?,
+        typeOfT: Type?,
+        defaultValue: T?
+    ): T? {
+        val codec = typeOfT?.let { mCodecs[it] } as? MappedKeyValueStore.Codec<T>
+        if (codec != null) {
+            val entity = mStore.getEntity(key, codec, null)
+            if (entity != null) return entity
+        }
+        // 未注册编解码或注册前使用 JSON 存储的数据
+        return _jsonEngine()?.fromJson<T>(
+            getString(key, null), typeOfT
+        ) ?: return defaultValue
+    }
+}
\ No newline at end of file
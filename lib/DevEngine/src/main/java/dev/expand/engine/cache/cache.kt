@@ -127,6 +127,30 @@ fun cache_getSize(
     return engine.getCacheEngine()?.size ?: 0L
 }
 
+// ==========
+// = 内存缓存 =
+// ==========
+
+fun cache_setMemoryCache(
+    maxCount: Int,
+    maxSize: Long,
+    engine: String? = null
+) {
+    engine.getCacheEngine()?.setMemoryCache(maxCount, maxSize)
+}
+
+fun cache_getStats(
+    engine: String? = null
+): ICacheEngine.EngineStats? {
+    return engine.getCacheEngine()?.stats
+}
+
+fun cache_resetStats(
+    engine: String? = null
+) {
+    engine.getCacheEngine()?.resetStats()
+}
+
 // =======
 // = 存储 =
 // =======
@@ -2,6 +2,9 @@ package dev.expand.engine.json
 
 import dev.engine.DevEngine
 import dev.engine.json.IJSONEngine
+import java.io.InputStream
+import java.io.Reader
+import java.io.Writer
 import java.lang.reflect.Type
 
 // =============================
@@ -76,6 +79,78 @@ fun <T : Any, Config : IJSONEngine.EngineConfig> String.fromJson(
     return engine.getJSONEngine()?.fromJson(this, typeOfT, config)
 }
 
+// ==========
+// = 流式读写 =
+// ==========
+
+fun <T : Any> Reader.fromJsonArray(
+    engine: String? = null,
+    typeOfT: Type?,
+    callback: IJSONEngine.ElementCallback<T>?
+): Boolean {
+    return engine.getJSONEngine()?.fromJsonArray(this, typeOfT, callback) ?: false
+}
+
+fun <T : Any, Config : IJSONEngine.EngineConfig> Reader.fromJsonArray(
+    engine: String? = null,
+    typeOfT: Type?,
+    config: Config?,
+    callback: IJSONEngine.ElementCallback<T>?
+): Boolean {
+    return engine.getJSONEngine()?.fromJsonArray(this, typeOfT, config, callback) ?: false
+}
+
+fun <T : Any> InputStream.fromJsonArray(
+    engine: String? = null,
+    typeOfT: Type?,
+    callback: IJSONEngine.ElementCallback<T>?
+): Boolean {
+    return engine.getJSONEngine()?.fromJsonArray(this, typeOfT, callback) ?: false
+}
+
+fun <T : Any, Config : IJSONEngine.EngineConfig> InputStream.fromJsonArray(
+    engine: String? = null,
+    typeOfT: Type?,
+    config: Config?,
+    callback: IJSONEngine.ElementCallback<T>?
+): Boolean {
+    return engine.getJSONEngine()?.fromJsonArray(this, typeOfT, config, callback) ?: false
+}
+
+// =
+
+fun <T : Any> Reader.iterateJsonArray(
+    engine: String? = null,
+    typeOfT: Type?
+): Iterator<T>? {
+    return engine.getJSONEngine()?.iterateJsonArray(this, typeOfT)
+}
+
+fun <T : Any, Config : IJSONEngine.EngineConfig> Reader.iterateJsonArray(
+    engine: String? = null,
+    typeOfT: Type?,
+    config: Config?
+): Iterator<T>? {
+    return engine.getJSONEngine()?.iterateJsonArray(this, typeOfT, config)
+}
+
+// =
+
+fun Iterable<*>.toJsonArray(
+    writer: Writer?,
+    engine: String? = null
+): Boolean {
+    return engine.getJSONEngine()?.toJsonArray(this, writer) ?: false
+}
+
+fun <Config : IJSONEngine.EngineConfig> Iterable<*>.toJsonArray(
+    writer: Writer?,
+    engine: String? = null,
+    config: Config?
+): Boolean {
+    return engine.getJSONEngine()?.toJsonArray(this, writer, config) ?: false
+}
+
 // ==========
 // = 其他方法 =
 // ==========
@@ -98,6 +173,27 @@ fun String.isJSONArray(
     return engine.getJSONEngine()?.isJSONArray(this) ?: false
 }
 
+fun <Config : IJSONEngine.EngineConfig> String.isJSON(
+    engine: String? = null,
+    config: Config?
+): Boolean {
+    return engine.getJSONEngine()?.isJSON(this, config) ?: false
+}
+
+fun <Config : IJSONEngine.EngineConfig> String.isJSONObject(
+    engine: String? = null,
+    config: Config?
+): Boolean {
+    return engine.getJSONEngine()?.isJSONObject(this, config) ?: false
+}
+
+fun <Config : IJSONEngine.EngineConfig> String.isJSONArray(
+    engine: String? = null,
+    config: Config?
+): Boolean {
+    return engine.getJSONEngine()?.isJSONArray(this, config) ?: false
+}
+
 // =
 
 fun String.toJsonIndent(
@@ -124,4 +220,12 @@ fun <Config : IJSONEngine.EngineConfig> Any.toJsonIndent(
     config: Config?
 ): String? {
     return engine.getJSONEngine()?.toJsonIndent(this, config)
+}
+
+fun <Config : IJSONEngine.EngineConfig> Reader.toJsonIndent(
+    writer: Writer?,
+    engine: String? = null,
+    config: Config?
+): Boolean {
+    return engine.getJSONEngine()?.toJsonIndent(this, writer, config) ?: false
 }
\ No newline at end of file
@@ -7,6 +7,9 @@ import java.util.List;
 
 import dev.utils.DevFinal;
 import dev.utils.JCLogUtils;
+import dev.utils.common.collection.DoubleList;
+import dev.utils.common.collection.IntList;
+import dev.utils.common.collection.LongList;
 
 /**
  * detail: Array 数组工具类
@@ -2669,6 +2672,96 @@ public final class ArrayUtils {
         return null;
     }
 
+    // ===================
+    // = 转换基础类型集合 =
+    // ===================
+
+    /**
+     * 转换数组为 {@link IntList} ( 不装箱 )
+     * @param ints int[]
+     * @return {@link IntList}
+     */
+    public static IntList toIntList(final int... ints) {
+        if (ints != null) {
+            return new IntList(ints);
+        }
+        return null;
+    }
+
+    /**
+     * 转换数组为 {@link LongList} ( 不装箱 )
+     * @param longs long[]
+     * @return {@link LongList}
+     */
+    public static LongList toLongList(final long... longs) {
+        if (longs != null) {
+            return new LongList(longs);
+        }
+        return null;
+    }
+
+    /**
+     * 转换数组为 {@link DoubleList} ( 不装箱 )
+     * @param doubles double[]
+     * @return {@link DoubleList}
+     */
+    public static DoubleList toDoubleList(final double... doubles) {
+        if (doubles != null) {
+            return new DoubleList(doubles);
+        }
+        return null;
+    }
+
+    // =
+
+    /**
+     * Integer[] 转换 {@link IntList} ( null 数据忽略 )
+     * @param integers Integer[]
+     * @return {@link IntList}
+     */
+    public static IntList integersToIntList(final Integer[] integers) {
+        if (integers != null) {
+            IntList lists = new IntList(integers.length);
+            for (Integer value : integers) {
+                if (value != null) lists.add(value);
+            }
+            return lists;
+        }
+        return null;
+    }
+
+    /**
+     * Long[] 转换 {@link LongList} ( null 数据忽略 )
+     * @param longs Long[]
+     * @return {@link LongList}
+     */
+    public static LongList longsToLongList(final Long[] longs) {
+        if (longs != null) {
+            LongList lists = new LongList(longs.length);
+            for (Long value : longs) {
+                if (value != null) lists.add(value);
+            }
+            return lists;
+        }
+        return null;
+    }
+
+    /**
+     * Double[] 转换 {@link DoubleList} ( null 数据忽略 )
+     * @param doubles Double[]
+     * @return {@link DoubleList}
+     */
+    public static DoubleList doublesToDoubleList(final Double[] doubles) {
+        if (doubles != null) {
+            DoubleList lists = new DoubleList(doubles.length);
+            for (Double value : doubles) {
+                if (value != null) lists.add(value);
+            }
+            return lists;
+        }
+        return null;
+    }
+
     // ==========
     // = 快捷方法 =
     // ==========
@@ -9,6 +9,9 @@ import java.util.List;
 import java.util.Set;
 
 import dev.utils.JCLogUtils;
+import dev.utils.common.collection.DoubleList;
+import dev.utils.common.collection.IntList;
+import dev.utils.common.collection.LongList;
 
 /**
  * detail: 集合工具类 ( Collection - List、Set、Queue ) 等
@@ -2087,6 +2090,197 @@ public final class CollectionUtils {
         return total;
     }
 
+    // ===================
+    // = 基础类型集合计算 =
+    // ===================
+
+    /**
+     * {@link List<Integer>} 转换 {@link IntList} ( null 数据忽略 )
+     * @param list 集合
+     * @return {@link IntList}
+     */
+    public static IntList toIntList(final List<Integer> list) {
+        if (list != null) {
+            try {
+                return IntList.of(list);
+            } catch (Exception e) {
+                JCLogUtils.eTag(TAG, e, "toIntList");
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 获取集合中最小值索引
+     * @param list 集合
+     * @return 最小值索引, 为空返回 -1
+     */
+    public static int getMinimumIndexI(final IntList list) {
+        return (list != null) ? list.minIndex() : -1;
+    }
+
+    /**
+     * 获取集合中最大值索引
+     * @param list 集合
+     * @return 最大值索引, 为空返回 -1
+     */
+    public static int getMaximumIndexI(final IntList list) {
+        return (list != null) ? list.maxIndex() : -1;
+    }
+
+    /**
+     * 获取集合中最小值
+     * @param list 集合
+     * @return 最小值, 为空返回 0
+     */
+    public static int getMinimumI(final IntList list) {
+        return (list != null) ? list.min() : 0;
+    }
+
+    /**
+     * 获取集合中最大值
+     * @param list 集合
+     * @return 最大值, 为空返回 0
+     */
+    public static int getMaximumI(final IntList list) {
+        return (list != null) ? list.max() : 0;
+    }
+
+    /**
+     * 计算集合总和
+     * @param lists 集合
+     * @return 集合总和
+     */
+    public static long sumlistI(final IntList lists) {
+        return (lists != null) ? lists.sum() : 0;
+    }
+
+    // =
+
+    /**
+     * {@link List<Long>} 转换 {@link LongList} ( null 数据忽略 )
+     * @param list 集合
+     * @return {@link LongList}
+     */
+    public static LongList toLongList(final List<Long> list) {
+        if (list != null) {
+            try {
+                return LongList.of(list);
+            } catch (Exception e) {
+                JCLogUtils.eTag(TAG, e, "toLongList");
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 获取集合中最小值索引
+     * @param list 集合
+     * @return 最小值索引, 为空返回 -1
+     */
+    public static int getMinimumIndexL(final LongList list) {
+        return (list != null) ? list.minIndex() : -1;
+    }
+
+    /**
+     * 获取集合中最大值索引
+     * @param list 集合
+     * @return 最大值索引, 为空返回 -1
+     */
+    public static int getMaximumIndexL(final LongList list) {
+        return (list != null) ? list.maxIndex() : -1;
+    }
+
+    /**
+     * 获取集合中最小值
+     * @param list 集合
+     * @return 最小值, 为空返回 0
+     */
+    public static long getMinimumL(final LongList list) {
+        return (list != null) ? list.min() : 0;
+    }
+
+    /**
+     * 获取集合中最大值
+     * @param list 集合
+     * @return 最大值, 为空返回 0
+     */
+    public static long getMaximumL(final LongList list) {
+        return (list != null) ? list.max() : 0;
+    }
+
+    /**
+     * 计算集合总和
+     * @param lists 集合
+     * @return 集合总和
+     */
+    public static long sumlistL(final LongList lists) {
+        return (lists != null) ? lists.sum() : 0;
+    }
+
+    // =
+
+    /**
+     * {@link List<Double>} 转换 {@link DoubleList} ( null 数据忽略 )
+     * @param list 集合
+     * @return {@link DoubleList}
+     */
+    public static DoubleList toDoubleList(final List<Double> list) {
+        if (list != null) {
+            try {
+                return DoubleList.of(list);
+            } catch (Exception e) {
+                JCLogUtils.eTag(TAG, e, "toDoubleList");
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 获取集合中最小值索引
+     * @param list 集合
+     * @return 最小值索引, 为空返回 -1
+     */
+    public static int getMinimumIndexD(final DoubleList list) {
+        return (list != null) ? list.minIndex() : -1;
+    }
+
+    /**
+     * 获取集合中最大值索引
+     * @param list 集合
+     * @return 最大值索引, 为空返回 -1
+     */
+    public static int getMaximumIndexD(final DoubleList list) {
+        return (list != null) ? list.maxIndex() : -1;
+    }
+
+    /**
+     * 获取集合中最小值
+     * @param list 集合
+     * @return 最小值, 为空返回 0
+     */
+    public static double getMinimumD(final DoubleList list) {
+        return (list != null) ? list.min() : 0;
+    }
+
+    /**
+     * 获取集合中最大值
+     * @param list 集合
+     * @return 最大值, 为空返回 0
+     */
+    public static double getMaximumD(final DoubleList list) {
+        return (list != null) ? list.max() : 0;
+    }
+
+    /**
+     * 计算集合总和
+     * @param lists 集合
+     * @return 集合总和
+     */
+    public static double sumlistD(final DoubleList lists) {
+        return (lists != null) ? lists.sum() : 0;
+    }
+
     // ============
     // = 内部实现类 =
     // ============
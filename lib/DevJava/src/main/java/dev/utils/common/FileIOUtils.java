@@ -4,6 +4,7 @@ import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -16,8 +17,16 @@ import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
 import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import dev.utils.DevFinal;
 import dev.utils.JCLogUtils;
@@ -802,6 +811,19 @@ public final class FileIOUtils {
     ) {
         if (inputStream == null || outputStream == null) return -1L;
         try {
+            // 普通文件之间使用 FileChannel 零拷贝传输
+            if (inputStream instanceof FileInputStream && outputStream instanceof FileOutputStream) {
+                FileChannel inChannel = ((FileInputStream) inputStream).getChannel();
+                long        position  = filePosition(inChannel);
+                if (position >= 0L) {
+                    FileChannel outChannel = ((FileOutputStream) outputStream).getChannel();
+                    long        count      = transferTo(
+                            inChannel, position, inChannel.size() - position, outChannel
+                    );
+                    inChannel.position(position + count);
+                    return count;
+                }
+            }
             byte[] data  = new byte[sBufferSize];
             long   count = 0;
             int    n;
@@ -817,4 +839,677 @@ public final class FileIOUtils {
         }
         return -1L;
     }
-}
\ No newline at end of file
+
+    /**
+     * 获取普通文件 FileChannel 当前读取位置
+     * <pre>
+     *     管道、FIFO、/dev/stdin 等非普通文件 size() 为 0 或不支持定位, 无法使用 transferTo
+     * </pre>
+     * @param channel {@link FileChannel}
+     * @return 当前读取位置, 非普通文件或无剩余数据返回 -1
+     */
+    private static long filePosition(final FileChannel channel) {
+        try {
+            long position = channel.position();
+            return (channel.size() > position) ? position : -1L;
+        } catch (IOException e) {
+            return -1L;
+        }
+    }
+
+    // ===========
+    // = 大文件读取 =
+    // ===========
+
+    // 内存映射窗口大小 ( 64MB )
+    private static final int MAP_WINDOW_SIZE = 64 * 1024 * 1024;
+
+    /**
+     * 获取文件逐行读取迭代器 ( 内存映射窗口, 内存占用恒定 )
+     * <pre>
+     *     按 '\n' 分行并去除行尾 '\r', 与 {@link BufferedReader#readLine()} 一致
+     *     仅支持兼容 ASCII 换行符的编码 ( 如 UTF-8、GBK、ISO-8859-1 ), 不支持 UTF-16
+     *     使用完毕需调用 {@link MappedLineIterator#close()}
+     * </pre>
+     * @param file        文件
+     * @param charsetName 字符编码 ( 为 null 则使用 UTF-8 )
+     * @return {@link MappedLineIterator}
+     */
+    public static MappedLineIterator lineIterator(
+            final File file,
+            final String charsetName
+    ) {
+        if (!FileUtils.isFileExists(file)) return null;
+        try {
+            Charset charset = StringUtils.isEmpty(charsetName)
+                    ? Charset.forName(DevFinal.ENCODE.UTF_8) : Charset.forName(charsetName);
+            return new MappedLineIterator(
+                    new RandomAccessFile(file, "r").getChannel(), charset, MAP_WINDOW_SIZE
+            );
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "lineIterator");
+            return null;
+        }
+    }
+
+    /**
+     * 逐行读取文件 ( 内存映射窗口, 内存占用恒定 )
+     * <pre>
+     *     读取结束、回调返回 false 或读取异常时自动关闭文件
+     * </pre>
+     * @param file        文件
+     * @param charsetName 字符编码 ( 为 null 则使用 UTF-8 )
+     * @param callback    逐行读取回调
+     * @return 已回调行数, 失败返回 -1
+     */
+    public static long forEachLine(
+            final File file,
+            final String charsetName,
+            final LineCallback callback
+    ) {
+        if (callback == null) return -1L;
+        MappedLineIterator iterator = lineIterator(file, charsetName);
+        if (iterator == null) return -1L;
+        long count = 0L;
+        try {
+            while (iterator.hasNext()) {
+                count++;
+                if (!callback.onLine(iterator.next())) break;
+            }
+            return count;
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "forEachLine");
+            return -1L;
+        } finally {
+            iterator.close();
+        }
+    }
+
+    /**
+     * 并行统计文件行数 ( 内存映射分段统计 '\n' 数量 )
+     * <pre>
+     *     最后一行无换行符也计为一行, 空文件返回 0
+     * </pre>
+     * @param file        文件
+     * @param parallelism 并行数量
+     * @return 文件行数, 失败返回 -1
+     */
+    public static long countLinesByMap(
+            final File file,
+            final int parallelism
+    ) {
+        if (!FileUtils.isFileExists(file)) return -1L;
+        RandomAccessFile   raf     = null;
+        List<Future<Long>> futures = null;
+        try {
+            raf = new RandomAccessFile(file, "r");
+            final FileChannel channel = raf.getChannel();
+            final long        size    = channel.size();
+            if (size == 0L) return 0L;
+            int  threads = (int) Math.max(1L, Math.min(Math.max(1, parallelism), size / MAP_WINDOW_SIZE + 1));
+            long segment = size / threads;
+            futures = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                final long start = segment * i;
+                final long end   = (i == threads - 1) ? size : start + segment;
+                futures.add(ParallelExecutor.INSTANCE.submit(() -> countNewLines(channel, start, end)));
+            }
+            long count = 0L;
+            for (Future<Long> future : futures) {
+                count += future.get();
+            }
+            // 最后一行无换行符
+            ByteBuffer last = ByteBuffer.allocate(1);
+            channel.read(last, size - 1);
+            if (last.get(0) != '\n') count++;
+            return count;
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "countLinesByMap");
+            return -1L;
+        } finally {
+            cancelAll(futures);
+            CloseUtils.closeIOQuietly(raf);
+        }
+    }
+
+    /**
+     * 统计指定区间 '\n' 数量
+     * @param channel FileChannel
+     * @param start   开始位置
+     * @param end     结束位置
+     * @return '\n' 数量
+     * @throws IOException 读取异常
+     */
+    private static long countNewLines(
+            final FileChannel channel,
+            final long start,
+            final long end
+    )
+            throws IOException {
+        long count    = 0L;
+        long position = start;
+        while (position < end) {
+            int              size   = (int) Math.min(MAP_WINDOW_SIZE, end - position);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+            for (int i = 0; i < size; i++) {
+                if (buffer.get(i) == '\n') count++;
+            }
+            position += size;
+        }
+        return count;
+    }
+
+    /**
+     * 读取文件指定区间数据
+     * @param file     文件
+     * @param position 开始位置
+     * @param length   读取长度 ( 超出文件结尾则读取到结尾 )
+     * @return 指定区间数据
+     */
+    public static byte[] readFileRange(
+            final File file,
+            final long position,
+            final int length
+    ) {
+        if (!FileUtils.isFileExists(file) || position < 0L || length < 0) return null;
+        RandomAccessFile raf = null;
+        try {
+            raf = new RandomAccessFile(file, "r");
+            FileChannel channel = raf.getChannel();
+            long        size    = channel.size();
+            if (position > size) return null;
+            int        count  = (int) Math.min(length, size - position);
+            ByteBuffer buffer = ByteBuffer.allocate(count);
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position + buffer.position());
+                if (read < 0) break;
+            }
+            return buffer.array();
+        } catch (IOException e) {
+            JCLogUtils.eTag(TAG, e, "readFileRange");
+            return null;
+        } finally {
+            CloseUtils.closeIOQuietly(raf);
+        }
+    }
+
+    /**
+     * detail: 逐行读取回调
+     * @author Ttt
+     */
+    public interface LineCallback {
+
+        /**
+         * 读取到一行
+         * @param line 行内容 ( 不含换行符 )
+         * @return {@code true} 继续读取, {@code false} 停止读取
+         */
+        boolean onLine(String line);
+    }
+
+    /**
+     * detail: 内存映射逐行读取迭代器
+     * @author Ttt
+     * <pre>
+     *     每次只映射一个窗口, 行跨越窗口时从行首重新映射, 超长行自动扩大窗口
+     * </pre>
+     */
+    public static final class MappedLineIterator
+            implements Iterator<String>, Closeable {
+
+        // 文件 FileChannel
+        private final FileChannel      mChannel;
+        // 字符编码
+        private final Charset          mCharset;
+        // 文件大小
+        private final long             mFileSize;
+        // 映射窗口大小
+        private final int              mWindowSize;
+        // 当前映射窗口
+        private       MappedByteBuffer mWindow;
+        // 当前映射窗口开始位置
+        private       long             mWindowStart;
+        // 下一行开始位置
+        private       long             mPosition;
+        // 下一行内容
+        private       String           mNextLine;
+        // 行数据缓存
+        private       byte[]           mLineBytes = new byte[256];
+        // 是否已关闭
+        private       boolean          mClosed;
+
+        /**
+         * 构造函数
+         * @param channel    文件 FileChannel
+         * @param charset    字符编码
+         * @param windowSize 映射窗口大小
+         * @throws IOException 读取异常
+         */
+        MappedLineIterator(
+                final FileChannel channel,
+                final Charset charset,
+                final int windowSize
+        )
+                throws IOException {
+            this.mChannel    = channel;
+            this.mCharset    = charset;
+            this.mFileSize   = channel.size();
+            this.mWindowSize = windowSize;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (mNextLine != null) return true;
+            if (mClosed) return false;
+            try {
+                mNextLine = readLine();
+            } catch (IOException e) {
+                close();
+                throw new IllegalStateException("read line failed", e);
+            }
+            if (mNextLine == null) close();
+            return mNextLine != null;
+        }
+
+        @Override
+        public String next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            String line = mNextLine;
+            mNextLine = null;
+            return line;
+        }
+
+        @Override
+        public void close() {
+            if (mClosed) return;
+            mClosed = true;
+            mWindow = null;
+            CloseUtils.closeIOQuietly(mChannel);
+        }
+
+        /**
+         * 读取下一行
+         * @return 行内容, 无数据返回 null
+         * @throws IOException 读取异常
+         */
+        private String readLine()
+                throws IOException {
+            if (mPosition >= mFileSize) return null;
+            int size = mWindowSize;
+            while (true) {
+                long windowEnd = (mWindow != null) ? mWindowStart + mWindow.limit() : -1L;
+                if (mWindow == null || mPosition < mWindowStart || mPosition >= windowEnd) {
+                    map(mPosition, size);
+                    windowEnd = mWindowStart + mWindow.limit();
+                }
+                int from  = (int) (mPosition - mWindowStart);
+                int limit = mWindow.limit();
+                int index = from;
+                while (index < limit && mWindow.get(index) != '\n') {
+                    index++;
+                }
+                if (index < limit || windowEnd >= mFileSize) {
+                    // 找到换行符或已到文件结尾
+                    String line = decode(from, index);
+                    mPosition = mWindowStart + Math.min(index + 1, limit);
+                    return line;
+                }
+                if (from == 0) {
+                    // 单行超过窗口大小, 扩大窗口
+                    size = (int) Math.min(Integer.MAX_VALUE - 8L, (long) mWindow.limit() * 2L);
+                    if (size <= mWindow.limit()) throw new IOException("line too long");
+                }
+                // 从行首重新映射
+                mWindow = null;
+            }
+        }
+
+        /**
+         * 映射窗口
+         * @param position 开始位置
+         * @param size     窗口大小
+         * @throws IOException 映射异常
+         */
+        private void map(
+                final long position,
+                final int size
+        )
+                throws IOException {
+            int length = (int) Math.min(size, mFileSize - position);
+            mWindow      = mChannel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            mWindowStart = position;
+        }
+
+        /**
+         * 解码行数据 ( 去除行尾 '\r' )
+         * @param from 开始索引
+         * @param to   结束索引 ( 不包含 )
+         * @return 行内容
+         */
+        private String decode(
+                final int from,
+                int to
+        ) {
+            if (to > from && mWindow.get(to - 1) == '\r') to--;
+            int length = to - from;
+            if (length > mLineBytes.length) {
+                mLineBytes = new byte[Math.max(length, mLineBytes.length * 2)];
+            }
+            ByteBuffer duplicate = mWindow.duplicate();
+            duplicate.position(from);
+            duplicate.get(mLineBytes, 0, length);
+            return new String(mLineBytes, 0, length, mCharset);
+        }
+    }
+
+    // ==========
+    // = 文件复制 =
+    // ==========
+
+    /**
+     * detail: 文件复制策略
+     * @author Ttt
+     * <pre>
+     *     {@link #CHANNEL} FileChannel#transferTo 零拷贝 ( 由内核完成数据传输, 不经过用户态 byte[] )
+     *     {@link #STREAM} byte[] 缓冲流复制
+     *     {@link #AUTO} 优先零拷贝, 失败则使用缓冲流复制 ( 默认 )
+     *     {@link #parallel(long, int)} 超过阈值的文件分段并行复制
+     * </pre>
+     */
+    public interface CopyStrategy {
+
+        /**
+         * 复制文件
+         * @param srcFile  源文件
+         * @param destFile 目标文件 ( 存在则覆盖 )
+         * @return 复制字节数
+         * @throws IOException 复制异常
+         */
+        long copy(
+                File srcFile,
+                File destFile
+        )
+                throws IOException;
+
+        // FileChannel 零拷贝复制
+        CopyStrategy CHANNEL = FileIOUtils::copyByChannel;
+
+        // byte[] 缓冲流复制
+        CopyStrategy STREAM = FileIOUtils::copyByStream;
+
+        // 优先零拷贝, 失败则使用缓冲流复制
+        CopyStrategy AUTO = (srcFile, destFile) -> {
+            try {
+                return copyByChannel(srcFile, destFile);
+            } catch (IOException e) {
+                JCLogUtils.eTag(TAG, e, "CopyStrategy.AUTO");
+                return copyByStream(srcFile, destFile);
+            }
+        };
+
+        /**
+         * 分段并行复制策略 ( 适用于多 GB 大文件 )
+         * @param threshold    文件大小超过该值才分段并行复制, 否则使用 {@link #AUTO}
+         * @param segmentCount 分段数量 ( 并行线程数 )
+         * @return {@link CopyStrategy}
+         */
+        static CopyStrategy parallel(
+                final long threshold,
+                final int segmentCount
+        ) {
+            return (srcFile, destFile) -> {
+                if (segmentCount <= 1 || srcFile.length() < threshold) {
+                    return AUTO.copy(srcFile, destFile);
+                }
+                return copyByParallel(srcFile, destFile, segmentCount);
+            };
+        }
+    }
+
+    // 文件复制策略
+    private static volatile CopyStrategy sCopyStrategy = CopyStrategy.AUTO;
+
+    /**
+     * 设置文件复制策略
+     * @param copyStrategy {@link CopyStrategy}
+     */
+    public static void setCopyStrategy(final CopyStrategy copyStrategy) {
+        sCopyStrategy = (copyStrategy != null) ? copyStrategy : CopyStrategy.AUTO;
+    }
+
+    /**
+     * 获取文件复制策略
+     * @return {@link CopyStrategy}
+     */
+    public static CopyStrategy getCopyStrategy() {
+        return sCopyStrategy;
+    }
+
+    /**
+     * 复制文件 ( 使用 {@link #setCopyStrategy(CopyStrategy)} 策略, 目标文件存在则覆盖 )
+     * @param srcFile  源文件
+     * @param destFile 目标文件
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean copyFile(
+            final File srcFile,
+            final File destFile
+    ) {
+        return copyFile(srcFile, destFile, sCopyStrategy);
+    }
+
+    /**
+     * 复制文件 ( 目标文件存在则覆盖 )
+     * @param srcFile      源文件
+     * @param destFile     目标文件
+     * @param copyStrategy {@link CopyStrategy}
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean copyFile(
+            final File srcFile,
+            final File destFile,
+            final CopyStrategy copyStrategy
+    ) {
+        if (!FileUtils.isFile(srcFile) || destFile == null) return false;
+        if (!FileUtils.createOrExistsDir(destFile.getParentFile())) return false;
+        try {
+            CopyStrategy strategy = (copyStrategy != null) ? copyStrategy : CopyStrategy.AUTO;
+            return strategy.copy(srcFile, destFile) == srcFile.length();
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "copyFile");
+            return false;
+        }
+    }
+
+    /**
+     * 通过 FileChannel 传输指定区间数据
+     * <pre>
+     *     transferTo 单次调用可能只传输部分数据, 需循环直到传输完成
+     * </pre>
+     * @param inChannel  读取 FileChannel
+     * @param position   读取开始位置
+     * @param count      传输字节数
+     * @param outChannel 写入 Channel ( 从当前位置写入 )
+     * @return 实际传输字节数
+     * @throws IOException 传输异常
+     */
+    public static long transferTo(
+            final FileChannel inChannel,
+            final long position,
+            final long count,
+            final WritableByteChannel outChannel
+    )
+            throws IOException {
+        long transferred = 0L;
+        while (transferred < count) {
+            long n = inChannel.transferTo(
+                    position + transferred, count - transferred, outChannel
+            );
+            if (n <= 0L) break; // 已读取到文件结尾
+            transferred += n;
+        }
+        return transferred;
+    }
+
+    /**
+     * 通过 FileChannel 零拷贝复制文件
+     * @param srcFile  源文件
+     * @param destFile 目标文件
+     * @return 复制字节数
+     * @throws IOException 复制异常
+     */
+    private static long copyByChannel(
+            final File srcFile,
+            final File destFile
+    )
+            throws IOException {
+        FileInputStream  fis = null;
+        FileOutputStream fos = null;
+        try {
+            fis = new FileInputStream(srcFile);
+            fos = new FileOutputStream(destFile);
+            FileChannel inChannel = fis.getChannel();
+            return transferTo(inChannel, 0L, inChannel.size(), fos.getChannel());
+        } finally {
+            CloseUtils.closeIOQuietly(fos, fis);
+        }
+    }
+
+    /**
+     * 通过缓冲流复制文件
+     * @param srcFile  源文件
+     * @param destFile 目标文件
+     * @return 复制字节数
+     * @throws IOException 复制异常
+     */
+    private static long copyByStream(
+            final File srcFile,
+            final File destFile
+    )
+            throws IOException {
+        InputStream  is = null;
+        OutputStream os = null;
+        try {
+            is = new FileInputStream(srcFile);
+            os = new FileOutputStream(destFile);
+            byte[] data  = new byte[sBufferSize];
+            long   count = 0;
+            int    n;
+            while (EOF != (n = is.read(data))) {
+                os.write(data, 0, n);
+                count += n;
+            }
+            return count;
+        } finally {
+            CloseUtils.closeIOQuietly(os, is);
+        }
+    }
+
+    /**
+     * 分段并行复制文件
+     * <pre>
+     *     预先设置目标文件大小, 每个分段独立打开 FileChannel 定位写入, 互不影响
+     * </pre>
+     * @param srcFile      源文件
+     * @param destFile     目标文件
+     * @param segmentCount 分段数量
+     * @return 复制字节数
+     * @throws IOException 复制异常
+     */
+    private static long copyByParallel(
+            final File srcFile,
+            final File destFile,
+            final int segmentCount
+    )
+            throws IOException {
+        final long length = srcFile.length();
+        RandomAccessFile destRaf = new RandomAccessFile(destFile, "rw");
+        try {
+            destRaf.setLength(length);
+        } finally {
+            CloseUtils.closeIOQuietly(destRaf);
+        }
+        final long         segmentLength = length / segmentCount;
+        List<Future<Long>> futures       = new ArrayList<>(segmentCount);
+        try {
+            for (int i = 0; i < segmentCount; i++) {
+                final long start = segmentLength * i;
+                final long count = (i == segmentCount - 1) ? length - start : segmentLength;
+                futures.add(ParallelExecutor.INSTANCE.submit(
+                        () -> copySegment(srcFile, destFile, start, count)
+                ));
+            }
+            long total = 0L;
+            for (Future<Long> future : futures) {
+                total += future.get();
+            }
+            return total;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) throw (IOException) cause;
+            throw new IOException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } finally {
+            // 失败时取消其余分段
+            cancelAll(futures);
+        }
+    }
+
+    /**
+     * detail: 分段并行读写共享线程池
+     * @author Ttt
+     * <pre>
+     *     守护线程, 空闲 60 秒后回收, 避免每次调用创建新线程池
+     * </pre>
+     */
+    private static final class ParallelExecutor {
+
+        private static final ExecutorService INSTANCE = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "FileIOUtils-Parallel");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 取消全部未完成任务
+     * @param futures 任务集合
+     */
+    private static void cancelAll(final List<Future<Long>> futures) {
+        if (futures == null) return;
+        for (Future<Long> future : futures) {
+            future.cancel(true);
+        }
+    }
+
+    /**
+     * 复制文件指定区间到目标文件相同位置
+     * @param srcFile  源文件
+     * @param destFile 目标文件
+     * @param start    开始位置
+     * @param count    复制字节数
+     * @return 复制字节数
+     * @throws IOException 复制异常
+     */
+    private static long copySegment(
+            final File srcFile,
+            final File destFile,
+            final long start,
+            final long count
+    )
+            throws IOException {
+        FileInputStream  fis     = null;
+        RandomAccessFile destRaf = null;
+        try {
+            fis     = new FileInputStream(srcFile);
+            destRaf = new RandomAccessFile(destFile, "rw");
+            FileChannel outChannel = destRaf.getChannel();
+            outChannel.position(start);
+            return transferTo(fis.getChannel(), start, count, outChannel);
+        } finally {
+            CloseUtils.closeIOQuietly(destRaf, fis);
+        }
+    }
+}
@@ -6,13 +6,11 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileFilter;
 import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.FilenameFilter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.OutputStream;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.text.DecimalFormat;
@@ -1450,6 +1448,30 @@ public final class FileUtils {
             return false;
         }
         File destFile = new File(destFilePath);
+        if (!prepareCopyDestFile(destFile, overlay)) {
+            CloseUtils.closeIOQuietly(inputStream);
+            return false;
+        }
+        // 复制文件 ( 文件流之间自动使用 FileChannel 零拷贝 )
+        try {
+            return FileIOUtils.copyLarge(inputStream, new FileOutputStream(destFile)) != -1L;
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "copyFile");
+            CloseUtils.closeIOQuietly(inputStream);
+            return false;
+        }
+    }
+
+    /**
+     * 复制单个文件前处理目标文件
+     * @param destFile 目标文件
+     * @param overlay  如果目标文件存在, 是否覆盖
+     * @return {@code true} 可写入目标文件, {@code false} 不可写入
+     */
+    private static boolean prepareCopyDestFile(
+            final File destFile,
+            final boolean overlay
+    ) {
         // 如果属于文件夹则跳过
         if (destFile.isDirectory()) {
             return false;
@@ -1472,23 +1494,7 @@ public final class FileUtils {
                 }
             }
         }
-        // 复制文件
-        int          len; // 读取的字节数
-        InputStream  is = inputStream;
-        OutputStream os = null;
-        try {
-            os = new FileOutputStream(destFile);
-            byte[] buffer = new byte[1024];
-            while ((len = is.read(buffer)) != -1) {
-                os.write(buffer, 0, len);
-            }
-            return true;
-        } catch (Exception e) {
-            JCLogUtils.eTag(TAG, e, "copyFile");
-            return false;
-        } finally {
-            CloseUtils.closeIOQuietly(os, is);
-        }
+        return true;
     }
 
     /**
@@ -1505,10 +1511,10 @@ public final class FileUtils {
     ) {
         if (destFilePath == null) return false;
         if (!FileUtils.isFile(srcFilePath)) return false;
-        return copyFile(
-                FileIOUtils.getFileInputStream(srcFilePath),
-                destFilePath, overlay
-        );
+        File destFile = new File(destFilePath);
+        if (!prepareCopyDestFile(destFile, overlay)) return false;
+        // 文件之间复制使用 FileIOUtils 复制策略 ( 默认 FileChannel 零拷贝 )
+        return FileIOUtils.copyFile(new File(srcFilePath), destFile);
     }
 
     /**
@@ -1768,14 +1774,8 @@ public final class FileUtils {
         }
         // 目标目录不存在返回 false
         if (!createOrExistsDir(destFile.getParentFile())) return false;
-        try {
-            return FileIOUtils.writeFileFromIS(
-                    destFile, new FileInputStream(srcFile), false
-            ) && !(isMove && !deleteFile(srcFile));
-        } catch (FileNotFoundException e) {
-            JCLogUtils.eTag(TAG, e, "copyOrMoveFile");
-            return false;
-        }
+        return FileIOUtils.copyFile(srcFile, destFile)
+                && !(isMove && !deleteFile(srcFile));
     }
 
     /**
@@ -8,6 +8,7 @@ import java.util.regex.Pattern;
 
 import dev.utils.DevFinal;
 import dev.utils.JCLogUtils;
+import dev.utils.common.assist.KeywordMatcher;
 
 /**
  * detail: 字符串工具类
@@ -587,6 +588,20 @@ public final class StringUtils {
         return -1;
     }
 
+    /**
+     * 统计字符串匹配个数 ( 多关键字单次遍历 )
+     * @param str     待匹配字符串
+     * @param matcher 已编译的关键字 {@link KeywordMatcher}
+     * @return 字符串关键字匹配个数
+     */
+    public static int countMatches(
+            final String str,
+            final KeywordMatcher matcher
+    ) {
+        if (isEmpty(str) || matcher == null) return 0;
+        return matcher.count(str);
+    }
+
     // ==========
     // = 其他处理 =
     // ==========
@@ -2135,6 +2150,43 @@ public final class StringUtils {
         return null;
     }
 
+    /**
+     * 替换字符串 ( 纯文本匹配, 单次遍历同时替换 )
+     * <pre>
+     *     与 {@link #replaceAlls(String, String[], String[])} 不同, 匹配内容不作为正则处理
+     *     且替换后的内容不会再次被替换, 重复使用相同关键字可使用 {@link #replaceAll(String, KeywordMatcher)}
+     * </pre>
+     * @param str           待处理字符串
+     * @param suffixArrays  匹配判断字符串数组
+     * @param replaceArrays 准备替换的字符串数组
+     * @return 处理后的字符串
+     */
+    public static String replaceEach(
+            final String str,
+            final String[] suffixArrays,
+            final String[] replaceArrays
+    ) {
+        if (str != null && suffixArrays != null && replaceArrays != null
+                && suffixArrays.length == replaceArrays.length) {
+            return KeywordMatcher.compile(suffixArrays, replaceArrays, false).replace(str);
+        }
+        return null;
+    }
+
+    /**
+     * 替换字符串 ( 替换为编译时传入的替换内容 )
+     * @param str     待处理字符串
+     * @param matcher 已编译的关键字 {@link KeywordMatcher}
+     * @return 处理后的字符串
+     */
+    public static String replaceAll(
+            final String str,
+            final KeywordMatcher matcher
+    ) {
+        if (isEmpty(str) || matcher == null) return str;
+        return matcher.replace(str);
+    }
+
     /**
      * 拆分字符串
      * @param str   待处理字符串
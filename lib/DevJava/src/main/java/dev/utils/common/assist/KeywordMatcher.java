@@ -0,0 +1,945 @@
+package dev.utils.common.assist;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import dev.utils.JCLogUtils;
+
+/**
+ * detail: 多关键字匹配 ( Aho-Corasick 自动机 )
+ * @author Ttt
+ * <pre>
+ *     关键字按纯文本匹配 ( 非正则 ), 编译一次后可重复使用、多线程共享
+ *     不论关键字数量多少, 查找、统计、替换都只遍历一次文本
+ *     <p></p>
+ *     非重叠匹配 ( 统计、替换 ) 按最左最长规则选择:
+ *     起始位置最靠前的优先, 起始位置相同则最长的优先, 匹配后从匹配结束位置继续
+ *     替换为同时替换 ( 替换后的内容不会再次匹配 ), 与多次调用 {@link String#replace} 依次替换不同
+ *     <p></p>
+ *     支持 {@link CharSequence} 及 {@link Reader} 流式输入, 流式替换只缓存最长关键字长度的字符
+ *     <p></p>
+ *     使用示例
+ *     KeywordMatcher matcher = KeywordMatcher.compile(true, "password", "token");
+ *     String         result  = matcher.mask(text, '*');
+ * </pre>
+ */
+public final class KeywordMatcher {
+
+    // 日志 TAG
+    private static final String TAG = KeywordMatcher.class.getSimpleName();
+
+    // 根节点 ASCII 字符直接跳转表大小
+    private static final int ROOT_TABLE_SIZE = 128;
+
+    // 是否忽略大小写
+    private final boolean  mIgnoreCase;
+    // 关键字 ( 下标与传入顺序一致 )
+    private final String[] mKeywords;
+    // 替换内容 ( 下标与关键字一致, 可为 null )
+    private final String[] mReplaces;
+    // 最长关键字长度
+    private final int      mMaxLength;
+
+    // 各状态子节点起始下标 ( 子节点按字符升序存储在 mLabels、mTargets 中 )
+    private final int[]  mEdgeStart;
+    // 子节点字符
+    private final char[] mLabels;
+    // 子节点状态
+    private final int[]  mTargets;
+    // 失败跳转状态
+    private final int[]  mFail;
+    // 状态深度 ( 已匹配字符数 )
+    private final int[]  mDepth;
+    // 状态对应的关键字下标 ( -1 表示非关键字结尾 )
+    private final int[]  mOutput;
+    // 失败链上下一个关键字结尾状态 ( -1 表示无 )
+    private final int[]  mDictLink;
+    // 根节点 ASCII 字符直接跳转表
+    private final int[]  mRootTable;
+
+    private KeywordMatcher(
+            final String[] keywords,
+            final String[] replaces,
+            final boolean ignoreCase
+    ) {
+        this.mIgnoreCase = ignoreCase;
+        this.mKeywords   = keywords;
+        this.mReplaces   = replaces;
+
+        // 构建字典树
+        Map<Long, Integer> edges     = new HashMap<>();
+        List<Integer>      outputs   = new ArrayList<>();
+        List<Integer>      depths    = new ArrayList<>();
+        int                maxLength = 0;
+        outputs.add(-1);
+        depths.add(0);
+        for (int i = 0; i < keywords.length; i++) {
+            String keyword = keywords[i];
+            if (keyword == null || keyword.length() == 0) continue;
+            int state = 0;
+            for (int j = 0, len = keyword.length(); j < len; j++) {
+                long    edge = ((long) state << 16) | fold(keyword.charAt(j), ignoreCase);
+                Integer next = edges.get(edge);
+                if (next == null) {
+                    next = outputs.size();
+                    edges.put(edge, next);
+                    outputs.add(-1);
+                    depths.add(j + 1);
+                }
+                state = next;
+            }
+            // 重复关键字保留第一个
+            if (outputs.get(state) < 0) outputs.set(state, i);
+            maxLength = Math.max(maxLength, keyword.length());
+        }
+        this.mMaxLength = maxLength;
+
+        // 子节点按状态、字符排序后顺序存储
+        final int stateCount = outputs.size();
+        long[]    sortEdges  = new long[edges.size()];
+        int       index      = 0;
+        for (Long edge : edges.keySet()) {
+            sortEdges[index++] = edge;
+        }
+        Arrays.sort(sortEdges);
+        mEdgeStart = new int[stateCount + 1];
+        mLabels    = new char[sortEdges.length];
+        mTargets   = new int[sortEdges.length];
+        for (int i = 0; i < sortEdges.length; i++) {
+            long edge = sortEdges[i];
+            mLabels[i]  = (char) (edge & 0xFFFF);
+            mTargets[i] = edges.get(edge);
+            mEdgeStart[(int) (edge >>> 16) + 1]++;
+        }
+        for (int i = 0; i < stateCount; i++) {
+            mEdgeStart[i + 1] += mEdgeStart[i];
+        }
+        mDepth  = new int[stateCount];
+        mOutput = new int[stateCount];
+        for (int i = 0; i < stateCount; i++) {
+            mDepth[i]  = depths.get(i);
+            mOutput[i] = outputs.get(i);
+        }
+        mRootTable = new int[ROOT_TABLE_SIZE];
+        for (int i = mEdgeStart[0]; i < mEdgeStart[1]; i++) {
+            if (mLabels[i] < ROOT_TABLE_SIZE) mRootTable[mLabels[i]] = mTargets[i];
+        }
+
+        // 广度优先计算失败跳转
+        mFail     = new int[stateCount];
+        mDictLink = new int[stateCount];
+        mDictLink[0] = -1;
+        int[] queue = new int[stateCount];
+        int   head  = 0, tail = 0;
+        for (int i = mEdgeStart[0]; i < mEdgeStart[1]; i++) {
+            mFail[mTargets[i]]     = 0;
+            mDictLink[mTargets[i]] = -1;
+            queue[tail++]          = mTargets[i];
+        }
+        while (head < tail) {
+            int state = queue[head++];
+            for (int i = mEdgeStart[state]; i < mEdgeStart[state + 1]; i++) {
+                int target = mTargets[i];
+                int fail   = next(mFail[state], mLabels[i]);
+                mFail[target]     = fail;
+                mDictLink[target] = (mOutput[fail] >= 0) ? fail : mDictLink[fail];
+                queue[tail++]     = target;
+            }
+        }
+    }
+
+    // ==========
+    // = 编译处理 =
+    // ==========
+
+    /**
+     * 编译关键字 ( 区分大小写 )
+     * @param keywords 关键字 ( null、"" 忽略 )
+     * @return {@link KeywordMatcher}
+     */
+    public static KeywordMatcher compile(final String... keywords) {
+        return compile(false, keywords);
+    }
+
+    /**
+     * 编译关键字
+     * @param ignoreCase 是否忽略大小写
+     * @param keywords   关键字 ( null、"" 忽略 )
+     * @return {@link KeywordMatcher}
+     */
+    public static KeywordMatcher compile(
+            final boolean ignoreCase,
+            final String... keywords
+    ) {
+        String[] array = (keywords != null) ? keywords.clone() : new String[0];
+        return new KeywordMatcher(array, new String[array.length], ignoreCase);
+    }
+
+    /**
+     * 编译关键字及对应替换内容
+     * @param keywords   关键字 ( null、"" 忽略 )
+     * @param replaces   替换内容 ( 长度需与关键字一致 )
+     * @param ignoreCase 是否忽略大小写
+     * @return {@link KeywordMatcher}, 长度不一致返回 null
+     */
+    public static KeywordMatcher compile(
+            final String[] keywords,
+            final String[] replaces,
+            final boolean ignoreCase
+    ) {
+        if (keywords == null || replaces == null || keywords.length != replaces.length) {
+            return null;
+        }
+        return new KeywordMatcher(keywords.clone(), replaces.clone(), ignoreCase);
+    }
+
+    /**
+     * 编译关键字及对应替换内容
+     * @param replaceMaps 关键字, 替换内容
+     * @param ignoreCase  是否忽略大小写
+     * @return {@link KeywordMatcher}
+     */
+    public static KeywordMatcher compile(
+            final Map<String, String> replaceMaps,
+            final boolean ignoreCase
+    ) {
+        int      size     = (replaceMaps != null) ? replaceMaps.size() : 0;
+        String[] keywords = new String[size];
+        String[] replaces = new String[size];
+        if (size != 0) {
+            int index = 0;
+            for (Map.Entry<String, String> entry : replaceMaps.entrySet()) {
+                keywords[index] = entry.getKey();
+                replaces[index] = entry.getValue();
+                index++;
+            }
+        }
+        return new KeywordMatcher(keywords, replaces, ignoreCase);
+    }
+
+    // =
+
+    /**
+     * 是否忽略大小写
+     * @return {@code true} yes, {@code false} no
+     */
+    public boolean isIgnoreCase() {
+        return mIgnoreCase;
+    }
+
+    /**
+     * 获取关键字数量 ( 包含 null、"" )
+     * @return 关键字数量
+     */
+    public int getKeywordCount() {
+        return mKeywords.length;
+    }
+
+    /**
+     * 获取关键字
+     * @param index 关键字下标
+     * @return 关键字
+     */
+    public String getKeyword(final int index) {
+        return mKeywords[index];
+    }
+
+    /**
+     * 获取最长关键字长度
+     * @return 最长关键字长度
+     */
+    public int getMaxLength() {
+        return mMaxLength;
+    }
+
+    // ==========
+    // = 匹配信息 =
+    // ==========
+
+    /**
+     * detail: 匹配信息
+     * @author Ttt
+     */
+    public static final class Match {
+
+        // 起始位置
+        private final long mStart;
+        // 结束位置 ( 不包含 )
+        private final long mEnd;
+        // 关键字下标
+        private final int  mIndex;
+
+        Match(
+                final long start,
+                final long end,
+                final int index
+        ) {
+            this.mStart = start;
+            this.mEnd   = end;
+            this.mIndex = index;
+        }
+
+        /**
+         * 获取起始位置
+         * @return 起始位置
+         */
+        public long getStart() {
+            return mStart;
+        }
+
+        /**
+         * 获取结束位置 ( 不包含 )
+         * @return 结束位置
+         */
+        public long getEnd() {
+            return mEnd;
+        }
+
+        /**
+         * 获取关键字下标
+         * @return 关键字下标
+         */
+        public int getIndex() {
+            return mIndex;
+        }
+
+        @Override
+        public String toString() {
+            return "[" + mStart + ", " + mEnd + ") #" + mIndex;
+        }
+    }
+
+    /**
+     * detail: 匹配回调
+     * @author Ttt
+     */
+    public interface OnMatchListener {
+
+        /**
+         * 匹配回调
+         * @param start 起始位置
+         * @param end   结束位置 ( 不包含 )
+         * @param index 关键字下标
+         * @return {@code true} 继续匹配, {@code false} 停止匹配
+         */
+        boolean onMatch(
+                long start,
+                long end,
+                int index
+        );
+    }
+
+    // ==========
+    // = 查找统计 =
+    // ==========
+
+    /**
+     * 是否包含任意关键字 ( 匹配到第一个即返回 )
+     * @param text 待匹配文本
+     * @return {@code true} yes, {@code false} no
+     */
+    public boolean contains(final CharSequence text) {
+        if (text == null) return false;
+        int state = 0;
+        for (int i = 0, len = text.length(); i < len; i++) {
+            state = next(state, fold(text.charAt(i), mIgnoreCase));
+            if (mOutput[state] >= 0 || mDictLink[state] >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 遍历匹配
+     * @param text        待匹配文本
+     * @param overlapping 是否包含重叠匹配 ( false 则按最左最长规则非重叠匹配 )
+     * @param listener    匹配回调
+     */
+    public void find(
+            final CharSequence text,
+            final boolean overlapping,
+            final OnMatchListener listener
+    ) {
+        if (text == null || listener == null) return;
+        Scanner scanner = overlapping ? new OverlapScanner(listener) : new Scanner(listener);
+        for (int i = 0, len = text.length(); i < len && !scanner.mStop; i++) {
+            scanner.next(text.charAt(i));
+        }
+        scanner.finish();
+    }
+
+    /**
+     * 获取全部匹配信息 ( 非重叠匹配 )
+     * @param text 待匹配文本
+     * @return 匹配信息集合
+     */
+    public List<Match> findAll(final CharSequence text) {
+        return findAll(text, false);
+    }
+
+    /**
+     * 获取全部匹配信息
+     * @param text        待匹配文本
+     * @param overlapping 是否包含重叠匹配
+     * @return 匹配信息集合
+     */
+    public List<Match> findAll(
+            final CharSequence text,
+            final boolean overlapping
+    ) {
+        final List<Match> lists = new ArrayList<>();
+        find(text, overlapping, (start, end, index) -> {
+            lists.add(new Match(start, end, index));
+            return true;
+        });
+        return lists;
+    }
+
+    /**
+     * 统计关键字匹配总数 ( 非重叠匹配 )
+     * @param text 待匹配文本
+     * @return 关键字匹配总数
+     */
+    public int count(final CharSequence text) {
+        final int[] count = new int[1];
+        find(text, false, (start, end, index) -> {
+            count[0]++;
+            return true;
+        });
+        return count[0];
+    }
+
+    /**
+     * 统计各关键字匹配数 ( 非重叠匹配 )
+     * @param text 待匹配文本
+     * @return 各关键字匹配数 ( 下标与关键字一致 )
+     */
+    public int[] countEach(final CharSequence text) {
+        final int[] counts = new int[mKeywords.length];
+        find(text, false, (start, end, index) -> {
+            counts[index]++;
+            return true;
+        });
+        return counts;
+    }
+
+    /**
+     * 统计关键字匹配总数 ( 非重叠匹配, 流式读取 )
+     * @param reader 待匹配文本流 ( 不关闭 )
+     * @return 关键字匹配总数, 读取失败返回 -1
+     */
+    public long count(final Reader reader) {
+        if (reader == null) return 0L;
+        final long[] count = new long[1];
+        Scanner scanner = new Scanner((start, end, index) -> {
+            count[0]++;
+            return true;
+        });
+        try {
+            char[] buffer = new char[8192];
+            int    length;
+            while ((length = reader.read(buffer)) != -1) {
+                for (int i = 0; i < length; i++) {
+                    scanner.next(buffer[i]);
+                }
+            }
+            scanner.finish();
+            return count[0];
+        } catch (IOException e) {
+            JCLogUtils.eTag(TAG, e, "count");
+        }
+        return -1L;
+    }
+
+    // ==========
+    // = 替换处理 =
+    // ==========
+
+    /**
+     * 替换为编译时传入的替换内容 ( 替换内容为 null 的关键字保持不变 )
+     * @param text 待处理文本
+     * @return 处理后的字符串
+     */
+    public String replace(final CharSequence text) {
+        return replace(text, null, '\0');
+    }
+
+    /**
+     * 全部关键字替换为同一内容
+     * @param text    待处理文本
+     * @param replace 替换的内容
+     * @return 处理后的字符串
+     */
+    public String replace(
+            final CharSequence text,
+            final String replace
+    ) {
+        if (replace == null) return (text != null) ? text.toString() : null;
+        return replace(text, replace, '\0');
+    }
+
+    /**
+     * 关键字逐字符替换为掩码字符 ( 长度不变 )
+     * @param text 待处理文本
+     * @param mask 掩码字符
+     * @return 处理后的字符串
+     */
+    public String mask(
+            final CharSequence text,
+            final char mask
+    ) {
+        return replace(text, null, mask);
+    }
+
+    /**
+     * 替换为编译时传入的替换内容 ( 流式读写 )
+     * @param reader 待处理文本流 ( 不关闭 )
+     * @param writer 输出流 ( 不关闭, 不 flush )
+     * @return 替换次数, 读写失败返回 -1
+     */
+    public long replace(
+            final Reader reader,
+            final Writer writer
+    ) {
+        return replace(reader, writer, null, '\0');
+    }
+
+    /**
+     * 全部关键字替换为同一内容 ( 流式读写 )
+     * @param reader  待处理文本流 ( 不关闭 )
+     * @param writer  输出流 ( 不关闭, 不 flush )
+     * @param replace 替换的内容
+     * @return 替换次数, 读写失败返回 -1
+     */
+    public long replace(
+            final Reader reader,
+            final Writer writer,
+            final String replace
+    ) {
+        if (replace == null) return -1L;
+        return replace(reader, writer, replace, '\0');
+    }
+
+    /**
+     * 关键字逐字符替换为掩码字符 ( 流式读写 )
+     * @param reader 待处理文本流 ( 不关闭 )
+     * @param writer 输出流 ( 不关闭, 不 flush )
+     * @param mask   掩码字符
+     * @return 替换次数, 读写失败返回 -1
+     */
+    public long mask(
+            final Reader reader,
+            final Writer writer,
+            final char mask
+    ) {
+        return replace(reader, writer, null, mask);
+    }
+
+    // ===========
+    // = 内部处理 =
+    // ===========
+
+    /**
+     * 大小写折叠
+     * @param ch         字符
+     * @param ignoreCase 是否忽略大小写
+     * @return 折叠后的字符
+     */
+    private static char fold(
+            final char ch,
+            final boolean ignoreCase
+    ) {
+        if (!ignoreCase) return ch;
+        if (ch < 128) {
+            return (ch >= 'A' && ch <= 'Z') ? (char) (ch + 32) : ch;
+        }
+        return Character.toLowerCase(Character.toUpperCase(ch));
+    }
+
+    /**
+     * 获取子节点状态
+     * @param state 当前状态
+     * @param ch    字符
+     * @return 子节点状态, 不存在返回 -1
+     */
+    private int child(
+            final int state,
+            final char ch
+    ) {
+        if (state == 0 && ch < ROOT_TABLE_SIZE) {
+            int target = mRootTable[ch];
+            return (target != 0) ? target : -1;
+        }
+        int low  = mEdgeStart[state];
+        int high = mEdgeStart[state + 1] - 1;
+        while (low <= high) {
+            int  mid   = (low + high) >>> 1;
+            char label = mLabels[mid];
+            if (label < ch) {
+                low = mid + 1;
+            } else if (label > ch) {
+                high = mid - 1;
+            } else {
+                return mTargets[mid];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 获取下一状态 ( 不存在子节点则沿失败跳转查找 )
+     * @param state 当前状态
+     * @param ch    字符 ( 已折叠 )
+     * @return 下一状态
+     */
+    private int next(
+            final int state,
+            final char ch
+    ) {
+        int current = state;
+        while (true) {
+            int target = child(current, ch);
+            if (target >= 0) return target;
+            if (current == 0) return 0;
+            current = mFail[current];
+        }
+    }
+
+    /**
+     * 替换处理
+     * @param text    待处理文本
+     * @param replace 统一替换内容 ( null 则使用编译时传入的替换内容或掩码字符 )
+     * @param mask    掩码字符 ( '\0' 表示不使用 )
+     * @return 处理后的字符串
+     */
+    private String replace(
+            final CharSequence text,
+            final String replace,
+            final char mask
+    ) {
+        if (text == null) return null;
+        final StringBuilder builder = new StringBuilder(text.length());
+        final int[]         last    = new int[1];
+        find(text, false, (start, end, index) -> {
+            String value = replacement(index, (int) (end - start), replace, mask);
+            if (value != null) {
+                builder.append(text, last[0], (int) start).append(value);
+                last[0] = (int) end;
+            }
+            return true;
+        });
+        if (last[0] == 0) return text.toString();
+        return builder.append(text, last[0], text.length()).toString();
+    }
+
+    /**
+     * 替换处理 ( 流式读写 )
+     * @param reader  待处理文本流
+     * @param writer  输出流
+     * @param replace 统一替换内容 ( null 则使用编译时传入的替换内容或掩码字符 )
+     * @param mask    掩码字符 ( '\0' 表示不使用 )
+     * @return 替换次数, 读写失败返回 -1
+     */
+    private long replace(
+            final Reader reader,
+            final Writer writer,
+            final String replace,
+            final char mask
+    ) {
+        if (reader == null || writer == null) return -1L;
+        try {
+            ReplaceScanner scanner = new ReplaceScanner(writer, replace, mask);
+            char[]         buffer  = new char[8192];
+            int            length;
+            while ((length = reader.read(buffer)) != -1) {
+                for (int i = 0; i < length; i++) {
+                    scanner.next(buffer[i]);
+                }
+            }
+            scanner.finish();
+            if (scanner.mException != null) throw scanner.mException;
+            return scanner.mCount;
+        } catch (IOException e) {
+            JCLogUtils.eTag(TAG, e, "replace");
+        }
+        return -1L;
+    }
+
+    /**
+     * 获取替换内容
+     * @param index   关键字下标
+     * @param length  匹配长度
+     * @param replace 统一替换内容
+     * @param mask    掩码字符
+     * @return 替换内容, null 表示不替换
+     */
+    private String replacement(
+            final int index,
+            final int length,
+            final String replace,
+            final char mask
+    ) {
+        if (replace != null) return replace;
+        if (mask != '\0') {
+            char[] chars = new char[length];
+            Arrays.fill(chars, mask);
+            return new String(chars);
+        }
+        return mReplaces[index];
+    }
+
+    /**
+     * detail: 非重叠匹配扫描 ( 最左最长 )
+     * @author Ttt
+     * <pre>
+     *     记录候选匹配, 当前状态可能的最早起始位置超过最优候选起始位置时确认该候选
+     *     确认后丢弃与其重叠的候选, 剩余候选继续参与选择
+     * </pre>
+     */
+    private class Scanner {
+
+        // 匹配回调
+        final OnMatchListener mListener;
+        // 当前状态
+        int     mState        = 0;
+        // 已处理字符数
+        long    mPosition     = 0L;
+        // 上一个确认匹配的结束位置
+        long    mLastEnd      = 0L;
+        // 候选匹配最早起始位置 ( -1 表示无候选 )
+        long    mPendingStart = -1L;
+        // 候选匹配起始位置
+        long[]  mStarts       = new long[4];
+        // 候选匹配结束位置
+        long[]  mEnds         = new long[4];
+        // 候选匹配关键字下标
+        int[]   mIndexs       = new int[4];
+        // 候选匹配数量
+        int     mSize         = 0;
+        // 是否停止
+        boolean mStop         = false;
+
+        Scanner(final OnMatchListener listener) {
+            this.mListener = listener;
+        }
+
+        /**
+         * 处理下一个字符
+         * @param ch 字符
+         */
+        void next(final char ch) {
+            if (mStop) return;
+            mState = KeywordMatcher.this.next(mState, fold(ch, mIgnoreCase));
+            long end = ++mPosition;
+            // 遍历以当前位置结尾的全部关键字
+            int state = (mOutput[mState] >= 0) ? mState : mDictLink[mState];
+            while (state >= 0) {
+                onOutput(end - mDepth[state], end, mOutput[state]);
+                state = mDictLink[state];
+            }
+            // 后续匹配的起始位置不会早于该位置
+            if (mSize != 0) commit(end - mDepth[mState]);
+        }
+
+        /**
+         * 关键字匹配处理
+         * @param start 起始位置
+         * @param end   结束位置
+         * @param index 关键字下标
+         */
+        void onOutput(
+                final long start,
+                final long end,
+                final int index
+        ) {
+            if (start < mLastEnd) return;
+            if (mSize == mStarts.length) {
+                mStarts = Arrays.copyOf(mStarts, mSize << 1);
+                mEnds   = Arrays.copyOf(mEnds, mSize << 1);
+                mIndexs = Arrays.copyOf(mIndexs, mSize << 1);
+            }
+            mStarts[mSize] = start;
+            mEnds[mSize]   = end;
+            mIndexs[mSize] = index;
+            mSize++;
+        }
+
+        /**
+         * 确认候选匹配
+         * @param earliest 后续匹配最早起始位置
+         */
+        void commit(final long earliest) {
+            while (mSize != 0 && !mStop) {
+                // 最左最长候选
+                int best = 0;
+                for (int i = 1; i < mSize; i++) {
+                    if (mStarts[i] < mStarts[best]
+                            || (mStarts[i] == mStarts[best] && mEnds[i] > mEnds[best])) {
+                        best = i;
+                    }
+                }
+                if (earliest <= mStarts[best]) {
+                    mPendingStart = mStarts[best];
+                    return;
+                }
+                long start = mStarts[best];
+                long end   = mEnds[best];
+                int  index = mIndexs[best];
+                mLastEnd = end;
+                // 丢弃与确认匹配重叠的候选
+                int size = 0;
+                for (int i = 0; i < mSize; i++) {
+                    if (mStarts[i] >= end) {
+                        mStarts[size] = mStarts[i];
+                        mEnds[size]   = mEnds[i];
+                        mIndexs[size] = mIndexs[i];
+                        size++;
+                    }
+                }
+                mSize = size;
+                if (!onMatch(start, end, index)) {
+                    mStop = true;
+                }
+            }
+            mPendingStart = -1L;
+        }
+
+        /**
+         * 匹配结束处理
+         */
+        void finish() {
+            if (mSize != 0) commit(Long.MAX_VALUE);
+        }
+
+        boolean onMatch(
+                final long start,
+                final long end,
+                final int index
+        ) {
+            return mListener.onMatch(start, end, index);
+        }
+    }
+
+    /**
+     * detail: 重叠匹配扫描
+     * @author Ttt
+     */
+    private final class OverlapScanner
+            extends Scanner {
+
+        OverlapScanner(final OnMatchListener listener) {
+            super(listener);
+        }
+
+        @Override
+        void onOutput(
+                final long start,
+                final long end,
+                final int index
+        ) {
+            if (!mStop && !onMatch(start, end, index)) {
+                mStop = true;
+            }
+        }
+    }
+
+    /**
+     * detail: 流式替换扫描
+     * @author Ttt
+     * <pre>
+     *     缓存可能属于关键字的字符, 确认不会被匹配的字符直接输出
+     * </pre>
+     */
+    private final class ReplaceScanner
+            extends Scanner {
+
+        // 输出流
+        private final Writer        mWriter;
+        // 统一替换内容
+        private final String        mReplace;
+        // 掩码字符
+        private final char          mMask;
+        // 未输出字符
+        private final StringBuilder mBuffer = new StringBuilder();
+        // 未输出字符起始位置
+        private       long          mBase   = 0L;
+        // 替换次数
+        private       long          mCount  = 0L;
+        // 写入异常
+        private       IOException   mException;
+
+        ReplaceScanner(
+                final Writer writer,
+                final String replace,
+                final char mask
+        ) {
+            super(null);
+            this.mWriter  = writer;
+            this.mReplace = replace;
+            this.mMask    = mask;
+        }
+
+        @Override
+        void next(final char ch) {
+            if (mStop) return;
+            mBuffer.append(ch);
+            super.next(ch);
+            // 早于该位置的字符不会再被匹配, 直接输出
+            long safe = mPosition - mDepth[mState];
+            if (mPendingStart >= 0 && mPendingStart < safe) safe = mPendingStart;
+            if (safe > mBase) write(safe);
+        }
+
+        @Override
+        void finish() {
+            super.finish();
+            if (!mStop) write(mPosition);
+        }
+
+        @Override
+        boolean onMatch(
+                final long start,
+                final long end,
+                final int index
+        ) {
+            String value = replacement(index, (int) (end - start), mReplace, mMask);
+            if (value == null) return true;
+            write(start);
+            try {
+                mWriter.write(value);
+            } catch (IOException e) {
+                mException = e;
+                return false;
+            }
+            mBuffer.delete(0, (int) (end - mBase));
+            mBase = end;
+            mCount++;
+            return true;
+        }
+
+        /**
+         * 输出缓存字符
+         * @param position 输出到该位置 ( 不包含 )
+         */
+        private void write(final long position) {
+            if (position <= mBase || mException != null) return;
+            int length = (int) (position - mBase);
+            try {
+                mWriter.append(mBuffer, 0, length);
+            } catch (IOException e) {
+                mException = e;
+                mStop      = true;
+                return;
+            }
+            mBuffer.delete(0, length);
+            mBase = position;
+        }
+    }
+}
@@ -0,0 +1,1027 @@
+package dev.utils.common.assist;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+import dev.utils.JCLogUtils;
+import dev.utils.common.CloseUtils;
+import dev.utils.common.cipher.Cipher;
+
+/**
+ * detail: 内存映射追加写 Key-Value 存储
+ * @author Ttt
+ * <pre>
+ *     纯 Java 实现, 数据追加写入 mmap 映射的单个文件, 内存中维护 key 到记录的索引
+ *     基础类型数据直接保存在索引中, 读取无需访问文件; String 首次读取后缓存
+ *     <p></p>
+ *     文件格式 [ 魔数 4 | 版本 4 | 保留 8 ] + 记录 ...
+ *     记录格式 [ CRC32 4 | 类型 1 | key 长度 2 | 数据长度 4 | key | 数据 ]
+ *     启动时顺序扫描一次重建索引, 遇到 CRC 校验失败 ( 写入中断 ) 的记录截断
+ *     <p></p>
+ *     覆盖、删除产生的垃圾数据超过一半时在后台线程合并 ( compact )
+ *     合并写入 name.compact 并落盘后重命名覆盖原文件 ( 提交点 ), 启动时残留的 name.compact 直接丢弃
+ *     <p></p>
+ *     设置 {@link Cipher} 后 String、byte[]、Entity 数据加密存储
+ *     写入依赖系统回写映射内存, 需要立即落盘调用 {@link #sync()}
+ * </pre>
+ */
+public final class MappedKeyValueStore
+        implements Closeable {
+
+    // 日志 TAG
+    private static final String  TAG                 = MappedKeyValueStore.class.getSimpleName();
+    // 文件魔数 ( DKVS )
+    private static final int     MAGIC               = 0x444B5653;
+    // 文件版本
+    private static final int     VERSION             = 1;
+    // 文件头长度
+    private static final int     FILE_HEADER         = 16;
+    // 记录头长度
+    private static final int     RECORD_HEADER       = 11;
+    // 初始文件大小
+    private static final int     INITIAL_CAPACITY    = 64 * 1024;
+    // 最大文件大小
+    private static final int     MAX_CAPACITY        = 1 << 30;
+    // 触发合并的最小垃圾数据大小
+    private static final int     COMPACT_MIN_GARBAGE = 64 * 1024;
+    // 合并中文件后缀
+    private static final String  COMPACT_SUFFIX      = ".compact";
+    // key、String 编码
+    private static final Charset UTF_8               = Charset.forName("UTF-8");
+
+    // 删除记录 ( 墓碑 )
+    private static final byte TYPE_DELETE  = 1;
+    // int 记录
+    private static final byte TYPE_INT     = 2;
+    // long 记录
+    private static final byte TYPE_LONG    = 3;
+    // float 记录
+    private static final byte TYPE_FLOAT   = 4;
+    // double 记录
+    private static final byte TYPE_DOUBLE  = 5;
+    // boolean 记录
+    private static final byte TYPE_BOOLEAN = 6;
+    // String 记录
+    private static final byte TYPE_STRING  = 7;
+    // byte[] 记录
+    private static final byte TYPE_BYTES   = 8;
+
+    // 存储文件
+    private final File                             mFile;
+    // 通用加解密中间层
+    private final Cipher                           mCipher;
+    // 读写锁 ( 映射内存、文件 )
+    private final ReentrantReadWriteLock           mLock       = new ReentrantReadWriteLock();
+    // key 索引
+    private final ConcurrentHashMap<String, Entry> mIndex      = new ConcurrentHashMap<>();
+    // 是否合并中
+    private final AtomicBoolean                    mCompacting = new AtomicBoolean();
+    // 记录校验 ( 写锁内使用 )
+    private final CRC32                            mCRC        = new CRC32();
+    // 存储文件访问
+    private       RandomAccessFile                 mAccessFile;
+    // 存储文件 FileChannel
+    private       FileChannel                      mChannel;
+    // 映射内存
+    private       MappedByteBuffer                 mBuffer;
+    // 数据结束位置
+    private       int                              mEnd;
+    // 垃圾数据大小
+    private       int                              mGarbage;
+    // 是否已关闭
+    private       boolean                          mClosed;
+
+    /**
+     * detail: Entity 二进制编解码
+     * @author Ttt
+     */
+    public interface Codec<T> {
+
+        /**
+         * 编码
+         * @param value 数据
+         * @param out   {@link DataOutput}
+         * @throws IOException 写入失败时抛出异常
+         */
+        void encode(
+                T value,
+                DataOutput out
+        )
+                throws IOException;
+
+        /**
+         * 解码
+         * @param in {@link DataInput}
+         * @return 数据
+         * @throws IOException 读取失败时抛出异常
+         */
+        T decode(DataInput in)
+                throws IOException;
+    }
+
+    /**
+     * 构造函数
+     * @param file 存储文件
+     * @throws IOException 打开失败时抛出异常
+     */
+    public MappedKeyValueStore(final File file)
+            throws IOException {
+        this(file, null);
+    }
+
+    /**
+     * 构造函数
+     * @param file   存储文件
+     * @param cipher 通用加解密中间层
+     * @throws IOException 打开失败时抛出异常
+     */
+    public MappedKeyValueStore(
+            final File file,
+            final Cipher cipher
+    )
+            throws IOException {
+        if (file == null) throw new IOException("file is null");
+        this.mFile   = file;
+        this.mCipher = cipher;
+        File parent = file.getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("create directory failed " + parent);
+        }
+        // 未完成重命名的合并直接丢弃 ( 原文件完整 )
+        File compact = compactFile();
+        if (compact.exists() && !compact.delete()) {
+            throw new IOException("delete failed " + compact);
+        }
+        open();
+        load();
+    }
+
+    // =
+
+    /**
+     * 获取存储文件
+     * @return 存储文件
+     */
+    public File getFile() {
+        return mFile;
+    }
+
+    /**
+     * 获取数据数量
+     * @return 数据数量
+     */
+    public int size() {
+        return mIndex.size();
+    }
+
+    /**
+     * 是否存在 key
+     * @param key 保存的 key
+     * @return {@code true} yes, {@code false} no
+     */
+    public boolean contains(final String key) {
+        return key != null && mIndex.containsKey(key);
+    }
+
+    /**
+     * 获取全部 key
+     * @return key 数组
+     */
+    public String[] keys() {
+        return mIndex.keySet().toArray(new String[0]);
+    }
+
+    /**
+     * 获取已写入数据大小 ( 包含垃圾数据 )
+     * @return 已写入数据大小
+     */
+    public int getDataSize() {
+        mLock.readLock().lock();
+        try {
+            return mEnd;
+        } finally {
+            mLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 获取垃圾数据大小
+     * @return 垃圾数据大小
+     */
+    public int getGarbageSize() {
+        mLock.readLock().lock();
+        try {
+            return mGarbage;
+        } finally {
+            mLock.readLock().unlock();
+        }
+    }
+
+    // =======
+    // = 存储 =
+    // =======
+
+    /**
+     * 保存 int 类型的数据
+     * @param key   保存的 key
+     * @param value 存储的数据
+     * @return {@code true} success, {@code false} fail
+     */
+    public boolean putInt(
+            final String key,
+            final int value
+    ) {
+        return append(key, TYPE_INT, ByteBuffer.allocate(4).putInt(value).array(), value, null);
+    }
+
+    /**
+     * 保存 long 类型的数据
+     * @param key   保存的 key
+     * @param value 存储的数据
+     * @return {@code true} success, {@code false} fail
+     */
+    public boolean putLong(
+            final String key,
+            final long value
+    ) {
+        return append(key, TYPE_LONG, ByteBuffer.allocate(8).putLong(value).array(), value, null);
+    }
+
+    /**
+     * 保存 float 类型的数据
+     * @param key   保存的 key
+     * @param value 存储的数据
+     * @return {@code true} success, {@code false} fail
+     */
+    public boolean putFloat(
+            final String key,
+            final float value
+    ) {
+        int bits = Float.floatToRawIntBits(value);
+        return append(key, TYPE_FLOAT, ByteBuffer.allocate(4).putInt(bits).array(), bits, null);
+    }
+
+    /**
+     * 保存 double 类型的数据
+     * @param key   保存的 key
+     * @param value 存储的数据
+     * @return {@code true} success, {@code false} fail
+     */
+    public boolean putDouble(
+            final String key,
+            final double value
+    ) {
+        long bits = Double.doubleToRawLongBits(value);
+        return append(key, TYPE_DOUBLE, ByteBuffer.allocate(8).putLong(bits).array(), bits, null);
+    }
+
+    /**
+     * 保存 boolean 类型的数据
+     * @param key   保存的 key
+     * @param value 存储的数据
+     * @return {@code true} success, {@code false} fail
+     */
+    public boolean putBoolean(
+            final String key,
+            final boolean value
+    ) {
+        return append(key, TYPE_BOOLEAN, new byte[]{(byte) (value ? 1 : 0)}, value ? 1L : 0L, null);
+    }
+
+    /**
+     * 保存 String 类型的数据 ( null 则移除 )
+     * @param key   保存的 key
+     * @param value 存储的数据
+     * @return {@code true} success, {@code false} fail
+     */
+    public boolean putString(
+            final String key,
+            final String value
+    ) {
+        if (value == null) return remove(key);
+        byte[] data = encrypt(value.getBytes(UTF_8));
+        if (data == null) return false;
+        return append(key, TYPE_STRING, data, 0L, value);
+    }
+
+    /**
+     * 保存 byte[] 类型的数据 ( null 则移除 )
+     * @param key   保存的 key
+     * @param value 存储的数据
+     * @return {@code true} success, {@code false} fail
+     */
+    public boolean putBytes(
+            final String key,
+            final byte[] value
+    ) {
+        if (value == null) return remove(key);
+        byte[] data = encrypt(value.clone());
+        if (data == null) return false;
+        return append(key, TYPE_BYTES, data, 0L, null);
+    }
+
+    /**
+     * 保存指定类型对象 ( null 则移除 )
+     * @param key   保存的 key
+     * @param value 存储的数据
+     * @param codec 编解码
+     * @param <T>   泛型
+     * @return {@code true} success, {@code false} fail
+     */
+    public <T> boolean putEntity(
+            final String key,
+            final T value,
+            final Codec<T> codec
+    ) {
+        if (value == null) return remove(key);
+        if (codec == null) return false;
+        try {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            DataOutputStream      dos  = new DataOutputStream(baos);
+            codec.encode(value, dos);
+            dos.flush();
+            return putBytes(key, baos.toByteArray());
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "putEntity");
+        }
+        return false;
+    }
+
+    /**
+     * 移除数据
+     * @param key 保存的 key
+     * @return {@code true} success, {@code false} fail
+     */
+    public boolean remove(final String key) {
+        if (key == null) return false;
+        if (!mIndex.containsKey(key)) return true;
+        return append(key, TYPE_DELETE, new byte[0], 0L, null);
+    }
+
+    /**
+     * 移除数组的数据
+     * @param keys 保存的 key 数组
+     * @return {@code true} success, {@code false} fail
+     */
+    public boolean removeForKeys(final String[] keys) {
+        if (keys == null) return false;
+        boolean result = true;
+        for (String key : keys) {
+            if (!remove(key)) result = false;
+        }
+        return result;
+    }
+
+    /**
+     * 清除全部数据
+     * @return {@code true} success, {@code false} fail
+     */
+    public boolean clear() {
+        mLock.writeLock().lock();
+        try {
+            if (mClosed) return false;
+            // 从前往后清零, 中断时已清零部分之后的数据不会再被扫描
+            fillZero(mBuffer, FILE_HEADER, mEnd);
+            mIndex.clear();
+            mEnd     = FILE_HEADER;
+            mGarbage = 0;
+            return true;
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "clear");
+        } finally {
+            mLock.writeLock().unlock();
+        }
+        return false;
+    }
+
+    // =======
+    // = 获取 =
+    // =======
+
+    /**
+     * 获取 int 类型的数据
+     * @param key          保存的 key
+     * @param defaultValue 默认值 ( 不存在或类型不一致时返回 )
+     * @return 存储的数据
+     */
+    public int getInt(
+            final String key,
+            final int defaultValue
+    ) {
+        Entry entry = entry(key, TYPE_INT);
+        return (entry != null) ? (int) entry.bits : defaultValue;
+    }
+
+    /**
+     * 获取 long 类型的数据
+     * @param key          保存的 key
+     * @param defaultValue 默认值 ( 不存在或类型不一致时返回 )
+     * @return 存储的数据
+     */
+    public long getLong(
+            final String key,
+            final long defaultValue
+    ) {
+        Entry entry = entry(key, TYPE_LONG);
+        return (entry != null) ? entry.bits : defaultValue;
+    }
+
+    /**
+     * 获取 float 类型的数据
+     * @param key          保存的 key
+     * @param defaultValue 默认值 ( 不存在或类型不一致时返回 )
+     * @return 存储的数据
+     */
+    public float getFloat(
+            final String key,
+            final float defaultValue
+    ) {
+        Entry entry = entry(key, TYPE_FLOAT);
+        return (entry != null) ? Float.intBitsToFloat((int) entry.bits) : defaultValue;
+    }
+
+    /**
+     * 获取 double 类型的数据
+     * @param key          保存的 key
+     * @param defaultValue 默认值 ( 不存在或类型不一致时返回 )
+     * @return 存储的数据
+     */
+    public double getDouble(
+            final String key,
+            final double defaultValue
+    ) {
+        Entry entry = entry(key, TYPE_DOUBLE);
+        return (entry != null) ? Double.longBitsToDouble(entry.bits) : defaultValue;
+    }
+
+    /**
+     * 获取 boolean 类型的数据
+     * @param key          保存的 key
+     * @param defaultValue 默认值 ( 不存在或类型不一致时返回 )
+     * @return 存储的数据
+     */
+    public boolean getBoolean(
+            final String key,
+            final boolean defaultValue
+    ) {
+        Entry entry = entry(key, TYPE_BOOLEAN);
+        return (entry != null) ? entry.bits != 0L : defaultValue;
+    }
+
+    /**
+     * 获取 String 类型的数据
+     * @param key          保存的 key
+     * @param defaultValue 默认值 ( 不存在或类型不一致时返回 )
+     * @return 存储的数据
+     */
+    public String getString(
+            final String key,
+            final String defaultValue
+    ) {
+        Entry entry = entry(key, TYPE_STRING);
+        if (entry == null) return defaultValue;
+        String text = entry.text;
+        if (text != null) return text;
+        mLock.readLock().lock();
+        try {
+            // 合并后记录位置会变化, 读锁内重新获取
+            entry = entry(key, TYPE_STRING);
+            if (entry == null) return defaultValue;
+            byte[] data = readValue(entry);
+            if (data == null) return defaultValue;
+            text       = new String(data, UTF_8);
+            entry.text = text;
+            return text;
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "getString");
+        } finally {
+            mLock.readLock().unlock();
+        }
+        return defaultValue;
+    }
+
+    /**
+     * 获取 byte[] 类型的数据
+     * @param key 保存的 key
+     * @return 存储的数据
+     */
+    public byte[] getBytes(final String key) {
+        if (entry(key, TYPE_BYTES) == null) return null;
+        mLock.readLock().lock();
+        try {
+            Entry entry = entry(key, TYPE_BYTES);
+            if (entry == null) return null;
+            return readValue(entry);
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "getBytes");
+        } finally {
+            mLock.readLock().unlock();
+        }
+        return null;
+    }
+
+    /**
+     * 获取指定类型对象
+     * @param key          保存的 key
+     * @param codec        编解码
+     * @param defaultValue 默认值
+     * @param <T>          泛型
+     * @return 存储的数据
+     */
+    public <T> T getEntity(
+            final String key,
+            final Codec<T> codec,
+            final T defaultValue
+    ) {
+        if (codec == null) return defaultValue;
+        byte[] data = getBytes(key);
+        if (data == null) return defaultValue;
+        try {
+            return codec.decode(new DataInputStream(new ByteArrayInputStream(data)));
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "getEntity");
+        }
+        return defaultValue;
+    }
+
+    // ==========
+    // = 文件处理 =
+    // ==========
+
+    /**
+     * 映射内存数据立即写入文件
+     * @return {@code true} success, {@code false} fail
+     */
+    public boolean sync() {
+        mLock.writeLock().lock();
+        try {
+            if (mClosed) return false;
+            mBuffer.force();
+            return true;
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "sync");
+        } finally {
+            mLock.writeLock().unlock();
+        }
+        return false;
+    }
+
+    /**
+     * 合并 ( 仅保留有效数据重写文件 )
+     * @return {@code true} success, {@code false} fail
+     */
+    public boolean compact() {
+        mLock.writeLock().lock();
+        try {
+            if (mClosed) return false;
+            compactLocked();
+            return true;
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "compact");
+        } finally {
+            mLock.writeLock().unlock();
+        }
+        return false;
+    }
+
+    /**
+     * 关闭存储 ( 关闭后无法写入 )
+     */
+    @Override
+    public void close() {
+        mLock.writeLock().lock();
+        try {
+            if (mClosed) return;
+            mClosed = true;
+            mBuffer.force();
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "close");
+        } finally {
+            CloseUtils.closeIOQuietly(mChannel, mAccessFile);
+            mLock.writeLock().unlock();
+        }
+    }
+
+    // ===========
+    // = 内部处理 =
+    // ===========
+
+    /**
+     * detail: 索引记录
+     * @author Ttt
+     */
+    private static final class Entry {
+
+        // 记录类型
+        final    byte   type;
+        // 记录位置
+        final    int    offset;
+        // 记录长度
+        final    int    size;
+        // 数据长度
+        final    int    valueLength;
+        // 基础类型数据
+        final    long   bits;
+        // String 缓存
+        volatile String text;
+
+        Entry(
+                final byte type,
+                final int offset,
+                final int size,
+                final int valueLength,
+                final long bits,
+                final String text
+        ) {
+            this.type        = type;
+            this.offset      = offset;
+            this.size        = size;
+            this.valueLength = valueLength;
+            this.bits        = bits;
+            this.text        = text;
+        }
+
+        /**
+         * 获取数据位置
+         * @return 数据位置
+         */
+        int valueOffset() {
+            return offset + size - valueLength;
+        }
+
+        /**
+         * 获取移动到新位置的记录
+         * @param newOffset 新记录位置
+         * @return {@link Entry}
+         */
+        Entry moveTo(final int newOffset) {
+            return new Entry(type, newOffset, size, valueLength, bits, text);
+        }
+    }
+
+    /**
+     * 获取指定类型索引记录
+     * @param key  保存的 key
+     * @param type 记录类型
+     * @return {@link Entry}
+     */
+    private Entry entry(
+            final String key,
+            final byte type
+    ) {
+        if (key == null) return null;
+        Entry entry = mIndex.get(key);
+        return (entry != null && entry.type == type) ? entry : null;
+    }
+
+    /**
+     * 打开存储文件并映射内存
+     * @throws IOException 打开失败时抛出异常
+     */
+    private void open()
+            throws IOException {
+        RandomAccessFile accessFile = new RandomAccessFile(mFile, "rw");
+        try {
+            long    length = accessFile.length();
+            boolean create = length < FILE_HEADER;
+            if (length > MAX_CAPACITY) throw new IOException("file too large " + mFile);
+            if (create) {
+                accessFile.setLength(0L);
+                accessFile.setLength(INITIAL_CAPACITY);
+                length = INITIAL_CAPACITY;
+            }
+            FileChannel      channel = accessFile.getChannel();
+            MappedByteBuffer buffer  = channel.map(FileChannel.MapMode.READ_WRITE, 0L, length);
+            if (create) {
+                writeHeader(buffer);
+            } else if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IOException("unknown file format " + mFile);
+            }
+            mAccessFile = accessFile;
+            mChannel    = channel;
+            mBuffer     = buffer;
+        } catch (IOException e) {
+            CloseUtils.closeIOQuietly(accessFile);
+            throw e;
+        }
+    }
+
+    /**
+     * 扫描全部记录重建索引
+     */
+    private void load() {
+        final MappedByteBuffer buffer   = mBuffer;
+        final int              capacity = buffer.capacity();
+        int                    position = FILE_HEADER;
+        boolean                corrupt  = false;
+        while (position + RECORD_HEADER <= capacity) {
+            int  crc         = buffer.getInt(position);
+            byte type        = buffer.get(position + 4);
+            int  keyLength   = buffer.getShort(position + 5) & 0xFFFF;
+            int  valueLength = buffer.getInt(position + 7);
+            // 未写入区域
+            if (crc == 0 && type == 0 && keyLength == 0 && valueLength == 0) break;
+            long size = (long) RECORD_HEADER + keyLength + valueLength;
+            if (type < TYPE_DELETE || type > TYPE_BYTES || keyLength == 0
+                    || valueLength < 0 || position + size > capacity) {
+                corrupt = true;
+                break;
+            }
+            byte[]     record = new byte[(int) size - 4];
+            ByteBuffer source = buffer.duplicate();
+            source.position(position + 4);
+            source.get(record);
+            mCRC.reset();
+            mCRC.update(record, 0, record.length);
+            if ((int) mCRC.getValue() != crc) {
+                corrupt = true;
+                break;
+            }
+            String key = new String(record, RECORD_HEADER - 4, keyLength, UTF_8);
+            apply(key, new Entry(
+                    type, position, (int) size, valueLength,
+                    readBits(type, record, record.length - valueLength), null
+            ));
+            position += (int) size;
+        }
+        mEnd = position;
+        // 截断写入中断的记录
+        if (corrupt) fillZero(buffer, position, capacity);
+    }
+
+    /**
+     * 更新索引
+     * @param key   保存的 key
+     * @param entry {@link Entry}
+     */
+    private void apply(
+            final String key,
+            final Entry entry
+    ) {
+        Entry old;
+        if (entry.type == TYPE_DELETE) {
+            old = mIndex.remove(key);
+            // 墓碑记录仅在合并前有效
+            mGarbage += entry.size;
+        } else {
+            old = mIndex.put(key, entry);
+        }
+        if (old != null) mGarbage += old.size;
+    }
+
+    /**
+     * 追加写入记录
+     * @param key   保存的 key
+     * @param type  记录类型
+     * @param value 数据
+     * @param bits  基础类型数据
+     * @param text  String 缓存
+     * @return {@code true} success, {@code false} fail
+     */
+    private boolean append(
+            final String key,
+            final byte type,
+            final byte[] value,
+            final long bits,
+            final String text
+    ) {
+        if (key == null) return false;
+        byte[] keyBytes = key.getBytes(UTF_8);
+        if (keyBytes.length == 0 || keyBytes.length > 0xFFFF) return false;
+        int    size   = RECORD_HEADER + keyBytes.length + value.length;
+        byte[] record = new byte[size];
+        ByteBuffer.wrap(record, 4, size - 4)
+                .put(type)
+                .putShort((short) keyBytes.length)
+                .putInt(value.length)
+                .put(keyBytes)
+                .put(value);
+        mLock.writeLock().lock();
+        try {
+            if (mClosed || !ensureCapacity(size)) return false;
+            mCRC.reset();
+            mCRC.update(record, 4, size - 4);
+            ByteBuffer.wrap(record).putInt(0, (int) mCRC.getValue());
+            int offset = mEnd;
+            mBuffer.position(offset);
+            mBuffer.put(record);
+            mEnd += size;
+            apply(key, new Entry(type, offset, size, value.length, bits, text));
+            if (mGarbage >= COMPACT_MIN_GARBAGE && mGarbage > (mEnd - FILE_HEADER) / 2) {
+                scheduleCompact();
+            }
+            return true;
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "append");
+        } finally {
+            mLock.writeLock().unlock();
+        }
+        return false;
+    }
+
+    /**
+     * 确保剩余空间足够写入记录 ( 优先合并, 其次扩容 )
+     * @param size 记录长度
+     * @return {@code true} success, {@code false} fail
+     * @throws IOException 合并、扩容失败时抛出异常
+     */
+    private boolean ensureCapacity(final int size)
+            throws IOException {
+        int capacity = mBuffer.capacity();
+        if ((long) mEnd + size <= capacity) return true;
+        if (mGarbage > (mEnd - FILE_HEADER) / 2) {
+            compactLocked();
+            capacity = mBuffer.capacity();
+            if ((long) mEnd + size <= capacity) return true;
+        }
+        long required    = (long) mEnd + size;
+        long newCapacity = capacity;
+        while (newCapacity < required) {
+            newCapacity <<= 1;
+        }
+        if (newCapacity > MAX_CAPACITY) return false;
+        mAccessFile.setLength(newCapacity);
+        mBuffer = mChannel.map(FileChannel.MapMode.READ_WRITE, 0L, newCapacity);
+        return true;
+    }
+
+    /**
+     * 后台线程合并
+     */
+    private void scheduleCompact() {
+        if (!mCompacting.compareAndSet(false, true)) return;
+        Thread thread = new Thread(() -> {
+            try {
+                compact();
+            } finally {
+                mCompacting.set(false);
+            }
+        }, TAG + "-compact");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * 合并 ( 需持有写锁 )
+     * @throws IOException 合并失败时抛出异常
+     */
+    private void compactLocked()
+            throws IOException {
+        long live = (long) mEnd - FILE_HEADER - mGarbage;
+        if (FILE_HEADER + live > MAX_CAPACITY) throw new IOException("store too large " + live);
+        // 预留一半空间用于后续写入 ( long 计算防止溢出, 最大不超过 MAX_CAPACITY )
+        long required = FILE_HEADER + live + (live >> 1);
+        int  capacity = INITIAL_CAPACITY;
+        while (capacity < required && capacity < MAX_CAPACITY) {
+            capacity <<= 1;
+        }
+        File             temp       = compactFile();
+        RandomAccessFile accessFile = new RandomAccessFile(temp, "rw");
+        try {
+            accessFile.setLength(0L);
+            accessFile.setLength(capacity);
+            FileChannel      channel = accessFile.getChannel();
+            MappedByteBuffer buffer  = channel.map(FileChannel.MapMode.READ_WRITE, 0L, capacity);
+            writeHeader(buffer);
+            Map<String, Entry> moved    = new HashMap<>(mIndex.size() * 2);
+            ByteBuffer         source   = mBuffer.duplicate();
+            int                position = FILE_HEADER;
+            for (Map.Entry<String, Entry> item : mIndex.entrySet()) {
+                Entry entry = item.getValue();
+                source.clear();
+                source.limit(entry.offset + entry.size);
+                source.position(entry.offset);
+                buffer.position(position);
+                buffer.put(source);
+                moved.put(item.getKey(), entry.moveTo(position));
+                position += entry.size;
+            }
+            buffer.force();
+            // 重命名覆盖原文件为提交点
+            if (!temp.renameTo(mFile)) throw new IOException("rename failed " + temp);
+            CloseUtils.closeIOQuietly(mChannel, mAccessFile);
+            mAccessFile = accessFile;
+            mChannel    = channel;
+            mBuffer     = buffer;
+            mEnd        = position;
+            mGarbage    = 0;
+            mIndex.putAll(moved);
+        } catch (IOException e) {
+            CloseUtils.closeIOQuietly(accessFile);
+            temp.delete();
+            throw e;
+        }
+    }
+
+    /**
+     * 读取记录数据 ( 需持有读锁或写锁 )
+     * @param entry {@link Entry}
+     * @return 解密后的数据
+     */
+    private byte[] readValue(final Entry entry) {
+        byte[]     data   = new byte[entry.valueLength];
+        ByteBuffer source = mBuffer.duplicate();
+        source.position(entry.valueOffset());
+        source.get(data);
+        return (mCipher != null) ? mCipher.decrypt(data) : data;
+    }
+
+    /**
+     * 加密数据
+     * @param data 待加密数据
+     * @return 加密后的数据
+     */
+    private byte[] encrypt(final byte[] data) {
+        if (mCipher == null) return data;
+        try {
+            return mCipher.encrypt(data);
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "encrypt");
+        }
+        return null;
+    }
+
+    /**
+     * 获取合并中文件
+     * @return 合并中文件
+     */
+    private File compactFile() {
+        return new File(mFile.getPath() + COMPACT_SUFFIX);
+    }
+
+    /**
+     * 读取基础类型数据
+     * @param type   记录类型
+     * @param record 记录 ( 不含 CRC32 )
+     * @param offset 数据位置
+     * @return 基础类型数据
+     */
+    private static long readBits(
+            final byte type,
+            final byte[] record,
+            final int offset
+    ) {
+        switch (type) {
+            case TYPE_INT:
+            case TYPE_FLOAT:
+                return ByteBuffer.wrap(record, offset, 4).getInt();
+            case TYPE_LONG:
+            case TYPE_DOUBLE:
+                return ByteBuffer.wrap(record, offset, 8).getLong();
+            case TYPE_BOOLEAN:
+                return record[offset];
+            default:
+                return 0L;
+        }
+    }
+
+    /**
+     * 写入文件头
+     * @param buffer 映射内存
+     */
+    private static void writeHeader(final MappedByteBuffer buffer) {
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putLong(8, 0L);
+    }
+
+    /**
+     * 指定区域清零
+     * @param buffer 映射内存
+     * @param start  开始位置
+     * @param end    结束位置
+     */
+    private static void fillZero(
+            final MappedByteBuffer buffer,
+            final int start,
+            final int end
+    ) {
+        byte[]     zero   = new byte[8192];
+        ByteBuffer target = buffer.duplicate();
+        target.position(start);
+        int remaining = end - start;
+        while (remaining > 0) {
+            int length = Math.min(remaining, zero.length);
+            target.put(zero, 0, length);
+            remaining -= length;
+        }
+    }
+}
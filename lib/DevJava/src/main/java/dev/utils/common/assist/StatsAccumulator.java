@@ -0,0 +1,466 @@
+package dev.utils.common.assist;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * detail: 流式统计辅助类 ( 常量内存 )
+ * @author Ttt
+ * <pre>
+ *     不保存样本, 每个样本 O(1) 累加 数量、总和、均值方差 ( Welford )、最小值、最大值
+ *     并记录对数分桶直方图, 用于计算 p50、p90、p99、p999 等分位值
+ *     <p></p>
+ *     多线程写入按线程分散到不同的统计单元 ( 类似 LongAdder ), 单元之间互不竞争
+ *     读取时合并全部单元得到 {@link Snapshot}, 快照之间可通过 {@link Snapshot#merge(Snapshot)} 合并
+ *     <p></p>
+ *     直方图以 2 的幂为区间, 每个区间再等分 8 份, 分位值相对误差不超过 12.5%
+ *     样本按 long 分桶 ( 小数四舍五入, 负数计入 0 ), 适用于耗时、大小等非负统计
+ * </pre>
+ */
+public final class StatsAccumulator {
+
+    // 每个 2 的幂区间细分位数
+    private static final int SUB_BITS     = 3;
+    // 每个 2 的幂区间细分数量
+    private static final int SUB_COUNT    = 1 << SUB_BITS;
+    // 分桶数量 ( 覆盖 0 - Long.MAX_VALUE )
+    private static final int BUCKET_COUNT = (64 - SUB_BITS) * SUB_COUNT;
+    // 最大统计单元数量
+    private static final int MAX_CELLS    = 64;
+
+    // 统计单元
+    private final AtomicReferenceArray<Cell> mCells;
+    // 统计单元索引掩码
+    private final int                        mMask;
+
+    /**
+     * 构造函数
+     */
+    public StatsAccumulator() {
+        int processors = Math.max(1, Runtime.getRuntime().availableProcessors());
+        // 处理器数量 2 倍向上取 2 的幂
+        int cells = Math.min(MAX_CELLS, Integer.highestOneBit(processors * 2 - 1) << 1);
+        this.mCells = new AtomicReferenceArray<>(cells);
+        this.mMask  = cells - 1;
+    }
+
+    // =
+
+    /**
+     * 记录样本
+     * @param value 样本值
+     * @return {@link StatsAccumulator}
+     */
+    public StatsAccumulator record(final long value) {
+        cell().record(value, bucketIndex(value));
+        return this;
+    }
+
+    /**
+     * 记录样本 ( NaN 忽略 )
+     * @param value 样本值
+     * @return {@link StatsAccumulator}
+     */
+    public StatsAccumulator record(final double value) {
+        if (Double.isNaN(value)) return this;
+        long rounded = (value >= Long.MAX_VALUE) ? Long.MAX_VALUE : Math.round(value);
+        cell().record(value, bucketIndex(rounded));
+        return this;
+    }
+
+    /**
+     * 合并快照数据
+     * @param snapshot {@link Snapshot}
+     * @return {@link StatsAccumulator}
+     */
+    public StatsAccumulator merge(final Snapshot snapshot) {
+        if (snapshot != null && snapshot.mCount != 0L) {
+            cell().merge(snapshot);
+        }
+        return this;
+    }
+
+    /**
+     * 合并其他统计数据
+     * @param accumulator {@link StatsAccumulator}
+     * @return {@link StatsAccumulator}
+     */
+    public StatsAccumulator merge(final StatsAccumulator accumulator) {
+        if (accumulator != null && accumulator != this) {
+            merge(accumulator.snapshot());
+        }
+        return this;
+    }
+
+    /**
+     * 重置统计
+     * @return {@link StatsAccumulator}
+     */
+    public StatsAccumulator reset() {
+        for (int i = 0, len = mCells.length(); i < len; i++) {
+            Cell cell = mCells.get(i);
+            if (cell != null) cell.reset();
+        }
+        return this;
+    }
+
+    /**
+     * 获取统计快照
+     * @return {@link Snapshot}
+     */
+    public Snapshot snapshot() {
+        Snapshot snapshot = Snapshot.EMPTY;
+        for (int i = 0, len = mCells.length(); i < len; i++) {
+            Cell cell = mCells.get(i);
+            if (cell != null) snapshot = snapshot.merge(cell.snapshot());
+        }
+        return snapshot;
+    }
+
+    // =
+
+    /**
+     * 获取样本数量
+     * @return 样本数量
+     */
+    public long getCount() {
+        long count = 0L;
+        for (int i = 0, len = mCells.length(); i < len; i++) {
+            Cell cell = mCells.get(i);
+            if (cell != null) count += cell.count();
+        }
+        return count;
+    }
+
+    /**
+     * 获取样本总和
+     * @return 样本总和
+     */
+    public double getSum() {
+        return snapshot().getSum();
+    }
+
+    /**
+     * 获取平均值
+     * @return 平均值, 无样本返回 0
+     */
+    public double getMean() {
+        return snapshot().getMean();
+    }
+
+    /**
+     * 获取分位值
+     * @param percentile 分位 ( 0.0 - 1.0 ), 如 0.99
+     * @return 分位值, 无样本返回 0
+     */
+    public long getPercentile(final double percentile) {
+        return snapshot().getPercentile(percentile);
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+
+    // ===========
+    // = 内部处理 =
+    // ===========
+
+    /**
+     * 获取当前线程对应的统计单元
+     * @return {@link Cell}
+     */
+    private Cell cell() {
+        long id    = Thread.currentThread().getId();
+        int  index = (int) (id ^ (id >>> 32)) & mMask;
+        Cell cell  = mCells.get(index);
+        if (cell == null) {
+            mCells.compareAndSet(index, null, new Cell());
+            cell = mCells.get(index);
+        }
+        return cell;
+    }
+
+    /**
+     * 获取样本所在分桶索引
+     * @param value 样本值
+     * @return 分桶索引
+     */
+    static int bucketIndex(final long value) {
+        if (value < SUB_COUNT) return (value <= 0L) ? 0 : (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub      = (int) (value >>> (exponent - SUB_BITS)) & (SUB_COUNT - 1);
+        return (exponent - SUB_BITS + 1) * SUB_COUNT + sub;
+    }
+
+    /**
+     * 获取分桶上界 ( 包含 )
+     * @param index 分桶索引
+     * @return 分桶上界
+     */
+    static long bucketUpper(final int index) {
+        if (index < SUB_COUNT) return index;
+        int  shift = index / SUB_COUNT - 1;
+        long lower = (long) (SUB_COUNT + index % SUB_COUNT) << shift;
+        return lower + ((1L << shift) - 1L);
+    }
+
+    // ==========
+    // = 内部类 =
+    // ==========
+
+    /**
+     * detail: 统计单元
+     * @author Ttt
+     * <pre>
+     *     同一单元仅少数线程写入, 锁几乎无竞争
+     * </pre>
+     */
+    private static final class Cell {
+
+        // 分桶计数
+        private final long[] mBuckets = new long[BUCKET_COUNT];
+        // 样本数量
+        private       long   mCount;
+        // 样本总和
+        private       double mSum;
+        // 平均值
+        private       double mMean;
+        // 与平均值差值平方和
+        private       double mM2;
+        // 最小值
+        private       double mMin     = Double.POSITIVE_INFINITY;
+        // 最大值
+        private       double mMax     = Double.NEGATIVE_INFINITY;
+
+        synchronized void record(
+                final double value,
+                final int bucket
+        ) {
+            mCount++;
+            mSum += value;
+            double delta = value - mMean;
+            mMean += delta / mCount;
+            mM2 += delta * (value - mMean);
+            if (value < mMin) mMin = value;
+            if (value > mMax) mMax = value;
+            mBuckets[bucket]++;
+        }
+
+        synchronized void merge(final Snapshot snapshot) {
+            Snapshot merged = snapshot().merge(snapshot);
+            mCount = merged.mCount;
+            mSum   = merged.mSum;
+            mMean  = merged.mMean;
+            mM2    = merged.mM2;
+            mMin   = merged.mMin;
+            mMax   = merged.mMax;
+            System.arraycopy(merged.mBuckets, 0, mBuckets, 0, BUCKET_COUNT);
+        }
+
+        synchronized void reset() {
+            Arrays.fill(mBuckets, 0L);
+            mCount = 0L;
+            mSum   = 0D;
+            mMean  = 0D;
+            mM2    = 0D;
+            mMin   = Double.POSITIVE_INFINITY;
+            mMax   = Double.NEGATIVE_INFINITY;
+        }
+
+        synchronized long count() {
+            return mCount;
+        }
+
+        synchronized Snapshot snapshot() {
+            if (mCount == 0L) return Snapshot.EMPTY;
+            return new Snapshot(mCount, mSum, mMean, mM2, mMin, mMax, mBuckets.clone());
+        }
+    }
+
+    /**
+     * detail: 统计快照 ( 不可变 )
+     * @author Ttt
+     */
+    public static final class Snapshot {
+
+        // 空快照
+        public static final Snapshot EMPTY = new Snapshot(
+                0L, 0D, 0D, 0D, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, new long[BUCKET_COUNT]
+        );
+
+        // 样本数量
+        private final long   mCount;
+        // 样本总和
+        private final double mSum;
+        // 平均值
+        private final double mMean;
+        // 与平均值差值平方和
+        private final double mM2;
+        // 最小值
+        private final double mMin;
+        // 最大值
+        private final double mMax;
+        // 分桶计数
+        private final long[] mBuckets;
+
+        private Snapshot(
+                final long count,
+                final double sum,
+                final double mean,
+                final double m2,
+                final double min,
+                final double max,
+                final long[] buckets
+        ) {
+            this.mCount   = count;
+            this.mSum     = sum;
+            this.mMean    = mean;
+            this.mM2      = m2;
+            this.mMin     = min;
+            this.mMax     = max;
+            this.mBuckets = buckets;
+        }
+
+        /**
+         * 合并快照 ( 并行方差合并 )
+         * @param other {@link Snapshot}
+         * @return 合并后的 {@link Snapshot}
+         */
+        public Snapshot merge(final Snapshot other) {
+            if (other == null || other.mCount == 0L) return this;
+            if (mCount == 0L) return other;
+            long   count = mCount + other.mCount;
+            double delta = other.mMean - mMean;
+            double mean  = mMean + delta * other.mCount / count;
+            double m2    = mM2 + other.mM2 + delta * delta * ((double) mCount * other.mCount / count);
+            long[] buckets = mBuckets.clone();
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                buckets[i] += other.mBuckets[i];
+            }
+            return new Snapshot(
+                    count, mSum + other.mSum, mean, m2,
+                    Math.min(mMin, other.mMin), Math.max(mMax, other.mMax), buckets
+            );
+        }
+
+        /**
+         * 获取样本数量
+         * @return 样本数量
+         */
+        public long getCount() {
+            return mCount;
+        }
+
+        /**
+         * 获取样本总和
+         * @return 样本总和
+         */
+        public double getSum() {
+            return mSum;
+        }
+
+        /**
+         * 获取平均值
+         * @return 平均值, 无样本返回 0
+         */
+        public double getMean() {
+            return mMean;
+        }
+
+        /**
+         * 获取方差 ( 总体方差 )
+         * @return 方差, 无样本返回 0
+         */
+        public double getVariance() {
+            return (mCount == 0L) ? 0D : mM2 / mCount;
+        }
+
+        /**
+         * 获取标准差 ( 总体标准差 )
+         * @return 标准差, 无样本返回 0
+         */
+        public double getStandardDeviation() {
+            return Math.sqrt(getVariance());
+        }
+
+        /**
+         * 获取最小值
+         * @return 最小值, 无样本返回 0
+         */
+        public double getMin() {
+            return (mCount == 0L) ? 0D : mMin;
+        }
+
+        /**
+         * 获取最大值
+         * @return 最大值, 无样本返回 0
+         */
+        public double getMax() {
+            return (mCount == 0L) ? 0D : mMax;
+        }
+
+        /**
+         * 获取分位值
+         * @param percentile 分位 ( 0.0 - 1.0 ), 如 0.99
+         * @return 分位值所在分桶上界 ( 不超过最大值 ), 无样本返回 0
+         */
+        public long getPercentile(final double percentile) {
+            if (mCount == 0L) return 0L;
+            double p    = Math.min(1D, Math.max(0D, percentile));
+            long   rank = Math.max(1L, (long) Math.ceil(mCount * p));
+            long   max  = (mMax >= Long.MAX_VALUE) ? Long.MAX_VALUE : Math.max(0L, Math.round(mMax));
+            long   seen = 0L;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                seen += mBuckets[i];
+                if (seen >= rank) return Math.min(bucketUpper(i), max);
+            }
+            return max;
+        }
+
+        /**
+         * 获取 p50 分位值
+         * @return p50 分位值
+         */
+        public long getP50() {
+            return getPercentile(0.5D);
+        }
+
+        /**
+         * 获取 p90 分位值
+         * @return p90 分位值
+         */
+        public long getP90() {
+            return getPercentile(0.9D);
+        }
+
+        /**
+         * 获取 p99 分位值
+         * @return p99 分位值
+         */
+        public long getP99() {
+            return getPercentile(0.99D);
+        }
+
+        /**
+         * 获取 p999 分位值
+         * @return p999 分位值
+         */
+        public long getP999() {
+            return getPercentile(0.999D);
+        }
+
+        @Override
+        public String toString() {
+            return "count: " + mCount
+                    + ", mean: " + getMean()
+                    + ", stdDev: " + getStandardDeviation()
+                    + ", min: " + getMin()
+                    + ", max: " + getMax()
+                    + ", p50: " + getP50()
+                    + ", p90: " + getP90()
+                    + ", p99: " + getP99()
+                    + ", p999: " + getP999();
+        }
+    }
+}
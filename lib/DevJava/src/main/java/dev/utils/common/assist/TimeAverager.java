@@ -48,7 +48,24 @@ public class TimeAverager {
     }
 
     /**
-     * 输出全部时间值
+     * 求计时分位值
+     * @param percentile 分位 ( 0.0 - 1.0 ), 如 0.99
+     * @return 计时分位值 ( 毫秒 )
+     */
+    public long percentile(final double percentile) {
+        return mAverager.getPercentile(percentile);
+    }
+
+    /**
+     * 获取计时统计快照
+     * @return {@link StatsAccumulator.Snapshot}
+     */
+    public StatsAccumulator.Snapshot snapshot() {
+        return mAverager.snapshot();
+    }
+
+    /**
+     * 输出计时统计信息
      * @return 计时信息
      */
     public String print() {
@@ -54,7 +54,7 @@ public final class FileBreadthFirstSearchUtils {
          * @param file 文件
          * @return 文件信息 {@link FileItem}
          */
-        private synchronized FileItem put(final File file) {
+        synchronized FileItem put(final File file) {
             if (mapChilds == null) {
                 mapChilds = new HashMap<>();
             }
@@ -0,0 +1,237 @@
+package dev.utils.common.collection;
+
+import java.util.Arrays;
+
+/**
+ * detail: long 哈希集合 ( 开放寻址 )
+ * @author Ttt
+ * <pre>
+ *     线性探测存储在 long[] 中, 添加、查询、删除都不会装箱为 {@link Long}
+ *     0 作为空位标记, 数据 0 单独记录
+ *     非线程安全
+ * </pre>
+ */
+public final class LongSet {
+
+    // 默认容量
+    private static final int   DEFAULT_CAPACITY = 16;
+    // 负载因子
+    private static final float LOAD_FACTOR      = 0.75F;
+
+    // 数据 ( 0 表示空位 )
+    private long[]  mKeys;
+    // 是否包含 0
+    private boolean mHasZero;
+    // 数据数量
+    private int     mSize;
+    // 扩容阈值
+    private int     mThreshold;
+
+    /**
+     * 构造函数
+     */
+    public LongSet() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * 构造函数
+     * @param expectedSize 预计数据数量
+     */
+    public LongSet(final int expectedSize) {
+        allocate(CollectionHash.tableSize(expectedSize, LOAD_FACTOR));
+    }
+
+    /**
+     * 构造函数
+     * @param values 初始数据
+     */
+    public LongSet(final long[] values) {
+        this((values != null) ? values.length : 0);
+        addAll(values);
+    }
+
+    // =
+
+    /**
+     * 获取数据数量
+     * @return 数据数量
+     */
+    public int size() {
+        return mSize;
+    }
+
+    /**
+     * 是否为空
+     * @return {@code true} yes, {@code false} no
+     */
+    public boolean isEmpty() {
+        return mSize == 0;
+    }
+
+    /**
+     * 是否包含指定值
+     * @param value 数据
+     * @return {@code true} yes, {@code false} no
+     */
+    public boolean contains(final long value) {
+        if (value == 0) return mHasZero;
+        final long[] keys = mKeys;
+        final int    mask = keys.length - 1;
+        int          slot = CollectionHash.hash(value) & mask;
+        long         key;
+        while ((key = keys[slot]) != 0) {
+            if (key == value) return true;
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * 添加数据
+     * @param value 数据
+     * @return {@code true} 添加成功, {@code false} 已存在
+     */
+    public boolean add(final long value) {
+        if (value == 0) {
+            if (mHasZero) return false;
+            mHasZero = true;
+            mSize++;
+            return true;
+        }
+        final long[] keys = mKeys;
+        final int    mask = keys.length - 1;
+        int          slot = CollectionHash.hash(value) & mask;
+        long         key;
+        while ((key = keys[slot]) != 0) {
+            if (key == value) return false;
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = value;
+        if (++mSize > mThreshold) rehash(keys.length << 1);
+        return true;
+    }
+
+    /**
+     * 添加全部数据
+     * @param values 数据
+     * @return {@link LongSet}
+     */
+    public LongSet addAll(final long[] values) {
+        if (values != null) {
+            for (long value : values) {
+                add(value);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * 移除数据
+     * @param value 数据
+     * @return {@code true} 移除成功, {@code false} 不存在
+     */
+    public boolean remove(final long value) {
+        if (value == 0) {
+            if (!mHasZero) return false;
+            mHasZero = false;
+            mSize--;
+            return true;
+        }
+        final long[] keys = mKeys;
+        final int    mask = keys.length - 1;
+        int          slot = CollectionHash.hash(value) & mask;
+        long         key;
+        while ((key = keys[slot]) != 0) {
+            if (key == value) {
+                shiftKeys(slot);
+                mSize--;
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * 清空数据 ( 保留容量 )
+     */
+    public void clear() {
+        Arrays.fill(mKeys, 0L);
+        mHasZero = false;
+        mSize    = 0;
+    }
+
+    /**
+     * 获取全部数据 ( 无序 )
+     * @return long[]
+     */
+    public long[] toArray() {
+        long[] array = new long[mSize];
+        int    index = 0;
+        if (mHasZero) array[index++] = 0;
+        for (long key : mKeys) {
+            if (key != 0) array[index++] = key;
+        }
+        return array;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+    // ===========
+    // = 内部处理 =
+    // ===========
+
+    /**
+     * 分配存储空间
+     * @param capacity 容量 ( 2 的幂 )
+     */
+    private void allocate(final int capacity) {
+        mKeys      = new long[capacity];
+        mThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    /**
+     * 扩容并重新计算位置
+     * @param capacity 新容量 ( 2 的幂 )
+     */
+    private void rehash(final int capacity) {
+        final long[] oldKeys = mKeys;
+        allocate(capacity);
+        final long[] keys = mKeys;
+        final int    mask = capacity - 1;
+        for (long key : oldKeys) {
+            if (key == 0) continue;
+            int slot = CollectionHash.hash(key) & mask;
+            while (keys[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+        }
+    }
+
+    /**
+     * 删除后向前移动后续数据, 保证线性探测不断链
+     * @param slot 被删除的位置
+     */
+    private void shiftKeys(final int slot) {
+        final long[] keys    = mKeys;
+        final int    mask    = keys.length - 1;
+        int          last    = slot;
+        int          current = (last + 1) & mask;
+        long         key;
+        while ((key = keys[current]) != 0) {
+            int ideal = CollectionHash.hash(key) & mask;
+            // 理想位置不在 ( last, current ] 区间内则可前移
+            if (last <= current ? (ideal <= last || ideal > current) : (ideal <= last && ideal > current)) {
+                keys[last] = key;
+                last       = current;
+            }
+            current = (current + 1) & mask;
+        }
+        keys[last] = 0L;
+    }
+}
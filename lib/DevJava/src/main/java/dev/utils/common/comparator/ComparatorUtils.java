@@ -1,6 +1,7 @@
 package dev.utils.common.comparator;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -31,6 +32,7 @@ import dev.utils.common.comparator.sort.IntSortDesc;
 import dev.utils.common.comparator.sort.LongSort;
 import dev.utils.common.comparator.sort.LongSortAsc;
 import dev.utils.common.comparator.sort.LongSortDesc;
+import dev.utils.common.comparator.sort.NaturalCollationKey;
 import dev.utils.common.comparator.sort.StringSort;
 import dev.utils.common.comparator.sort.StringSortAsc;
 import dev.utils.common.comparator.sort.StringSortDesc;
@@ -476,4 +478,87 @@ public final class ComparatorUtils {
         if (result) reverse(list);
         return result;
     }
-}
\ No newline at end of file
+
+    // =================
+    // = Natural Order =
+    // =================
+
+    /**
+     * 文件名自然顺序升序排序 ( 预先计算排序 key )
+     * @param list 集合
+     * @param <T>  泛型
+     * @return {@code true} success, {@code false} fail
+     */
+    public static <T extends File> boolean sortNaturalFileAsc(final List<T> list) {
+        if (list == null) return false;
+        List<NaturalCollationKey<T>> keys = new ArrayList<>(list.size());
+        for (T file : list) {
+            keys.add(NaturalCollationKey.of(file, (file != null) ? file.getName() : null));
+        }
+        return NaturalCollationKey.sort(list, keys);
+    }
+
+    /**
+     * 文件名自然顺序降序排序 ( 预先计算排序 key )
+     * @param list 集合
+     * @param <T>  泛型
+     * @return {@code true} success, {@code false} fail
+     */
+    public static <T extends File> boolean sortNaturalFileDesc(final List<T> list) {
+        boolean result = sortNaturalFileAsc(list);
+        if (result) reverse(list);
+        return result;
+    }
+
+    /**
+     * 字符串自然顺序升序排序 ( 预先计算排序 key )
+     * @param list 集合
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean sortNaturalStringAsc(final List<String> list) {
+        if (list == null) return false;
+        List<NaturalCollationKey<String>> keys = new ArrayList<>(list.size());
+        for (String value : list) {
+            keys.add(NaturalCollationKey.of(value));
+        }
+        return NaturalCollationKey.sort(list, keys);
+    }
+
+    /**
+     * 字符串自然顺序降序排序 ( 预先计算排序 key )
+     * @param list 集合
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean sortNaturalStringDesc(final List<String> list) {
+        boolean result = sortNaturalStringAsc(list);
+        if (result) reverse(list);
+        return result;
+    }
+
+    /**
+     * String 自然顺序升序排序 ( 预先计算排序 key )
+     * @param list 集合
+     * @param <T>  泛型
+     * @return {@code true} success, {@code false} fail
+     */
+    public static <T extends StringSort> boolean sortNaturalStringSortAsc(final List<T> list) {
+        if (list == null) return false;
+        List<NaturalCollationKey<T>> keys = new ArrayList<>(list.size());
+        for (T value : list) {
+            keys.add(NaturalCollationKey.of(value, (value != null) ? value.getStringSortValue() : null));
+        }
+        return NaturalCollationKey.sort(list, keys);
+    }
+
+    /**
+     * String 自然顺序降序排序 ( 预先计算排序 key )
+     * @param list 集合
+     * @param <T>  泛型
+     * @return {@code true} success, {@code false} fail
+     */
+    public static <T extends StringSort> boolean sortNaturalStringSortDesc(final List<T> list) {
+        boolean result = sortNaturalStringSortAsc(list);
+        if (result) reverse(list);
+        return result;
+    }
+}
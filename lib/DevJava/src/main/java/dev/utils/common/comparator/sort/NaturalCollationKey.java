@@ -0,0 +1,224 @@
+package dev.utils.common.comparator.sort;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.ListIterator;
+
+/**
+ * detail: 自然顺序排序 key
+ * @author Ttt
+ * <pre>
+ *     创建时一次性完成分段、大小写折叠, 排序对比时只做字符对比
+ *     排序规则与 {@link NaturalStringComparator} 一致
+ *     <p></p>
+ *     排序 n 条数据比较器约调用 n * log(n) 次, 每次都需要重新分段、折叠大小写
+ *     预先为每条数据计算 key 则只需计算 n 次, 适用于大量数据排序
+ *     <p></p>
+ *     使用示例
+ *     List<NaturalCollationKey<File>> keys = new ArrayList<>();
+ *     for (File file : files) keys.add(NaturalCollationKey.of(file, file.getName()));
+ *     NaturalCollationKey.sort(files, keys);
+ * </pre>
+ */
+public final class NaturalCollationKey<T>
+        implements Comparable<NaturalCollationKey<T>> {
+
+    // 原始数据
+    private final T      mSource;
+    // 排序值
+    private final String mValue;
+    // 大小写折叠后的排序值
+    private final String mFolded;
+    // 各段结束下标 ( 不包含 )
+    private final int[]  mEnds;
+
+    private NaturalCollationKey(
+            final T source,
+            final String value
+    ) {
+        this.mSource = source;
+        this.mValue  = (value != null) ? value : "";
+        this.mFolded = fold(mValue);
+        this.mEnds   = split(mValue);
+    }
+
+    /**
+     * 创建排序 key
+     * @param source 原始数据
+     * @param value  排序值 ( 为 null 则使用 "" )
+     * @param <T>    泛型
+     * @return {@link NaturalCollationKey}
+     */
+    public static <T> NaturalCollationKey<T> of(
+            final T source,
+            final String value
+    ) {
+        return new NaturalCollationKey<>(source, value);
+    }
+
+    /**
+     * 创建排序 key
+     * @param value 排序值 ( 为 null 则使用 "" )
+     * @return {@link NaturalCollationKey}
+     */
+    public static NaturalCollationKey<String> of(final String value) {
+        return new NaturalCollationKey<>(value, value);
+    }
+
+    /**
+     * 获取原始数据
+     * @return 原始数据
+     */
+    public T getSource() {
+        return mSource;
+    }
+
+    /**
+     * 获取排序值
+     * @return 排序值
+     */
+    public String getValue() {
+        return mValue;
+    }
+
+    @Override
+    public int compareTo(final NaturalCollationKey<T> other) {
+        final int[]  ends1   = this.mEnds;
+        final int[]  ends2   = other.mEnds;
+        final String folded1 = this.mFolded;
+        final String folded2 = other.mFolded;
+        final int    count   = Math.min(ends1.length, ends2.length);
+
+        int start1 = 0;
+        int start2 = 0;
+        for (int i = 0; i < count; i++) {
+            int end1 = ends1[i];
+            int end2 = ends2[i];
+            int result;
+            // 奇数下标为分隔段
+            if ((i & 1) == 1 && NaturalStringComparator.isDigit(folded1.charAt(start1))
+                    && NaturalStringComparator.isDigit(folded2.charAt(start2))) {
+                result = NaturalStringComparator.compareNumber(
+                        folded1, start1, end1, folded2, start2, end2
+                );
+            } else {
+                result = compareFolded(folded1, start1, end1, folded2, start2, end2);
+            }
+            if (result != 0) {
+                return result;
+            }
+            start1 = end1;
+            start2 = end2;
+        }
+        return Integer.compare(ends1.length, ends2.length);
+    }
+
+    @Override
+    public String toString() {
+        return mValue;
+    }
+
+    // =
+
+    /**
+     * 按排序 key 排序并写回集合
+     * @param list 集合
+     * @param keys 集合数据对应的排序 key
+     * @param <T>  泛型
+     * @return {@code true} success, {@code false} fail
+     */
+    public static <T> boolean sort(
+            final List<T> list,
+            final List<NaturalCollationKey<T>> keys
+    ) {
+        if (list == null || keys == null || list.size() != keys.size()) {
+            return false;
+        }
+        Collections.sort(keys);
+        ListIterator<T> iterator = list.listIterator();
+        for (NaturalCollationKey<T> key : keys) {
+            iterator.next();
+            iterator.set(key.mSource);
+        }
+        return true;
+    }
+
+    // ==========
+    // = 内部处理 =
+    // ==========
+
+    /**
+     * 大小写折叠
+     * @param value 排序值
+     * @return 大小写折叠后的排序值
+     */
+    private static String fold(final String value) {
+        final int length = value.length();
+        char[]    chars  = null;
+        for (int i = 0; i < length; i++) {
+            char ch     = value.charAt(i);
+            char folded = NaturalStringComparator.foldCase(ch);
+            if (ch != folded) {
+                if (chars == null) chars = value.toCharArray();
+                chars[i] = folded;
+            }
+        }
+        return (chars != null) ? new String(chars) : value;
+    }
+
+    /**
+     * 计算各段结束下标 ( 文本段、分隔段交替, 以文本段开始、结束 )
+     * @param value 排序值
+     * @return 各段结束下标
+     */
+    private static int[] split(final String value) {
+        final int length = value.length();
+        int       count  = 1;
+        int       index  = NaturalStringComparator.textEnd(value, 0, length);
+        while (index < length) {
+            index = NaturalStringComparator.delimiterEnd(value, index, length);
+            index = NaturalStringComparator.textEnd(value, index, length);
+            count += 2;
+        }
+        int[] ends = new int[count];
+        index   = NaturalStringComparator.textEnd(value, 0, length);
+        ends[0] = index;
+        for (int i = 1; i < count; i += 2) {
+            index       = NaturalStringComparator.delimiterEnd(value, index, length);
+            ends[i]     = index;
+            index       = NaturalStringComparator.textEnd(value, index, length);
+            ends[i + 1] = index;
+        }
+        return ends;
+    }
+
+    /**
+     * 对比大小写折叠后的字符
+     * @param str1   待对比字符串
+     * @param start1 起始下标
+     * @param end1   结束下标
+     * @param str2   待对比字符串
+     * @param start2 起始下标
+     * @param end2   结束下标
+     * @return 对比结果
+     */
+    private static int compareFolded(
+            final String str1,
+            final int start1,
+            final int end1,
+            final String str2,
+            final int start2,
+            final int end2
+    ) {
+        int index1 = start1;
+        int index2 = start2;
+        while (index1 < end1 && index2 < end2) {
+            char ch1 = str1.charAt(index1++);
+            char ch2 = str2.charAt(index2++);
+            if (ch1 != ch2) {
+                return ch1 - ch2;
+            }
+        }
+        return (end1 - start1) - (end2 - start2);
+    }
+}
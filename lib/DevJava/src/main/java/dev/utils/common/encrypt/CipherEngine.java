@@ -0,0 +1,238 @@
+package dev.utils.common.encrypt;
+
+import java.nio.ByteBuffer;
+import java.security.spec.AlgorithmParameterSpec;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.IvParameterSpec;
+
+import dev.utils.JCLogUtils;
+
+/**
+ * detail: 可复用对称加解密引擎
+ * @author Ttt
+ * <pre>
+ *     绑定算法、transformation、密钥与 iv, 密钥只派生一次 ( DES 无需每次通过 SecretKeyFactory 生成 )
+ *     每个线程加密、解密各创建、初始化一次 {@link Cipher} 实例, {@link Cipher#doFinal} 后自动重置复用
+ *     iv 固定绑定, 因此不适用于要求每次加密使用不同 iv 的 GCM 模式
+ *     引擎实例线程安全, 同一密钥可长期持有复用
+ *     <p></p>
+ *     CipherEngine engine = CipherEngine.create("AES", "AES/CBC/PKCS5Padding", key, iv);
+ *     engine.encrypt(data)
+ * </pre>
+ */
+public final class CipherEngine {
+
+    // 日志 TAG
+    private static final String TAG = CipherEngine.class.getSimpleName();
+
+    // transformation
+    private final String              mTransformation;
+    // 密钥
+    private final SecretKey           mSecretKey;
+    // 算法参数
+    private final byte[]              mIV;
+    // 当前线程加密 Cipher
+    private final ThreadLocal<Cipher> mEncryptCipher = new ThreadLocal<>();
+    // 当前线程解密 Cipher
+    private final ThreadLocal<Cipher> mDecryptCipher = new ThreadLocal<>();
+
+    private CipherEngine(
+            final String algorithm,
+            final String transformation,
+            final byte[] key,
+            final byte[] iv
+    ) throws Exception {
+        this.mTransformation = transformation;
+        this.mSecretKey      = CryptoCache.generateSecretKey(key, algorithm);
+        this.mIV             = (iv == null || iv.length == 0) ? null : iv.clone();
+        // 提前校验参数
+        obtain(true);
+    }
+
+    /**
+     * 创建对称加解密引擎
+     * @param algorithm      算法 ( 如 AES、DES、DESede )
+     * @param transformation {@link Cipher#getInstance} transformation
+     * @param key            密钥
+     * @param iv             算法参数 {@link AlgorithmParameterSpec}
+     * @return {@link CipherEngine}, 参数无效返回 null
+     */
+    public static CipherEngine create(
+            final String algorithm,
+            final String transformation,
+            final byte[] key,
+            final byte[] iv
+    ) {
+        if (algorithm == null || transformation == null || key == null || key.length == 0) return null;
+        try {
+            return new CipherEngine(algorithm, transformation, key, iv);
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "create");
+            return null;
+        }
+    }
+
+    // =
+
+    /**
+     * 获取 transformation
+     * @return transformation
+     */
+    public String getTransformation() {
+        return mTransformation;
+    }
+
+    /**
+     * 获取输出数据长度
+     * @param inputLength 输入数据长度
+     * @param isEncrypt   是否加密处理
+     * @return 输出数据长度, 失败返回 -1
+     */
+    public int getOutputSize(
+            final int inputLength,
+            final boolean isEncrypt
+    ) {
+        try {
+            return obtain(isEncrypt).getOutputSize(inputLength);
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "getOutputSize");
+            return -1;
+        }
+    }
+
+    /**
+     * 加密
+     * @param data 待加密数据
+     * @return 加密后的数据
+     */
+    public byte[] encrypt(final byte[] data) {
+        return doFinal(data, true);
+    }
+
+    /**
+     * 解密
+     * @param data 待解密数据
+     * @return 解密后的数据
+     */
+    public byte[] decrypt(final byte[] data) {
+        return doFinal(data, false);
+    }
+
+    /**
+     * 加密 ( 不产生中间数组 )
+     * @param input  待加密数据
+     * @param output 加密数据输出
+     * @return 写入字节数, 失败返回 -1
+     */
+    public int encrypt(
+            final ByteBuffer input,
+            final ByteBuffer output
+    ) {
+        return doFinal(input, output, true);
+    }
+
+    /**
+     * 解密 ( 不产生中间数组 )
+     * @param input  待解密数据
+     * @param output 解密数据输出
+     * @return 写入字节数, 失败返回 -1
+     */
+    public int decrypt(
+            final ByteBuffer input,
+            final ByteBuffer output
+    ) {
+        return doFinal(input, output, false);
+    }
+
+    // =
+
+    /**
+     * 加解密
+     * @param data      待加解密数据
+     * @param isEncrypt 是否加密处理
+     * @return 加解密后的数据
+     */
+    public byte[] doFinal(
+            final byte[] data,
+            final boolean isEncrypt
+    ) {
+        if (data == null) return null;
+        try {
+            return obtain(isEncrypt).doFinal(data);
+        } catch (Exception e) {
+            // 异常后 Cipher 状态不确定, 丢弃重新创建
+            (isEncrypt ? mEncryptCipher : mDecryptCipher).remove();
+            JCLogUtils.eTag(TAG, e, "doFinal");
+            return null;
+        }
+    }
+
+    /**
+     * 加解密 ( 不产生中间数组 )
+     * <pre>
+     *     input 从 position 读取到 limit, output 从 position 写入结果
+     *     output 剩余空间需大于等于 {@link #getOutputSize(int, boolean)}
+     * </pre>
+     * @param input     待加解密数据
+     * @param output    结果输出
+     * @param isEncrypt 是否加密处理
+     * @return 写入字节数, 失败返回 -1
+     */
+    public int doFinal(
+            final ByteBuffer input,
+            final ByteBuffer output,
+            final boolean isEncrypt
+    ) {
+        if (input == null || output == null) return -1;
+        try {
+            return obtain(isEncrypt).doFinal(input, output);
+        } catch (Exception e) {
+            // 异常后 Cipher 状态不确定, 丢弃重新创建
+            (isEncrypt ? mEncryptCipher : mDecryptCipher).remove();
+            JCLogUtils.eTag(TAG, e, "doFinal");
+            return -1;
+        }
+    }
+
+    // ===========
+    // = 内部处理 =
+    // ===========
+
+    /**
+     * 获取当前线程已初始化的 Cipher
+     * @param isEncrypt 是否加密处理
+     * @return {@link Cipher}
+     * @throws Exception 初始化失败抛出异常
+     */
+    private Cipher obtain(final boolean isEncrypt)
+            throws Exception {
+        ThreadLocal<Cipher> local  = isEncrypt ? mEncryptCipher : mDecryptCipher;
+        Cipher              cipher = local.get();
+        if (cipher == null) {
+            cipher = Cipher.getInstance(mTransformation);
+            init(cipher, isEncrypt);
+            local.set(cipher);
+        }
+        return cipher;
+    }
+
+    /**
+     * 初始化 Cipher
+     * @param cipher    {@link Cipher}
+     * @param isEncrypt 是否加密处理
+     * @throws Exception 初始化失败抛出异常
+     */
+    private void init(
+            final Cipher cipher,
+            final boolean isEncrypt
+    ) throws Exception {
+        int mode = isEncrypt ? Cipher.ENCRYPT_MODE : Cipher.DECRYPT_MODE;
+        if (mIV == null) {
+            cipher.init(mode, mSecretKey);
+        } else {
+            cipher.init(mode, mSecretKey, new IvParameterSpec(mIV));
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package dev.utils.common.encrypt;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import javax.crypto.Cipher;
+import javax.crypto.CipherInputStream;
+import javax.crypto.CipherOutputStream;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.IvParameterSpec;
+
+import dev.utils.JCLogUtils;
+import dev.utils.common.CloseUtils;
+import dev.utils.common.FileUtils;
+
+/**
+ * detail: 对称加解密流式处理工具类
+ * @author Ttt
+ * <pre>
+ *     {@link AESUtils}、{@link DESUtils}、{@link TripleDESUtils} 只支持完整 byte[] 加解密
+ *     大文件需同时在内存中持有明文与密文, 该类以固定大小缓冲区分段处理, 内存占用与文件大小无关
+ *     <p></p>
+ *     需要认证加密 ( 防篡改 ) 或随机访问解密时使用 {@link ChunkedGCMUtils}
+ * </pre>
+ */
+public final class CipherStreamUtils {
+
+    private CipherStreamUtils() {
+    }
+
+    // 日志 TAG
+    private static final String TAG         = CipherStreamUtils.class.getSimpleName();
+    // 读取缓冲区大小
+    private static final int    BUFFER_SIZE = 64 * 1024;
+
+    // ===========
+    // = 流式处理 =
+    // ===========
+
+    /**
+     * 获取加密输出流 ( 写入明文, 输出密文 )
+     * <pre>
+     *     必须关闭返回的输出流, 才会写入最后一个分组及填充
+     * </pre>
+     * @param outputStream   密文输出流
+     * @param algorithm      算法 ( 如 AES、DES、DESede )
+     * @param transformation {@link Cipher#getInstance} transformation
+     * @param key            密钥
+     * @param iv             初始化向量 {@link IvParameterSpec} ( 为 null 则不使用 )
+     * @return {@link CipherOutputStream}
+     */
+    public static OutputStream encryptStream(
+            final OutputStream outputStream,
+            final String algorithm,
+            final String transformation,
+            final byte[] key,
+            final byte[] iv
+    ) {
+        if (outputStream == null) return null;
+        try {
+            Cipher cipher = createCipher(algorithm, transformation, key, iv, true);
+            return new CipherOutputStream(outputStream, cipher);
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "encryptStream");
+            return null;
+        }
+    }
+
+    /**
+     * 获取解密输入流 ( 读取密文, 输出明文 )
+     * @param inputStream    密文输入流
+     * @param algorithm      算法 ( 如 AES、DES、DESede )
+     * @param transformation {@link Cipher#getInstance} transformation
+     * @param key            密钥
+     * @param iv             初始化向量 {@link IvParameterSpec} ( 为 null 则不使用 )
+     * @return {@link CipherInputStream}
+     */
+    public static InputStream decryptStream(
+            final InputStream inputStream,
+            final String algorithm,
+            final String transformation,
+            final byte[] key,
+            final byte[] iv
+    ) {
+        if (inputStream == null) return null;
+        try {
+            Cipher cipher = createCipher(algorithm, transformation, key, iv, false);
+            return new CipherInputStream(inputStream, cipher);
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "decryptStream");
+            return null;
+        }
+    }
+
+    // ===========
+    // = 文件处理 =
+    // ===========
+
+    /**
+     * 加密文件
+     * @param srcFile        源文件
+     * @param destFile       加密后的文件
+     * @param algorithm      算法 ( 如 AES、DES、DESede )
+     * @param transformation {@link Cipher#getInstance} transformation
+     * @param key            密钥
+     * @param iv             初始化向量 {@link IvParameterSpec} ( 为 null 则不使用 )
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean encryptFile(
+            final File srcFile,
+            final File destFile,
+            final String algorithm,
+            final String transformation,
+            final byte[] key,
+            final byte[] iv
+    ) {
+        return cipherFile(srcFile, destFile, algorithm, transformation, key, iv, true);
+    }
+
+    /**
+     * 解密文件
+     * @param srcFile        加密文件
+     * @param destFile       解密后的文件
+     * @param algorithm      算法 ( 如 AES、DES、DESede )
+     * @param transformation {@link Cipher#getInstance} transformation
+     * @param key            密钥
+     * @param iv             初始化向量 {@link IvParameterSpec} ( 为 null 则不使用 )
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean decryptFile(
+            final File srcFile,
+            final File destFile,
+            final String algorithm,
+            final String transformation,
+            final byte[] key,
+            final byte[] iv
+    ) {
+        return cipherFile(srcFile, destFile, algorithm, transformation, key, iv, false);
+    }
+
+    /**
+     * 加解密文件 ( FileChannel 分段处理, 复用读写缓冲区 )
+     * @param srcFile        源文件
+     * @param destFile       目标文件
+     * @param algorithm      算法 ( 如 AES、DES、DESede )
+     * @param transformation {@link Cipher#getInstance} transformation
+     * @param key            密钥
+     * @param iv             初始化向量 {@link IvParameterSpec} ( 为 null 则不使用 )
+     * @param isEncrypt      是否加密处理
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean cipherFile(
+            final File srcFile,
+            final File destFile,
+            final String algorithm,
+            final String transformation,
+            final byte[] key,
+            final byte[] iv,
+            final boolean isEncrypt
+    ) {
+        if (!FileUtils.isFile(srcFile) || destFile == null) return false;
+        if (!FileUtils.createOrExistsDir(destFile.getParentFile())) return false;
+        FileInputStream  fis     = null;
+        FileOutputStream fos     = null;
+        boolean          success = false;
+        try {
+            Cipher cipher = createCipher(algorithm, transformation, key, iv, isEncrypt);
+            fis = new FileInputStream(srcFile);
+            fos = new FileOutputStream(destFile);
+            FileChannel inChannel  = fis.getChannel();
+            FileChannel outChannel = fos.getChannel();
+            ByteBuffer  input      = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            ByteBuffer  output     = ByteBuffer.allocateDirect(
+                    cipher.getOutputSize(BUFFER_SIZE) + Math.max(16, cipher.getBlockSize())
+            );
+            while (inChannel.read(input) != -1) {
+                input.flip();
+                output.clear();
+                cipher.update(input, output);
+                writeFully(outChannel, output);
+                input.compact();
+            }
+            input.flip();
+            output.clear();
+            cipher.doFinal(input, output);
+            writeFully(outChannel, output);
+            success = true;
+            return true;
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "cipherFile");
+            return false;
+        } finally {
+            CloseUtils.closeIOQuietly(fis, fos);
+            // 失败时删除不完整的目标文件
+            if (!success) FileUtils.deleteFile(destFile);
+        }
+    }
+
+    // ===========
+    // = 内部处理 =
+    // ===========
+
+    /**
+     * 创建已初始化的 Cipher
+     * @param algorithm      算法
+     * @param transformation {@link Cipher#getInstance} transformation
+     * @param key            密钥
+     * @param iv             初始化向量 ( 为 null 则不使用 )
+     * @param isEncrypt      是否加密处理
+     * @return {@link Cipher}
+     * @throws Exception 参数无效时抛出异常
+     */
+    private static Cipher createCipher(
+            final String algorithm,
+            final String transformation,
+            final byte[] key,
+            final byte[] iv,
+            final boolean isEncrypt
+    ) throws Exception {
+        if (algorithm == null || transformation == null || key == null || key.length == 0) {
+            throw new IllegalArgumentException("algorithm, transformation or key is empty");
+        }
+        SecretKey secretKey = CryptoCache.generateSecretKey(key, algorithm);
+        // 流对象生命周期不可控, 不使用线程缓存实例
+        Cipher    cipher    = Cipher.getInstance(transformation);
+        int       mode      = isEncrypt ? Cipher.ENCRYPT_MODE : Cipher.DECRYPT_MODE;
+        if (iv == null || iv.length == 0) {
+            cipher.init(mode, secretKey);
+        } else {
+            cipher.init(mode, secretKey, new IvParameterSpec(iv));
+        }
+        return cipher;
+    }
+
+    /**
+     * 写入缓冲区全部数据
+     * @param channel FileChannel
+     * @param buffer  待写入数据 ( 写模式 )
+     * @throws Exception 写入失败时抛出异常
+     */
+    private static void writeFully(
+            final FileChannel channel,
+            final ByteBuffer buffer
+    ) throws Exception {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
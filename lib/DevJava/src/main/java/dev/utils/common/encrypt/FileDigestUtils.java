@@ -0,0 +1,357 @@
+package dev.utils.common.encrypt;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Checksum;
+
+import dev.utils.JCLogUtils;
+import dev.utils.common.CloseUtils;
+import dev.utils.common.ConvertUtils;
+import dev.utils.common.FileUtils;
+
+/**
+ * detail: 文件多摘要工具类
+ * @author Ttt
+ * <pre>
+ *     一次读取文件, 同时计算多个摘要、校验值 ( 如 MD5、SHA-256、CRC32 )
+ *     避免 {@link MD5Utils#getFileMD5}、{@link SHAUtils#getFileSHA}、{@link CRCUtils#getFileCRC32}
+ *     分别打开并完整读取文件多次
+ *     <p></p>
+ *     小文件使用复用的 DirectByteBuffer 读取, 大文件使用内存映射分段读取
+ *     算法支持 {@link MessageDigest} 所有算法以及 {@link #CRC32}、{@link #CRC32C}、{@link #ADLER32}
+ *     摘要结果为小写十六进制字符串, 校验值结果与 {@link CRCUtils#getFileCRC32} 格式一致
+ * </pre>
+ */
+public final class FileDigestUtils {
+
+    private FileDigestUtils() {
+    }
+
+    // 日志 TAG
+    private static final String TAG             = FileDigestUtils.class.getSimpleName();
+    // CRC32 校验
+    public static final  String CRC32           = "CRC32";
+    // CRC32C 校验 ( JDK 9+ )
+    public static final  String CRC32C          = "CRC32C";
+    // Adler32 校验
+    public static final  String ADLER32         = "ADLER32";
+    // 读取缓冲区大小
+    private static final int    BUFFER_SIZE     = 256 * 1024;
+    // 使用内存映射读取的文件大小阈值
+    private static final long   MAP_THRESHOLD   = 4L * 1024 * 1024;
+    // 内存映射窗口大小
+    private static final long   MAP_WINDOW_SIZE = 64L * 1024 * 1024;
+
+    // ==========
+    // = 单个文件 =
+    // ==========
+
+    /**
+     * 获取文件多个摘要值 ( 只读取文件一次 )
+     * @param filePath   文件路径
+     * @param algorithms 算法 ( 如 MD5、SHA-1、SHA-256、CRC32 )
+     * @return 算法与十六进制摘要值 Map ( 按传入算法顺序 )
+     */
+    public static Map<String, String> getFileDigests(
+            final String filePath,
+            final String... algorithms
+    ) {
+        return getFileDigests(FileUtils.getFile(filePath), algorithms);
+    }
+
+    /**
+     * 获取文件多个摘要值 ( 只读取文件一次 )
+     * @param file       文件
+     * @param algorithms 算法 ( 如 MD5、SHA-1、SHA-256、CRC32 )
+     * @return 算法与十六进制摘要值 Map ( 按传入算法顺序 )
+     */
+    public static Map<String, String> getFileDigests(
+            final File file,
+            final String... algorithms
+    ) {
+        if (!FileUtils.isFile(file) || algorithms == null || algorithms.length == 0) return null;
+        try {
+            return digest(file, algorithms, ByteBuffer.allocateDirect(BUFFER_SIZE));
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "getFileDigests");
+            return null;
+        }
+    }
+
+    // ==========
+    // = 批量处理 =
+    // ==========
+
+    /**
+     * 并行获取目录下所有文件多个摘要值 ( 递归子目录, 每个文件只读取一次 )
+     * @param dir        目录
+     * @param algorithms 算法 ( 如 MD5、SHA-1、SHA-256、CRC32 )
+     * @return 文件与摘要值 Map ( 计算失败的文件对应值为 null )
+     */
+    public static Map<File, Map<String, String>> getDirDigests(
+            final File dir,
+            final String... algorithms
+    ) {
+        return getDirDigests(dir, Runtime.getRuntime().availableProcessors(), algorithms);
+    }
+
+    /**
+     * 并行获取目录下所有文件多个摘要值 ( 递归子目录, 每个文件只读取一次 )
+     * @param dir         目录
+     * @param parallelism 并行数量
+     * @param algorithms  算法 ( 如 MD5、SHA-1、SHA-256、CRC32 )
+     * @return 文件与摘要值 Map ( 计算失败的文件对应值为 null )
+     */
+    public static Map<File, Map<String, String>> getDirDigests(
+            final File dir,
+            final int parallelism,
+            final String... algorithms
+    ) {
+        List<File> files = FileUtils.listFilesInDirWithFilter(dir, File::isFile, true);
+        if (files == null) return null;
+        return getFilesDigests(files, parallelism, algorithms);
+    }
+
+    /**
+     * 并行获取多个文件多个摘要值 ( 每个文件只读取一次 )
+     * <pre>
+     *     每个工作线程复用一个读取缓冲区, 依次领取下一个待处理文件
+     * </pre>
+     * @param files       文件集合
+     * @param parallelism 并行数量
+     * @param algorithms  算法 ( 如 MD5、SHA-1、SHA-256、CRC32 )
+     * @return 文件与摘要值 Map ( 按传入文件顺序, 计算失败的文件对应值为 null )
+     */
+    public static Map<File, Map<String, String>> getFilesDigests(
+            final List<File> files,
+            final int parallelism,
+            final String... algorithms
+    ) {
+        if (files == null || algorithms == null || algorithms.length == 0) return null;
+        final int                       size     = files.size();
+        final List<Map<String, String>> results  = new ArrayList<>(Collections.nCopies(size, null));
+        ExecutorService                 executor = null;
+        try {
+            // 提前校验算法, 防止每个文件都抛出相同异常
+            createHashers(algorithms);
+
+            final AtomicInteger nextIndex = new AtomicInteger();
+            int                 threads   = Math.max(1, Math.min(parallelism, size));
+            executor = Executors.newFixedThreadPool(threads);
+            List<Future<?>> futures = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+                    int        index;
+                    while ((index = nextIndex.getAndIncrement()) < size) {
+                        File file = files.get(index);
+                        if (!FileUtils.isFile(file)) continue;
+                        try {
+                            results.set(index, digest(file, algorithms, buffer));
+                        } catch (Exception e) {
+                            JCLogUtils.eTag(TAG, e, "getFilesDigests %s", file);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            Map<File, Map<String, String>> maps = new LinkedHashMap<>();
+            for (int i = 0; i < size; i++) {
+                maps.put(files.get(i), results.get(i));
+            }
+            return maps;
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "getFilesDigests");
+            return null;
+        } finally {
+            if (executor != null) executor.shutdownNow();
+        }
+    }
+
+    // ===========
+    // = 内部处理 =
+    // ===========
+
+    /**
+     * 读取文件并计算多个摘要值
+     * @param file       文件
+     * @param algorithms 算法
+     * @param buffer     读取缓冲区
+     * @return 算法与十六进制摘要值 Map
+     * @throws Exception 异常时抛出
+     */
+    private static Map<String, String> digest(
+            final File file,
+            final String[] algorithms,
+            final ByteBuffer buffer
+    ) throws Exception {
+        Hasher[]         hashers = createHashers(algorithms);
+        RandomAccessFile raf     = null;
+        try {
+            raf = new RandomAccessFile(file, "r");
+            FileChannel channel = raf.getChannel();
+            long        size    = channel.size();
+            if (size >= MAP_THRESHOLD) {
+                // 大文件分段内存映射, 避免复制到用户缓冲区
+                for (long position = 0L; position < size; position += MAP_WINDOW_SIZE) {
+                    long             length = Math.min(MAP_WINDOW_SIZE, size - position);
+                    MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                    update(hashers, window);
+                }
+            } else {
+                buffer.clear();
+                while (channel.read(buffer) > 0) {
+                    buffer.flip();
+                    update(hashers, buffer);
+                    buffer.clear();
+                }
+            }
+        } finally {
+            CloseUtils.closeIOQuietly(raf);
+        }
+        Map<String, String> maps = new LinkedHashMap<>();
+        for (int i = 0; i < algorithms.length; i++) {
+            maps.put(algorithms[i], hashers[i].hexDigest());
+        }
+        return maps;
+    }
+
+    /**
+     * 同一份数据更新所有摘要
+     * @param hashers 摘要计算集合
+     * @param data    待计算数据
+     * @throws Exception 异常时抛出
+     */
+    private static void update(
+            final Hasher[] hashers,
+            final ByteBuffer data
+    ) throws Exception {
+        for (Hasher hasher : hashers) {
+            // 每个摘要使用独立的读取位置
+            hasher.update(data.duplicate());
+        }
+    }
+
+    /**
+     * 创建摘要计算集合
+     * @param algorithms 算法
+     * @return 摘要计算集合
+     * @throws Exception 不支持的算法抛出异常
+     */
+    private static Hasher[] createHashers(final String[] algorithms)
+            throws Exception {
+        Hasher[] hashers = new Hasher[algorithms.length];
+        for (int i = 0; i < algorithms.length; i++) {
+            hashers[i] = createHasher(algorithms[i]);
+        }
+        return hashers;
+    }
+
+    /**
+     * 创建摘要计算
+     * @param algorithm 算法
+     * @return 摘要计算
+     * @throws Exception 不支持的算法抛出异常
+     */
+    private static Hasher createHasher(final String algorithm)
+            throws Exception {
+        if (algorithm == null) throw new IllegalArgumentException("algorithm is null");
+        if (CRC32.equalsIgnoreCase(algorithm)) {
+            final CRC32 crc32 = new CRC32();
+            return new Hasher() {
+                @Override
+                public void update(final ByteBuffer data) {
+                    crc32.update(data);
+                }
+
+                @Override
+                public String hexDigest() {
+                    return Long.toHexString(crc32.getValue());
+                }
+            };
+        }
+        if (ADLER32.equalsIgnoreCase(algorithm)) {
+            final Adler32 adler32 = new Adler32();
+            return new Hasher() {
+                @Override
+                public void update(final ByteBuffer data) {
+                    adler32.update(data);
+                }
+
+                @Override
+                public String hexDigest() {
+                    return Long.toHexString(adler32.getValue());
+                }
+            };
+        }
+        if (CRC32C.equalsIgnoreCase(algorithm)) {
+            // 通过反射兼容 JDK 8
+            Class<?>       clazz    = Class.forName("java.util.zip.CRC32C");
+            final Checksum checksum = (Checksum) clazz.newInstance();
+            final Method   method   = clazz.getMethod("update", ByteBuffer.class);
+            return new Hasher() {
+                @Override
+                public void update(final ByteBuffer data)
+                        throws Exception {
+                    method.invoke(checksum, data);
+                }
+
+                @Override
+                public String hexDigest() {
+                    return Long.toHexString(checksum.getValue());
+                }
+            };
+        }
+        final MessageDigest digest = MessageDigest.getInstance(algorithm);
+        return new Hasher() {
+            @Override
+            public void update(final ByteBuffer data) {
+                digest.update(data);
+            }
+
+            @Override
+            public String hexDigest() {
+                return ConvertUtils.toHexString(digest.digest(), true);
+            }
+        };
+    }
+
+    /**
+     * detail: 摘要计算
+     * @author Ttt
+     */
+    private interface Hasher {
+
+        /**
+         * 更新数据
+         * @param data 待计算数据
+         * @throws Exception 异常时抛出
+         */
+        void update(ByteBuffer data)
+                throws Exception;
+
+        /**
+         * 获取十六进制摘要值
+         * @return 十六进制摘要值
+         */
+        String hexDigest();
+    }
+}
@@ -0,0 +1,161 @@
+package dev.utils.common.encrypt;
+
+import java.nio.ByteBuffer;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import dev.utils.JCLogUtils;
+import dev.utils.common.ConvertUtils;
+
+/**
+ * detail: 可复用 Hmac 引擎
+ * @author Ttt
+ * <pre>
+ *     绑定算法与密钥, 每个线程只创建、初始化一次 {@link Mac} 实例
+ *     {@link Mac#doFinal} 后实例自动重置为初始化状态, 可直接进行下一次计算
+ *     引擎实例线程安全, 同一密钥可长期持有复用
+ *     <p></p>
+ *     MacEngine engine = MacEngine.create("HmacSHA256", key);
+ *     engine.doFinal(data)
+ * </pre>
+ */
+public final class MacEngine {
+
+    // 日志 TAG
+    private static final String TAG = MacEngine.class.getSimpleName();
+
+    // 算法
+    private final String           mAlgorithm;
+    // 密钥
+    private final SecretKeySpec    mSecretKey;
+    // 当前线程 Mac
+    private final ThreadLocal<Mac> mMac;
+    // Mac 长度
+    private final int              mMacLength;
+
+    private MacEngine(
+            final String algorithm,
+            final byte[] key
+    ) throws Exception {
+        this.mAlgorithm = algorithm;
+        this.mSecretKey = new SecretKeySpec(key, algorithm);
+        this.mMac       = new ThreadLocal<>();
+        this.mMacLength = obtain().getMacLength();
+    }
+
+    /**
+     * 创建 Hmac 引擎
+     * @param algorithm 算法 ( 如 HmacMD5、HmacSHA1、HmacSHA256 )
+     * @param key       密钥
+     * @return {@link MacEngine}, 算法或密钥无效返回 null
+     */
+    public static MacEngine create(
+            final String algorithm,
+            final byte[] key
+    ) {
+        if (algorithm == null || key == null || key.length == 0) return null;
+        try {
+            return new MacEngine(algorithm, key);
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "create");
+            return null;
+        }
+    }
+
+    // =
+
+    /**
+     * 获取算法
+     * @return 算法
+     */
+    public String getAlgorithm() {
+        return mAlgorithm;
+    }
+
+    /**
+     * 获取 Mac 长度
+     * @return Mac 长度
+     */
+    public int getMacLength() {
+        return mMacLength;
+    }
+
+    /**
+     * 计算 Hmac
+     * @param data 待计算数据
+     * @return Hmac byte[]
+     */
+    public byte[] doFinal(final byte[] data) {
+        if (data == null) return null;
+        try {
+            return obtain().doFinal(data);
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "doFinal");
+            return null;
+        }
+    }
+
+    /**
+     * 计算 Hmac
+     * @param data 待计算数据
+     * @return Hmac 十六进制字符串
+     */
+    public String doFinalToHexString(final byte[] data) {
+        return ConvertUtils.toHexString(doFinal(data));
+    }
+
+    /**
+     * 计算 Hmac ( 不产生中间数组 )
+     * <pre>
+     *     input 从 position 读取到 limit, output 从 position 写入结果
+     * </pre>
+     * @param input  待计算数据
+     * @param output 结果输出
+     * @return 写入字节数, 失败返回 -1
+     */
+    public int doFinal(
+            final ByteBuffer input,
+            final ByteBuffer output
+    ) {
+        if (input == null || output == null) return -1;
+        if (output.remaining() < mMacLength) return -1;
+        try {
+            Mac mac = obtain();
+            mac.update(input);
+            if (output.hasArray()) {
+                mac.doFinal(output.array(), output.arrayOffset() + output.position());
+                output.position(output.position() + mMacLength);
+            } else {
+                output.put(mac.doFinal());
+            }
+            return mMacLength;
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "doFinal");
+            return -1;
+        }
+    }
+
+    // ===========
+    // = 内部处理 =
+    // ===========
+
+    /**
+     * 获取当前线程已初始化的 Mac
+     * @return {@link Mac}
+     * @throws Exception 初始化失败抛出异常
+     */
+    private Mac obtain()
+            throws Exception {
+        Mac mac = mMac.get();
+        if (mac == null) {
+            mac = Mac.getInstance(mAlgorithm);
+            mac.init(mSecretKey);
+            mMac.set(mac);
+        } else {
+            // 上次使用可能异常中断, 残留未计算数据
+            mac.reset();
+        }
+        return mac;
+    }
+}
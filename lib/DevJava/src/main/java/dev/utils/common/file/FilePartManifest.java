@@ -0,0 +1,273 @@
+package dev.utils.common.file;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import dev.utils.DevFinal;
+import dev.utils.JCLogUtils;
+import dev.utils.common.CloseUtils;
+
+/**
+ * detail: 文件分片清单
+ * @author Ttt
+ * <pre>
+ *     记录原始文件信息、分片区间、分片校验值以及分片合并状态
+ *     用于 {@link FilePartEngine} 合并中断后续传, 只重新处理缺失或损坏的分片
+ *     <p></p>
+ *     文件格式 ( 逐行文本 ):
+ *     name=文件名
+ *     length=文件总字节
+ *     algorithm=校验算法
+ *     part=分片索引,开始索引,结束索引,校验值,是否已合并
+ * </pre>
+ */
+public final class FilePartManifest {
+
+    // 日志 TAG
+    private static final String TAG             = FilePartManifest.class.getSimpleName();
+    // 清单文件后缀
+    public static final  String MANIFEST_SUFFIX = ".manifest";
+
+    // 原始文件名
+    private final String             fileName;
+    // 原始文件总字节
+    private final long               fileLength;
+    // 校验算法
+    private final String             algorithm;
+    // 文件分片信息集合
+    private final List<FilePartItem> filePartItems;
+    // 分片是否已合并
+    private final boolean[]          merged;
+
+    /**
+     * 构造函数
+     * @param fileName      原始文件名
+     * @param fileLength    原始文件总字节
+     * @param algorithm     校验算法
+     * @param filePartItems 文件分片信息集合
+     */
+    public FilePartManifest(
+            final String fileName,
+            final long fileLength,
+            final String algorithm,
+            final List<FilePartItem> filePartItems
+    ) {
+        this.fileName      = fileName;
+        this.fileLength    = fileLength;
+        this.algorithm     = algorithm;
+        this.filePartItems = new ArrayList<>(filePartItems);
+        this.merged        = new boolean[filePartItems.size()];
+    }
+
+    // =============
+    // = 对外公开方法 =
+    // =============
+
+    /**
+     * 获取清单文件名
+     * @param fileName 原始文件名
+     * @return 清单文件名
+     */
+    public static String getManifestName(final String fileName) {
+        return fileName + MANIFEST_SUFFIX;
+    }
+
+    /**
+     * 获取原始文件名
+     * @return 原始文件名
+     */
+    public String getFileName() {
+        return fileName;
+    }
+
+    /**
+     * 获取原始文件总字节
+     * @return 原始文件总字节
+     */
+    public long getFileLength() {
+        return fileLength;
+    }
+
+    /**
+     * 获取校验算法
+     * @return 校验算法
+     */
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * 获取文件分片信息集合
+     * @return {@link List<FilePartItem>}
+     */
+    public List<FilePartItem> getFilePartItems() {
+        return filePartItems;
+    }
+
+    /**
+     * 获取分片总数
+     * @return 分片总数
+     */
+    public int getPartCount() {
+        return filePartItems.size();
+    }
+
+    /**
+     * 分片是否已合并
+     * @param partIndex 分片索引
+     * @return {@code true} yes, {@code false} no
+     */
+    public synchronized boolean isMerged(final int partIndex) {
+        return merged[partIndex];
+    }
+
+    /**
+     * 设置分片合并状态
+     * @param partIndex 分片索引
+     * @param value     是否已合并
+     */
+    public synchronized void setMerged(
+            final int partIndex,
+            final boolean value
+    ) {
+        merged[partIndex] = value;
+    }
+
+    /**
+     * 是否全部分片已合并
+     * @return {@code true} yes, {@code false} no
+     */
+    public synchronized boolean isAllMerged() {
+        for (boolean value : merged) {
+            if (!value) return false;
+        }
+        return true;
+    }
+
+    /**
+     * 转换文件分片辅助类
+     * @param file 原始文件
+     * @return {@link FilePartAssist}
+     */
+    public FilePartAssist toFilePartAssist(final File file) {
+        return new FilePartAssist(file, filePartItems);
+    }
+
+    // ==========
+    // = 读写清单 =
+    // ==========
+
+    /**
+     * 保存清单 ( 先写入临时文件再重命名, 防止写入中断导致清单损坏 )
+     * @param file 清单文件
+     * @return {@code true} success, {@code false} fail
+     */
+    public synchronized boolean save(final File file) {
+        if (file == null) return false;
+        File           tempFile = new File(file.getPath() + ".tmp");
+        BufferedWriter writer   = null;
+        try {
+            writer = new BufferedWriter(new OutputStreamWriter(
+                    new FileOutputStream(tempFile), DevFinal.ENCODE.UTF_8
+            ));
+            writer.write("name=" + fileName);
+            writer.newLine();
+            writer.write("length=" + fileLength);
+            writer.newLine();
+            writer.write("algorithm=" + algorithm);
+            writer.newLine();
+            for (int i = 0, len = filePartItems.size(); i < len; i++) {
+                FilePartItem item     = filePartItems.get(i);
+                String       checksum = item.getChecksum();
+                writer.write("part=" + item.partIndex + "," + item.start + "," + item.end + ","
+                        + (checksum != null ? checksum : "") + "," + merged[i]);
+                writer.newLine();
+            }
+            writer.close();
+            writer = null;
+            if (file.exists() && !file.delete()) return false;
+            return tempFile.renameTo(file);
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "save");
+            return false;
+        } finally {
+            CloseUtils.closeIOQuietly(writer);
+        }
+    }
+
+    /**
+     * 读取清单
+     * @param file 清单文件
+     * @return {@link FilePartManifest}
+     */
+    public static FilePartManifest load(final File file) {
+        if (file == null || !file.isFile()) return null;
+        BufferedReader reader = null;
+        try {
+            reader = new BufferedReader(new InputStreamReader(
+                    new FileInputStream(file), DevFinal.ENCODE.UTF_8
+            ));
+            String         name      = null;
+            long           length    = -1L;
+            String         algorithm = null;
+            List<String[]> parts     = new ArrayList<>();
+            String         line;
+            while ((line = reader.readLine()) != null) {
+                int index = line.indexOf('=');
+                if (index <= 0) continue;
+                String key   = line.substring(0, index);
+                String value = line.substring(index + 1);
+                switch (key) {
+                    case "name":
+                        name = value;
+                        break;
+                    case "length":
+                        length = Long.parseLong(value);
+                        break;
+                    case "algorithm":
+                        algorithm = value;
+                        break;
+                    case "part":
+                        parts.add(value.split(",", -1));
+                        break;
+                }
+            }
+            if (name == null || length < 0L || algorithm == null) {
+                throw new IOException("invalid manifest " + file);
+            }
+            int                partCount = parts.size();
+            List<FilePartItem> items     = new ArrayList<>(partCount);
+            boolean[]          states    = new boolean[partCount];
+            long               partByte  = partCount == 0 ? 0L : length / partCount;
+            for (int i = 0; i < partCount; i++) {
+                String[] values = parts.get(i);
+                if (values.length < 5 || Integer.parseInt(values[0]) != i) {
+                    throw new IOException("invalid manifest part " + i);
+                }
+                FilePartItem item = new FilePartItem(
+                        i, partCount, partByte, length,
+                        Long.parseLong(values[1]), Long.parseLong(values[2])
+                );
+                item.setChecksum(values[3].isEmpty() ? null : values[3]);
+                items.add(item);
+                states[i] = Boolean.parseBoolean(values[4]);
+            }
+            FilePartManifest manifest = new FilePartManifest(name, length, algorithm, items);
+            System.arraycopy(states, 0, manifest.merged, 0, partCount);
+            return manifest;
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "load");
+            return null;
+        } finally {
+            CloseUtils.closeIOQuietly(reader);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package dev.utils.common.thread;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * detail: 有界线程池饱和处理
+ * @author Ttt
+ * <pre>
+ *     队列已满时根据 {@link DevThreadPool.SaturationPolicy} 处理新任务
+ *     每次触发都会记录溢出数, 最终未执行的任务记录拒绝数
+ * </pre>
+ */
+final class DevRejectedHandler
+        implements RejectedExecutionHandler {
+
+    // 饱和策略
+    private final DevThreadPool.SaturationPolicy mPolicy;
+    // 阻塞等待超时时间 ( 毫秒 )
+    private final long                           mBlockTimeout;
+    // 线程池统计信息
+    private final DevThreadPoolMetrics           mMetrics;
+
+    /**
+     * 构造函数
+     * @param policy       饱和策略
+     * @param blockTimeout 阻塞等待超时时间 ( 毫秒 )
+     * @param metrics      线程池统计信息
+     */
+    DevRejectedHandler(
+            final DevThreadPool.SaturationPolicy policy,
+            final long blockTimeout,
+            final DevThreadPoolMetrics metrics
+    ) {
+        this.mPolicy       = (policy != null) ? policy : DevThreadPool.SaturationPolicy.CALLER_RUNS;
+        this.mBlockTimeout = Math.max(0L, blockTimeout);
+        this.mMetrics      = metrics;
+    }
+
+    @Override
+    public void rejectedExecution(
+            final Runnable runnable,
+            final ThreadPoolExecutor executor
+    ) {
+        mMetrics.onOverflow();
+        if (executor.isShutdown()) {
+            mMetrics.onReject();
+            throw new RejectedExecutionException("executor has been shutdown");
+        }
+        switch (mPolicy) {
+            case CALLER_RUNS:
+                // 由提交任务的线程直接执行, 自然降低提交速度
+                runnable.run();
+                return;
+            case BLOCK:
+                try {
+                    if (executor.getQueue().offer(runnable, mBlockTimeout, TimeUnit.MILLISECONDS)) {
+                        return;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                mMetrics.onReject();
+                throw new RejectedExecutionException("queue full, block timeout " + mBlockTimeout + "ms");
+            case DISCARD_OLDEST:
+                // 丢弃最早入队的任务
+                Runnable oldest = executor.getQueue().poll();
+                if (oldest != null) {
+                    // submit 提交的任务需取消, 防止 Future#get 永久阻塞
+                    if (oldest instanceof Future) {
+                        ((Future<?>) oldest).cancel(false);
+                    }
+                    mMetrics.onReject();
+                    mMetrics.onDiscard(oldest);
+                }
+                executor.execute(runnable);
+                return;
+            case REJECT:
+            default:
+                mMetrics.onReject();
+                throw new RejectedExecutionException("queue full");
+        }
+    }
+}
@@ -0,0 +1,719 @@
+package dev.utils.common.thread;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import dev.utils.JCLogUtils;
+
+/**
+ * detail: 任务依赖图 ( DAG )
+ * @author Ttt
+ * <pre>
+ *     基于 {@link DevThreadPool} 执行, 每个阶段在全部依赖完成后才投递到线程池, 等待期间不占用工作线程
+ *     支持 扇出 ( 多个阶段依赖同一阶段 )、扇入 ( 一个阶段依赖多个阶段 )
+ *     依赖失败或取消时, 下游阶段不再执行并同样以失败或取消结束
+ *     下游阶段在工作线程中不阻塞投递, 有界线程池队列已满时直接在当前工作线程执行
+ *     <p></p>
+ *     DevTaskGraph graph = threadPool.newTaskGraph();
+ *     Stage<File>  download = graph.stage("download", () -> download(url));
+ *     Stage<File>  decrypt  = graph.stage("decrypt", download, file -> decrypt(file));
+ *     Stage<File>  unzip    = graph.stage("unzip", decrypt, file -> unzip(file)).timeout(30, TimeUnit.SECONDS);
+ *     Stage<Index> index    = graph.stage("index", unzip, file -> index(file));
+ *     graph.start();
+ *     index.get();
+ * </pre>
+ */
+public final class DevTaskGraph {
+
+    // 日志 TAG
+    private static final String TAG = DevTaskGraph.class.getSimpleName();
+
+    // 任务执行线程池
+    private final DevThreadPool  mThreadPool;
+    // 全部阶段
+    private final List<Stage<?>> mStages = new ArrayList<>();
+    // 是否已启动
+    private       boolean        mStarted;
+
+    /**
+     * 构造函数
+     * @param threadPool 任务执行线程池
+     */
+    public DevTaskGraph(final DevThreadPool threadPool) {
+        if (threadPool == null) throw new NullPointerException("threadPool is null");
+        this.mThreadPool = threadPool;
+    }
+
+    // ==========
+    // = 回调接口 =
+    // ==========
+
+    /**
+     * detail: 依赖单个阶段的阶段任务
+     * @author Ttt
+     * @param <A> 依赖阶段结果泛型
+     * @param <R> 阶段结果泛型
+     */
+    public interface StageFunction<A, R> {
+
+        /**
+         * 执行阶段任务
+         * @param input 依赖阶段结果
+         * @return 阶段结果
+         * @throws Exception 执行异常
+         */
+        R apply(A input)
+                throws Exception;
+    }
+
+    /**
+     * detail: 依赖两个阶段的阶段任务
+     * @author Ttt
+     * @param <A> 依赖阶段 1 结果泛型
+     * @param <B> 依赖阶段 2 结果泛型
+     * @param <R> 阶段结果泛型
+     */
+    public interface StageFunction2<A, B, R> {
+
+        /**
+         * 执行阶段任务
+         * @param input1 依赖阶段 1 结果
+         * @param input2 依赖阶段 2 结果
+         * @return 阶段结果
+         * @throws Exception 执行异常
+         */
+        R apply(
+                A input1,
+                B input2
+        )
+                throws Exception;
+    }
+
+    /**
+     * detail: 阶段结束回调
+     * @author Ttt
+     * @param <R> 阶段结果泛型
+     */
+    public interface OnCompleteListener<R> {
+
+        /**
+         * 阶段结束 ( 成功、失败、取消 )
+         * @param result    阶段结果 ( 失败、取消时为 null )
+         * @param throwable 失败原因 ( 成功时为 null, 取消时为 {@link CancellationException} )
+         */
+        void onComplete(
+                R result,
+                Throwable throwable
+        );
+    }
+
+    // ==========
+    // = 构建阶段 =
+    // ==========
+
+    /**
+     * 创建无依赖阶段
+     * @param name     阶段名
+     * @param callable 阶段任务
+     * @param <R>      泛型
+     * @return {@link Stage}
+     */
+    public <R> Stage<R> stage(
+            final String name,
+            final Callable<R> callable
+    ) {
+        if (callable == null) throw new NullPointerException("callable is null");
+        return addStage(new Stage<>(this, name, Collections.emptyList(), inputs -> callable.call()));
+    }
+
+    /**
+     * 创建依赖单个阶段的阶段
+     * @param name     阶段名
+     * @param input    依赖阶段
+     * @param function 阶段任务 ( 参数为依赖阶段结果 )
+     * @param <A>      依赖阶段结果泛型
+     * @param <R>      泛型
+     * @return {@link Stage}
+     */
+    @SuppressWarnings("unchecked")
+    public <A, R> Stage<R> stage(
+            final String name,
+            final Stage<A> input,
+            final StageFunction<? super A, ? extends R> function
+    ) {
+        if (function == null) throw new NullPointerException("function is null");
+        return addStage(new Stage<>(
+                this, name, Collections.singletonList(checkStage(input)),
+                inputs -> function.apply((A) inputs.get(0))
+        ));
+    }
+
+    /**
+     * 创建依赖两个阶段的阶段
+     * @param name     阶段名
+     * @param input1   依赖阶段 1
+     * @param input2   依赖阶段 2
+     * @param function 阶段任务 ( 参数为依赖阶段结果 )
+     * @param <A>      依赖阶段 1 结果泛型
+     * @param <B>      依赖阶段 2 结果泛型
+     * @param <R>      泛型
+     * @return {@link Stage}
+     */
+    @SuppressWarnings("unchecked")
+    public <A, B, R> Stage<R> stage(
+            final String name,
+            final Stage<A> input1,
+            final Stage<B> input2,
+            final StageFunction2<? super A, ? super B, ? extends R> function
+    ) {
+        if (function == null) throw new NullPointerException("function is null");
+        return addStage(new Stage<>(
+                this, name, Arrays.asList(checkStage(input1), checkStage(input2)),
+                inputs -> function.apply((A) inputs.get(0), (B) inputs.get(1))
+        ));
+    }
+
+    /**
+     * 创建依赖多个阶段的阶段 ( 扇入 )
+     * @param name     阶段名
+     * @param inputs   依赖阶段集合
+     * @param function 阶段任务 ( 参数为依赖阶段结果, 顺序与 inputs 一致 )
+     * @param <A>      依赖阶段结果泛型
+     * @param <R>      泛型
+     * @return {@link Stage}
+     */
+    @SuppressWarnings("unchecked")
+    public <A, R> Stage<R> stageAll(
+            final String name,
+            final List<? extends Stage<? extends A>> inputs,
+            final StageFunction<List<A>, ? extends R> function
+    ) {
+        if (inputs == null) throw new NullPointerException("inputs is null");
+        if (function == null) throw new NullPointerException("function is null");
+        List<Stage<?>> depends = new ArrayList<>(inputs.size());
+        for (Stage<? extends A> input : inputs) {
+            depends.add(checkStage(input));
+        }
+        return addStage(new Stage<>(
+                this, name, depends, values -> function.apply((List<A>) (List<?>) values)
+        ));
+    }
+
+    // ==========
+    // = 执行控制 =
+    // ==========
+
+    /**
+     * 启动任务图 ( 执行无依赖阶段, 其余阶段在依赖完成后自动执行 )
+     * @return {@link DevTaskGraph}
+     */
+    public DevTaskGraph start() {
+        List<Stage<?>> stages;
+        synchronized (this) {
+            if (mStarted) return this;
+            mStarted = true;
+            stages   = new ArrayList<>(mStages);
+        }
+        for (Stage<?> stage : stages) {
+            stage.arm();
+        }
+        return this;
+    }
+
+    /**
+     * 取消全部未完成阶段
+     */
+    public void cancel() {
+        List<Stage<?>> stages;
+        synchronized (this) {
+            stages = new ArrayList<>(mStages);
+        }
+        for (Stage<?> stage : stages) {
+            stage.cancel(true);
+        }
+    }
+
+    /**
+     * 获取全部阶段完成的 Future ( 任一阶段失败则以该异常结束 )
+     * <pre>
+     *     返回调用时已添加的全部阶段的汇总阶段, 该阶段同样属于当前任务图
+     * </pre>
+     * @return {@link Stage}
+     */
+    public Stage<Void> whenAll() {
+        List<Stage<?>> stages;
+        synchronized (this) {
+            stages = new ArrayList<>(mStages);
+        }
+        return addStage(new Stage<>(this, "whenAll", stages, inputs -> null));
+    }
+
+    /**
+     * 是否已启动
+     * @return {@code true} yes, {@code false} no
+     */
+    public synchronized boolean isStarted() {
+        return mStarted;
+    }
+
+    // ===========
+    // = 内部处理 =
+    // ===========
+
+    /**
+     * 校验依赖阶段是否属于当前任务图
+     * @param stage 依赖阶段
+     * @return {@link Stage}
+     */
+    private Stage<?> checkStage(final Stage<?> stage) {
+        if (stage == null) throw new NullPointerException("input stage is null");
+        if (stage.mGraph != this) {
+            throw new IllegalArgumentException("stage " + stage.mName + " belongs to another graph");
+        }
+        return stage;
+    }
+
+    /**
+     * 添加阶段 ( 已启动则立即挂载依赖 )
+     * @param stage 阶段
+     * @param <R>   泛型
+     * @return {@link Stage}
+     */
+    private <R> Stage<R> addStage(final Stage<R> stage) {
+        boolean started;
+        synchronized (this) {
+            mStages.add(stage);
+            started = mStarted;
+        }
+        if (started) stage.arm();
+        return stage;
+    }
+
+    /**
+     * 获取异常根原因
+     * @param throwable 异常
+     * @return 根原因
+     */
+    private static Throwable unwrap(final Throwable throwable) {
+        Throwable cause = throwable;
+        while (cause instanceof ExecutionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    // ======
+    // = 阶段 =
+    // ======
+
+    /**
+     * detail: 阶段任务
+     * @author Ttt
+     */
+    private interface StageTask<R> {
+
+        /**
+         * 执行阶段任务
+         * @param inputs 依赖阶段结果
+         * @return 阶段结果
+         * @throws Exception 执行异常
+         */
+        R run(List<Object> inputs)
+                throws Exception;
+    }
+
+    /**
+     * detail: 任务图阶段
+     * @author Ttt
+     * @param <R> 阶段结果泛型
+     */
+    public static final class Stage<R> {
+
+        // 所属任务图
+        private final    DevTaskGraph                          mGraph;
+        // 阶段名
+        private final    String                                mName;
+        // 依赖阶段
+        private final    List<Stage<?>>                        mDepends;
+        // 阶段任务
+        private final    StageTask<R>                          mTask;
+        // 阶段结果
+        private final    StageFuture                           mFuture     = new StageFuture();
+        // 阶段结束回调 ( 结束后置为 null )
+        private          List<OnCompleteListener<? super R>>   mListeners  = new ArrayList<>();
+        // 未完成依赖数
+        private final    AtomicInteger                         mRemaining  = new AtomicInteger();
+        // 超时时间 ( 纳秒, 从阶段开始执行计算 )
+        private volatile long                                  mTimeout;
+        // 是否已超时
+        private volatile boolean                               mTimedOut;
+        // 执行线程锁 ( 设置、清除执行线程与中断互斥 )
+        private final    Object                                mRunnerLock = new Object();
+        // 执行线程
+        private          Thread                                mRunner;
+
+        private Stage(
+                final DevTaskGraph graph,
+                final String name,
+                final List<Stage<?>> depends,
+                final StageTask<R> task
+        ) {
+            this.mGraph   = graph;
+            this.mName    = name;
+            this.mDepends = depends;
+            this.mTask    = task;
+        }
+
+        /**
+         * 设置超时时间 ( 从阶段开始执行计算, 超时后阶段以 {@link TimeoutException} 结束 )
+         * @param timeout 超时时间
+         * @param unit    时间单位
+         * @return {@link Stage}
+         */
+        public Stage<R> timeout(
+                final long timeout,
+                final TimeUnit unit
+        ) {
+            if (unit != null) {
+                this.mTimeout = unit.toNanos(Math.max(0L, timeout));
+            }
+            return this;
+        }
+
+        /**
+         * 获取阶段名
+         * @return 阶段名
+         */
+        public String getName() {
+            return mName;
+        }
+
+        /**
+         * 获取阶段结果 Future
+         * @return {@link Future}
+         */
+        public Future<R> toFuture() {
+            return mFuture;
+        }
+
+        /**
+         * 添加阶段结束回调 ( 已结束则立即在当前线程回调 )
+         * <pre>
+         *     回调在结束阶段的线程中执行 ( 线程池工作线程或调用 cancel 的线程 ), 不应执行耗时操作
+         * </pre>
+         * @param listener 阶段结束回调
+         * @return {@link Stage}
+         */
+        public Stage<R> addListener(final OnCompleteListener<? super R> listener) {
+            if (listener == null) return this;
+            synchronized (mFuture) {
+                if (mListeners != null) {
+                    mListeners.add(listener);
+                    return this;
+                }
+            }
+            notifyListener(listener);
+            return this;
+        }
+
+        /**
+         * 阻塞等待阶段结果
+         * @return 阶段结果
+         * @throws InterruptedException 等待中断
+         * @throws ExecutionException   阶段执行失败
+         */
+        public R get()
+                throws InterruptedException, ExecutionException {
+            return mFuture.get();
+        }
+
+        /**
+         * 阻塞等待阶段结果
+         * @param timeout 最长等待时间
+         * @param unit    时间单位
+         * @return 阶段结果
+         * @throws InterruptedException 等待中断
+         * @throws ExecutionException   阶段执行失败
+         * @throws TimeoutException     等待超时
+         */
+        public R get(
+                final long timeout,
+                final TimeUnit unit
+        )
+                throws InterruptedException, ExecutionException, TimeoutException {
+            return mFuture.get(timeout, unit);
+        }
+
+        /**
+         * 取消阶段 ( 下游阶段同样取消 )
+         * @param mayInterruptIfRunning 是否中断正在执行的线程
+         * @return {@code true} success, {@code false} fail
+         */
+        public boolean cancel(final boolean mayInterruptIfRunning) {
+            boolean result = mFuture.cancel(false);
+            if (result && mayInterruptIfRunning) {
+                interruptRunner();
+            }
+            return result;
+        }
+
+        /**
+         * 是否已结束 ( 成功、失败、取消 )
+         * @return {@code true} yes, {@code false} no
+         */
+        public boolean isDone() {
+            return mFuture.isDone();
+        }
+
+        /**
+         * 是否已取消
+         * @return {@code true} yes, {@code false} no
+         */
+        public boolean isCancelled() {
+            return mFuture.isCancelled();
+        }
+
+        @Override
+        public String toString() {
+            return "Stage{" + mName + ", done=" + mFuture.isDone() + '}';
+        }
+
+        // =
+
+        /**
+         * 挂载依赖, 全部依赖完成后投递到线程池
+         */
+        private void arm() {
+            if (mDepends.isEmpty()) {
+                // 无依赖阶段在调用线程投递, 遵循线程池饱和策略
+                dispatch(Collections.emptyList(), false);
+                return;
+            }
+            mRemaining.set(mDepends.size());
+            for (Stage<?> depend : mDepends) {
+                depend.addListener((result, throwable) -> {
+                    if (throwable != null) {
+                        // 任一依赖失败立即结束, 无需等待其他依赖完成
+                        fail(throwable);
+                    } else if (mRemaining.decrementAndGet() == 0) {
+                        dispatchDependent();
+                    }
+                });
+            }
+        }
+
+        /**
+         * 全部依赖完成, 投递到线程池
+         */
+        private void dispatchDependent() {
+            List<Object> inputs = new ArrayList<>(mDepends.size());
+            for (Stage<?> depend : mDepends) {
+                try {
+                    inputs.add(depend.mFuture.get());
+                } catch (Throwable e) {
+                    fail(e);
+                    return;
+                }
+            }
+            // 在结束依赖阶段的线程中调用, 不阻塞投递
+            dispatch(inputs, true);
+        }
+
+        /**
+         * 投递到线程池执行
+         * @param inputs      依赖阶段结果
+         * @param nonBlocking 是否不阻塞投递 ( 队列已满时在当前线程执行 )
+         */
+        private void dispatch(
+                final List<Object> inputs,
+                final boolean nonBlocking
+        ) {
+            if (mFuture.isDone()) return;
+            Runnable runnable = () -> execute(inputs);
+            try {
+                if (nonBlocking) {
+                    mGraph.mThreadPool.executeNonBlocking(runnable, true);
+                } else {
+                    mGraph.mThreadPool.execute(runnable);
+                }
+            } catch (Throwable e) {
+                mFuture.fail(e);
+            }
+        }
+
+        /**
+         * 执行阶段任务
+         * <pre>
+         *     清除执行线程后才结束阶段, 下游阶段在当前线程执行时不会收到本阶段的中断
+         * </pre>
+         * @param inputs 依赖阶段结果
+         */
+        private void execute(final List<Object> inputs) {
+            if (mFuture.isDone()) return;
+            synchronized (mRunnerLock) {
+                mRunner = Thread.currentThread();
+            }
+            ScheduledFuture<?> timer = null;
+            long timeout = mTimeout;
+            if (timeout > 0L) {
+                timer = DevTimerWheel.getInstance().schedule(
+                        DevTimerWheel.DIRECT_EXECUTOR, this::onTimeout, timeout, TimeUnit.NANOSECONDS
+                );
+            }
+            R         result    = null;
+            Throwable throwable = null;
+            try {
+                result = mTask.run(inputs);
+            } catch (Throwable e) {
+                throwable = e;
+            } finally {
+                // 清除后不会再有中断落到当前线程 ( 与 interruptRunner 互斥 )
+                synchronized (mRunnerLock) {
+                    mRunner = null;
+                }
+                if (timer != null) timer.cancel(false);
+                // 清除取消或超时设置的中断标记, 防止影响线程池后续任务
+                if (mTimedOut || mFuture.isCancelled()) {
+                    Thread.interrupted();
+                }
+            }
+            if (throwable == null) {
+                mFuture.complete(result);
+            } else {
+                // 超时中断导致的异常统一为超时
+                mFuture.fail(mTimedOut ? newTimeoutException() : throwable);
+            }
+        }
+
+        /**
+         * 执行超时 ( 时间轮线程 )
+         * <pre>
+         *     时间轮线程只中断执行线程, 结束阶段投递到线程池, 防止回调在时间轮线程执行
+         *     投递失败时由执行线程结束阶段
+         * </pre>
+         */
+        private void onTimeout() {
+            mTimedOut = true;
+            interruptRunner();
+            try {
+                mGraph.mThreadPool.executeNonBlocking(
+                        () -> mFuture.fail(newTimeoutException()), false
+                );
+            } catch (Throwable ignore) {
+            }
+        }
+
+        /**
+         * 创建超时异常
+         * @return {@link TimeoutException}
+         */
+        private TimeoutException newTimeoutException() {
+            return new TimeoutException("stage " + mName + " timed out");
+        }
+
+        /**
+         * 中断执行线程 ( 阶段执行结束后不会中断线程池中的其他任务 )
+         */
+        private void interruptRunner() {
+            synchronized (mRunnerLock) {
+                if (mRunner != null) mRunner.interrupt();
+            }
+        }
+
+        /**
+         * 依赖失败或取消
+         * @param throwable 异常
+         */
+        private void fail(final Throwable throwable) {
+            Throwable cause = unwrap(throwable);
+            if (cause instanceof CancellationException) {
+                mFuture.cancel(false);
+            } else {
+                mFuture.fail(cause);
+            }
+        }
+
+        /**
+         * 阶段结束, 通知全部回调
+         */
+        private void onDone() {
+            List<OnCompleteListener<? super R>> listeners;
+            synchronized (mFuture) {
+                listeners  = mListeners;
+                mListeners = null;
+            }
+            if (listeners == null) return;
+            for (OnCompleteListener<? super R> listener : listeners) {
+                notifyListener(listener);
+            }
+        }
+
+        /**
+         * 回调阶段结果
+         * @param listener 阶段结束回调
+         */
+        private void notifyListener(final OnCompleteListener<? super R> listener) {
+            R         result    = null;
+            Throwable throwable = null;
+            try {
+                result = mFuture.get();
+            } catch (CancellationException e) {
+                throwable = e;
+            } catch (Throwable e) {
+                throwable = unwrap(e);
+            }
+            try {
+                listener.onComplete(result, throwable);
+            } catch (Throwable e) {
+                JCLogUtils.eTag(TAG, e, "notifyListener");
+            }
+        }
+
+        /**
+         * detail: 阶段结果 Future
+         * @author Ttt
+         * <pre>
+         *     不通过 run 执行, 由阶段执行结束后设置结果
+         * </pre>
+         */
+        private final class StageFuture
+                extends FutureTask<R> {
+
+            StageFuture() {
+                super(() -> null);
+            }
+
+            /**
+             * 以结果结束 ( 已结束则忽略 )
+             * @param result 阶段结果
+             */
+            void complete(final R result) {
+                set(result);
+            }
+
+            /**
+             * 以异常结束 ( 已结束则忽略 )
+             * @param throwable 异常
+             */
+            void fail(final Throwable throwable) {
+                setException(throwable);
+            }
+
+            @Override
+            protected void done() {
+                onDone();
+            }
+        }
+    }
+}
@@ -0,0 +1,421 @@
+package dev.utils.common.thread;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * detail: 哈希时间轮定时器 ( 进程内共享 )
+ * @author Ttt
+ * <pre>
+ *     所有 {@link DevThreadPool} 定时任务共用一个时间轮线程, 到期后投递到所属线程池执行
+ *     时间轮线程只负责计时, 不执行任务, 可低成本维护数万个待触发任务
+ *     <p></p>
+ *     精度为 tick 间隔 ( 默认 10ms ), 适用于超时、延迟、周期等业务定时
+ *     时间轮线程在首次添加任务时才会创建 ( 懒加载 )
+ *     无待触发任务时线程挂起, 有任务时只在下一个非空槽的 tick 唤醒, 添加任务时唤醒重新计算
+ * </pre>
+ */
+public final class DevTimerWheel {
+
+    // 默认 tick 间隔 ( 毫秒 )
+    private static final long DEFAULT_TICK_MILLIS = 10L;
+    // 默认时间轮槽数量
+    private static final int  DEFAULT_WHEEL_SIZE  = 512;
+    // 每个 tick 最多转移的新任务数量, 防止新任务过多导致时间轮线程饥饿
+    private static final int  MAX_TRANSFER        = 100000;
+    // 最大延迟时间 ( 纳秒 ), 防止触发时间溢出 ( 同 ScheduledThreadPoolExecutor )
+    private static final long MAX_DELAY_NANOS     = Long.MAX_VALUE >> 1;
+
+    // 在时间轮线程直接执行的 Executor ( 仅用于不会阻塞的轻量回调, 如超时标记 )
+    static final Executor DIRECT_EXECUTOR = Runnable::run;
+
+    // tick 间隔 ( 纳秒 )
+    private final long                       mTickNanos;
+    // 时间轮槽
+    private final List<TimerTask<?>>[]       mWheel;
+    // 槽下标掩码
+    private final int                        mMask;
+    // 新添加待转移的任务
+    private final Queue<TimerTask<?>>        mNewTasks     = new ConcurrentLinkedQueue<>();
+    // 待触发任务数
+    private final AtomicLong                 mPendingCount = new AtomicLong();
+    // 时间轮启动时间 ( 纳秒 )
+    private volatile long                    mStartTime;
+    // 时间轮线程
+    private volatile Thread                  mWorkerThread;
+    // 时间轮线程是否挂起中
+    private volatile boolean                 mParked;
+
+    private DevTimerWheel(
+            final long tickMillis,
+            final int wheelSize
+    ) {
+        this.mTickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        // 槽数量统一为 2 的幂
+        int size = 1;
+        while (size < wheelSize) {
+            size <<= 1;
+        }
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        List<TimerTask<?>>[] wheel = new List[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new ArrayList<>();
+        }
+        this.mWheel = wheel;
+        this.mMask  = size - 1;
+    }
+
+    private static final class Holder {
+        private static final DevTimerWheel INSTANCE = new DevTimerWheel(
+                DEFAULT_TICK_MILLIS, DEFAULT_WHEEL_SIZE
+        );
+    }
+
+    /**
+     * 获取 DevTimerWheel 实例
+     * @return {@link DevTimerWheel}
+     */
+    public static DevTimerWheel getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    // =
+
+    /**
+     * 获取待触发任务数
+     * @return 待触发任务数
+     */
+    public long getPendingCount() {
+        return mPendingCount.get();
+    }
+
+    /**
+     * 延迟执行 Callable 任务
+     * @param executor 任务到期后执行的线程池
+     * @param callable 任务
+     * @param delay    延迟时间
+     * @param unit     时间单位
+     * @param <V>      泛型
+     * @return {@link ScheduledFuture}
+     */
+    public <V> ScheduledFuture<V> schedule(
+            final Executor executor,
+            final Callable<V> callable,
+            final long delay,
+            final TimeUnit unit
+    ) {
+        if (executor == null || callable == null || unit == null) return null;
+        TimerTask<V> task = new TimerTask<>(
+                this, executor, callable, triggerTime(delay, unit), 0L
+        );
+        add(task);
+        return task;
+    }
+
+    /**
+     * 延迟执行 Runnable 任务
+     * @param executor 任务到期后执行的线程池
+     * @param command  任务
+     * @param delay    延迟时间
+     * @param unit     时间单位
+     * @return {@link ScheduledFuture}
+     */
+    public ScheduledFuture<?> schedule(
+            final Executor executor,
+            final Runnable command,
+            final long delay,
+            final TimeUnit unit
+    ) {
+        if (command == null) return null;
+        return schedule(executor, Executors.callable(command), delay, unit);
+    }
+
+    /**
+     * 延迟并循环执行任务
+     * @param executor     任务到期后执行的线程池
+     * @param command      任务
+     * @param initialDelay 首次执行的延迟时间
+     * @param period       连续执行之间的周期
+     * @param unit         时间单位
+     * @return {@link ScheduledFuture}
+     */
+    public ScheduledFuture<?> scheduleAtFixedRate(
+            final Executor executor,
+            final Runnable command,
+            final long initialDelay,
+            final long period,
+            final TimeUnit unit
+    ) {
+        if (executor == null || command == null || unit == null) return null;
+        if (period <= 0L) throw new IllegalArgumentException("period <= 0");
+        TimerTask<Object> task = new TimerTask<>(
+                this, executor, Executors.callable(command),
+                triggerTime(initialDelay, unit), clampNanos(unit.toNanos(period))
+        );
+        add(task);
+        return task;
+    }
+
+    /**
+     * 延迟并以固定休息时间循环执行任务
+     * @param executor     任务到期后执行的线程池
+     * @param command      任务
+     * @param initialDelay 首次执行的延迟时间
+     * @param delay        每一次执行终止和下一次执行开始之间的延迟
+     * @param unit         时间单位
+     * @return {@link ScheduledFuture}
+     */
+    public ScheduledFuture<?> scheduleWithFixedDelay(
+            final Executor executor,
+            final Runnable command,
+            final long initialDelay,
+            final long delay,
+            final TimeUnit unit
+    ) {
+        if (executor == null || command == null || unit == null) return null;
+        if (delay <= 0L) throw new IllegalArgumentException("delay <= 0");
+        TimerTask<Object> task = new TimerTask<>(
+                this, executor, Executors.callable(command),
+                triggerTime(initialDelay, unit), -clampNanos(unit.toNanos(delay))
+        );
+        add(task);
+        return task;
+    }
+
+    // ===========
+    // = 内部处理 =
+    // ===========
+
+    /**
+     * 计算触发时间
+     * @param delay 延迟时间
+     * @param unit  时间单位
+     * @return 触发时间 ( 纳秒 )
+     */
+    private static long triggerTime(
+            final long delay,
+            final TimeUnit unit
+    ) {
+        return System.nanoTime() + clampNanos(unit.toNanos(delay));
+    }
+
+    /**
+     * 限制时间范围, 防止相加溢出
+     * @param nanos 时间 ( 纳秒 )
+     * @return 0 - {@link #MAX_DELAY_NANOS}
+     */
+    private static long clampNanos(final long nanos) {
+        return Math.min(Math.max(0L, nanos), MAX_DELAY_NANOS);
+    }
+
+    /**
+     * 添加任务 ( 首次添加时启动时间轮线程 )
+     * @param task 定时任务
+     */
+    private void add(final TimerTask<?> task) {
+        ensureStarted();
+        mPendingCount.incrementAndGet();
+        mNewTasks.add(task);
+        // 挂起中则唤醒, 重新计算下次唤醒时间
+        if (mParked) LockSupport.unpark(mWorkerThread);
+    }
+
+    /**
+     * 启动时间轮线程
+     */
+    private synchronized void ensureStarted() {
+        if (mWorkerThread != null) return;
+        mStartTime    = System.nanoTime();
+        mWorkerThread = new Thread(this::workLoop, "DevTimerWheel");
+        mWorkerThread.setDaemon(true);
+        mWorkerThread.start();
+    }
+
+    /**
+     * 时间轮线程循环
+     */
+    private void workLoop() {
+        long tick = -1L;
+        while (true) {
+            // 清除中断状态, 防止挂起立即返回
+            Thread.interrupted();
+            long current = (System.nanoTime() - mStartTime) / mTickNanos;
+            transferNewTasks(current);
+            // 处理上次之后到当前的全部 tick, 挂起较久时每个槽最多处理一次
+            for (long t = Math.max(tick + 1, current - mMask); t <= current; t++) {
+                expireBucket(mWheel[(int) (t & mMask)], current);
+            }
+            tick = Math.max(tick, current);
+            park(tick);
+        }
+    }
+
+    /**
+     * 挂起到下一个非空槽的 tick, 无任务时挂起到添加任务
+     * @param tick 当前 tick
+     */
+    private void park(final long tick) {
+        long next = -1L;
+        for (int i = 1; i <= mWheel.length; i++) {
+            if (!mWheel[(int) ((tick + i) & mMask)].isEmpty()) {
+                next = tick + i;
+                break;
+            }
+        }
+        mParked = true;
+        // 设置挂起标记后再检查新任务, 与 add 配合防止错过唤醒
+        if (mNewTasks.isEmpty()) {
+            if (next < 0L) {
+                LockSupport.park(this);
+            } else {
+                long sleepNanos = mStartTime + next * mTickNanos - System.nanoTime();
+                if (sleepNanos > 0L) LockSupport.parkNanos(this, sleepNanos);
+            }
+        }
+        mParked = false;
+    }
+
+    /**
+     * 转移新添加的任务到对应的槽
+     * @param tick 当前 tick
+     */
+    private void transferNewTasks(final long tick) {
+        for (int i = 0; i < MAX_TRANSFER; i++) {
+            TimerTask<?> task = mNewTasks.poll();
+            if (task == null) break;
+            if (task.isCancelled()) {
+                mPendingCount.decrementAndGet();
+                continue;
+            }
+            // 向上取整, tick 开始时已到达触发时间
+            long calculated = (Math.max(0L, task.mDeadline - mStartTime) + mTickNanos - 1L) / mTickNanos;
+            // 已过期的任务放入当前槽, 本次即触发
+            long ticks = Math.max(calculated, tick);
+            task.mTargetTick = ticks;
+            mWheel[(int) (ticks & mMask)].add(task);
+        }
+    }
+
+    /**
+     * 处理槽内到期任务
+     * @param bucket 槽
+     * @param tick   当前 tick
+     */
+    private void expireBucket(
+            final List<TimerTask<?>> bucket,
+            final long tick
+    ) {
+        int keep = 0;
+        for (int i = 0, len = bucket.size(); i < len; i++) {
+            TimerTask<?> task = bucket.get(i);
+            if (task.isCancelled()) {
+                mPendingCount.decrementAndGet();
+            } else if (task.mTargetTick <= tick) {
+                mPendingCount.decrementAndGet();
+                task.dispatch();
+            } else {
+                bucket.set(keep++, task);
+            }
+        }
+        // 移除已处理的任务
+        for (int i = bucket.size() - 1; i >= keep; i--) {
+            bucket.remove(i);
+        }
+    }
+
+    // ==========
+    // = 定时任务 =
+    // ==========
+
+    /**
+     * detail: 时间轮定时任务
+     * @author Ttt
+     * <pre>
+     *     mPeriod 为 0 表示单次任务, 大于 0 表示固定频率, 小于 0 表示固定延迟
+     * </pre>
+     */
+    private static final class TimerTask<V>
+            extends FutureTask<V>
+            implements ScheduledFuture<V> {
+
+        // 所属时间轮
+        private final    DevTimerWheel mTimerWheel;
+        // 任务执行线程池
+        private final    Executor      mExecutor;
+        // 周期 ( 纳秒 )
+        private final    long          mPeriod;
+        // 触发时间 ( 纳秒 )
+        private volatile long          mDeadline;
+        // 触发 tick ( 仅时间轮线程访问 )
+        private          long          mTargetTick;
+
+        TimerTask(
+                final DevTimerWheel timerWheel,
+                final Executor executor,
+                final Callable<V> callable,
+                final long deadline,
+                final long period
+        ) {
+            super(callable);
+            this.mTimerWheel = timerWheel;
+            this.mExecutor   = executor;
+            this.mDeadline   = deadline;
+            this.mPeriod     = period;
+        }
+
+        /**
+         * 到期投递到所属线程池 ( 不可阻塞、不可在时间轮线程执行 )
+         */
+        void dispatch() {
+            try {
+                mExecutor.execute(this);
+            } catch (RejectedExecutionException e) {
+                // 线程池已关闭或已饱和, 取消任务
+                cancel(false);
+            } catch (Throwable e) {
+                setException(e);
+            }
+        }
+
+        @Override
+        public void run() {
+            if (mExecutor != DIRECT_EXECUTOR && Thread.currentThread() == mTimerWheel.mWorkerThread) {
+                // 饱和策略在时间轮线程直接执行 ( 如 CallerRunsPolicy ), 视为拒绝
+                cancel(false);
+                return;
+            }
+            if (mPeriod == 0L) {
+                super.run();
+            } else if (runAndReset()) {
+                // 计算下次触发时间并重新加入时间轮
+                long base = (mPeriod > 0L) ? mDeadline : System.nanoTime();
+                mDeadline = base + Math.abs(mPeriod);
+                mTimerWheel.add(this);
+            }
+        }
+
+        @Override
+        public long getDelay(final TimeUnit unit) {
+            return unit.convert(mDeadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(final Delayed other) {
+            if (other == this) return 0;
+            long diff = getDelay(TimeUnit.NANOSECONDS) - other.getDelay(TimeUnit.NANOSECONDS);
+            return (diff < 0L) ? -1 : ((diff > 0L) ? 1 : 0);
+        }
+    }
+}
@@ -5,6 +5,7 @@ import java.util.Calendar;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.regex.Pattern;
 
 import dev.utils.DevFinal;
 import dev.utils.JCLogUtils;
@@ -38,6 +39,12 @@ public final class IDCardUtils {
     private static final Map<String, Integer> sTWFirstCodeMaps    = new HashMap<>();
     // 香港身份首字母对应数字
     private static final Map<String, Integer> sHKFirstCodeMaps    = new HashMap<>();
+    // 台湾身份证号码格式
+    private static final Pattern              TW_PATTERN          = Pattern.compile("^[a-zA-Z][0-9]{9}$");
+    // 澳门身份证号码格式
+    private static final Pattern              MACAO_PATTERN       = Pattern.compile("^[1|5|7][0-9]{6}\\(?[0-9A-Z]\\)?$");
+    // 香港身份证号码格式
+    private static final Pattern              HK_PATTERN          = Pattern.compile("^[A-Z]{1,2}[0-9]{6}\\(?[0-9A]\\)?$");
 
     static {
         sCityCodeMaps.put("11", "北京");
@@ -293,7 +300,7 @@ public final class IDCardUtils {
         info[2] = "false"; // 默认非法
         try {
             // 属于 8, 9, 10 长度范围内
-            if (idCard.matches("^[a-zA-Z][0-9]{9}$")) { // 台湾
+            if (TW_PATTERN.matcher(idCard).matches()) { // 台湾
                 info[0] = "台湾";
                 String char2 = idCard.substring(1, 2);
                 if (char2.equals("1")) {
@@ -306,11 +313,11 @@ public final class IDCardUtils {
                     return info;
                 }
                 info[2] = validateTWCard(idCard) ? "true" : "false";
-            } else if (idCard.matches("^[1|5|7][0-9]{6}\\(?[0-9A-Z]\\)?$")) { // 澳门
+            } else if (MACAO_PATTERN.matcher(idCard).matches()) { // 澳门
                 info[0] = "澳门";
                 info[1] = "N";
                 // TODO
-            } else if (idCard.matches("^[A-Z]{1,2}[0-9]{6}\\(?[0-9A]\\)?$")) { // 香港
+            } else if (HK_PATTERN.matcher(idCard).matches()) { // 香港
                 info[0] = "香港";
                 info[1] = "N";
                 info[2] = validateHKCard(idCard) ? "true" : "false";
@@ -645,6 +652,6 @@ public final class IDCardUtils {
      * @return {@code true} yes, {@code false} no
      */
     private static boolean isNumber(final String str) {
-        return !StringUtils.isEmpty(str) && str.matches("^[0-9]*$");
+        return !StringUtils.isEmpty(str) && ValidatorRegistry.isDigits(str);
     }
 }
\ No newline at end of file
@@ -244,5 +244,27 @@ public final class ValiToPhoneUtils {
         builder.append("|");
         builder.append("^19[0,1,2,3,5,6,8,9]{1}\\d{8}$"); // 19 开头
         CHINA_PHONE_PATTERN = builder.toString();
+
+        // ==========
+        // = 快速校验 =
+        // ==========
+
+        // CHAIN_PHONE_SIMPLE、CHINA_HK_PHONE_PATTERN 在 ValidatorRegistry 中注册
+        ValidatorRegistry.register(CHINA_MOBILE_PATTERN, ValidatorRegistry.phonePrefix(
+                "134 135 136 137 138 139 147 148 150 151 152 157 158 159 172 178 182 183 184 187 188 195 198"
+        ));
+        ValidatorRegistry.register(CHINA_UNICOM_PATTERN, ValidatorRegistry.phonePrefix(
+                "130 131 132 145 146 155 156 166 167 171 175 176 185 186 196"
+        ));
+        ValidatorRegistry.register(CHINA_TELECOM_PATTERN, ValidatorRegistry.phonePrefix(
+                "133 149 153 173 174 177 180 181 189 190 191 193 199"
+        ));
+        ValidatorRegistry.register(CHINA_BROADCAST_PATTERN, ValidatorRegistry.phonePrefix("192"));
+        ValidatorRegistry.register(CHINA_VIRTUAL_PATTERN, ValidatorRegistry.phonePrefix("162 165 167 170 171"));
+        ValidatorRegistry.register(CHINA_PHONE_PATTERN, ValidatorRegistry.phonePrefix(
+                "130 131 132 133 134 135 136 137 138 139 145 146 147 148 149 150 151 152 153 155 156 157 158 159 "
+                        + "162 165 166 167 170 171 172 173 174 175 176 177 178 180 181 182 183 184 185 186 187 188 189 "
+                        + "190 191 192 193 195 196 198 199"
+        ));
     }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package dev.utils.common.validator;
 
-import java.util.regex.Pattern;
+import java.util.BitSet;
+import java.util.List;
 
 import dev.utils.DevFinal;
 import dev.utils.JCLogUtils;
@@ -20,6 +21,9 @@ public final class ValidatorUtils {
 
     /**
      * 通用匹配函数
+     * <pre>
+     *     正则表达式编译后缓存, 简单规则使用快速校验实现 {@link ValidatorRegistry}
+     * </pre>
      * @param regex 正则表达式
      * @param input 待校验的字符串
      * @return {@code true} yes, {@code false} no
@@ -28,14 +32,20 @@ public final class ValidatorUtils {
             final String regex,
             final String input
     ) {
-        if (!StringUtils.isEmpty(input)) {
-            try {
-                return Pattern.matches(regex, input);
-            } catch (Exception e) {
-                JCLogUtils.eTag(TAG, e, "match");
-            }
-        }
-        return false;
+        return ValidatorRegistry.matches(regex, input);
+    }
+
+    /**
+     * 通用批量匹配函数 ( 数据量大时并行校验 )
+     * @param regex  正则表达式
+     * @param inputs 待校验的数据
+     * @return 校验结果 ( 第 i 位表示第 i 条数据是否通过 ), 正则表达式错误返回 null
+     */
+    public static BitSet match(
+            final String regex,
+            final List<String> inputs
+    ) {
+        return ValidatorRegistry.matches(regex, inputs);
     }
 
     // =
@@ -195,14 +205,10 @@ public final class ValidatorUtils {
     public static boolean isContainChinese(final String str) {
         if (!StringUtils.isEmpty(str)) {
             try {
-                int length = str.length();
-                if (length != 0) {
-                    char[] dChar = str.toCharArray();
-                    for (int i = 0; i < length; i++) {
-                        boolean flag = String.valueOf(dChar[i]).matches(DevFinal.REGEX.CHINESE_ALL2);
-                        if (flag) {
-                            return true;
-                        }
+                for (int i = 0, len = str.length(); i < len; i++) {
+                    // 与 DevFinal.REGEX.CHINESE_ALL2 一致
+                    if (ValidatorRegistry.isChineseAll(str.charAt(i))) {
+                        return true;
                     }
                 }
             } catch (Exception e) {